@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A Spring bean of the entry service that decides whether new requests are
+ * admitted for processing, in order to keep the queues of the state services
+ * from growing without bound under overload.
+ * <p/>
+ * Two limits can be configured, which are both disabled by default:
+ * <ul>
+ * <li>The maximum number of processing instances in flight. A processing
+ * instance is in flight from its admission until the listener for events of
+ * the active message broker receives the event that concludes it, or until its
+ * start command could not be sent. The admission reserves the slots of the
+ * requests atomically, so that the limit also holds for requests admitted
+ * concurrently. Slots of requests whose processing instances could not be
+ * created are released immediately, and processing instances without a
+ * concluding event within the in-flight timeout are released by a periodic
+ * sweep.</li>
+ * <li>The rate of admitted requests, enforced by a token bucket, which is
+ * refilled with the configured rate per second and holds up to the configured
+ * burst. A batch larger than the burst is admitted when the bucket is full,
+ * and the deficit delays the following requests.</li>
+ * </ul>
+ * Rejected requests cause a {@link ContainerAutomatOverloadException}, which is
+ * answered with the status 429 and a <code>Retry-After</code> header. The
+ * counters are registered as metrics below <code>containerautomat.entry.admission</code>.
+ * <p/>
+ * Note: Events are only received by the entry service that consumes them from
+ * the message broker. With several replicas of the entry service, processing
+ * instances admitted by one replica may be concluded at another one and are
+ * then counted until the in-flight timeout has elapsed.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatAdmissionControl implements MeterBinder {
+
+    static final String METRIC_NAME_PREFIX = "containerautomat.entry.admission.";
+    static final String METRIC_TAG_REASON = "reason";
+    static final String REJECTION_REASON_IN_FLIGHT = "in-flight";
+    static final String REJECTION_REASON_RATE = "rate";
+    static final String ERROR_MESSAGE_IN_FLIGHT_LIMIT_TEMPLATE = "Unable to admit %d requests because %d processing instances are in flight, with a maximum of %d.";
+    static final int IN_FLIGHT_SWEEPS_PER_TIMEOUT = 10;
+    static final String ERROR_MESSAGE_RATE_LIMIT_TEMPLATE = "Unable to admit %d requests because the rate of %s requests per second is exceeded.";
+
+    private final int maxInFlight;
+
+    private final long inFlightTimeoutNanos;
+
+    private final double ratePerSecond;
+
+    private final double burst;
+
+    private final long retryAfterSeconds;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<String, Long> inFlightAdmissionTimes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    private final AtomicLong admittedCount = new AtomicLong();
+
+    private final AtomicLong rejectedInFlightCount = new AtomicLong();
+
+    private final AtomicLong rejectedRateCount = new AtomicLong();
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    private ScheduledExecutorService inFlightSweepScheduler;
+
+
+    @Autowired
+    public ContainerAutomatAdmissionControl(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_MAX_IN_FLIGHT + ":0}") int maxInFlight,
+                                            @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_IN_FLIGHT_TIMEOUT_MILLIS + ":600000}") long inFlightTimeoutMillis,
+                                            @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_RATE_PER_SECOND + ":0}") double ratePerSecond,
+                                            @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_BURST + ":0}") int burst,
+                                            @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_RETRY_AFTER_SECONDS + ":1}") long retryAfterSeconds) {
+
+        this(maxInFlight, inFlightTimeoutMillis, ratePerSecond, burst, retryAfterSeconds, System::nanoTime);
+    }
+
+    ContainerAutomatAdmissionControl(int maxInFlight, long inFlightTimeoutMillis, double ratePerSecond, int burst, long retryAfterSeconds, LongSupplier nanoTime) {
+
+        if (maxInFlight < 0 || inFlightTimeoutMillis < 1 || ratePerSecond < 0 || burst < 0 || retryAfterSeconds < 1) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatAdmissionControl because of a maximum of %s in flight, an in-flight timeout of %s milliseconds, a rate of %s per second, a burst of %s and a retry after %s seconds."
+                    .formatted(maxInFlight, inFlightTimeoutMillis, ratePerSecond, burst, retryAfterSeconds));
+        }
+        this.maxInFlight = maxInFlight;
+        this.inFlightTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(inFlightTimeoutMillis);
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst > 0 ? burst : Math.max(1, Math.ceil(ratePerSecond));
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.nanoTime = nanoTime;
+        this.tokens = this.burst;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (maxInFlight > 0) {
+            var sweepIntervalNanos = Math.max(1, inFlightTimeoutNanos / IN_FLIGHT_SWEEPS_PER_TIMEOUT);
+            inFlightSweepScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("containerautomat-in-flight-sweep").factory());
+            inFlightSweepScheduler.scheduleWithFixedDelay(this::removeExpiredInFlight, sweepIntervalNanos, sweepIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        if (inFlightSweepScheduler != null) {
+            inFlightSweepScheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        Gauge.builder(METRIC_NAME_PREFIX + "in-flight", inFlightCount, AtomicInteger::get)
+                .description("Number of admitted processing instances that have not been concluded yet.")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_PREFIX + "admitted", admittedCount, AtomicLong::get)
+                .description("Number of admitted requests.")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_PREFIX + "rejected", rejectedInFlightCount, AtomicLong::get)
+                .description("Number of requests rejected by the admission control.")
+                .tag(METRIC_TAG_REASON, REJECTION_REASON_IN_FLIGHT)
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_PREFIX + "rejected", rejectedRateCount, AtomicLong::get)
+                .description("Number of requests rejected by the admission control.")
+                .tag(METRIC_TAG_REASON, REJECTION_REASON_RATE)
+                .register(registry);
+        if (ratePerSecond > 0) {
+            Gauge.builder(METRIC_NAME_PREFIX + "tokens", this, ContainerAutomatAdmissionControl::getAvailableTokens)
+                    .description("Number of requests that can currently be admitted without exceeding the rate.")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Admits the given number of requests or rejects all of them. The admitted
+     * requests hold a slot of the in-flight limit each, until the processing
+     * instances created for them are concluded or the slots are released.
+     *
+     * @param requestCount The number of requests to admit.
+     * @throws ContainerAutomatOverloadException If the requests are rejected.
+     */
+    public void admit(int requestCount) {
+
+        if (maxInFlight > 0) {
+            var inFlight = tryReserveInFlight(requestCount);
+            if (inFlight >= 0) {
+                rejectedInFlightCount.addAndGet(requestCount);
+                throw new ContainerAutomatOverloadException(ERROR_MESSAGE_IN_FLIGHT_LIMIT_TEMPLATE.formatted(requestCount, inFlight, maxInFlight), retryAfterSeconds);
+            }
+        }
+        if (ratePerSecond > 0) {
+            var waitSeconds = tryTakeTokens(requestCount);
+            if (waitSeconds > 0) {
+                release(requestCount);
+                rejectedRateCount.addAndGet(requestCount);
+                throw new ContainerAutomatOverloadException(ERROR_MESSAGE_RATE_LIMIT_TEMPLATE.formatted(requestCount, ratePerSecond), Math.max(1, (long) Math.ceil(waitSeconds)));
+            }
+        }
+        admittedCount.addAndGet(requestCount);
+    }
+
+    /**
+     * Releases the slots of admitted requests for which no processing
+     * instances have been created, e.g. because the database was not reachable.
+     *
+     * @param requestCount The number of admitted requests.
+     */
+    public void release(int requestCount) {
+
+        if (maxInFlight > 0) {
+            inFlightCount.addAndGet(-requestCount);
+        }
+    }
+
+    /**
+     * Counts the processing instances created for admitted requests as in flight,
+     * in the slots reserved by their admission.
+     *
+     * @param processingInstanceIds The ids of the processing instances.
+     */
+    public void addInFlight(Collection<String> processingInstanceIds) {
+
+        if (maxInFlight > 0) {
+            var admissionTime = nanoTime.getAsLong();
+            processingInstanceIds.forEach(processingInstanceId -> inFlightAdmissionTimes.put(processingInstanceId, admissionTime));
+        }
+    }
+
+    /**
+     * Stops counting processing instances as in flight whose start commands
+     * could not be sent.
+     *
+     * @param processingInstanceIds The ids of the processing instances.
+     */
+    public void removeInFlight(Collection<String> processingInstanceIds) {
+
+        if (maxInFlight > 0) {
+            processingInstanceIds.forEach(this::removeInFlight);
+        }
+    }
+
+    /**
+     * Stops counting a processing instance as in flight as soon as it is concluded.
+     *
+     * @param containerAutomatEvent The event received from the message broker.
+     */
+    @EventListener
+    public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        if (!inFlightAdmissionTimes.isEmpty() && ContainerAutomatEventSubscriptions.isConcludingEvent(containerAutomatEvent.getEventType())) {
+            removeInFlight(containerAutomatEvent.getProcessingInstanceId());
+        }
+    }
+
+    public int getInFlightCount() {
+
+        return inFlightCount.get();
+    }
+
+    public long getAdmittedCount() {
+
+        return admittedCount.get();
+    }
+
+    public long getRejectedCount() {
+
+        return rejectedInFlightCount.get() + rejectedRateCount.get();
+    }
+
+    synchronized double getAvailableTokens() {
+
+        refillTokens();
+        return tokens;
+    }
+
+    private synchronized double tryTakeTokens(int requestCount) {
+
+        refillTokens();
+        var requiredTokens = Math.min(requestCount, burst);
+        if (tokens < requiredTokens) {
+            return (requiredTokens - tokens) / ratePerSecond;
+        }
+        tokens -= requestCount;
+        return 0;
+    }
+
+    private void refillTokens() {
+
+        var now = nanoTime.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * ratePerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Releases the slots of processing instances that have been in flight for
+     * longer than the in-flight timeout. Called periodically by the sweep.
+     */
+    void removeExpiredInFlight() {
+
+        var expiryTime = nanoTime.getAsLong() - inFlightTimeoutNanos;
+        inFlightAdmissionTimes.forEach((processingInstanceId, admissionTime) -> {
+            if (admissionTime - expiryTime < 0 && inFlightAdmissionTimes.remove(processingInstanceId, admissionTime)) {
+                inFlightCount.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Reserves slots for the given number of requests.
+     *
+     * @param requestCount The number of requests.
+     * @return <code>-1</code> if the slots have been reserved, or the number of
+     * processing instances in flight that prevented the reservation.
+     */
+    private int tryReserveInFlight(int requestCount) {
+
+        while (true) {
+            var inFlight = inFlightCount.get();
+            if (inFlight + requestCount > maxInFlight) {
+                return inFlight;
+            }
+            if (inFlightCount.compareAndSet(inFlight, inFlight + requestCount)) {
+                return -1;
+            }
+        }
+    }
+
+    private void removeInFlight(String processingInstanceId) {
+
+        if (inFlightAdmissionTimes.remove(processingInstanceId) != null) {
+            inFlightCount.decrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The response to a request that has been answered with the outcome memoized
+ * for its input by {@link ContainerAutomatOutcomeCache}, without running the
+ * processing pipeline. The processing instance id is only set if the request
+ * has been recorded in the database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContainerAutomatCachedOutcome {
+
+    private String processingInstanceId;
+
+    private String input;
+
+    private String description;
+
+    private EventType outcome;
+
+    private boolean cached;
+
+}
@@ -18,19 +18,28 @@ package de.containerautomat.api;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * An abstract base class for Spring REST controllers providing means for
  * error handling.
+ * <p/>
+ * The reactive controllers cannot extend this class, since its error handler
+ * depends on the servlet API. They extend {@link ContainerAutomatReactiveControllerBase}
+ * instead, which shares the creation of the error responses through the static
+ * methods.
  */
 public abstract class ContainerAutomatControllerBase {
 
@@ -49,25 +58,64 @@ public abstract class ContainerAutomatControllerBase {
     ResponseEntity<String> handleErrors(Exception e, HttpServletRequest request) {
 
         var detail = switch (e) {
-            case MethodArgumentNotValidException manve -> manve.getFieldErrors()
-                    .stream()
-                    .map(fieldError -> fieldError.getField() + " " + fieldError.getDefaultMessage())
-                    .collect(Collectors.joining(", "));
+            case MethodArgumentNotValidException manve -> joinFieldErrors(manve.getFieldErrors());
             default -> e.getMessage();
         };
 
         var status = switch (e) {
             case MethodArgumentNotValidException ignored -> HttpStatus.BAD_REQUEST;
             case HttpMessageConversionException ignored -> HttpStatus.BAD_REQUEST;
+            default -> getErrorStatus(e);
+        };
+
+        return createErrorResponse(e, detail, status, request.getRequestURL().toString(), request.getRequestURI());
+    }
+
+    static String joinFieldErrors(List<FieldError> fieldErrors) {
+
+        return fieldErrors.stream()
+                .map(fieldError -> fieldError.getField() + " " + fieldError.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    static HttpStatus getErrorStatus(Exception e) {
+
+        return switch (e) {
             case IllegalArgumentException ignored -> HttpStatus.BAD_REQUEST;
+            case ContainerAutomatOverloadException ignored -> HttpStatus.TOO_MANY_REQUESTS;
+            case DuplicateKeyException ignored -> HttpStatus.CONFLICT;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
+    }
+
+    /**
+     * Creates the response for an error as a problem detail, which is shared
+     * by the servlet and the reactive controllers.
+     *
+     * @param e           The exception that caused the error.
+     * @param detail      The detail message of the error.
+     * @param status      The status of the response.
+     * @param requestUrl  The URL of the request.
+     * @param requestPath The path of the request.
+     * @return The response.
+     */
+    static ResponseEntity<String> createErrorResponse(Exception e, String detail, HttpStatus status, String requestUrl, String requestPath) {
 
         var responseJson = PROBLEM_DETAIL_JSON_TEMPLATE.formatted(
-                request.getRequestURL().append("/").append(e.getClass().getSimpleName().toLowerCase()).toString(),
+                requestUrl + "/" + e.getClass().getSimpleName().toLowerCase(),
                 e.getClass().getSimpleName(),
                 Objects.toString(detail, "No detail message available.").replace("\"", "'"),
-                request.getRequestURI());
+                requestPath);
+
+        if (e instanceof ContainerAutomatOverloadException overloadException) {
+            if (log.isDebugEnabled()) {
+                log.debug("Rejecting request because of overload. Returning error message:%n%s".formatted(responseJson));
+            }
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(overloadException.getRetryAfterSeconds()))
+                    .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                    .body(responseJson);
+        }
 
         log.error("Unable to process request. Returning error message:%n%s".formatted(responseJson));
 
@@ -15,6 +15,9 @@
  */
 package de.containerautomat.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import de.containerautomat.automaton.DeterministicFiniteAutomaton;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatMessaging;
@@ -22,38 +25,101 @@ import de.containerautomat.processing.ContainerAutomatProcessingInstance;
 import de.containerautomat.processing.ContainerAutomatRequest;
 import de.containerautomat.processing.ContainerAutomatStorage;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.Validator;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * A Spring REST controller for receiving requests to be processed by the
  * DFA implemented by the generated application.
+ * <p/>
+ * Requests can be posted individually or as a batch, either as a JSON array
+ * or as newline-delimited JSON (NDJSON). For a batch, the processing instances
+ * are created with one bulk write to the database, the start commands are sent
+ * together, and the ids of the processing instances are streamed back as NDJSON
+ * in the order of the requests.
+ * <p/>
+ * Uploads of arbitrary size can be posted as an NDJSON stream, which is parsed
+ * incrementally and submitted in chunks, see {@link #processRequestStream(InputStream)}.
+ * <p/>
+ * An individual request can wait for the result of its processing, see
+ * {@link #processRequestAndWait(ContainerAutomatRequest, String, String)}.
+ * <p/>
+ * All requests pass the {@link ContainerAutomatAdmissionControl} before their
+ * processing instances are created.
+ * <p/>
+ * An individual request can be submitted idempotently with the header
+ * {@value ContainerAutomatIdempotentRequests#HEADER_IDEMPOTENCY_KEY}, see
+ * {@link ContainerAutomatIdempotentRequests}. A retried request is answered with
+ * the processing instance of the original request without processing it again,
+ * unless the start command of the original request could not be sent, in which
+ * case it is sent for the retried request.
+ * <p/>
+ * In the fast answer mode of the {@link ContainerAutomatOutcomeCache}, an individual
+ * request for an input with a memoized outcome is answered immediately with a
+ * {@link ContainerAutomatCachedOutcome}.
+ * <p/>
+ * If tracing is enabled, the start commands are sent in a span that starts the
+ * trace of the request, or of the chunk of requests for a batch, which is
+ * continued by the state services, see {@link ContainerAutomatTracing}.
+ * <p/>
+ * The controller is only active in a servlet web application. An entry service
+ * that runs as a reactive web application uses the
+ * {@code ContainerAutomatReactiveEntryController} instead.
  */
 @RestController
 @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @OpenAPIDefinition(
         info = @Info(
                 title = "ContainerAutomat Entry Controller",
                 version = "1.0",
                 description = "The REST API of a ContainerAutomat application."))
-@RequiredArgsConstructor
 public class ContainerAutomatEntryController extends ContainerAutomatControllerBase {
 
     private static final Log log = LogFactory.getLog(ContainerAutomatEntryController.class);
 
     public static final String PATH_REQUESTS = "/requests";
+    public static final String PATH_REQUESTS_BATCH = PATH_REQUESTS + "/batch";
+    public static final String PATH_REQUESTS_STREAM = PATH_REQUESTS + "/stream";
+    public static final String PARAMETER_WAIT = "wait";
 
     static final String LOG_MESSAGE_NEW_REQUEST_PROCESSING_INSTANCE = "Processing new request. ProcessingInstance created:%n%s";
+    static final String LOG_MESSAGE_NEW_REQUEST_BATCH_PROCESSING_INSTANCES = "Processing new batch of %d requests. ProcessingInstances created from %s to %s.";
+    static final String LOG_MESSAGE_RESENDING_START_COMMAND = "Sending the pending start command of ProcessingInstance %s for a retried request.";
+    static final String LOG_MESSAGE_REQUEST_STREAM_ABORTED = "Aborting stream of requests at index %d, discarding %d unsubmitted requests: %s";
+    static final String ERROR_MESSAGE_INVALID_REQUEST_AT_INDEX = "Invalid request at index %d: %s";
+    static final String SPAN_NAME_REQUEST = "containerautomat.entry.request";
+    static final String SPAN_ATTRIBUTE_PROCESSING_INSTANCE_ID = "containerautomat.processing.instance.id";
+    static final String SPAN_ATTRIBUTE_PROCESSING_INSTANCE_COUNT = "containerautomat.processing.instance.count";
+    static final String PROCESSING_INSTANCE_ID_NDJSON_TEMPLATE = "{\"processingInstanceId\":\"%s\"}\n";
 
     private final DeterministicFiniteAutomaton automaton;
 
@@ -61,20 +127,402 @@ public class ContainerAutomatEntryController extends ContainerAutomatControllerB
 
     private final ContainerAutomatMessaging messaging;
 
+    private final ContainerAutomatPendingResults pendingResults;
+
+    private final ContainerAutomatAdmissionControl admissionControl;
+
+    private final ContainerAutomatIdempotentRequests idempotentRequests;
+
+    private final ContainerAutomatOutcomeCache outcomeCache;
+
+    private final ContainerAutomatLatencies latencies;
+
+    private final ContainerAutomatTracing tracing;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int batchMaxSize;
+
+    private final int streamChunkSize;
+
+    private final int inputWindowSize;
+
+
+    public ContainerAutomatEntryController(DeterministicFiniteAutomaton automaton, ContainerAutomatStorage storage, ContainerAutomatMessaging messaging, ContainerAutomatPendingResults pendingResults, ContainerAutomatAdmissionControl admissionControl, ContainerAutomatIdempotentRequests idempotentRequests, ContainerAutomatOutcomeCache outcomeCache, ContainerAutomatLatencies latencies, ContainerAutomatTracing tracing, ObjectMapper objectMapper, Validator validator, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_BATCH_MAX_SIZE + ":10000}") int batchMaxSize, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_STREAM_CHUNK_SIZE + ":500}") int streamChunkSize, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_WINDOW_SIZE + ":0}") int inputWindowSize) {
+
+        if (batchMaxSize < 1 || streamChunkSize < 1 || inputWindowSize < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatEntryController because of a maximum batch size of %s, a stream chunk size of %s and an input window size of %s.".formatted(batchMaxSize, streamChunkSize, inputWindowSize));
+        }
+        this.automaton = automaton;
+        this.storage = storage;
+        this.messaging = messaging;
+        this.pendingResults = pendingResults;
+        this.admissionControl = admissionControl;
+        this.idempotentRequests = idempotentRequests;
+        this.outcomeCache = outcomeCache;
+        this.latencies = latencies;
+        this.tracing = tracing;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchMaxSize = batchMaxSize;
+        this.streamChunkSize = streamChunkSize;
+        this.inputWindowSize = inputWindowSize;
+    }
 
     @PostMapping(path = PATH_REQUESTS, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ContainerAutomatProcessingInstance> processRequest(@RequestBody @Valid ContainerAutomatRequest containerAutomatRequest) {
+    public ResponseEntity<?> processRequest(@RequestBody @Valid ContainerAutomatRequest containerAutomatRequest,
+                                            @RequestHeader(name = ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
 
-        var processingInstance = storage.createProcessingInstance(containerAutomatRequest);
-        logProcessingInstanceCreated(processingInstance);
-        var processingCommand = ContainerAutomatRuntimeCommand.fromProcessingInstance(processingInstance);
-        messaging.sendContainerAutomatCommand(automaton.getStartState(), processingCommand);
+        var existingInstance = findIdempotentProcessingInstance(containerAutomatRequest, idempotencyKey);
+        if (existingInstance.isPresent()) {
+            sendPendingStartCommand(existingInstance.get(), idempotencyKey);
+            return ResponseEntity.ok(existingInstance.get());
+        }
+        var cachedOutcome = answerFromCachedOutcome(containerAutomatRequest, idempotencyKey);
+        if (cachedOutcome.isPresent()) {
+            return ResponseEntity.ok(cachedOutcome.get());
+        }
+        var processingInstance = createProcessingInstance(containerAutomatRequest, idempotencyKey);
+        sendStartCommand(processingInstance, idempotencyKey);
         return ResponseEntity.ok(processingInstance);
     }
 
+    /**
+     * Processes a request and waits for the result of its processing without
+     * blocking a servlet thread. The response is sent with the status 200 and
+     * the event that concluded the processing instance as soon as this event
+     * is received, or with the status 202 and the processing instance if the
+     * time to wait has elapsed before.
+     *
+     * @param containerAutomatRequest The request to process.
+     * @param wait                    The time to wait, e.g. <code>5s</code> or <code>PT5S</code>.
+     * @param idempotencyKey          The optional idempotency key of the request. If the request
+     *                                is a retry, the response has the status 202 and contains the
+     *                                processing instance of the original request.
+     * @return The deferred response, which is already completed if the outcome for
+     * the input has been memoized in the fast answer mode.
+     */
+    @PostMapping(path = PATH_REQUESTS, params = PARAMETER_WAIT, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<?>> processRequestAndWait(@RequestBody @Valid ContainerAutomatRequest containerAutomatRequest, @RequestParam(PARAMETER_WAIT) String wait,
+                                                                   @RequestHeader(name = ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+
+        var waitDuration = DurationStyle.detectAndParse(wait);
+        var existingInstance = findIdempotentProcessingInstance(containerAutomatRequest, idempotencyKey);
+        if (existingInstance.isPresent()) {
+            sendPendingStartCommand(existingInstance.get(), idempotencyKey);
+            return completedResult(ResponseEntity.accepted().body(existingInstance.get()));
+        }
+        var cachedOutcome = answerFromCachedOutcome(containerAutomatRequest, idempotencyKey);
+        if (cachedOutcome.isPresent()) {
+            return completedResult(ResponseEntity.ok(cachedOutcome.get()));
+        }
+        var processingInstance = createProcessingInstance(containerAutomatRequest, idempotencyKey);
+        var deferredResult = pendingResults.register(processingInstance, waitDuration);
+        try {
+            sendStartCommand(processingInstance, idempotencyKey);
+        } catch (RuntimeException e) {
+            pendingResults.unregister(processingInstance.getProcessingInstanceId());
+            throw e;
+        }
+        return deferredResult;
+    }
+
+    @PostMapping(path = PATH_REQUESTS_BATCH, consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> processRequestBatch(InputStream requestBatch) throws IOException {
+
+        var containerAutomatRequests = readRequestBatch(requestBatch);
+        admissionControl.admit(containerAutomatRequests.size());
+        var processingInstances = submitRequests(containerAutomatRequests);
+
+        StreamingResponseBody responseBody = outputStream -> writeProcessingInstanceIds(outputStream, processingInstances);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    /**
+     * Processes an NDJSON stream of requests of arbitrary length. The requests
+     * are parsed incrementally and submitted in chunks, while the ids of the
+     * created processing instances are written to the response after each chunk.
+     * <p/>
+     * Since the next chunk is only read after the previous one has been stored
+     * and sent, the upload is throttled to the capacity of the database and the
+     * message broker, and the memory used is limited to one chunk regardless of
+     * the size of the upload. If an invalid request is encountered, the requests
+     * of the previous chunks remain submitted, and the response ends with a line
+     * that contains the index of the invalid request and the error. The same
+     * applies to a chunk rejected by the admission control, with the index of
+     * the first request of the chunk.
+     *
+     * @param requestStream The content of the HTTP request.
+     * @return The response streaming the ids of the processing instances.
+     */
+    @PostMapping(path = PATH_REQUESTS_STREAM, consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> processRequestStream(InputStream requestStream) {
+
+        StreamingResponseBody responseBody = outputStream -> processRequestStream(requestStream, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    void processRequestStream(InputStream requestStream, OutputStream outputStream) throws IOException {
+
+        var chunk = new ArrayList<ContainerAutomatRequest>(streamChunkSize);
+        var index = 0;
+        try (var requestIterator = objectMapper.readerFor(ContainerAutomatRequest.class).<ContainerAutomatRequest>readValues(objectMapper.createParser(requestStream))) {
+            while (requestIterator.hasNextValue()) {
+                var containerAutomatRequest = requestIterator.nextValue();
+                var violations = getViolations(containerAutomatRequest);
+                if (violations != null) {
+                    writeStreamError(outputStream, chunk, index, violations);
+                    return;
+                }
+                chunk.add(containerAutomatRequest);
+                index++;
+                if (chunk.size() == streamChunkSize) {
+                    if (!submitRequestChunk(outputStream, chunk, index - chunk.size())) {
+                        return;
+                    }
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            writeStreamError(outputStream, chunk, index, e.getOriginalMessage());
+            return;
+        }
+        if (!chunk.isEmpty()) {
+            submitRequestChunk(outputStream, chunk, index - chunk.size());
+        }
+    }
+
+    private boolean submitRequestChunk(OutputStream outputStream, List<ContainerAutomatRequest> chunk, int chunkIndex) throws IOException {
+
+        try {
+            admissionControl.admit(chunk.size());
+        } catch (ContainerAutomatOverloadException e) {
+            writeStreamError(outputStream, chunk, chunkIndex, e.getMessage());
+            return false;
+        }
+        writeProcessingInstanceIds(outputStream, submitRequests(chunk));
+        return true;
+    }
+
+    /**
+     * Reads and validates the requests of a batch. The content is either a JSON
+     * array of requests or a sequence of requests separated by whitespace, which
+     * includes NDJSON.
+     *
+     * @param requestBatch The content of the HTTP request.
+     * @return The requests of the batch.
+     * @throws IOException If the content cannot be read.
+     */
+    List<ContainerAutomatRequest> readRequestBatch(InputStream requestBatch) throws IOException {
+
+        var containerAutomatRequests = new ArrayList<ContainerAutomatRequest>();
+        try (var requestIterator = objectMapper.readerFor(ContainerAutomatRequest.class).<ContainerAutomatRequest>readValues(requestBatch)) {
+            while (requestIterator.hasNextValue()) {
+                if (containerAutomatRequests.size() == batchMaxSize) {
+                    throw new IllegalArgumentException("The batch exceeds the maximum size of %d requests.".formatted(batchMaxSize));
+                }
+                containerAutomatRequests.add(validateRequest(requestIterator.nextValue(), containerAutomatRequests.size()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_INVALID_REQUEST_AT_INDEX.formatted(containerAutomatRequests.size(), e.getOriginalMessage()), e);
+        }
+        if (containerAutomatRequests.isEmpty()) {
+            throw new IllegalArgumentException("The batch does not contain any requests.");
+        }
+        return containerAutomatRequests;
+    }
+
+    private ContainerAutomatRequest validateRequest(ContainerAutomatRequest containerAutomatRequest, int index) {
+
+        var violations = getViolations(containerAutomatRequest);
+        if (violations != null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_INVALID_REQUEST_AT_INDEX.formatted(index, violations));
+        }
+        return containerAutomatRequest;
+    }
+
+    private String getViolations(ContainerAutomatRequest containerAutomatRequest) {
+
+        var violations = validator.validate(containerAutomatRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Optional<ContainerAutomatProcessingInstance> findIdempotentProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        return idempotentRequests.findProcessingInstance(idempotencyKey, containerAutomatRequest);
+    }
+
+    private Optional<ContainerAutomatCachedOutcome> answerFromCachedOutcome(ContainerAutomatRequest containerAutomatRequest, String idempotencyKey) {
+
+        return outcomeCache.getFastAnswer(containerAutomatRequest.getInput()).map(outcome -> {
+            String processingInstanceId = null;
+            if (outcomeCache.isRecordFastAnswers()) {
+                var processingInstance = idempotencyKey == null
+                        ? storage.createProcessingInstance(containerAutomatRequest)
+                        : idempotentRequests.createProcessingInstance(idempotencyKey, containerAutomatRequest);
+                clearStartCommandPending(processingInstance, idempotencyKey);
+                logProcessingInstanceCreated(processingInstance);
+                processingInstanceId = processingInstance.getProcessingInstanceId();
+            }
+            return ContainerAutomatCachedOutcome.builder()
+                    .processingInstanceId(processingInstanceId)
+                    .input(containerAutomatRequest.getInput())
+                    .description(containerAutomatRequest.getDescription())
+                    .outcome(outcome)
+                    .cached(true)
+                    .build();
+        });
+    }
+
+    private static DeferredResult<ResponseEntity<?>> completedResult(ResponseEntity<?> response) {
+
+        var deferredResult = new DeferredResult<ResponseEntity<?>>();
+        deferredResult.setResult(response);
+        return deferredResult;
+    }
+
+    private ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String idempotencyKey) {
+
+        admissionControl.admit(1);
+        ContainerAutomatProcessingInstance processingInstance;
+        try {
+            processingInstance = idempotencyKey == null
+                    ? storage.createProcessingInstance(containerAutomatRequest)
+                    : idempotentRequests.createProcessingInstance(idempotencyKey, containerAutomatRequest);
+        } catch (RuntimeException e) {
+            admissionControl.release(1);
+            throw e;
+        }
+        admissionControl.addInFlight(List.of(processingInstance.getProcessingInstanceId()));
+        latencies.track(List.of(processingInstance));
+        logProcessingInstanceCreated(processingInstance);
+        return processingInstance;
+    }
+
+    private void sendPendingStartCommand(ContainerAutomatProcessingInstance processingInstance, String idempotencyKey) {
+
+        if (idempotentRequests.claimStartCommand(processingInstance)) {
+            if (log.isInfoEnabled()) {
+                log.info(LOG_MESSAGE_RESENDING_START_COMMAND.formatted(processingInstance.getProcessingInstanceId()));
+            }
+            sendStartCommand(processingInstance, idempotencyKey);
+        }
+    }
+
+    private void sendStartCommand(ContainerAutomatProcessingInstance processingInstance, String idempotencyKey) {
+
+        try {
+            sendStartCommand(ContainerAutomatRuntimeCommand.fromProcessingInstance(processingInstance, inputWindowSize));
+        } catch (RuntimeException e) {
+            removeInFlight(List.of(processingInstance));
+            if (idempotencyKey != null) {
+                idempotentRequests.releaseStartCommand(processingInstance);
+            }
+            throw e;
+        }
+        clearStartCommandPending(processingInstance, idempotencyKey);
+    }
+
+    private void clearStartCommandPending(ContainerAutomatProcessingInstance processingInstance, String idempotencyKey) {
+
+        if (idempotencyKey != null) {
+            idempotentRequests.clearStartCommandPending(processingInstance);
+        }
+    }
+
+    private List<ContainerAutomatProcessingInstance> submitRequests(List<ContainerAutomatRequest> containerAutomatRequests) {
+
+        List<ContainerAutomatProcessingInstance> processingInstances;
+        try {
+            processingInstances = storage.createProcessingInstances(containerAutomatRequests);
+        } catch (RuntimeException e) {
+            admissionControl.release(containerAutomatRequests.size());
+            throw e;
+        }
+        admissionControl.addInFlight(processingInstances.stream().map(ContainerAutomatProcessingInstance::getProcessingInstanceId).toList());
+        latencies.track(processingInstances);
+        if (log.isInfoEnabled()) {
+            log.info(LOG_MESSAGE_NEW_REQUEST_BATCH_PROCESSING_INSTANCES.formatted(processingInstances.size(),
+                    processingInstances.getFirst().getProcessingInstanceId(), processingInstances.getLast().getProcessingInstanceId()));
+        }
+        var processingCommands = processingInstances.stream()
+                .map(processingInstance -> ContainerAutomatRuntimeCommand.fromProcessingInstance(processingInstance, inputWindowSize))
+                .toList();
+        try {
+            sendStartCommands(processingCommands);
+        } catch (RuntimeException e) {
+            removeInFlight(processingInstances);
+            throw e;
+        }
+        return processingInstances;
+    }
+
+    private void sendStartCommands(List<ContainerAutomatRuntimeCommand> processingCommands) {
+
+        if (!tracing.isEnabled()) {
+            messaging.sendContainerAutomatCommands(automaton.getStartState(), processingCommands);
+            return;
+        }
+        tracing.inSpan(SPAN_NAME_REQUEST, null, Map.of(SPAN_ATTRIBUTE_PROCESSING_INSTANCE_COUNT, Integer.toString(processingCommands.size())), () -> {
+            messaging.sendContainerAutomatCommands(automaton.getStartState(), processingCommands);
+            return null;
+        });
+    }
+
+    private void removeInFlight(List<ContainerAutomatProcessingInstance> processingInstances) {
+
+        var processingInstanceIds = processingInstances.stream().map(ContainerAutomatProcessingInstance::getProcessingInstanceId).toList();
+        admissionControl.removeInFlight(processingInstanceIds);
+        latencies.untrack(processingInstanceIds);
+    }
+
+    private void sendStartCommand(ContainerAutomatRuntimeCommand processingCommand) {
+
+        if (!tracing.isEnabled()) {
+            messaging.sendContainerAutomatCommand(automaton.getStartState(), processingCommand);
+            return;
+        }
+        tracing.inSpan(SPAN_NAME_REQUEST, null, Map.of(SPAN_ATTRIBUTE_PROCESSING_INSTANCE_ID, processingCommand.getProcessingInstanceId()), () -> {
+            messaging.sendContainerAutomatCommand(automaton.getStartState(), processingCommand);
+            return null;
+        });
+    }
+
+    private void writeProcessingInstanceIds(OutputStream outputStream, List<ContainerAutomatProcessingInstance> processingInstances) throws IOException {
+
+        for (ContainerAutomatProcessingInstance processingInstance : processingInstances) {
+            outputStream.write(PROCESSING_INSTANCE_ID_NDJSON_TEMPLATE.formatted(processingInstance.getProcessingInstanceId()).getBytes(StandardCharsets.UTF_8));
+        }
+        outputStream.flush();
+    }
+
+    private void writeStreamError(OutputStream outputStream, List<ContainerAutomatRequest> chunk, int index, String message) throws IOException {
+
+        log.error(LOG_MESSAGE_REQUEST_STREAM_ABORTED.formatted(index, chunk.size(), message));
+        var errorLine = objectMapper.createObjectNode()
+                .put("index", index)
+                .put("error", message);
+        outputStream.write(objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(errorLine));
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+
     protected void logProcessingInstanceCreated(ContainerAutomatProcessingInstance containerAutomatProcessingInstance) {
 
-        log.info(LOG_MESSAGE_NEW_REQUEST_PROCESSING_INSTANCE.formatted(containerAutomatProcessingInstance.toString()));
+        if (log.isInfoEnabled()) {
+            log.info(LOG_MESSAGE_NEW_REQUEST_PROCESSING_INSTANCE.formatted(containerAutomatProcessingInstance.toString()));
+        }
     }
 
 }
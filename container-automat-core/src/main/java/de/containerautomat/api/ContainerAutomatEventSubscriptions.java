@@ -0,0 +1,400 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Spring bean of the entry service that notifies subscribed clients about
+ * the events of processing instances through Server-Sent Events (SSE).
+ * <p/>
+ * The listener for events of the active message broker publishes each event as
+ * a Spring application event, which is handed over to the subscriptions for the
+ * processing instance with a lookup in an index from processing instance ids to
+ * subscriptions. Each subscription has a bounded buffer, from which the events
+ * are sent to the client by a virtual thread, so that slow clients never block
+ * the listener. A subscription whose buffer overflows receives an event named
+ * {@value #SSE_EVENT_NAME_OVERFLOW} and is closed, and a subscription is
+ * completed as soon as all of its processing instances have been concluded.
+ * <p/>
+ * Since a request may be concluded before the client subscribes, the concluding
+ * events of the most recently concluded processing instances are retained and
+ * sent immediately to new subscriptions. The buffer of a subscription therefore
+ * holds one event per processing instance in addition to the configured buffer
+ * size, so that replaying the retained events never overflows it.
+ * <p/>
+ * The events are sent to a client through a {@link Subscriber}, which is an
+ * {@link SseEmitter} for the servlet notification controller and a stream of
+ * SSE events for the reactive notification controller.
+ * <p/>
+ * Note: Events are only received by the entry service that consumes them from
+ * the message broker. With several replicas of the entry service, clients must
+ * subscribe at the replica that receives the events, e.g. with a single replica.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatEventSubscriptions {
+
+    /**
+     * The client of a subscription, to which the events are sent.
+     */
+    public interface Subscriber {
+
+        /**
+         * Sends an event of a subscribed processing instance.
+         *
+         * @param containerAutomatEvent The event.
+         * @throws IOException If the event cannot be sent.
+         */
+        void send(ContainerAutomatEvent containerAutomatEvent) throws IOException;
+
+        /**
+         * Sends the event {@value ContainerAutomatEventSubscriptions#SSE_EVENT_NAME_OVERFLOW} before the subscription
+         * is closed because of a buffer overflow.
+         *
+         * @param message The message of the event.
+         * @throws IOException If the event cannot be sent.
+         */
+        void sendOverflow(String message) throws IOException;
+
+        void complete();
+
+        void completeWithError(Throwable e);
+
+    }
+
+    private record SseEmitterSubscriber(SseEmitter emitter) implements Subscriber {
+
+        @Override
+        public void send(ContainerAutomatEvent containerAutomatEvent) throws IOException {
+
+            emitter.send(SseEmitter.event()
+                    .id(containerAutomatEvent.getProcessingInstanceId())
+                    .name(containerAutomatEvent.getEventType().name())
+                    .data(containerAutomatEvent, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void sendOverflow(String message) throws IOException {
+
+            emitter.send(SseEmitter.event()
+                    .name(SSE_EVENT_NAME_OVERFLOW)
+                    .data(message, MediaType.TEXT_PLAIN));
+        }
+
+        @Override
+        public void complete() {
+
+            emitter.complete();
+        }
+
+        @Override
+        public void completeWithError(Throwable e) {
+
+            emitter.completeWithError(e);
+        }
+
+    }
+
+    private static final class Subscription {
+
+        private final Subscriber subscriber;
+
+        private final Set<String> ids;
+
+        private final Set<String> pendingIds;
+
+        private final BlockingQueue<ContainerAutomatEvent> buffer;
+
+        private final AtomicBoolean delivering = new AtomicBoolean();
+
+
+        private Subscription(Subscriber subscriber, Set<String> ids, BlockingQueue<ContainerAutomatEvent> buffer) {
+
+            this.subscriber = subscriber;
+            this.ids = Set.copyOf(ids);
+            this.pendingIds = ConcurrentHashMap.newKeySet();
+            this.pendingIds.addAll(ids);
+            this.buffer = buffer;
+        }
+
+    }
+
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatEventSubscriptions.class);
+
+    static final String SSE_EVENT_NAME_OVERFLOW = "overflow";
+    static final String OVERFLOW_MESSAGE_TEMPLATE = "More than %d events pending. Please query the results of the processing instances instead.";
+    static final String LOG_MESSAGE_SUBSCRIPTION_OVERFLOW_TEMPLATE = "Closing subscription for %d processing instances because of a buffer overflow.";
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    private final int maxIds;
+
+    private final Executor deliveryExecutor;
+
+    private final Map<String, Set<Subscription>> subscriptionsByProcessingInstanceId = new ConcurrentHashMap<>();
+
+    private final Map<String, ContainerAutomatEvent> recentCompletions;
+
+
+    @Autowired
+    public ContainerAutomatEventSubscriptions(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_BUFFER_SIZE + ":256}") int bufferSize,
+                                              @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_TIMEOUT_MILLIS + ":300000}") long timeoutMillis,
+                                              @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_MAX_IDS + ":1000}") int maxIds,
+                                              @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_RECENT_COMPLETIONS + ":10000}") int recentCompletionsSize) {
+
+        this(bufferSize, timeoutMillis, maxIds, recentCompletionsSize, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ContainerAutomatEventSubscriptions(int bufferSize, long timeoutMillis, int maxIds, int recentCompletionsSize, Executor deliveryExecutor) {
+
+        if (bufferSize < 1 || timeoutMillis < 1 || maxIds < 1 || recentCompletionsSize < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatEventSubscriptions because of a buffer size of %s, a timeout of %s milliseconds, a maximum of %s ids and %s recent completions."
+                    .formatted(bufferSize, timeoutMillis, maxIds, recentCompletionsSize));
+        }
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.maxIds = maxIds;
+        this.deliveryExecutor = deliveryExecutor;
+        this.recentCompletions = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ContainerAutomatEvent> eldest) {
+                return size() > recentCompletionsSize;
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        subscriptionsByProcessingInstanceId.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .toList()
+                .forEach(subscription -> subscription.subscriber.complete());
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Subscribes to the events of the given processing instances.
+     *
+     * @param processingInstanceIds The ids of the processing instances.
+     * @return The emitter that sends the events to the client.
+     */
+    public SseEmitter subscribe(Collection<String> processingInstanceIds) {
+
+        var ids = validateIds(processingInstanceIds);
+        var emitter = createEmitter(timeoutMillis);
+        var subscription = new Subscription(new SseEmitterSubscriber(emitter), ids, new ArrayBlockingQueue<>(getBufferSize(ids.size())));
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+        subscribe(subscription);
+        return emitter;
+    }
+
+    /**
+     * Subscribes to the events of the given processing instances with a client
+     * that is not an {@link SseEmitter}. The client must cancel the subscription
+     * if it is closed before all processing instances have been concluded, e.g.
+     * after the timeout returned by {@link #getTimeoutMillis()}.
+     *
+     * @param processingInstanceIds The ids of the processing instances.
+     * @param subscriber            The client, to which the events are sent.
+     * @return The action that cancels the subscription.
+     */
+    public Runnable subscribe(Collection<String> processingInstanceIds, Subscriber subscriber) {
+
+        var ids = validateIds(processingInstanceIds);
+        var subscription = new Subscription(subscriber, ids, new ArrayBlockingQueue<>(getBufferSize(ids.size())));
+        subscribe(subscription);
+        return () -> unsubscribe(subscription);
+    }
+
+    /**
+     * Returns the capacity of the buffer of a subscription, which is the
+     * configured buffer size plus one event per processing instance for the
+     * replay of the retained concluding events.
+     *
+     * @param processingInstanceCount The number of subscribed processing instances.
+     * @return The capacity of the buffer.
+     */
+    public int getBufferSize(int processingInstanceCount) {
+
+        return bufferSize + processingInstanceCount;
+    }
+
+    public long getTimeoutMillis() {
+
+        return timeoutMillis;
+    }
+
+    /**
+     * Hands the event over to the subscriptions for its processing instance.
+     *
+     * @param containerAutomatEvent The event received from the message broker.
+     */
+    @EventListener
+    public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        var processingInstanceId = containerAutomatEvent.getProcessingInstanceId();
+        if (isConcludingEvent(containerAutomatEvent.getEventType())) {
+            synchronized (recentCompletions) {
+                recentCompletions.put(processingInstanceId, containerAutomatEvent);
+            }
+        }
+        var subscriptions = subscriptionsByProcessingInstanceId.get(processingInstanceId);
+        if (subscriptions != null) {
+            subscriptions.forEach(subscription -> offer(subscription, containerAutomatEvent));
+        }
+    }
+
+    private Set<String> validateIds(Collection<String> processingInstanceIds) {
+
+        var ids = new LinkedHashSet<>(processingInstanceIds);
+        if (ids.isEmpty() || ids.size() > maxIds) {
+            throw new IllegalArgumentException("A subscription requires between 1 and %d processing instance ids, but %d were given.".formatted(maxIds, ids.size()));
+        }
+        return ids;
+    }
+
+    private void subscribe(Subscription subscription) {
+
+        for (String id : subscription.ids) {
+            subscriptionsByProcessingInstanceId.compute(id, (key, subscriptions) -> {
+                var result = subscriptions != null ? subscriptions : ConcurrentHashMap.<Subscription>newKeySet();
+                result.add(subscription);
+                return result;
+            });
+        }
+
+        List<ContainerAutomatEvent> completions;
+        synchronized (recentCompletions) {
+            completions = subscription.ids.stream()
+                    .map(recentCompletions::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        completions.forEach(event -> offer(subscription, event));
+    }
+
+    int getSubscriptionCount(String processingInstanceId) {
+
+        var subscriptions = subscriptionsByProcessingInstanceId.get(processingInstanceId);
+        return subscriptions != null ? subscriptions.size() : 0;
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void offer(Subscription subscription, ContainerAutomatEvent containerAutomatEvent) {
+
+        if (!subscription.buffer.offer(containerAutomatEvent)) {
+            log.warn(LOG_MESSAGE_SUBSCRIPTION_OVERFLOW_TEMPLATE.formatted(subscription.pendingIds.size()));
+            unsubscribe(subscription);
+            try {
+                subscription.subscriber.sendOverflow(OVERFLOW_MESSAGE_TEMPLATE.formatted(getBufferSize(subscription.ids.size())));
+                subscription.subscriber.complete();
+            } catch (IOException | IllegalStateException e) {
+                subscription.subscriber.completeWithError(e);
+            }
+            return;
+        }
+        if (subscription.delivering.compareAndSet(false, true)) {
+            deliveryExecutor.execute(() -> deliver(subscription));
+        }
+    }
+
+    private void deliver(Subscription subscription) {
+
+        do {
+            ContainerAutomatEvent containerAutomatEvent;
+            while ((containerAutomatEvent = subscription.buffer.poll()) != null) {
+                var processingInstanceId = containerAutomatEvent.getProcessingInstanceId();
+                var concluding = isConcludingEvent(containerAutomatEvent.getEventType());
+                if (concluding ? !subscription.pendingIds.remove(processingInstanceId) : !subscription.pendingIds.contains(processingInstanceId)) {
+                    continue;
+                }
+                try {
+                    subscription.subscriber.send(containerAutomatEvent);
+                    if (subscription.pendingIds.isEmpty()) {
+                        unsubscribe(subscription);
+                        subscription.subscriber.complete();
+                        return;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(subscription);
+                    subscription.subscriber.completeWithError(e);
+                    return;
+                }
+            }
+            subscription.delivering.set(false);
+        } while (!subscription.buffer.isEmpty() && subscription.delivering.compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscription subscription) {
+
+        for (String id : subscription.ids) {
+            subscriptionsByProcessingInstanceId.computeIfPresent(id, (key, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+    }
+
+    static boolean isConcludingEvent(EventType eventType) {
+
+        return eventType == EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED
+                || eventType == EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED
+                || eventType == EventType.STATE_PROCESSING_ERROR;
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.ContainerAutomatRequest;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A Spring bean of the entry service for the idempotent submission of requests
+ * with a client-supplied idempotency key, so that a retried request returns the
+ * processing instance created for the original request instead of processing the
+ * input once more.
+ * <p/>
+ * The id of the processing instance is derived from the idempotency key, so that
+ * the uniqueness of the processing instance id in the database prevents duplicates,
+ * even across several replicas of the entry service. Recently used keys are kept
+ * in a bounded cache with a time to live, so that most retries are answered
+ * without accessing the database.
+ * <p/>
+ * A processing instance created for an idempotency key remains marked as waiting
+ * for its start command until the start command has been sent. If sending fails,
+ * a retried request finds the processing instance with this mark and sends the
+ * start command again, so that the processing instance is not stranded. Since
+ * the original request holds a claim for sending the start command, a retried
+ * request only sends it after claiming it atomically in the database once the
+ * lease of the previous claim has expired. A retry that arrives while the start
+ * command is still being sent thus does not send a second one.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatIdempotentRequests {
+
+    private record CacheEntry(ContainerAutomatProcessingInstance processingInstance, boolean startCommandPending, long expiryTime) {
+    }
+
+
+    public static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    static final int MAX_LENGTH_IDEMPOTENCY_KEY = 255;
+    static final String PROCESSING_INSTANCE_ID_NAMESPACE = "containerautomat:idempotency-key:";
+    static final String ERROR_MESSAGE_INVALID_IDEMPOTENCY_KEY = "The header " + HEADER_IDEMPOTENCY_KEY + " must contain between 1 and " + MAX_LENGTH_IDEMPOTENCY_KEY + " characters.";
+    static final String ERROR_MESSAGE_IDEMPOTENCY_KEY_REUSED_TEMPLATE = "The " + HEADER_IDEMPOTENCY_KEY + " %s has already been used for a request with a different input.";
+
+    private final ContainerAutomatStorage storage;
+
+    private final long cacheTtlNanos;
+
+    private final Duration startCommandLease;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<String, CacheEntry> cache;
+
+
+    @Autowired
+    public ContainerAutomatIdempotentRequests(ContainerAutomatStorage storage,
+                                              @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_IDEMPOTENCY_CACHE_SIZE + ":10000}") int cacheSize,
+                                              @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_IDEMPOTENCY_CACHE_TTL_MILLIS + ":600000}") long cacheTtlMillis,
+                                              @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_IDEMPOTENCY_START_COMMAND_LEASE_MILLIS + ":60000}") long startCommandLeaseMillis) {
+
+        this(storage, cacheSize, cacheTtlMillis, startCommandLeaseMillis, System::nanoTime);
+    }
+
+    ContainerAutomatIdempotentRequests(ContainerAutomatStorage storage, int cacheSize, long cacheTtlMillis, long startCommandLeaseMillis, LongSupplier nanoTime) {
+
+        if (cacheSize < 0 || cacheTtlMillis < 1 || startCommandLeaseMillis < 1) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatIdempotentRequests because of a cache size of %s, a time to live of %s milliseconds and a start command lease of %s milliseconds.".formatted(cacheSize, cacheTtlMillis, startCommandLeaseMillis));
+        }
+        this.storage = storage;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+        this.startCommandLease = Duration.ofMillis(startCommandLeaseMillis);
+        this.nanoTime = nanoTime;
+        this.cache = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Derives the id of the processing instance for a request from its idempotency key.
+     *
+     * @param idempotencyKey The idempotency key of the request.
+     * @return The id of the processing instance.
+     */
+    public static String toProcessingInstanceId(String idempotencyKey) {
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_LENGTH_IDEMPOTENCY_KEY) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_INVALID_IDEMPOTENCY_KEY);
+        }
+        return UUID.nameUUIDFromBytes((PROCESSING_INSTANCE_ID_NAMESPACE + idempotencyKey).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Looks up the processing instance created before for the idempotency key,
+     * first in the cache and then in the database.
+     *
+     * @param idempotencyKey          The idempotency key of the request.
+     * @param containerAutomatRequest The request, which must have the same input as the original request.
+     * @return The processing instance created before, or an empty optional.
+     */
+    public Optional<ContainerAutomatProcessingInstance> findProcessingInstance(String idempotencyKey, ContainerAutomatRequest containerAutomatRequest) {
+
+        var processingInstanceId = toProcessingInstanceId(idempotencyKey);
+        var processingInstance = getCachedProcessingInstance(processingInstanceId)
+                .or(() -> storage.findProcessingInstance(processingInstanceId));
+        processingInstance.ifPresent(existingInstance -> {
+            if (!Objects.equals(existingInstance.getInput(), containerAutomatRequest.getInput())) {
+                throw new IllegalArgumentException(ERROR_MESSAGE_IDEMPOTENCY_KEY_REUSED_TEMPLATE.formatted(idempotencyKey));
+            }
+        });
+        return processingInstance;
+    }
+
+    /**
+     * Creates the processing instance for a request with an idempotency key.
+     *
+     * @param idempotencyKey          The idempotency key of the request.
+     * @param containerAutomatRequest The request.
+     * @return The created processing instance.
+     * @throws org.springframework.dao.DuplicateKeyException If a processing instance has been created concurrently for the same key.
+     */
+    public ContainerAutomatProcessingInstance createProcessingInstance(String idempotencyKey, ContainerAutomatRequest containerAutomatRequest) {
+
+        var processingInstance = storage.createProcessingInstance(containerAutomatRequest, toProcessingInstanceId(idempotencyKey));
+        cacheProcessingInstance(processingInstance, true);
+        return processingInstance;
+    }
+
+    /**
+     * Claims the sending of the start command of a processing instance created
+     * for an idempotency key, if it has not been sent yet and the lease of the
+     * previous claim has expired. Only a processing instance whose start command
+     * is known to have been sent is answered from the cache, as the start command
+     * may have been sent by another replica in the meantime.
+     *
+     * @param processingInstance The processing instance.
+     * @return <code>true</code> if the claim has been won and the start command must be sent.
+     */
+    public boolean claimStartCommand(ContainerAutomatProcessingInstance processingInstance) {
+
+        var cacheEntry = getCacheEntry(processingInstance.getProcessingInstanceId());
+        if (cacheEntry.isPresent() && !cacheEntry.get().startCommandPending()) {
+            return false;
+        }
+        return storage.claimStartCommand(processingInstance.getProcessingInstanceId(), startCommandLease);
+    }
+
+    /**
+     * Releases the claim for sending the start command of a processing instance
+     * created for an idempotency key after sending has failed, so that a retried
+     * request can send the start command without waiting for the lease to expire.
+     *
+     * @param processingInstance The processing instance.
+     */
+    public void releaseStartCommand(ContainerAutomatProcessingInstance processingInstance) {
+
+        storage.releaseStartCommand(processingInstance.getProcessingInstanceId());
+    }
+
+    /**
+     * Records that the start command of a processing instance created for an
+     * idempotency key has been sent or is not needed, e.g. for a fast answer.
+     *
+     * @param processingInstance The processing instance.
+     */
+    public void clearStartCommandPending(ContainerAutomatProcessingInstance processingInstance) {
+
+        storage.clearStartCommandPending(processingInstance.getProcessingInstanceId());
+        cacheProcessingInstance(processingInstance, false);
+    }
+
+    int getCacheSize() {
+
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private Optional<ContainerAutomatProcessingInstance> getCachedProcessingInstance(String processingInstanceId) {
+
+        return getCacheEntry(processingInstanceId).map(CacheEntry::processingInstance);
+    }
+
+    private Optional<CacheEntry> getCacheEntry(String processingInstanceId) {
+
+        synchronized (cache) {
+            var cacheEntry = cache.get(processingInstanceId);
+            if (cacheEntry == null) {
+                return Optional.empty();
+            }
+            if (cacheEntry.expiryTime() - nanoTime.getAsLong() < 0) {
+                cache.remove(processingInstanceId);
+                return Optional.empty();
+            }
+            return Optional.of(cacheEntry);
+        }
+    }
+
+    private void cacheProcessingInstance(ContainerAutomatProcessingInstance processingInstance, boolean startCommandPending) {
+
+        synchronized (cache) {
+            cache.put(processingInstance.getProcessingInstanceId(), new CacheEntry(processingInstance, startCommandPending, nanoTime.getAsLong() + cacheTtlNanos));
+        }
+    }
+
+}
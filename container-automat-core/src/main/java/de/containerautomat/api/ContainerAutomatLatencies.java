@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Spring bean of the entry service that measures the end-to-end latency of
+ * processing instances, i.e. the time from the creation of a processing
+ * instance until the event that concludes it.
+ * <p/>
+ * The creation time and the input length of each processing instance created
+ * by this entry service are tracked until the listener for events of the active
+ * message broker receives the concluding event. The latency is then recorded by
+ * a timer per outcome and input length bucket, which is registered as the
+ * metric <code>containerautomat.entry.latency</code> with a percentile histogram.
+ * In addition, the timers are kept in a registry of their own, which computes
+ * percentiles over a sliding time window for the statistics served by
+ * {@link ContainerAutomatStatsController}.
+ * <p/>
+ * Note: The latency is computed from the time of the concluding event, which is
+ * set by the state service, so that the clocks of the containers should be
+ * synchronized. Processing instances created by another replica of the entry
+ * service are not tracked and only counted as untracked on conclusion.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatLatencies implements MeterBinder {
+
+    record TrackedInstance(Instant creationTime, int inputLength) {
+    }
+
+
+    static final String METRIC_NAME_LATENCY = "containerautomat.entry.latency";
+    static final String METRIC_NAME_PREFIX = "containerautomat.entry.latency.";
+    static final String METRIC_TAG_OUTCOME = "outcome";
+    static final String METRIC_TAG_INPUT_LENGTH = "input.length";
+    static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+    static final int MAX_INPUT_LENGTH_BUCKET_LIMIT = 100000;
+
+    private final int maxTracked;
+
+    private final Duration trackingTimeout;
+
+    private final Map<String, TrackedInstance> trackedInstances = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> statisticsTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> metricTimers = new ConcurrentHashMap<>();
+
+    private final MeterRegistry statisticsRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong untrackedCount = new AtomicLong();
+
+    private volatile MeterRegistry metricRegistry;
+
+
+    public ContainerAutomatLatencies(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_LATENCIES_MAX_TRACKED + ":100000}") int maxTracked,
+                                     @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_LATENCIES_TRACKING_TIMEOUT_MILLIS + ":600000}") long trackingTimeoutMillis) {
+
+        if (maxTracked < 0 || trackingTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatLatencies because of a maximum of %s tracked processing instances and a tracking timeout of %s milliseconds.".formatted(maxTracked, trackingTimeoutMillis));
+        }
+        this.maxTracked = maxTracked;
+        this.trackingTimeout = Duration.ofMillis(trackingTimeoutMillis);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        Gauge.builder(METRIC_NAME_PREFIX + "tracked", trackedInstances, Map::size)
+                .description("Number of processing instances whose latency is tracked until their conclusion.")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_PREFIX + "untracked", untrackedCount, AtomicLong::get)
+                .description("Number of concluded processing instances whose creation was not tracked.")
+                .register(registry);
+        metricTimers.clear();
+        metricRegistry = registry;
+    }
+
+    /**
+     * Starts tracking the latency of newly created processing instances.
+     *
+     * @param processingInstances The processing instances.
+     */
+    public void track(Collection<? extends ContainerAutomatProcessingInstance> processingInstances) {
+
+        if (maxTracked == 0) {
+            return;
+        }
+        if (trackedInstances.size() + processingInstances.size() > maxTracked) {
+            removeExpired();
+        }
+        for (var processingInstance : processingInstances) {
+            if (trackedInstances.size() >= maxTracked) {
+                return;
+            }
+            trackedInstances.put(processingInstance.getProcessingInstanceId(), new TrackedInstance(processingInstance.getCreationTime(), processingInstance.getInput().length()));
+        }
+    }
+
+    /**
+     * Stops tracking processing instances whose start commands could not be sent.
+     *
+     * @param processingInstanceIds The ids of the processing instances.
+     */
+    public void untrack(Collection<String> processingInstanceIds) {
+
+        processingInstanceIds.forEach(trackedInstances::remove);
+    }
+
+    /**
+     * Records the latency of a tracked processing instance as soon as it is concluded.
+     *
+     * @param containerAutomatEvent The event received from the message broker.
+     */
+    @EventListener
+    public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        var eventType = containerAutomatEvent.getEventType();
+        if (maxTracked == 0 || !ContainerAutomatEventSubscriptions.isConcludingEvent(eventType)) {
+            return;
+        }
+        var trackedInstance = trackedInstances.remove(containerAutomatEvent.getProcessingInstanceId());
+        if (trackedInstance == null) {
+            untrackedCount.incrementAndGet();
+            return;
+        }
+
+        var latency = Duration.between(trackedInstance.creationTime(), containerAutomatEvent.getEventTime());
+        var latencyNanos = Math.max(0, latency.toNanos());
+        var outcome = getOutcome(eventType);
+        var inputLengthBucket = getInputLengthBucket(trackedInstance.inputLength());
+        getTimer(statisticsRegistry, statisticsTimers, outcome, inputLengthBucket).record(latencyNanos, TimeUnit.NANOSECONDS);
+        var registry = metricRegistry;
+        if (registry != null) {
+            getTimer(registry, metricTimers, outcome, inputLengthBucket).record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return The latency statistics per outcome and input length bucket.
+     */
+    public ContainerAutomatLatencyStatistics getStatistics() {
+
+        var latencies = statisticsTimers.values().stream()
+                .map(ContainerAutomatLatencies::createLatency)
+                .sorted(Comparator.comparing(ContainerAutomatLatencyStatistics.Latency::getOutcome)
+                        .thenComparingInt(latency -> getInputLengthBucketMin(latency.getInputLength())))
+                .toList();
+        return ContainerAutomatLatencyStatistics.builder()
+                .trackedCount(trackedInstances.size())
+                .untrackedCount(untrackedCount.get())
+                .latencies(latencies)
+                .build();
+    }
+
+    public int getTrackedCount() {
+
+        return trackedInstances.size();
+    }
+
+    static String getOutcome(EventType eventType) {
+
+        return switch (eventType) {
+            case STATE_PROCESSING_FINISHED_INPUT_ACCEPTED -> "accepted";
+            case STATE_PROCESSING_FINISHED_INPUT_REJECTED -> "rejected";
+            default -> "error";
+        };
+    }
+
+    static String getInputLengthBucket(int inputLength) {
+
+        var min = 0;
+        var max = 10;
+        while (inputLength > max && max < MAX_INPUT_LENGTH_BUCKET_LIMIT) {
+            min = max + 1;
+            max *= 10;
+        }
+        return inputLength > max ? (max + 1) + "+" : min + "-" + max;
+    }
+
+    static int getInputLengthBucketMin(String inputLengthBucket) {
+
+        return Integer.parseInt(inputLengthBucket.split("[-+]")[0]);
+    }
+
+    private static Timer getTimer(MeterRegistry registry, Map<String, Timer> timers, String outcome, String inputLengthBucket) {
+
+        return timers.computeIfAbsent(outcome + '/' + inputLengthBucket, key -> {
+            var builder = Timer.builder(METRIC_NAME_LATENCY)
+                    .description("Time from the creation of a processing instance until its conclusion.")
+                    .tag(METRIC_TAG_OUTCOME, outcome)
+                    .tag(METRIC_TAG_INPUT_LENGTH, inputLengthBucket);
+            if (registry instanceof SimpleMeterRegistry) {
+                builder.publishPercentiles(PERCENTILES);
+            } else {
+                builder.publishPercentileHistogram();
+            }
+            return builder.register(registry);
+        });
+    }
+
+    private static ContainerAutomatLatencyStatistics.Latency createLatency(Timer timer) {
+
+        var snapshot = timer.takeSnapshot();
+        var latency = ContainerAutomatLatencyStatistics.Latency.builder()
+                .outcome(timer.getId().getTag(METRIC_TAG_OUTCOME))
+                .inputLength(timer.getId().getTag(METRIC_TAG_INPUT_LENGTH))
+                .count(snapshot.count())
+                .meanMillis(snapshot.mean(TimeUnit.MILLISECONDS))
+                .maxMillis(snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile valueAtPercentile : snapshot.percentileValues()) {
+            var millis = valueAtPercentile.value(TimeUnit.MILLISECONDS);
+            if (valueAtPercentile.percentile() == 0.5) {
+                latency.p50Millis(millis);
+            } else if (valueAtPercentile.percentile() == 0.9) {
+                latency.p90Millis(millis);
+            } else if (valueAtPercentile.percentile() == 0.99) {
+                latency.p99Millis(millis);
+            }
+        }
+        return latency.build();
+    }
+
+    private void removeExpired() {
+
+        var expiryTime = Instant.now().minus(trackingTimeout);
+        trackedInstances.values().removeIf(trackedInstance -> trackedInstance.creationTime().isBefore(expiryTime));
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The end-to-end latency statistics of the processing instances created
+ * by an entry service, as collected by {@link ContainerAutomatLatencies}.
+ * The percentiles and maxima refer to a sliding time window of a few minutes,
+ * while the counts and means refer to the lifetime of the entry service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContainerAutomatLatencyStatistics {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Latency {
+
+        private String outcome;
+
+        private String inputLength;
+
+        private long count;
+
+        private double meanMillis;
+
+        private double maxMillis;
+
+        private double p50Millis;
+
+        private double p90Millis;
+
+        private double p99Millis;
+    }
+
+
+    private int trackedCount;
+
+    private long untrackedCount;
+
+    private List<Latency> latencies;
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A Spring REST controller for notifying clients about the processing of
+ * their requests through Server-Sent Events (SSE), so that clients do not
+ * need to poll the database for the results.
+ * <p/>
+ * The stream of a client contains the events of the requested processing
+ * instances, with the event type as the name and the processing instance id
+ * as the id of each SSE event, and is completed as soon as all of these
+ * processing instances have been concluded. Details on buffering are located
+ * in {@link ContainerAutomatEventSubscriptions}.
+ */
+@RestController
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class ContainerAutomatNotificationController extends ContainerAutomatControllerBase {
+
+    public static final String PATH_REQUESTS_EVENTS = ContainerAutomatEntryController.PATH_REQUESTS + "/events";
+    public static final String PARAMETER_IDS = "ids";
+
+    private final ContainerAutomatEventSubscriptions subscriptions;
+
+
+    @GetMapping(path = PATH_REQUESTS_EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents(@RequestParam(name = PARAMETER_IDS, required = false) List<String> processingInstanceIds) {
+
+        return subscriptions.subscribe(Objects.requireNonNullElse(processingInstanceIds, List.of()));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Spring bean of the entry service that memoizes the outcome of the processing
+ * for recently processed inputs. Since the automaton is deterministic, the outcome
+ * for a given input never changes.
+ * <p/>
+ * The outcomes are learned from the events of type
+ * {@link EventType#STATE_PROCESSING_FINISHED_INPUT_ACCEPTED} and
+ * {@link EventType#STATE_PROCESSING_FINISHED_INPUT_REJECTED} received by the
+ * listener for events of the active message broker, and are kept in a bounded
+ * cache with least-recently-used eviction. Errors are not memoized, since they
+ * do not depend on the input alone.
+ * <p/>
+ * In the fast answer mode, requests for an input with a memoized outcome are
+ * answered immediately with a {@link ContainerAutomatCachedOutcome}, and the
+ * processing pipeline is not run. Optionally, such requests are still recorded
+ * as processing instances in the database, but without processing steps.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatOutcomeCache implements MeterBinder {
+
+    static final String METRIC_NAME_PREFIX = "containerautomat.entry.outcomes.";
+
+    private final int cacheSize;
+
+    @Getter
+    private final boolean fastAnswer;
+
+    @Getter
+    private final boolean recordFastAnswers;
+
+    private final Map<String, EventType> outcomes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+
+    public ContainerAutomatOutcomeCache(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_OUTCOMES_CACHE_SIZE + ":10000}") int cacheSize,
+                                        @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_OUTCOMES_FAST_ANSWER + ":false}") boolean fastAnswer,
+                                        @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_OUTCOMES_RECORD_FAST_ANSWERS + ":true}") boolean recordFastAnswers) {
+
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatOutcomeCache because of a cache size of %s.".formatted(cacheSize));
+        }
+        this.cacheSize = cacheSize;
+        this.fastAnswer = fastAnswer;
+        this.recordFastAnswers = recordFastAnswers;
+        this.outcomes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EventType> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        Gauge.builder(METRIC_NAME_PREFIX + "size", this, ContainerAutomatOutcomeCache::getSize)
+                .description("Number of inputs with a memoized outcome.")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_PREFIX + "hits", hitCount, AtomicLong::get)
+                .description("Number of lookups that found a memoized outcome.")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_PREFIX + "misses", missCount, AtomicLong::get)
+                .description("Number of lookups that did not find a memoized outcome.")
+                .register(registry);
+    }
+
+    /**
+     * Memoizes the outcome of a processing instance that has been concluded
+     * by accepting or rejecting its input. Events of commands with an input
+     * window that does not start at the beginning of the input are ignored,
+     * because they do not carry the complete input.
+     *
+     * @param containerAutomatEvent The event received from the message broker.
+     */
+    @EventListener
+    public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        var eventType = containerAutomatEvent.getEventType();
+        if (cacheSize == 0 || containerAutomatEvent.getProcessingInputOffset() != 0 || (eventType != EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED && eventType != EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED)) {
+            return;
+        }
+        synchronized (outcomes) {
+            outcomes.put(containerAutomatEvent.getProcessingInput(), eventType);
+        }
+    }
+
+    /**
+     * Looks up the memoized outcome for an input.
+     *
+     * @param input The input.
+     * @return The memoized outcome, or an empty optional.
+     */
+    public Optional<EventType> getOutcome(String input) {
+
+        EventType outcome;
+        synchronized (outcomes) {
+            outcome = outcomes.get(input);
+        }
+        (outcome != null ? hitCount : missCount).incrementAndGet();
+        return Optional.ofNullable(outcome);
+    }
+
+    /**
+     * Looks up the memoized outcome for an input in the fast answer mode.
+     *
+     * @param input The input.
+     * @return The memoized outcome, or an empty optional if there is none or the fast answer mode is disabled.
+     */
+    public Optional<EventType> getFastAnswer(String input) {
+
+        return fastAnswer ? getOutcome(input) : Optional.empty();
+    }
+
+    public int getSize() {
+
+        synchronized (outcomes) {
+            return outcomes.size();
+        }
+    }
+
+}
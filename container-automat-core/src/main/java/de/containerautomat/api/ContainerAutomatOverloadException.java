@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import lombok.Getter;
+
+/**
+ * An exception indicating that a request was rejected by the admission
+ * control of the entry service, because the application is overloaded.
+ * The request can be repeated after the given number of seconds.
+ */
+@Getter
+public class ContainerAutomatOverloadException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+
+    public ContainerAutomatOverloadException(String message, long retryAfterSeconds) {
+
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
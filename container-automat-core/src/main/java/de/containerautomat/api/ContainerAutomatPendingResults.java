@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Spring bean of the entry service that correlates requests waiting for
+ * their result with the events concluding their processing instances.
+ * <p/>
+ * A waiting request is represented by a {@link CompletableFuture} of the
+ * concluding event, which is kept in a concurrent map with the processing
+ * instance id as key. When the listener for events of the active message
+ * broker receives an event that concludes the processing instance, the future
+ * is completed with the event. For the servlet entry controller, the future
+ * completes a {@link DeferredResult} with the status 200 and the event, so that
+ * no servlet thread is blocked while waiting. If the event does not arrive
+ * within the waiting time, the deferred result is completed with the status 202
+ * and the processing instance, whose result can be obtained later. The reactive
+ * entry controller waits for the future in the same way without a deferred result.
+ * <p/>
+ * The number of waiting requests is limited, and requests beyond the limit are
+ * answered immediately with the status 202.
+ * <p/>
+ * Note: Events are only received by the entry service that consumes them from
+ * the message broker. With several replicas of the entry service, a request
+ * may therefore run into the timeout, although its processing has finished.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatPendingResults {
+
+    private final long maxWaitMillis;
+
+    private final int maxPending;
+
+    private final Map<String, CompletableFuture<ContainerAutomatEvent>> pendingResults = new ConcurrentHashMap<>();
+
+
+    public ContainerAutomatPendingResults(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_WAIT_MAX_MILLIS + ":30000}") long maxWaitMillis,
+                                          @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_WAIT_MAX_PENDING + ":10000}") int maxPending) {
+
+        if (maxWaitMillis < 1 || maxPending < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatPendingResults because of a maximum waiting time of %s milliseconds and a maximum of %s pending results.".formatted(maxWaitMillis, maxPending));
+        }
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Registers a request that waits for the result of its processing instance.
+     * This must happen before the processing is started, so that the concluding
+     * event cannot be missed.
+     *
+     * @param processingInstance The processing instance created for the request.
+     * @param wait               The time to wait, which is limited to the configured maximum.
+     * @return The deferred result of the request.
+     */
+    public DeferredResult<ResponseEntity<?>> register(ContainerAutomatProcessingInstance processingInstance, Duration wait) {
+
+        var timeout = limitWait(wait);
+        var timeoutResult = ResponseEntity.accepted().body(processingInstance);
+        var deferredResult = new DeferredResult<ResponseEntity<?>>(timeout.toMillis(), timeoutResult);
+        var processingInstanceId = processingInstance.getProcessingInstanceId();
+        var concludingEvent = register(processingInstanceId);
+        if (concludingEvent.isEmpty()) {
+            deferredResult.setResult(timeoutResult);
+            return deferredResult;
+        }
+
+        deferredResult.onCompletion(() -> pendingResults.remove(processingInstanceId, concludingEvent.get()));
+        concludingEvent.get().thenAccept(containerAutomatEvent -> deferredResult.setResult(ResponseEntity.ok(containerAutomatEvent)));
+        return deferredResult;
+    }
+
+    /**
+     * Registers a request that waits for the event concluding its processing
+     * instance independently of a web framework. This must happen before the
+     * processing is started, so that the concluding event cannot be missed, and
+     * the request must be unregistered if it stops waiting before the event.
+     *
+     * @param processingInstanceId The id of the processing instance created for the request.
+     * @return The future of the concluding event, or an empty optional if the
+     * maximum number of waiting requests has been reached.
+     */
+    public Optional<CompletableFuture<ContainerAutomatEvent>> register(String processingInstanceId) {
+
+        if (pendingResults.size() >= maxPending) {
+            return Optional.empty();
+        }
+        var concludingEvent = new CompletableFuture<ContainerAutomatEvent>();
+        pendingResults.put(processingInstanceId, concludingEvent);
+        return Optional.of(concludingEvent);
+    }
+
+    /**
+     * Validates the time a request wants to wait and limits it to the configured maximum.
+     *
+     * @param wait The time to wait requested by the client.
+     * @return The time to wait.
+     */
+    public Duration limitWait(Duration wait) {
+
+        if (wait.isNegative() || wait.isZero()) {
+            throw new IllegalArgumentException("The time to wait must be positive, but was %s.".formatted(wait));
+        }
+        return Duration.ofMillis(Math.min(wait.toMillis(), maxWaitMillis));
+    }
+
+    /**
+     * Removes a registered request, e.g. if its processing could not be started.
+     *
+     * @param processingInstanceId The id of the processing instance of the request.
+     */
+    public void unregister(String processingInstanceId) {
+
+        pendingResults.remove(processingInstanceId);
+    }
+
+    /**
+     * Completes the waiting request for the processing instance, if any, with
+     * an event that concludes the processing instance.
+     *
+     * @param containerAutomatEvent The event received from the message broker.
+     */
+    @EventListener
+    public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        if (pendingResults.isEmpty() || !ContainerAutomatEventSubscriptions.isConcludingEvent(containerAutomatEvent.getEventType())) {
+            return;
+        }
+        var concludingEvent = pendingResults.remove(containerAutomatEvent.getProcessingInstanceId());
+        if (concludingEvent != null) {
+            concludingEvent.complete(containerAutomatEvent);
+        }
+    }
+
+    public int getPendingCount() {
+
+        return pendingResults.size();
+    }
+
+}
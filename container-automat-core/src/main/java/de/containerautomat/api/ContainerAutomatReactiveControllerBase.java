@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * An abstract base class for Spring WebFlux REST controllers providing means
+ * for error handling, which is the counterpart of {@link ContainerAutomatControllerBase}
+ * for the controllers of an entry service that runs as a reactive web application.
+ * The error responses are the same as for the servlet controllers.
+ */
+public abstract class ContainerAutomatReactiveControllerBase {
+
+    @ExceptionHandler
+    ResponseEntity<String> handleErrors(Exception e, ServerHttpRequest request) {
+
+        var detail = switch (e) {
+            case WebExchangeBindException webExchangeBindException -> ContainerAutomatControllerBase.joinFieldErrors(webExchangeBindException.getFieldErrors());
+            case ServerWebInputException serverWebInputException -> serverWebInputException.getReason();
+            default -> e.getMessage();
+        };
+
+        var status = switch (e) {
+            case ServerWebInputException ignored -> HttpStatus.BAD_REQUEST;
+            default -> ContainerAutomatControllerBase.getErrorStatus(e);
+        };
+
+        return ContainerAutomatControllerBase.createErrorResponse(e, detail, status, request.getURI().toString(), request.getPath().value());
+    }
+
+}
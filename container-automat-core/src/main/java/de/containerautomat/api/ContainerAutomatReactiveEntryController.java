@@ -0,0 +1,495 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.containerautomat.automaton.DeterministicFiniteAutomaton;
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.ContainerAutomatReactiveMessaging;
+import de.containerautomat.processing.ContainerAutomatReactiveStorage;
+import de.containerautomat.processing.ContainerAutomatRequest;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * A Spring WebFlux REST controller for receiving requests to be processed by
+ * the DFA implemented by the generated application, which replaces the
+ * {@link ContainerAutomatEntryController} when the entry service runs as a
+ * reactive web application.
+ * <p/>
+ * The processing instances are created with a {@link ContainerAutomatReactiveStorage}
+ * and the start commands are sent with a {@link ContainerAutomatReactiveMessaging},
+ * so that no thread is blocked while waiting for the database or the message
+ * broker, and a small number of event loop threads serves a large number of
+ * concurrent requests.
+ * <p/>
+ * Requests can be posted individually, as a batch and as an NDJSON stream with
+ * the same paths, formats and admission control as for the servlet variant. An
+ * NDJSON stream is submitted in chunks as it arrives, and the next chunk is only
+ * requested after the previous one has been stored and sent.
+ * <p/>
+ * An individual request can wait for its result with the parameter
+ * {@value ContainerAutomatEntryController#PARAMETER_WAIT}, is submitted
+ * idempotently with the header {@value ContainerAutomatIdempotentRequests#HEADER_IDEMPOTENCY_KEY}
+ * and is answered from the {@link ContainerAutomatOutcomeCache} in the fast answer
+ * mode, with the same responses as for the servlet variant. Since the
+ * {@link ContainerAutomatIdempotentRequests} access the database with the blocking
+ * {@link de.containerautomat.processing.ContainerAutomatStorage}, requests with an
+ * idempotency key are handled on the bounded elastic scheduler of Reactor while
+ * they access the database, and not on an event loop thread.
+ * <p/>
+ * If tracing is enabled, the start commands are sent in a span that starts the
+ * trace of the request, or of the chunk of requests for a batch, like for the
+ * servlet variant. The context of the span is passed on to the
+ * {@link ContainerAutomatReactiveMessaging} in the Reactor context.
+ */
+@RestController
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ContainerAutomatReactiveEntryController extends ContainerAutomatReactiveControllerBase {
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatReactiveEntryController.class);
+
+    static final String ERROR_MESSAGE_RESPONSE_NOT_READ_TEMPLATE = "The client has not read the processing instance ids of the last %d chunks.";
+
+    private final DeterministicFiniteAutomaton automaton;
+
+    private final ContainerAutomatReactiveStorage storage;
+
+    private final ContainerAutomatReactiveMessaging messaging;
+
+    private final ContainerAutomatPendingResults pendingResults;
+
+    private final ContainerAutomatAdmissionControl admissionControl;
+
+    private final ContainerAutomatIdempotentRequests idempotentRequests;
+
+    private final ContainerAutomatOutcomeCache outcomeCache;
+
+    private final ContainerAutomatLatencies latencies;
+
+    private final ContainerAutomatTracing tracing;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int batchMaxSize;
+
+    private final int streamChunkSize;
+
+    private final int streamMaxUnreadChunks;
+
+    private final int inputWindowSize;
+
+
+    private record IndexedRequest(long index, ContainerAutomatRequest request, String violations) {
+
+        boolean isInvalid() {
+            return violations != null;
+        }
+    }
+
+    private record StreamChunkResult(String responseLines, boolean aborted) {
+    }
+
+
+    public ContainerAutomatReactiveEntryController(DeterministicFiniteAutomaton automaton, ContainerAutomatReactiveStorage storage, ContainerAutomatReactiveMessaging messaging, ContainerAutomatPendingResults pendingResults, ContainerAutomatAdmissionControl admissionControl, ContainerAutomatIdempotentRequests idempotentRequests, ContainerAutomatOutcomeCache outcomeCache, ContainerAutomatLatencies latencies, ContainerAutomatTracing tracing, ObjectMapper objectMapper, Validator validator, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_BATCH_MAX_SIZE + ":10000}") int batchMaxSize, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_STREAM_CHUNK_SIZE + ":500}") int streamChunkSize, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_WINDOW_SIZE + ":0}") int inputWindowSize) {
+
+        if (batchMaxSize < 1 || streamChunkSize < 1 || inputWindowSize < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatReactiveEntryController because of a maximum batch size of %s, a stream chunk size of %s and an input window size of %s.".formatted(batchMaxSize, streamChunkSize, inputWindowSize));
+        }
+        this.automaton = automaton;
+        this.storage = storage;
+        this.messaging = messaging;
+        this.pendingResults = pendingResults;
+        this.admissionControl = admissionControl;
+        this.idempotentRequests = idempotentRequests;
+        this.outcomeCache = outcomeCache;
+        this.latencies = latencies;
+        this.tracing = tracing;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchMaxSize = batchMaxSize;
+        this.streamChunkSize = streamChunkSize;
+        this.streamMaxUnreadChunks = Math.max(1, batchMaxSize / streamChunkSize);
+        this.inputWindowSize = inputWindowSize;
+    }
+
+    @PostMapping(path = ContainerAutomatEntryController.PATH_REQUESTS, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Object> processRequest(@RequestBody @Valid ContainerAutomatRequest containerAutomatRequest,
+                                       @RequestHeader(name = ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+
+        return findIdempotentProcessingInstance(containerAutomatRequest, idempotencyKey)
+                .flatMap(existingInstance -> sendPendingStartCommand(existingInstance, idempotencyKey).thenReturn((Object) existingInstance))
+                .switchIfEmpty(Mono.defer(() -> answerFromCachedOutcome(containerAutomatRequest, idempotencyKey)))
+                .switchIfEmpty(Mono.defer(() -> createProcessingInstance(containerAutomatRequest, idempotencyKey)
+                        .flatMap(processingInstance -> sendStartCommand(processingInstance, idempotencyKey).thenReturn(processingInstance))));
+    }
+
+    /**
+     * Processes a request and waits for the result of its processing like
+     * {@link ContainerAutomatEntryController#processRequestAndWait(ContainerAutomatRequest, String, String)}.
+     *
+     * @param containerAutomatRequest The request to process.
+     * @param wait                    The time to wait, e.g. <code>5s</code> or <code>PT5S</code>.
+     * @param idempotencyKey          The optional idempotency key of the request. If the request
+     *                                is a retry, the response has the status 202 and contains the
+     *                                processing instance of the original request.
+     * @return The response, which is the event that concluded the processing instance
+     * with the status 200, or the processing instance with the status 202 if the time
+     * to wait has elapsed before.
+     */
+    @PostMapping(path = ContainerAutomatEntryController.PATH_REQUESTS, params = ContainerAutomatEntryController.PARAMETER_WAIT, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> processRequestAndWait(@RequestBody @Valid ContainerAutomatRequest containerAutomatRequest, @RequestParam(ContainerAutomatEntryController.PARAMETER_WAIT) String wait,
+                                                              @RequestHeader(name = ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+
+        var waitDuration = pendingResults.limitWait(DurationStyle.detectAndParse(wait));
+        return findIdempotentProcessingInstance(containerAutomatRequest, idempotencyKey)
+                .flatMap(existingInstance -> sendPendingStartCommand(existingInstance, idempotencyKey).thenReturn(ResponseEntity.accepted().body((Object) existingInstance)))
+                .switchIfEmpty(Mono.defer(() -> answerFromCachedOutcome(containerAutomatRequest, idempotencyKey).map(cachedOutcome -> ResponseEntity.ok((Object) cachedOutcome))))
+                .switchIfEmpty(Mono.defer(() -> createProcessingInstance(containerAutomatRequest, idempotencyKey)
+                        .flatMap(processingInstance -> awaitResult(processingInstance, waitDuration, idempotencyKey))));
+    }
+
+    @PostMapping(path = ContainerAutomatEntryController.PATH_REQUESTS_BATCH, consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> processRequestBatch(@RequestBody Flux<ContainerAutomatRequest> requestBatch) {
+
+        var nextIndex = new AtomicLong();
+        return requestBatch
+                .map(containerAutomatRequest -> {
+                    var index = nextIndex.getAndIncrement();
+                    if (index == batchMaxSize) {
+                        throw new IllegalArgumentException("The batch exceeds the maximum size of %d requests.".formatted(batchMaxSize));
+                    }
+                    return validateRequest(containerAutomatRequest, index);
+                })
+                .onErrorMap(ContainerAutomatReactiveEntryController::isDecodingError,
+                        e -> new IllegalArgumentException(ContainerAutomatEntryController.ERROR_MESSAGE_INVALID_REQUEST_AT_INDEX.formatted(nextIndex.get(), getOriginalMessage(e)), e))
+                .collectList()
+                .flatMapMany(containerAutomatRequests -> {
+                    if (containerAutomatRequests.isEmpty()) {
+                        return Mono.error(new IllegalArgumentException("The batch does not contain any requests."));
+                    }
+                    admissionControl.admit(containerAutomatRequests.size());
+                    return submitRequests(containerAutomatRequests);
+                });
+    }
+
+    /**
+     * Processes an NDJSON stream of requests of arbitrary length like
+     * {@link ContainerAutomatEntryController#processRequestStream(java.io.InputStream)}.
+     * The requests are submitted in chunks as they arrive, and the ids of the
+     * created processing instances are written to the response after each chunk.
+     * Since the chunks are submitted one after the other, the upload is throttled
+     * by back pressure to the capacity of the database and the message broker.
+     * <p/>
+     * The response lines are buffered until they are written, because clients
+     * often only read the response after the upload, and the submission of the
+     * next chunk must not wait for them. The buffer holds the response lines of
+     * as many chunks as fit into the maximum size of a batch. If it is full, the
+     * stream is aborted before the next chunk is submitted, and the response ends
+     * with an error line, like for a chunk rejected by the admission control.
+     *
+     * @param requestStream The requests decoded from the content of the HTTP request.
+     * @return The lines of the response with the ids of the processing instances.
+     */
+    @PostMapping(path = ContainerAutomatEntryController.PATH_REQUESTS_STREAM, consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> processRequestStream(@RequestBody Flux<ContainerAutomatRequest> requestStream) {
+
+        var nextIndex = new AtomicLong();
+        var unreadChunks = new AtomicInteger();
+        return requestStream
+                .map(containerAutomatRequest -> new IndexedRequest(nextIndex.getAndIncrement(), containerAutomatRequest, getViolations(containerAutomatRequest)))
+                .takeUntil(IndexedRequest::isInvalid)
+                .bufferUntil(indexedRequest -> indexedRequest.isInvalid() || (indexedRequest.index() + 1) % streamChunkSize == 0)
+                .concatMap(chunk -> submitRequestChunk(chunk, unreadChunks.get()))
+                .doOnNext(streamChunkResult -> unreadChunks.incrementAndGet())
+                .onBackpressureBuffer(streamMaxUnreadChunks + 1)
+                .doOnNext(streamChunkResult -> unreadChunks.decrementAndGet())
+                .takeUntil(StreamChunkResult::aborted)
+                .map(StreamChunkResult::responseLines)
+                .onErrorResume(ContainerAutomatReactiveEntryController::isDecodingError,
+                        e -> Mono.just(createStreamErrorLine(nextIndex.get(), (int) (nextIndex.get() % streamChunkSize), getOriginalMessage(e))));
+    }
+
+    private Mono<StreamChunkResult> submitRequestChunk(List<IndexedRequest> chunk, int unreadChunks) {
+
+        var lastRequest = chunk.getLast();
+        if (lastRequest.isInvalid()) {
+            return Mono.just(new StreamChunkResult(createStreamErrorLine(lastRequest.index(), chunk.size() - 1, lastRequest.violations()), true));
+        }
+        if (unreadChunks >= streamMaxUnreadChunks) {
+            return Mono.just(new StreamChunkResult(createStreamErrorLine(chunk.getFirst().index(), chunk.size(), ERROR_MESSAGE_RESPONSE_NOT_READ_TEMPLATE.formatted(unreadChunks)), true));
+        }
+        try {
+            admissionControl.admit(chunk.size());
+        } catch (ContainerAutomatOverloadException e) {
+            return Mono.just(new StreamChunkResult(createStreamErrorLine(chunk.getFirst().index(), chunk.size(), e.getMessage()), true));
+        }
+        return submitRequests(chunk.stream().map(IndexedRequest::request).toList())
+                .collect(Collectors.joining())
+                .map(responseLines -> new StreamChunkResult(responseLines, false));
+    }
+
+    private Flux<String> submitRequests(List<ContainerAutomatRequest> containerAutomatRequests) {
+
+        return storage.createProcessingInstances(containerAutomatRequests)
+                .collectList()
+                .doOnError(e -> admissionControl.release(containerAutomatRequests.size()))
+                .flatMapMany(processingInstances -> {
+                    trackProcessingInstances(processingInstances);
+                    if (log.isInfoEnabled()) {
+                        log.info(ContainerAutomatEntryController.LOG_MESSAGE_NEW_REQUEST_BATCH_PROCESSING_INSTANCES.formatted(processingInstances.size(),
+                                processingInstances.getFirst().getProcessingInstanceId(), processingInstances.getLast().getProcessingInstanceId()));
+                    }
+                    var processingCommands = processingInstances.stream()
+                            .map(processingInstance -> ContainerAutomatRuntimeCommand.fromProcessingInstance(processingInstance, inputWindowSize))
+                            .toList();
+                    var sending = messaging.sendContainerAutomatCommands(automaton.getStartState(), processingCommands);
+                    return inRequestSpan(Map.of(ContainerAutomatEntryController.SPAN_ATTRIBUTE_PROCESSING_INSTANCE_COUNT, Integer.toString(processingCommands.size())), sending)
+                            .doOnError(e -> untrackProcessingInstances(processingInstances))
+                            .thenMany(Flux.fromIterable(processingInstances))
+                            .map(processingInstance -> ContainerAutomatEntryController.PROCESSING_INSTANCE_ID_NDJSON_TEMPLATE.formatted(processingInstance.getProcessingInstanceId()));
+                });
+    }
+
+    private Mono<ContainerAutomatProcessingInstance> findIdempotentProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            return Mono.empty();
+        }
+        return blocking(() -> idempotentRequests.findProcessingInstance(idempotencyKey, containerAutomatRequest))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    private Mono<ContainerAutomatCachedOutcome> answerFromCachedOutcome(ContainerAutomatRequest containerAutomatRequest, String idempotencyKey) {
+
+        return Mono.justOrEmpty(outcomeCache.getFastAnswer(containerAutomatRequest.getInput())).flatMap(outcome -> {
+            if (!outcomeCache.isRecordFastAnswers()) {
+                return Mono.just(createCachedOutcome(containerAutomatRequest, outcome, null));
+            }
+            var processingInstance = idempotencyKey == null
+                    ? storage.createProcessingInstance(containerAutomatRequest)
+                    : blocking(() -> {
+                        var createdInstance = idempotentRequests.createProcessingInstance(idempotencyKey, containerAutomatRequest);
+                        idempotentRequests.clearStartCommandPending(createdInstance);
+                        return createdInstance;
+                    });
+            return processingInstance
+                    .doOnNext(this::logProcessingInstanceCreated)
+                    .map(createdInstance -> createCachedOutcome(containerAutomatRequest, outcome, createdInstance.getProcessingInstanceId()));
+        });
+    }
+
+    private static ContainerAutomatCachedOutcome createCachedOutcome(ContainerAutomatRequest containerAutomatRequest, EventType outcome, String processingInstanceId) {
+
+        return ContainerAutomatCachedOutcome.builder()
+                .processingInstanceId(processingInstanceId)
+                .input(containerAutomatRequest.getInput())
+                .description(containerAutomatRequest.getDescription())
+                .outcome(outcome)
+                .cached(true)
+                .build();
+    }
+
+    private Mono<ContainerAutomatProcessingInstance> createProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String idempotencyKey) {
+
+        return Mono.fromRunnable(() -> admissionControl.admit(1))
+                .then(Mono.defer(() -> idempotencyKey == null
+                                ? storage.createProcessingInstance(containerAutomatRequest)
+                                : blocking(() -> idempotentRequests.createProcessingInstance(idempotencyKey, containerAutomatRequest)))
+                        .doOnError(e -> admissionControl.release(1)))
+                .doOnNext(processingInstance -> {
+                    trackProcessingInstances(List.of(processingInstance));
+                    logProcessingInstanceCreated(processingInstance);
+                });
+    }
+
+    private Mono<ResponseEntity<Object>> awaitResult(ContainerAutomatProcessingInstance processingInstance, Duration wait, String idempotencyKey) {
+
+        var processingInstanceId = processingInstance.getProcessingInstanceId();
+        var timeoutResult = ResponseEntity.accepted().body((Object) processingInstance);
+        var concludingEvent = pendingResults.register(processingInstanceId);
+        var result = concludingEvent
+                .map(future -> Mono.fromFuture(future)
+                        .map(containerAutomatEvent -> ResponseEntity.ok((Object) containerAutomatEvent))
+                        .timeout(wait, Mono.fromSupplier(() -> {
+                            pendingResults.unregister(processingInstanceId);
+                            return timeoutResult;
+                        }))
+                        .doOnCancel(() -> pendingResults.unregister(processingInstanceId)))
+                .orElse(Mono.just(timeoutResult));
+        return sendStartCommand(processingInstance, idempotencyKey)
+                .doOnError(e -> pendingResults.unregister(processingInstanceId))
+                .then(result);
+    }
+
+    private Mono<Void> sendPendingStartCommand(ContainerAutomatProcessingInstance processingInstance, String idempotencyKey) {
+
+        return blocking(() -> idempotentRequests.claimStartCommand(processingInstance))
+                .flatMap(claimed -> {
+                    if (!claimed) {
+                        return Mono.empty();
+                    }
+                    if (log.isInfoEnabled()) {
+                        log.info(ContainerAutomatEntryController.LOG_MESSAGE_RESENDING_START_COMMAND.formatted(processingInstance.getProcessingInstanceId()));
+                    }
+                    return sendStartCommand(processingInstance, idempotencyKey);
+                });
+    }
+
+    private Mono<Void> sendStartCommand(ContainerAutomatProcessingInstance processingInstance, String idempotencyKey) {
+
+        var processingCommand = ContainerAutomatRuntimeCommand.fromProcessingInstance(processingInstance, inputWindowSize);
+        var sending = messaging.sendContainerAutomatCommand(automaton.getStartState(), processingCommand);
+        var result = inRequestSpan(Map.of(ContainerAutomatEntryController.SPAN_ATTRIBUTE_PROCESSING_INSTANCE_ID, processingCommand.getProcessingInstanceId()), sending)
+                .doOnError(e -> untrackProcessingInstances(List.of(processingInstance)));
+        if (idempotencyKey == null) {
+            return result;
+        }
+        return result
+                .onErrorResume(e -> blocking(() -> {
+                    idempotentRequests.releaseStartCommand(processingInstance);
+                    return true;
+                }).then(Mono.error(e)))
+                .then(blocking(() -> {
+                    idempotentRequests.clearStartCommandPending(processingInstance);
+                    return true;
+                }))
+                .then();
+    }
+
+    private Mono<Void> inRequestSpan(Map<String, String> attributes, Mono<Void> sending) {
+
+        if (!tracing.isEnabled()) {
+            return sending;
+        }
+        return Mono.defer(() -> {
+            var span = tracing.startSpan(ContainerAutomatEntryController.SPAN_NAME_REQUEST, attributes);
+            return sending
+                    .contextWrite(context -> context.put(ContainerAutomatReactiveMessaging.CONTEXT_KEY_TRACE_CONTEXT, span.getContext()))
+                    .doFinally(signalType -> span.end(signalType == SignalType.ON_ERROR));
+        });
+    }
+
+    private void trackProcessingInstances(List<ContainerAutomatProcessingInstance> processingInstances) {
+
+        admissionControl.addInFlight(processingInstances.stream().map(ContainerAutomatProcessingInstance::getProcessingInstanceId).toList());
+        latencies.track(processingInstances);
+    }
+
+    private void untrackProcessingInstances(List<ContainerAutomatProcessingInstance> processingInstances) {
+
+        var processingInstanceIds = processingInstances.stream().map(ContainerAutomatProcessingInstance::getProcessingInstanceId).toList();
+        admissionControl.removeInFlight(processingInstanceIds);
+        latencies.untrack(processingInstanceIds);
+    }
+
+    private void logProcessingInstanceCreated(ContainerAutomatProcessingInstance processingInstance) {
+
+        if (log.isInfoEnabled()) {
+            log.info(ContainerAutomatEntryController.LOG_MESSAGE_NEW_REQUEST_PROCESSING_INSTANCE.formatted(processingInstance.toString()));
+        }
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> action) {
+
+        return Mono.fromCallable(action).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private ContainerAutomatRequest validateRequest(ContainerAutomatRequest containerAutomatRequest, long index) {
+
+        var violations = getViolations(containerAutomatRequest);
+        if (violations != null) {
+            throw new IllegalArgumentException(ContainerAutomatEntryController.ERROR_MESSAGE_INVALID_REQUEST_AT_INDEX.formatted(index, violations));
+        }
+        return containerAutomatRequest;
+    }
+
+    private String getViolations(ContainerAutomatRequest containerAutomatRequest) {
+
+        var violations = validator.validate(containerAutomatRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private String createStreamErrorLine(long index, int unsubmittedCount, String message) {
+
+        log.error(ContainerAutomatEntryController.LOG_MESSAGE_REQUEST_STREAM_ABORTED.formatted(index, unsubmittedCount, message));
+        var errorLine = objectMapper.createObjectNode()
+                .put("index", index)
+                .put("error", message);
+        try {
+            return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(errorLine) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isDecodingError(Throwable e) {
+
+        return e instanceof DecodingException || e instanceof ServerWebInputException;
+    }
+
+    private static String getOriginalMessage(Throwable e) {
+
+        var cause = e;
+        while (cause.getCause() != null && !(cause instanceof JsonProcessingException)) {
+            cause = cause.getCause();
+        }
+        return cause instanceof JsonProcessingException jsonProcessingException ? jsonProcessingException.getOriginalMessage() : e.getMessage();
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A Spring WebFlux REST controller for notifying clients about the processing
+ * of their requests through Server-Sent Events (SSE), which replaces the
+ * {@link ContainerAutomatNotificationController} when the entry service runs
+ * as a reactive web application.
+ * <p/>
+ * The stream of a client contains the same events as for the servlet variant
+ * and is completed as soon as all of the requested processing instances have
+ * been concluded or the timeout of the subscriptions has elapsed. The events
+ * are handed over from the {@link ContainerAutomatEventSubscriptions} to a sink
+ * that holds at most as many events as the buffer of a subscription, so that a
+ * client that does not read its events fails instead of filling the memory.
+ */
+@RestController
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ContainerAutomatReactiveNotificationController extends ContainerAutomatReactiveControllerBase {
+
+    static final String ERROR_MESSAGE_EVENTS_NOT_READ = "The client has not read the pending events.";
+
+    private final ContainerAutomatEventSubscriptions subscriptions;
+
+
+    private record SinkSubscriber(Sinks.Many<ServerSentEvent<Object>> sink) implements ContainerAutomatEventSubscriptions.Subscriber {
+
+        @Override
+        public void send(ContainerAutomatEvent containerAutomatEvent) throws IOException {
+
+            emit(ServerSentEvent.builder()
+                    .id(containerAutomatEvent.getProcessingInstanceId())
+                    .event(containerAutomatEvent.getEventType().name())
+                    .data((Object) containerAutomatEvent)
+                    .build());
+        }
+
+        @Override
+        public void sendOverflow(String message) throws IOException {
+
+            emit(ServerSentEvent.builder()
+                    .event(ContainerAutomatEventSubscriptions.SSE_EVENT_NAME_OVERFLOW)
+                    .data((Object) message)
+                    .build());
+        }
+
+        @Override
+        public void complete() {
+
+            synchronized (sink) {
+                sink.tryEmitComplete();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable e) {
+
+            synchronized (sink) {
+                sink.tryEmitError(e);
+            }
+        }
+
+        private void emit(ServerSentEvent<Object> serverSentEvent) throws IOException {
+
+            Sinks.EmitResult emitResult;
+            synchronized (sink) {
+                emitResult = sink.tryEmitNext(serverSentEvent);
+            }
+            if (emitResult == Sinks.EmitResult.FAIL_OVERFLOW) {
+                throw new IOException(ERROR_MESSAGE_EVENTS_NOT_READ);
+            }
+            if (emitResult.isFailure()) {
+                throw new IllegalStateException("Unable to send event: %s".formatted(emitResult));
+            }
+        }
+
+    }
+
+
+    @GetMapping(path = ContainerAutomatNotificationController.PATH_REQUESTS_EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> subscribeToEvents(@RequestParam(name = ContainerAutomatNotificationController.PARAMETER_IDS, required = false) List<String> processingInstanceIds) {
+
+        var ids = Objects.requireNonNullElse(processingInstanceIds, List.<String>of());
+        var sink = Sinks.many().unicast().<ServerSentEvent<Object>>onBackpressureBuffer(Queues.<ServerSentEvent<Object>>get(subscriptions.getBufferSize(ids.size())).get());
+        var cancellation = subscriptions.subscribe(ids, new SinkSubscriber(sink));
+        return sink.asFlux()
+                .take(Duration.ofMillis(subscriptions.getTimeoutMillis()))
+                .doFinally(signalType -> cancellation.run());
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * A Spring REST controller for the statistics of the entry service, i.e. the
+ * end-to-end latencies of processing instances as collected by {@link ContainerAutomatLatencies}
+ * and the throughput of the states and transitions as collected by {@link ContainerAutomatThroughput}.
+ */
+@RestController
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+@RequiredArgsConstructor
+public class ContainerAutomatStatsController extends ContainerAutomatControllerBase {
+
+    public static final String PATH_STATS = "/stats";
+    public static final String PATH_STATS_THROUGHPUT = PATH_STATS + "/throughput";
+
+    private final ContainerAutomatLatencies latencies;
+
+    private final ContainerAutomatThroughput throughput;
+
+
+    @GetMapping(path = PATH_STATS, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ContainerAutomatLatencyStatistics getStatistics() {
+
+        return latencies.getStatistics();
+    }
+
+    @GetMapping(path = PATH_STATS_THROUGHPUT, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ContainerAutomatThroughputStatistics getThroughputStatistics() {
+
+        return throughput.getStatistics();
+    }
+
+}
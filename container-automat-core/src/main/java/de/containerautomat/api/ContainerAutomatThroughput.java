@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.automaton.DeterministicFiniteAutomaton;
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A Spring bean of the entry service that aggregates the events received
+ * from the state services into the throughput, the error rate and the average
+ * processing duration per state and per transition of the DFA over rolling
+ * windows of one second, one minute and five minutes, which are served by
+ * {@link ContainerAutomatStatsController}.
+ * <p/>
+ * Each event that finishes the processing of a command by a state is counted
+ * for the state and, if the command had an input symbol, for the transition
+ * from the state with this symbol. Events of type {@link EventType#STATE_PROCESSING_ERROR}
+ * are counted as errors. The processing duration is the time between the start
+ * event and the finishing event of a command, as set by the state service.
+ * <p/>
+ * The counts are kept in a ring of buckets of one second per state and
+ * transition, whose values are {@link LongAdder} instances, so that the
+ * listener threads of the message broker never block each other. A bucket
+ * is reset by the first thread that records a value in a new second, so that
+ * values recorded concurrently at this moment may occasionally be lost.
+ * <p/>
+ * Note: Events suppressed by the emission policy of the state services are
+ * not counted. In particular, the processing durations require the start
+ * events, which are only sent with the policy <code>all</code>.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
+public class ContainerAutomatThroughput {
+
+    private static final class Bucket {
+
+        private final AtomicLong second = new AtomicLong(-1);
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder durationMillis = new LongAdder();
+
+        private final LongAdder durations = new LongAdder();
+
+
+        private void reset() {
+
+            count.reset();
+            errors.reset();
+            durationMillis.reset();
+            durations.reset();
+        }
+
+    }
+
+    private static final class RollingCounters {
+
+        private final Bucket[] buckets = new Bucket[BUCKET_COUNT];
+
+
+        private RollingCounters() {
+
+            for (var i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private void record(long second, boolean error, long durationMillis) {
+
+            var bucket = buckets[(int) Math.floorMod(second, (long) BUCKET_COUNT)];
+            var bucketSecond = bucket.second.get();
+            if (bucketSecond < second && bucket.second.compareAndSet(bucketSecond, second)) {
+                bucket.reset();
+            } else if (bucketSecond > second) {
+                return;
+            }
+            bucket.count.increment();
+            if (error) {
+                bucket.errors.increment();
+            }
+            if (durationMillis >= 0) {
+                bucket.durationMillis.add(durationMillis);
+                bucket.durations.increment();
+            }
+        }
+
+        private ContainerAutomatThroughputStatistics.Window getWindow(long currentSecond, int windowSeconds) {
+
+            long count = 0;
+            long errors = 0;
+            long durationMillis = 0;
+            long durations = 0;
+            for (var second = currentSecond - windowSeconds; second < currentSecond; second++) {
+                var bucket = buckets[(int) Math.floorMod(second, (long) BUCKET_COUNT)];
+                if (bucket.second.get() == second) {
+                    count += bucket.count.sum();
+                    errors += bucket.errors.sum();
+                    durationMillis += bucket.durationMillis.sum();
+                    durations += bucket.durations.sum();
+                }
+            }
+            return ContainerAutomatThroughputStatistics.Window.builder()
+                    .count(count)
+                    .perSecond((double) count / windowSeconds)
+                    .errorRate(count == 0 ? 0 : (double) errors / count)
+                    .averageDurationMillis(durations == 0 ? 0 : (double) durationMillis / durations)
+                    .build();
+        }
+
+    }
+
+
+    static final Map<String, Integer> WINDOWS = windows();
+    static final int BUCKET_COUNT = 302;
+    static final String TRANSITION_NAME_TEMPLATE = "%s -%s-> %s";
+
+    private final int maxPendingStarts;
+
+    private final LongSupplier currentTimeMillis;
+
+    private final Map<String, Map<String, String>> transitionNames = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> pendingStartTimes = new ConcurrentHashMap<>();
+
+    private final Map<String, RollingCounters> stateCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, RollingCounters> transitionCounters = new ConcurrentHashMap<>();
+
+
+    @Autowired
+    public ContainerAutomatThroughput(DeterministicFiniteAutomaton automaton,
+                                      @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_THROUGHPUT_MAX_PENDING_STARTS + ":100000}") int maxPendingStarts) {
+
+        this(automaton, maxPendingStarts, System::currentTimeMillis);
+    }
+
+    ContainerAutomatThroughput(DeterministicFiniteAutomaton automaton, int maxPendingStarts, LongSupplier currentTimeMillis) {
+
+        if (maxPendingStarts < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatThroughput because of a maximum of %s pending start events.".formatted(maxPendingStarts));
+        }
+        this.maxPendingStarts = maxPendingStarts;
+        this.currentTimeMillis = currentTimeMillis;
+        for (var transition : automaton.getTransitions()) {
+            transitionNames.computeIfAbsent(transition.getCurrentStateName(), stateName -> new ConcurrentHashMap<>())
+                    .put(transition.getInputSymbol(), TRANSITION_NAME_TEMPLATE.formatted(transition.getCurrentStateName(), transition.getInputSymbol(), transition.getSubsequentStateName()));
+        }
+    }
+
+    /**
+     * Counts an event received from the message broker.
+     *
+     * @param containerAutomatEvent The event.
+     */
+    @EventListener
+    public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        var eventType = containerAutomatEvent.getEventType();
+        if (eventType == EventType.STATE_PROCESSING_EVENTS_AGGREGATED || eventType == EventType.STATE_PROCESSING_SLOW_HOP_DETECTED) {
+            return;
+        }
+        var pendingStartKey = containerAutomatEvent.getProcessingInstanceId() + '/' + containerAutomatEvent.getProcessingPosition();
+        if (eventType == EventType.STATE_PROCESSING_START) {
+            addPendingStart(pendingStartKey, containerAutomatEvent.getEventTime().toEpochMilli());
+            return;
+        }
+
+        var startTime = pendingStartTimes.remove(pendingStartKey);
+        var durationMillis = startTime == null ? -1 : Math.max(0, containerAutomatEvent.getEventTime().toEpochMilli() - startTime);
+        var error = eventType == EventType.STATE_PROCESSING_ERROR;
+        var second = TimeUnit.MILLISECONDS.toSeconds(currentTimeMillis.getAsLong());
+        stateCounters.computeIfAbsent(containerAutomatEvent.getStateName(), key -> new RollingCounters())
+                .record(second, error, durationMillis);
+        var transitionName = containerAutomatEvent.currentInputSymbol()
+                .map(inputSymbol -> transitionNames.getOrDefault(containerAutomatEvent.getStateName(), Map.of()).get(inputSymbol))
+                .orElse(null);
+        if (transitionName != null) {
+            transitionCounters.computeIfAbsent(transitionName, key -> new RollingCounters())
+                    .record(second, error, durationMillis);
+        }
+    }
+
+    /**
+     * @return The throughput statistics per state and transition.
+     */
+    public ContainerAutomatThroughputStatistics getStatistics() {
+
+        var currentSecond = TimeUnit.MILLISECONDS.toSeconds(currentTimeMillis.getAsLong());
+        return ContainerAutomatThroughputStatistics.builder()
+                .states(getWindows(stateCounters, currentSecond))
+                .transitions(getWindows(transitionCounters, currentSecond))
+                .build();
+    }
+
+    public int getPendingStartCount() {
+
+        return pendingStartTimes.size();
+    }
+
+    private void addPendingStart(String pendingStartKey, long startTime) {
+
+        if (pendingStartTimes.size() >= maxPendingStarts) {
+            var expiryTime = currentTimeMillis.getAsLong() - TimeUnit.SECONDS.toMillis(BUCKET_COUNT);
+            pendingStartTimes.values().removeIf(pendingStartTime -> pendingStartTime < expiryTime);
+            if (pendingStartTimes.size() >= maxPendingStarts) {
+                return;
+            }
+        }
+        pendingStartTimes.put(pendingStartKey, startTime);
+    }
+
+    private static Map<String, Map<String, ContainerAutomatThroughputStatistics.Window>> getWindows(Map<String, RollingCounters> counters, long currentSecond) {
+
+        var windowsByName = new TreeMap<String, Map<String, ContainerAutomatThroughputStatistics.Window>>();
+        counters.forEach((name, rollingCounters) -> {
+            var windows = new LinkedHashMap<String, ContainerAutomatThroughputStatistics.Window>();
+            WINDOWS.forEach((windowName, windowSeconds) -> windows.put(windowName, rollingCounters.getWindow(currentSecond, windowSeconds)));
+            windowsByName.put(name, windows);
+        });
+        return windowsByName;
+    }
+
+    private static Map<String, Integer> windows() {
+
+        var windows = new LinkedHashMap<String, Integer>();
+        windows.put("1s", 1);
+        windows.put("1m", 60);
+        windows.put("5m", 300);
+        return windows;
+    }
+
+}
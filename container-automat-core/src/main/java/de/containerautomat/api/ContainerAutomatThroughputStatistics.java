@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The throughput statistics of the states and transitions of the DFA, as
+ * collected by {@link ContainerAutomatThroughput} from the received events.
+ * The statistics of each state and transition are given per rolling window,
+ * i.e. for the last second, the last minute and the last five minutes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContainerAutomatThroughputStatistics {
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Window {
+
+        private long count;
+
+        private double perSecond;
+
+        private double errorRate;
+
+        private double averageDurationMillis;
+    }
+
+
+    private Map<String, Map<String, Window>> states;
+
+    private Map<String, Map<String, Window>> transitions;
+
+}
@@ -44,9 +44,53 @@ public class ContainerAutomatCoreConfig {
     public static final String PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY = "containerautomat.app.is-entry";
     public static final String PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE = "containerautomat.app.is-state";
     public static final String PROPERTY_CONTAINERAUTOMAT_DFA_RESOURCE_PATH = "containerautomat.dfa.resource-path";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_BATCH_MAX_SIZE = "containerautomat.entry.batch-max-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_STREAM_CHUNK_SIZE = "containerautomat.entry.stream-chunk-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_BUFFER_SIZE = "containerautomat.entry.notifications.buffer-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_TIMEOUT_MILLIS = "containerautomat.entry.notifications.timeout-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_MAX_IDS = "containerautomat.entry.notifications.max-ids";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_NOTIFICATIONS_RECENT_COMPLETIONS = "containerautomat.entry.notifications.recent-completions";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_WAIT_MAX_MILLIS = "containerautomat.entry.wait.max-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_WAIT_MAX_PENDING = "containerautomat.entry.wait.max-pending";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_MAX_IN_FLIGHT = "containerautomat.entry.admission.max-in-flight";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_IN_FLIGHT_TIMEOUT_MILLIS = "containerautomat.entry.admission.in-flight-timeout-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_RATE_PER_SECOND = "containerautomat.entry.admission.rate-per-second";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_BURST = "containerautomat.entry.admission.burst";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_ADMISSION_RETRY_AFTER_SECONDS = "containerautomat.entry.admission.retry-after-seconds";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_IDEMPOTENCY_CACHE_SIZE = "containerautomat.entry.idempotency.cache-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_IDEMPOTENCY_CACHE_TTL_MILLIS = "containerautomat.entry.idempotency.cache-ttl-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_IDEMPOTENCY_START_COMMAND_LEASE_MILLIS = "containerautomat.entry.idempotency.start-command-lease-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_OUTCOMES_CACHE_SIZE = "containerautomat.entry.outcomes.cache-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_OUTCOMES_FAST_ANSWER = "containerautomat.entry.outcomes.fast-answer";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_OUTCOMES_RECORD_FAST_ANSWERS = "containerautomat.entry.outcomes.record-fast-answers";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_LATENCIES_MAX_TRACKED = "containerautomat.entry.latencies.max-tracked";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_LATENCIES_TRACKING_TIMEOUT_MILLIS = "containerautomat.entry.latencies.tracking-timeout-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ENTRY_THROUGHPUT_MAX_PENDING_STARTS = "containerautomat.entry.throughput.max-pending-starts";
     public static final String PROPERTY_CONTAINERAUTOMAT_STATE_NAME = "containerautomat.state.name";
     public static final String PROPERTY_CONTAINERAUTOMAT_PROCESSING_MIN_DURATION_MILLIS = "containerautomat.processing.min-duration-millis";
     public static final String PROPERTY_CONTAINERAUTOMAT_PROCESSING_MAX_DURATION_MILLIS = "containerautomat.processing.max-duration-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_WINDOW_SIZE = "containerautomat.processing.input-window-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_SEGMENT_SIZE = "containerautomat.processing.input-segment-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_CACHE_SIZE = "containerautomat.processing.input-cache-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_KAFKA_COMMAND_TOPIC_PARTITIONS = "containerautomat.kafka.command-topic-partitions";
+    public static final String PROPERTY_CONTAINERAUTOMAT_TRACING_EXPORTER = "containerautomat.tracing.exporter";
+    public static final String PROPERTY_CONTAINERAUTOMAT_TRACING_MEMORY_SIZE = "containerautomat.tracing.memory-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_TRACING_OTLP_FILE = "containerautomat.tracing.otlp-file";
+    public static final String PROPERTY_CONTAINERAUTOMAT_TRACING_OTLP_QUEUE_SIZE = "containerautomat.tracing.otlp-queue-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_BACKLOG_SAMPLING_INTERVAL_MILLIS = "containerautomat.backlog.sampling-interval-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_LOGGING_FORMAT = "containerautomat.logging.format";
+    public static final String PROPERTY_CONTAINERAUTOMAT_LOGGING_PER_COMMAND_LEVEL = "containerautomat.logging.per-command-level";
+    public static final String PROPERTY_CONTAINERAUTOMAT_JFR_ENABLED = "containerautomat.jfr.enabled";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_P99_THRESHOLD_MILLIS = "containerautomat.slow-hop.p99-threshold-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_CHECK_INTERVAL_MILLIS = "containerautomat.slow-hop.check-interval-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_WINDOW_SIZE = "containerautomat.slow-hop.window-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_COOLDOWN_MILLIS = "containerautomat.slow-hop.cooldown-millis";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_SNAPSHOT_DIRECTORY = "containerautomat.slow-hop.snapshot-directory";
+    public static final String PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX = "containerautomat.events.";
+    public static final String PROPERTY_CONTAINERAUTOMAT_EVENTS_EMISSION_POLICY = PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + "emission-policy";
+    public static final String PROPERTY_CONTAINERAUTOMAT_EVENTS_STATES_PREFIX = PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + "states.";
+    public static final String PROPERTY_CONTAINERAUTOMAT_EVENTS_BATCH_SIZE = PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + "batch-size";
+    public static final String PROPERTY_CONTAINERAUTOMAT_EVENTS_BATCH_MAX_DELAY_MILLIS = PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + "batch-max-delay-millis";
 
 
     @Bean
@@ -38,6 +38,12 @@ import java.util.Optional;
  * of processing the command whether the current state is a final
  * state of the DFA or not. Accordingly, the acceptance or rejection
  * of the input is determined as the final result of the request.
+ * <p/>
+ * For long input strings, a command can carry only a window of the input,
+ * i.e. the symbols from {@link #getProcessingInputOffset()} on, while
+ * {@link #getProcessingInputLength()} is the length of the complete input.
+ * A command whose window is exhausted before the end of the input must be
+ * refilled from the stored input before its current symbol can be evaluated.
  */
 @JsonDeserialize(as = ContainerAutomatRuntimeCommand.class)
 public interface ContainerAutomatCommand {
@@ -48,17 +54,26 @@ public interface ContainerAutomatCommand {
 
     int getProcessingPosition();
 
+    int getProcessingInputOffset();
+
+    int getProcessingInputLength();
+
     ContainerAutomatCommand nextCommand();
 
 
     default boolean hasInputSymbol() {
 
-        return getProcessingInput() != null && getProcessingPosition() >= 0 && getProcessingPosition() < getProcessingInput().length();
+        return getProcessingInput() != null && getProcessingPosition() >= 0 && getProcessingPosition() < getProcessingInputLength();
+    }
+
+    default boolean isInputWindowExhausted() {
+
+        return hasInputSymbol() && getProcessingPosition() - getProcessingInputOffset() >= getProcessingInput().length();
     }
 
     default Optional<String> currentInputSymbol() {
 
-        return hasInputSymbol() ? Optional.of(Character.toString(getProcessingInput().charAt(getProcessingPosition()))) : Optional.empty();
+        return hasInputSymbol() && !isInputWindowExhausted() ? Optional.of(Character.toString(getProcessingInput().charAt(getProcessingPosition() - getProcessingInputOffset()))) : Optional.empty();
     }
 
     default boolean isProcessingEndCommand() {
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing;
+
+/**
+ * The declaration of a service interface for querying the number of
+ * commands of type {@link ContainerAutomatCommand} that are waiting in
+ * the message broker to be processed by a state.
+ */
+public interface ContainerAutomatCommandBacklog {
+
+    /**
+     * @return The name of the message broker, used as a tag of the backlog metric.
+     */
+    String getBrokerName();
+
+    /**
+     * Queries the message broker for the backlog of a state.
+     *
+     * @param stateName The name of the state.
+     * @return The number of commands for the state that have not been consumed yet.
+     */
+    long getCommandBacklog(String stateName);
+
+}
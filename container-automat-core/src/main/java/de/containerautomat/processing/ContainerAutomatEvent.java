@@ -33,7 +33,7 @@ import java.util.Optional;
 public interface ContainerAutomatEvent {
 
     enum EventType {
-        STATE_PROCESSING_START, STATE_PROCESSING_FINISHED_CONTINUE_PROCESS, STATE_PROCESSING_FINISHED_INPUT_ACCEPTED, STATE_PROCESSING_FINISHED_INPUT_REJECTED, STATE_PROCESSING_ERROR
+        STATE_PROCESSING_START, STATE_PROCESSING_FINISHED_CONTINUE_PROCESS, STATE_PROCESSING_FINISHED_INPUT_ACCEPTED, STATE_PROCESSING_FINISHED_INPUT_REJECTED, STATE_PROCESSING_ERROR, STATE_PROCESSING_EVENTS_AGGREGATED, STATE_PROCESSING_SLOW_HOP_DETECTED
     }
 
 
@@ -47,6 +47,8 @@ public interface ContainerAutomatEvent {
 
     int getProcessingPosition();
 
+    int getProcessingInputOffset();
+
     String getStateName();
 
     String getDescription();
@@ -54,10 +56,11 @@ public interface ContainerAutomatEvent {
 
     default Optional<String> currentInputSymbol() {
 
-        if (getProcessingInput() == null || getProcessingPosition() < 0 || getProcessingPosition() >= getProcessingInput().length()) {
+        var windowPosition = getProcessingPosition() - getProcessingInputOffset();
+        if (getProcessingInput() == null || windowPosition < 0 || windowPosition >= getProcessingInput().length()) {
             return Optional.empty();
         }
-        return Optional.of(Character.toString(getProcessingInput().charAt(getProcessingPosition())));
+        return Optional.of(Character.toString(getProcessingInput().charAt(windowPosition)));
     }
 
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEventBatch;
+
+import java.util.List;
+
+/**
+ * The declaration of a data type that represents an envelope for multiple
+ * events of type {@link ContainerAutomatEvent}.
+ * <p/>
+ * Event batches are used to send multiple events with a single message
+ * through the message broker, in order to reduce the number of messages
+ * per processed request.
+ */
+@JsonDeserialize(as = ContainerAutomatRuntimeEventBatch.class)
+public interface ContainerAutomatEventBatch {
+
+    List<ContainerAutomatEvent> getEvents();
+
+}
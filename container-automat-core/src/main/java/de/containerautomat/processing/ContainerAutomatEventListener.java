@@ -18,9 +18,17 @@ package de.containerautomat.processing;
 /**
  * The declaration of a service interface for the processing of
  * events of type {@link ContainerAutomatEvent}.
+ * <p/>
+ * Events received in a {@link ContainerAutomatEventBatch} are unpacked
+ * and processed individually by default.
  */
 public interface ContainerAutomatEventListener {
 
     void handleEvent(ContainerAutomatEvent containerAutomatEvent);
 
+    default void handleEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        containerAutomatEventBatch.getEvents().forEach(this::handleEvent);
+    }
+
 }
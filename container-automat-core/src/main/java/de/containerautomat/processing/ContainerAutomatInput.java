@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing;
+
+import de.containerautomat.processing.runtime.ContainerAutomatInputValidator;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A constraint for input strings, which must only consist of symbols of the
+ * alphabet of the DFA implemented by the generated application.
+ * <p/>
+ * The constraint is checked by the {@link ContainerAutomatInputValidator}
+ * with a bit set of the alphabet instead of a regular expression. A violation
+ * reports the position of the first symbol that is not part of the alphabet.
+ */
+@Documented
+@Constraint(validatedBy = ContainerAutomatInputValidator.class)
+@Target({ElementType.METHOD, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ContainerAutomatInput {
+
+    String message() default "must only contain symbols of the alphabet";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+}
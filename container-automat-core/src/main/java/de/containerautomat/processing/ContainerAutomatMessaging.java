@@ -15,15 +15,29 @@
  */
 package de.containerautomat.processing;
 
+import java.util.List;
+
 /**
  * The declaration of a service interface for sending commands
  * of type {@link ContainerAutomatCommand} and events of type
- * {@link ContainerAutomatEvent} through a message broker.
+ * {@link ContainerAutomatEvent}, individually or as
+ * {@link ContainerAutomatEventBatch}, through a message broker.
+ * <p/>
+ * Several commands for the same target state, e.g. the start commands for a
+ * batch of requests, can be sent together, so that implementations can use
+ * the batching facilities of their message broker.
  */
 public interface ContainerAutomatMessaging {
 
     void sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand);
 
+    default void sendContainerAutomatCommands(String targetState, List<? extends ContainerAutomatCommand> containerAutomatCommands) {
+
+        containerAutomatCommands.forEach(containerAutomatCommand -> sendContainerAutomatCommand(targetState, containerAutomatCommand));
+    }
+
     void sendContainerAutomatEvent(ContainerAutomatEvent containerAutomatEvent);
 
+    void sendContainerAutomatEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch);
+
 }
\ No newline at end of file
@@ -57,7 +57,7 @@ public interface ContainerAutomatProcessingStep {
             case STATE_PROCESSING_FINISHED_CONTINUE_PROCESS -> ContainerAutomatProcessingStep.StepResult.CONTINUE_PROCESSING;
             case STATE_PROCESSING_FINISHED_INPUT_ACCEPTED -> ContainerAutomatProcessingStep.StepResult.PROCESSING_FINISHED_INPUT_ACCEPTED;
             case STATE_PROCESSING_FINISHED_INPUT_REJECTED -> ContainerAutomatProcessingStep.StepResult.PROCESSING_FINISHED_INPUT_REJECTED;
-            case STATE_PROCESSING_START, STATE_PROCESSING_ERROR -> ContainerAutomatProcessingStep.StepResult.PROCESSING_ERROR;
+            case STATE_PROCESSING_START, STATE_PROCESSING_ERROR, STATE_PROCESSING_EVENTS_AGGREGATED, STATE_PROCESSING_SLOW_HOP_DETECTED -> ContainerAutomatProcessingStep.StepResult.PROCESSING_ERROR;
         };
     }
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The declaration of a service interface for sending commands of type
+ * {@link ContainerAutomatCommand} through a message broker without blocking
+ * the calling thread.
+ * <p/>
+ * It is the counterpart of {@link ContainerAutomatMessaging} for the reactive
+ * entry service, which only sends start commands.
+ * <p/>
+ * Since a reactive pipeline is not bound to a thread, the context of the span
+ * in which the commands are sent is not read from the current thread, but from
+ * the Reactor context with the key {@value #CONTEXT_KEY_TRACE_CONTEXT}. If it
+ * is present, it is sent with each command like by the {@link ContainerAutomatMessaging}.
+ */
+public interface ContainerAutomatReactiveMessaging {
+
+    String CONTEXT_KEY_TRACE_CONTEXT = "containerautomat.trace-context";
+
+
+    Mono<Void> sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand);
+
+    Mono<Void> sendContainerAutomatCommands(String targetState, List<? extends ContainerAutomatCommand> containerAutomatCommands);
+
+}
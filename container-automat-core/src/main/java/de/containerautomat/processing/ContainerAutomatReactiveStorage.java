@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The declaration of a service interface for creating objects of type
+ * {@link ContainerAutomatProcessingInstance} in the database without
+ * blocking the calling thread.
+ * <p/>
+ * It is the counterpart of {@link ContainerAutomatStorage} for the reactive
+ * entry service, which only creates processing instances. The processing
+ * instances are stored in the same way as by {@link ContainerAutomatStorage},
+ * so that the state services find them.
+ */
+public interface ContainerAutomatReactiveStorage {
+
+    Mono<ContainerAutomatProcessingInstance> createProcessingInstance(ContainerAutomatRequest containerAutomatRequest);
+
+    /**
+     * Creates the processing instances for several requests with a single
+     * bulk write to the database.
+     *
+     * @param containerAutomatRequests The requests.
+     * @return The processing instances in the order of the requests.
+     */
+    Flux<ContainerAutomatProcessingInstance> createProcessingInstances(List<? extends ContainerAutomatRequest> containerAutomatRequests);
+
+}
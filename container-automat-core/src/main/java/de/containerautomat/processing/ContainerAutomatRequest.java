@@ -19,7 +19,6 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import de.containerautomat.automaton.DeterministicFiniteAutomaton;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeRequest;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 /**
@@ -28,6 +27,10 @@ import jakarta.validation.constraints.Size;
  * <p/>
  * Requests for processing are received through the REST interface of the
  * application.
+ * <p/>
+ * The input string is validated with the constraint {@link ContainerAutomatInput}.
+ * The regular expression {@link #INPUT_STRING_REGEXP} is kept for clients of
+ * this interface, but is not evaluated when validating requests.
  */
 @JsonDeserialize(as = ContainerAutomatRuntimeRequest.class)
 public interface ContainerAutomatRequest {
@@ -37,7 +40,7 @@ public interface ContainerAutomatRequest {
     // AFTER_INPUT_STRING_REGEXP_MARKER
 
     @NotEmpty
-    @Pattern(regexp = INPUT_STRING_REGEXP)
+    @ContainerAutomatInput
     String getInput();
 
     @Size(max = DeterministicFiniteAutomaton.MAX_LENGTH_DESCRIPTION)
@@ -15,18 +15,63 @@
  */
 package de.containerautomat.processing;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * The declaration of a service interface for persistently storing
  * requests for processing input strings of type
  * {@link ContainerAutomatProcessingInstance} and processing steps
  * of type {@link ContainerAutomatProcessingStep} in a database.
+ * <p/>
+ * Requests received as a batch are stored with a single bulk write, so that
+ * the database is not accessed once per request.
+ * <p/>
+ * A processing instance can also be created with a given id, e.g. an id derived
+ * from an idempotency key. The id is unique, so that a second processing instance
+ * with the same id is rejected with a {@link org.springframework.dao.DuplicateKeyException}.
+ * Such a processing instance is marked as waiting for its start command until
+ * {@link #clearStartCommandPending(String)} is called, so that a start command
+ * that could not be sent can be sent again for a retried request. The creation
+ * of the processing instance claims the sending of its start command. A retried
+ * request can only take over this claim with
+ * {@link #claimStartCommand(String, Duration)} once the lease of the previous
+ * claim has expired. Since the claim is taken over atomically in the database,
+ * a start command that is still being sent is not sent a second time. If sending
+ * fails, the claim is released with {@link #releaseStartCommand(String)}, so that
+ * the next retried request can send the start command right away.
+ * <p/>
+ * For processing long input strings in windows, a segment of the input of a
+ * processing instance can be read without transferring the complete input,
+ * as far as the database supports this.
  */
 public interface ContainerAutomatStorage {
 
     ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest);
 
+    ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId);
+
+    Optional<ContainerAutomatProcessingInstance> findProcessingInstance(String processingInstanceId);
+
+    boolean claimStartCommand(String processingInstanceId, Duration claimLease);
+
+    void releaseStartCommand(String processingInstanceId);
+
+    void clearStartCommandPending(String processingInstanceId);
+
+    Optional<String> findInputSegment(String processingInstanceId, int offset, int length);
+
+    List<ContainerAutomatProcessingInstance> createProcessingInstances(List<? extends ContainerAutomatRequest> containerAutomatRequests);
+
     ContainerAutomatProcessingStep createProcessingStep(Instant startTime, ContainerAutomatEvent containerAutomatEvent);
 
+
+    static String inputSegment(String input, int offset, int length) {
+
+        var start = Math.clamp(offset, 0, input.length());
+        return input.substring(start, Math.clamp((long) start + length, start, input.length()));
+    }
+
 }
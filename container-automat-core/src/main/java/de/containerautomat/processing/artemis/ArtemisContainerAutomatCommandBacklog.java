@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.artemis;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommandBacklog;
+import org.apache.activemq.artemis.api.core.management.ResourceNames;
+import org.apache.activemq.artemis.api.jms.management.JMSManagementHelper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatCommandBacklog}
+ * for use with ActiveMQ Artemis as a message broker.
+ * <p/>
+ * The backlog of a state is the message count of the commands queue of the
+ * state, which is requested from the management address of the broker. The
+ * message count includes messages that are being delivered but have not yet
+ * been acknowledged. The user of the connection needs the <code>manage</code>
+ * permission for the management address.
+ * <p/>
+ * Some notes on the messaging concepts used in conjunction with ActiveMQ Artemis
+ * are located in {@link ArtemisContainerAutomatConfig}.
+ */
+@Profile("artemis")
+@Service
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ArtemisContainerAutomatCommandBacklog implements ContainerAutomatCommandBacklog {
+
+    static final String BROKER_NAME = "artemis";
+    static final String MANAGEMENT_ADDRESS = "activemq.management";
+    static final String ATTRIBUTE_MESSAGE_COUNT = "messageCount";
+
+    private final JmsTemplate managementJmsTemplate;
+
+
+    public ArtemisContainerAutomatCommandBacklog(@Qualifier("managementJmsTemplate") JmsTemplate managementJmsTemplate) {
+
+        this.managementJmsTemplate = managementJmsTemplate;
+    }
+
+    @Override
+    public String getBrokerName() {
+
+        return BROKER_NAME;
+    }
+
+    @Override
+    public long getCommandBacklog(String stateName) {
+
+        var queueName = ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + stateName;
+        var reply = managementJmsTemplate.sendAndReceive(MANAGEMENT_ADDRESS, session -> {
+            var message = session.createMessage();
+            JMSManagementHelper.putAttribute(message, ResourceNames.QUEUE + queueName, ATTRIBUTE_MESSAGE_COUNT);
+            return message;
+        });
+        if (reply == null) {
+            throw new IllegalStateException("Unable to query the backlog of state %s because the management request for queue %s timed out.".formatted(stateName, queueName));
+        }
+        try {
+            if (!JMSManagementHelper.hasOperationSucceeded(reply)) {
+                throw new IllegalStateException("Unable to query the backlog of state %s because the management request for queue %s failed.".formatted(stateName, queueName));
+            }
+            return ((Number) JMSManagementHelper.getResult(reply, Long.class)).longValue();
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to read the backlog of state %s from the management reply: %s".formatted(stateName, e.getMessage()), e);
+        }
+    }
+
+}
@@ -19,16 +19,21 @@ import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommand;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jms.annotation.JmsListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 
 /**
  * An implementation of the service interface {@link ContainerAutomatCommandProcessor}
  * for use with ActiveMQ Artemis as a message broker.
  * <p/>
  * For the actual processing of the commands, the class
- * {@link ContainerAutomatRuntimeProcessor} is delegated to.
+ * {@link ContainerAutomatRuntimeProcessor} is delegated to,
+ * together with the trace context received in the message property
+ * {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT}.
  * <p/>
  * For the simulation of an application-specific processing logic that takes some
  * time and whose duration depends to some extent on chance, an object of type
@@ -46,10 +51,15 @@ public class ArtemisContainerAutomatCommandProcessor implements ContainerAutomat
 
 
     @Override
-    @JmsListener(destination = ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + "${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}", containerFactory = "queueJmsListenerContainerFactory")
     public void processCommand(ContainerAutomatCommand containerAutomatCommand) {
 
-        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, containerAutomatWorkSimulator::simulateWork);
+        receiveCommand(containerAutomatCommand, null);
+    }
+
+    @JmsListener(destination = ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + "${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}", containerFactory = "queueJmsListenerContainerFactory")
+    public void receiveCommand(@Payload ContainerAutomatCommand containerAutomatCommand, @Header(name = ContainerAutomatTraceContext.HEADER_TRACEPARENT, required = false) String traceparent) {
+
+        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, traceparent, containerAutomatWorkSimulator::simulateWork);
     }
 
 }
@@ -19,12 +19,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.DeliveryMode;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jms.AcknowledgeMode;
 import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -51,6 +55,16 @@ import org.springframework.jms.support.converter.MessageType;
  * are processed using publish-subscribe topics, with the possibility of multiple
  * processing and without a processing guarantee.
  * <p/>
+ * Several commands for the same queue, e.g. the start commands for a batch of
+ * requests, are sent in one transacted session, so that the broker confirms
+ * them with a single commit instead of one blocking round trip per command.
+ * <p/>
+ * The listeners receive messages in transacted sessions by default, so that a
+ * message whose processing failed is delivered again. With one of the JMS
+ * acknowledge modes <code>auto</code>, <code>client</code> or <code>dups_ok</code>
+ * configured instead, the sessions are not transacted, as JMS ignores the
+ * acknowledge mode of transacted sessions.
+ * <p/>
  * JMS is used as the protocol.
  */
 @Profile("artemis")
@@ -62,6 +76,13 @@ public class ArtemisContainerAutomatConfig {
     public static final String COMMANDS_QUEUE_NAME_PREFIX = "container-automat-";
     public static final String EVENTS_TOPIC = "container-automat-events";
 
+    public static final String PROPERTY_CONTAINERAUTOMAT_ARTEMIS_COMMANDS_CONCURRENCY = "containerautomat.artemis.commands-concurrency";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ARTEMIS_COMMANDS_ACKNOWLEDGE_MODE = "containerautomat.artemis.commands-acknowledge-mode";
+    public static final String PROPERTY_CONTAINERAUTOMAT_ARTEMIS_EVENTS_ACKNOWLEDGE_MODE = "containerautomat.artemis.events-acknowledge-mode";
+
+    static final String ACKNOWLEDGE_MODE_TRANSACTED = "transacted";
+    static final long MANAGEMENT_RECEIVE_TIMEOUT_MILLIS = 5000;
+
 
     @Bean
     public MessageConverter messageConverter(ObjectMapper objectMapper) {
@@ -83,6 +104,17 @@ public class ArtemisContainerAutomatConfig {
         return result;
     }
 
+    @Bean(name = "commandBatchJmsTemplate")
+    public JmsTemplate commandBatchJmsTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
+
+        var result = new JmsTemplate(connectionFactory);
+        result.setMessageConverter(messageConverter);
+        result.setPubSubDomain(false);
+        result.setDeliveryMode(DeliveryMode.PERSISTENT);
+        result.setSessionTransacted(true);
+        return result;
+    }
+
     @Bean(name = "eventTopicJmsTemplate")
     public JmsTemplate eventTopicJmsTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
 
@@ -93,23 +125,38 @@ public class ArtemisContainerAutomatConfig {
         return result;
     }
 
+    @Bean(name = "managementJmsTemplate")
+    @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+    public JmsTemplate managementJmsTemplate(ConnectionFactory connectionFactory) {
+
+        var result = new JmsTemplate(connectionFactory);
+        result.setPubSubDomain(false);
+        result.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        result.setReceiveTimeout(MANAGEMENT_RECEIVE_TIMEOUT_MILLIS);
+        return result;
+    }
+
     @Bean(name = "queueJmsListenerContainerFactory")
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
-    public JmsListenerContainerFactory<?> queueJmsListenerContainerFactory(ConnectionFactory connectionFactory, DefaultJmsListenerContainerFactoryConfigurer configurer) {
+    public JmsListenerContainerFactory<?> queueJmsListenerContainerFactory(ConnectionFactory connectionFactory, DefaultJmsListenerContainerFactoryConfigurer configurer, @Value("${" + PROPERTY_CONTAINERAUTOMAT_ARTEMIS_COMMANDS_CONCURRENCY + ":1}") String concurrency, @Value("${" + PROPERTY_CONTAINERAUTOMAT_ARTEMIS_COMMANDS_ACKNOWLEDGE_MODE + ":" + ACKNOWLEDGE_MODE_TRANSACTED + "}") String acknowledgeMode) {
 
         DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
         configurer.configure(factory, connectionFactory);
         factory.setPubSubDomain(false);
+        factory.setConcurrency(concurrency);
+        applyAcknowledgeMode(factory, acknowledgeMode);
         return factory;
     }
 
     @Bean(name = "topicJmsListenerContainerFactory")
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
-    public JmsListenerContainerFactory<?> topicJmsListenerContainerFactory(ConnectionFactory connectionFactory, DefaultJmsListenerContainerFactoryConfigurer configurer) {
+    public JmsListenerContainerFactory<?> topicJmsListenerContainerFactory(ConnectionFactory connectionFactory, DefaultJmsListenerContainerFactoryConfigurer configurer, @Value("${" + PROPERTY_CONTAINERAUTOMAT_ARTEMIS_EVENTS_ACKNOWLEDGE_MODE + ":" + ACKNOWLEDGE_MODE_TRANSACTED + "}") String acknowledgeMode) {
 
         DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
         configurer.configure(factory, connectionFactory);
         factory.setPubSubDomain(true);
+        factory.setConcurrency("1");
+        applyAcknowledgeMode(factory, acknowledgeMode);
         return factory;
     }
 
@@ -122,9 +169,20 @@ public class ArtemisContainerAutomatConfig {
 
     @Bean
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
-    public ContainerAutomatEventListener containerAutomatEventListener() {
+    public ContainerAutomatEventListener containerAutomatEventListener(ApplicationEventPublisher applicationEventPublisher, ContainerAutomatLogging logging) {
+
+        return new ArtemisContainerAutomatEventListener(applicationEventPublisher, logging);
+    }
+
+
+    private static void applyAcknowledgeMode(DefaultJmsListenerContainerFactory factory, String acknowledgeMode) {
 
-        return new ArtemisContainerAutomatEventListener();
+        if (ACKNOWLEDGE_MODE_TRANSACTED.equals(acknowledgeMode)) {
+            factory.setSessionTransacted(true);
+            return;
+        }
+        factory.setSessionTransacted(false);
+        factory.setSessionAcknowledgeMode(AcknowledgeMode.of(acknowledgeMode).getMode());
     }
 
 }
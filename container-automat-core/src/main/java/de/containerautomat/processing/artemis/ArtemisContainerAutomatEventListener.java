@@ -16,9 +16,13 @@
 package de.containerautomat.processing.artemis;
 
 import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jms.annotation.JmsListener;
 
 /**
@@ -27,19 +31,41 @@ import org.springframework.jms.annotation.JmsListener;
  * <p/>
  * Some notes on the messaging concepts used in conjunction with ActiveMQ Artemis
  * are located in {@link ArtemisContainerAutomatConfig}.
+ * <p/>
+ * Since JMS listeners cannot dispatch messages by payload type, single events
+ * and event batches are received by {@link #handleEventMessage(Object)}.
+ * <p/>
+ * Each event is also published as a Spring application event, so that
+ * clients waiting for notifications about processing instances are served.
  */
+@RequiredArgsConstructor
 public class ArtemisContainerAutomatEventListener implements ContainerAutomatEventListener {
 
     private static final Log log = LogFactory.getLog(ArtemisContainerAutomatEventListener.class);
 
     static final String HANDLE_EVENT_LOG_MESSAGE_TEMPLATE = "Received ContainerAutomatEvent:%n%s";
+    static final String UNEXPECTED_EVENT_MESSAGE_LOG_MESSAGE_TEMPLATE = "Received unexpected event message of type %s.";
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final ContainerAutomatLogging logging;
 
 
-    @Override
     @JmsListener(destination = ArtemisContainerAutomatConfig.EVENTS_TOPIC, containerFactory = "topicJmsListenerContainerFactory")
+    public void handleEventMessage(Object eventMessage) {
+
+        switch (eventMessage) {
+            case ContainerAutomatEventBatch containerAutomatEventBatch -> handleEventBatch(containerAutomatEventBatch);
+            case ContainerAutomatEvent containerAutomatEvent -> handleEvent(containerAutomatEvent);
+            default -> log.warn(UNEXPECTED_EVENT_MESSAGE_LOG_MESSAGE_TEMPLATE.formatted(eventMessage.getClass().getName()));
+        }
+    }
+
+    @Override
     public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
 
-        log.info(HANDLE_EVENT_LOG_MESSAGE_TEMPLATE.formatted(containerAutomatEvent.toString()));
+        logging.logEvent(log, HANDLE_EVENT_LOG_MESSAGE_TEMPLATE, containerAutomatEvent);
+        applicationEventPublisher.publishEvent(containerAutomatEvent);
     }
 
 }
@@ -17,17 +17,25 @@ package de.containerautomat.processing.artemis;
 
 import de.containerautomat.processing.ContainerAutomatCommand;
 import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
 import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 
 /**
  * An implementation of the service interface {@link ContainerAutomatMessaging}
  * for use with ActiveMQ Artemis as a message broker.
  * <p/>
+ * If a span is active while commands are sent, its context is sent in the
+ * message property {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT}.
+ * <p/>
  * Some notes on the messaging concepts used in conjunction with ActiveMQ Artemis
  * are located in {@link ArtemisContainerAutomatConfig}.
  */
@@ -37,19 +45,55 @@ public class ArtemisContainerAutomatMessaging implements ContainerAutomatMessagi
 
     private final JmsTemplate commandQueueJmsTemplate;
 
+    private final JmsTemplate commandBatchJmsTemplate;
+
     private final JmsTemplate eventTopicJmsTemplate;
 
 
-    public ArtemisContainerAutomatMessaging(@Qualifier("commandQueueJmsTemplate") JmsTemplate commandQueueJmsTemplate, @Qualifier("eventTopicJmsTemplate") JmsTemplate eventTopicJmsTemplate) {
+    public ArtemisContainerAutomatMessaging(@Qualifier("commandQueueJmsTemplate") JmsTemplate commandQueueJmsTemplate, @Qualifier("commandBatchJmsTemplate") JmsTemplate commandBatchJmsTemplate, @Qualifier("eventTopicJmsTemplate") JmsTemplate eventTopicJmsTemplate) {
 
         this.commandQueueJmsTemplate = commandQueueJmsTemplate;
+        this.commandBatchJmsTemplate = commandBatchJmsTemplate;
         this.eventTopicJmsTemplate = eventTopicJmsTemplate;
     }
 
     @Override
     public void sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand) {
 
-        commandQueueJmsTemplate.convertAndSend(ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + targetState, containerAutomatCommand);
+        var destinationName = ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + targetState;
+        var traceparent = ContainerAutomatTraceContext.currentTraceparent();
+        if (traceparent.isEmpty()) {
+            commandQueueJmsTemplate.convertAndSend(destinationName, containerAutomatCommand);
+            return;
+        }
+        commandQueueJmsTemplate.convertAndSend(destinationName, containerAutomatCommand, message -> {
+            message.setStringProperty(ContainerAutomatTraceContext.HEADER_TRACEPARENT, traceparent.get());
+            return message;
+        });
+    }
+
+    @Override
+    public void sendContainerAutomatCommands(String targetState, List<? extends ContainerAutomatCommand> containerAutomatCommands) {
+
+        commandBatchJmsTemplate.execute(session -> {
+            var destination = commandBatchJmsTemplate.getDestinationResolver().resolveDestinationName(session, ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + targetState, false);
+            var producer = session.createProducer(destination);
+            var traceparent = ContainerAutomatTraceContext.currentTraceparent();
+            try {
+                producer.setDeliveryMode(commandBatchJmsTemplate.getDeliveryMode());
+                for (ContainerAutomatCommand containerAutomatCommand : containerAutomatCommands) {
+                    var message = commandBatchJmsTemplate.getMessageConverter().toMessage(containerAutomatCommand, session);
+                    if (traceparent.isPresent()) {
+                        message.setStringProperty(ContainerAutomatTraceContext.HEADER_TRACEPARENT, traceparent.get());
+                    }
+                    producer.send(message);
+                }
+                JmsUtils.commitIfNecessary(session);
+            } finally {
+                JmsUtils.closeMessageProducer(producer);
+            }
+            return null;
+        });
     }
 
     @Override
@@ -58,4 +102,10 @@ public class ArtemisContainerAutomatMessaging implements ContainerAutomatMessagi
         eventTopicJmsTemplate.convertAndSend(ArtemisContainerAutomatConfig.EVENTS_TOPIC, containerAutomatEvent);
     }
 
+    @Override
+    public void sendContainerAutomatEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        eventTopicJmsTemplate.convertAndSend(ArtemisContainerAutomatConfig.EVENTS_TOPIC, containerAutomatEventBatch);
+    }
+
 }
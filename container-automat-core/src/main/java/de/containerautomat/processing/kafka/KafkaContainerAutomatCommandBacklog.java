@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.kafka;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommandBacklog;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatCommandBacklog}
+ * for use with Kafka as a message broker.
+ * <p/>
+ * The backlog of a state is the lag of the consumer group of the state service
+ * on the commands topic of the state, i.e. the sum of the differences between
+ * the end offset and the committed offset of each partition. Partitions
+ * without a committed offset are counted according to the offset reset policy
+ * of the consumers, i.e. the property <code>spring.kafka.consumer.auto-offset-reset</code>:
+ * With <code>latest</code>, which is the default of Kafka, the consumers skip
+ * the existing records and nothing is counted. Otherwise, the records from the
+ * earliest offset still retained by the broker up to the end offset are counted.
+ * <p/>
+ * Some notes on the topics used in conjunction with Kafka are located in
+ * {@link KafkaContainerAutomatConfig}.
+ */
+@Profile("kafka")
+@Service
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class KafkaContainerAutomatCommandBacklog implements ContainerAutomatCommandBacklog {
+
+    static final String BROKER_NAME = "kafka";
+    static final long ADMIN_TIMEOUT_MILLIS = 5000;
+    static final String AUTO_OFFSET_RESET_LATEST = "latest";
+
+    private final KafkaAdmin kafkaAdmin;
+
+    private final String groupId;
+
+    private final boolean uncommittedFromLatest;
+
+    private volatile Admin admin;
+
+
+    @Autowired
+    public KafkaContainerAutomatCommandBacklog(KafkaAdmin kafkaAdmin, @Value("${spring.kafka.consumer.group-id}") String groupId,
+                                               @Value("${spring.kafka.consumer.auto-offset-reset:" + AUTO_OFFSET_RESET_LATEST + "}") String autoOffsetReset) {
+
+        this.kafkaAdmin = kafkaAdmin;
+        this.groupId = groupId;
+        this.uncommittedFromLatest = AUTO_OFFSET_RESET_LATEST.equalsIgnoreCase(autoOffsetReset.trim());
+    }
+
+    KafkaContainerAutomatCommandBacklog(Admin admin, String groupId, String autoOffsetReset) {
+
+        this.kafkaAdmin = null;
+        this.groupId = groupId;
+        this.uncommittedFromLatest = AUTO_OFFSET_RESET_LATEST.equalsIgnoreCase(autoOffsetReset.trim());
+        this.admin = admin;
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        if (admin != null) {
+            admin.close();
+        }
+    }
+
+    @Override
+    public String getBrokerName() {
+
+        return BROKER_NAME;
+    }
+
+    @Override
+    public long getCommandBacklog(String stateName) {
+
+        var topic = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + stateName;
+        var adminClient = getAdmin();
+
+        var topicDescription = await(adminClient.describeTopics(List.of(topic)).allTopicNames()).get(topic);
+        var partitions = topicDescription.partitions().stream()
+                .map(partitionInfo -> new TopicPartition(topic, partitionInfo.partition()))
+                .toList();
+        var endOffsets = await(adminClient.listOffsets(partitions.stream().collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.latest()))).all());
+        var committedOffsets = await(adminClient.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata());
+        var uncommittedPartitions = partitions.stream()
+                .filter(partition -> committedOffsets.get(partition) == null)
+                .toList();
+        var startOffsets = uncommittedFromLatest || uncommittedPartitions.isEmpty() ? endOffsets
+                : await(adminClient.listOffsets(uncommittedPartitions.stream().collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.earliest()))).all());
+
+        var backlog = 0L;
+        for (TopicPartition partition : partitions) {
+            var committedOffset = committedOffsets.get(partition);
+            var consumedOffset = committedOffset != null ? committedOffset.offset() : startOffsets.get(partition).offset();
+            backlog += Math.max(0L, endOffsets.get(partition).offset() - consumedOffset);
+        }
+        return backlog;
+    }
+
+    private Admin getAdmin() {
+
+        if (admin == null) {
+            synchronized (this) {
+                if (admin == null) {
+                    admin = Admin.create(kafkaAdmin.getConfigurationProperties());
+                }
+            }
+        }
+        return admin;
+    }
+
+    private static <T> T await(KafkaFuture<T> future) {
+
+        try {
+            return future.get(ADMIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the Kafka consumer lag.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Unable to query the Kafka consumer lag: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+}
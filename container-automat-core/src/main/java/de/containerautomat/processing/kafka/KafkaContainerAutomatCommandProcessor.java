@@ -19,16 +19,23 @@ import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommand;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * An implementation of the service interface {@link ContainerAutomatCommandProcessor}
  * for use with Kafka as a message broker.
  * <p/>
  * For the actual processing of the commands, the class
- * {@link ContainerAutomatRuntimeProcessor} is delegated to.
+ * {@link ContainerAutomatRuntimeProcessor} is delegated to,
+ * together with the trace context received in the record header
+ * {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT}.
  * <p/>
  * For the simulation of an application-specific processing logic that takes some
  * time and whose duration depends to some extent on chance, an object of type
@@ -46,10 +53,15 @@ public class KafkaContainerAutomatCommandProcessor implements ContainerAutomatCo
 
 
     @Override
-    @KafkaListener(id = "${spring.kafka.consumer.group-id}", topics = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + "${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}")
     public void processCommand(ContainerAutomatCommand containerAutomatCommand) {
 
-        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, containerAutomatWorkSimulator::simulateWork);
+        receiveCommand(containerAutomatCommand, null);
+    }
+
+    @KafkaListener(id = "${spring.kafka.consumer.group-id}", topics = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + "${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}")
+    public void receiveCommand(@Payload ContainerAutomatCommand containerAutomatCommand, @Header(name = ContainerAutomatTraceContext.HEADER_TRACEPARENT, required = false) byte[] traceparent) {
+
+        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, traceparent != null ? new String(traceparent, StandardCharsets.UTF_8) : null, containerAutomatWorkSimulator::simulateWork);
     }
 
 }
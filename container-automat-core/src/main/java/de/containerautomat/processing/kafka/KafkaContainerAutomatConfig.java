@@ -18,11 +18,13 @@ package de.containerautomat.processing.kafka;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -36,8 +38,13 @@ import org.springframework.kafka.config.TopicBuilder;
  * The following Kafka topics are used:
  * <p/>
  * Commands of type {@link de.containerautomat.processing.ContainerAutomatCommand}
- * are processed via the {@link #stateTopic(String)}. For each service that represents
- * a state of the DFA, a corresponding topic is created.
+ * are processed via the {@link #stateTopic(String, int)}. For each service that represents
+ * a state of the DFA, a corresponding topic is created. Its number of partitions
+ * limits the number of replicas of the state that process commands in parallel
+ * and can be set with the property
+ * {@value ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_KAFKA_COMMAND_TOPIC_PARTITIONS}.
+ * Since commands are keyed by the processing instance, the commands of one
+ * processing instance stay in order.
  * <p/>
  * Events of type {@link de.containerautomat.processing.ContainerAutomatEvent}
  * are processed via the {@link #eventsTopic()}.
@@ -49,14 +56,16 @@ public class KafkaContainerAutomatConfig {
 
     static final String COMMANDS_TOPIC_NAME_PREFIX = "container-automat-";
     static final String EVENTS_TOPIC_NAME = "container-automat-events";
+    static final int DEFAULT_COMMAND_TOPIC_PARTITIONS = 1;
 
 
     @Bean(name = "stateTopic")
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
-    public NewTopic stateTopic(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName) {
+    public NewTopic stateTopic(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName,
+                               @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_KAFKA_COMMAND_TOPIC_PARTITIONS + ":" + DEFAULT_COMMAND_TOPIC_PARTITIONS + "}") int partitions) {
 
         return TopicBuilder.name(COMMANDS_TOPIC_NAME_PREFIX + stateName)
-                .partitions(1)
+                .partitions(partitions)
                 .replicas(1)
                 .compact()
                 .build();
@@ -82,9 +91,9 @@ public class KafkaContainerAutomatConfig {
 
     @Bean
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
-    public ContainerAutomatEventListener containerAutomatEventListener() {
+    public ContainerAutomatEventListener containerAutomatEventListener(ApplicationEventPublisher applicationEventPublisher, ContainerAutomatLogging logging) {
 
-        return new KafkaContainerAutomatEventListener();
+        return new KafkaContainerAutomatEventListener(applicationEventPublisher, logging);
     }
 
 }
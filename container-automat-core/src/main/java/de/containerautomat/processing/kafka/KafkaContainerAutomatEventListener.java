@@ -16,9 +16,14 @@
 package de.containerautomat.processing.kafka;
 
 import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 
 /**
@@ -27,19 +32,36 @@ import org.springframework.kafka.annotation.KafkaListener;
  * <p/>
  * Some notes on the topics used in conjunction with Kafka are located in
  * {@link KafkaContainerAutomatConfig}.
+ * <p/>
+ * Each event is also published as a Spring application event, so that
+ * clients waiting for notifications about processing instances are served.
  */
+@KafkaListener(id = "${spring.kafka.consumer.group-id}", topics = KafkaContainerAutomatConfig.EVENTS_TOPIC_NAME)
+@RequiredArgsConstructor
 public class KafkaContainerAutomatEventListener implements ContainerAutomatEventListener {
 
     private static final Log log = LogFactory.getLog(KafkaContainerAutomatEventListener.class);
 
     static final String HANDLE_EVENT_LOG_MESSAGE_TEMPLATE = "Received ContainerAutomatEvent:%n%s";
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final ContainerAutomatLogging logging;
+
 
     @Override
-    @KafkaListener(id = "${spring.kafka.consumer.group-id}", topics = KafkaContainerAutomatConfig.EVENTS_TOPIC_NAME)
+    @KafkaHandler
     public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
 
-        log.info(HANDLE_EVENT_LOG_MESSAGE_TEMPLATE.formatted(containerAutomatEvent.toString()));
+        logging.logEvent(log, HANDLE_EVENT_LOG_MESSAGE_TEMPLATE, containerAutomatEvent);
+        applicationEventPublisher.publishEvent(containerAutomatEvent);
+    }
+
+    @Override
+    @KafkaHandler
+    public void handleEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        ContainerAutomatEventListener.super.handleEventBatch(containerAutomatEventBatch);
     }
 
 }
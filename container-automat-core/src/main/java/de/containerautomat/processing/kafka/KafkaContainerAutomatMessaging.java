@@ -17,16 +17,25 @@ package de.containerautomat.processing.kafka;
 
 import de.containerautomat.processing.ContainerAutomatCommand;
 import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
 import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
 /**
  * An implementation of the service interface {@link ContainerAutomatMessaging}
  * for use with Kafka as a message broker.
  * <p/>
+ * If a span is active while a command is sent, its context is sent in the
+ * record header {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT}.
+ * <p/>
  * Some notes on the topics used in conjunction with Kafka are located in
  * {@link KafkaContainerAutomatConfig}.
  */
@@ -41,7 +50,15 @@ public class KafkaContainerAutomatMessaging implements ContainerAutomatMessaging
     @Override
     public void sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand) {
 
-        kafkaTemplate.send(KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + targetState, containerAutomatCommand.getProcessingInstanceId(), containerAutomatCommand);
+        var topic = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + targetState;
+        var traceparent = ContainerAutomatTraceContext.currentTraceparent();
+        if (traceparent.isEmpty()) {
+            kafkaTemplate.send(topic, containerAutomatCommand.getProcessingInstanceId(), containerAutomatCommand);
+            return;
+        }
+        var producerRecord = new ProducerRecord<String, Object>(topic, containerAutomatCommand.getProcessingInstanceId(), containerAutomatCommand);
+        producerRecord.headers().add(ContainerAutomatTraceContext.HEADER_TRACEPARENT, traceparent.get().getBytes(StandardCharsets.UTF_8));
+        kafkaTemplate.send(producerRecord);
     }
 
     @Override
@@ -50,4 +67,10 @@ public class KafkaContainerAutomatMessaging implements ContainerAutomatMessaging
         kafkaTemplate.send(KafkaContainerAutomatConfig.EVENTS_TOPIC_NAME, containerAutomatEvent.getProcessingInstanceId(), containerAutomatEvent);
     }
 
+    @Override
+    public void sendContainerAutomatEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        kafkaTemplate.send(KafkaContainerAutomatConfig.EVENTS_TOPIC_NAME, UUID.randomUUID().toString(), containerAutomatEventBatch);
+    }
+
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.kafka;
+
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatReactiveMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderOptions;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.context.ContextView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatReactiveMessaging}
+ * for use with Kafka as a message broker, based on Reactor Kafka.
+ * <p/>
+ * The producer is configured with the same Spring Boot properties as the
+ * producer of the {@link KafkaContainerAutomatMessaging}, and commands are
+ * sent to the same topics with the processing instance as key, so that the
+ * state services cannot tell from which variant of the entry service they
+ * originate. This includes the record header {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT},
+ * which is sent if a trace context is present in the Reactor context.
+ */
+@Profile("kafka")
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class KafkaContainerAutomatReactiveMessaging implements ContainerAutomatReactiveMessaging {
+
+    private final ReactiveKafkaProducerTemplate<String, Object> producerTemplate;
+
+
+    @Autowired
+    public KafkaContainerAutomatReactiveMessaging(KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles) {
+
+        this(new ReactiveKafkaProducerTemplate<>(SenderOptions.create(kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable()))));
+    }
+
+    KafkaContainerAutomatReactiveMessaging(ReactiveKafkaProducerTemplate<String, Object> producerTemplate) {
+
+        this.producerTemplate = producerTemplate;
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        producerTemplate.close();
+    }
+
+    @Override
+    public Mono<Void> sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand) {
+
+        var topic = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + targetState;
+        return Mono.deferContextual(context -> producerTemplate.send(createProducerRecord(topic, containerAutomatCommand, getTraceparent(context))))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> sendContainerAutomatCommands(String targetState, List<? extends ContainerAutomatCommand> containerAutomatCommands) {
+
+        var topic = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + targetState;
+        return Mono.deferContextual(context -> {
+            var traceparent = getTraceparent(context);
+            var senderRecords = Flux.fromIterable(containerAutomatCommands)
+                    .map(containerAutomatCommand -> SenderRecord.create(createProducerRecord(topic, containerAutomatCommand, traceparent), containerAutomatCommand.getProcessingInstanceId()));
+            return producerTemplate.send(senderRecords).then();
+        });
+    }
+
+    private static ProducerRecord<String, Object> createProducerRecord(String topic, ContainerAutomatCommand containerAutomatCommand, String traceparent) {
+
+        var producerRecord = new ProducerRecord<String, Object>(topic, containerAutomatCommand.getProcessingInstanceId(), containerAutomatCommand);
+        if (traceparent != null) {
+            producerRecord.headers().add(ContainerAutomatTraceContext.HEADER_TRACEPARENT, traceparent.getBytes(StandardCharsets.UTF_8));
+        }
+        return producerRecord;
+    }
+
+    private static String getTraceparent(ContextView context) {
+
+        return context.<ContainerAutomatTraceContext>getOrEmpty(CONTEXT_KEY_TRACE_CONTEXT)
+                .map(ContainerAutomatTraceContext::toTraceparent)
+                .orElse(null);
+    }
+
+}
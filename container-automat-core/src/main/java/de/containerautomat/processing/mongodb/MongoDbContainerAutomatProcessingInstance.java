@@ -15,6 +15,7 @@
  */
 package de.containerautomat.processing.mongodb;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import de.containerautomat.processing.ContainerAutomatProcessingInstance;
 import lombok.Builder;
 import lombok.Data;
@@ -46,4 +47,10 @@ public class MongoDbContainerAutomatProcessingInstance implements ContainerAutom
     @NonNull
     private String description;
 
+    @JsonIgnore
+    private Boolean startCommandPending;
+
+    @JsonIgnore
+    private Instant startCommandClaimTime;
+
 }
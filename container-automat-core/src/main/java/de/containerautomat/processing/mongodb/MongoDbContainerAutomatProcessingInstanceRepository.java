@@ -16,15 +16,59 @@
 package de.containerautomat.processing.mongodb;
 
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Optional;
+
 /**
  * The declaration of a Spring Data repository for objects of type
  * {@link MongoDbContainerAutomatProcessingInstance}.
+ * <p/>
+ * The repository extends {@link MongoRepository} for inserting the processing
+ * instances of a batch of requests with a single bulk write.
  */
 @Profile("mongodb")
 @Repository
-public interface MongoDbContainerAutomatProcessingInstanceRepository extends CrudRepository<MongoDbContainerAutomatProcessingInstance, String> {
+public interface MongoDbContainerAutomatProcessingInstanceRepository extends MongoRepository<MongoDbContainerAutomatProcessingInstance, String> {
+
+    /**
+     * Claims the sending of the pending start command of a processing instance,
+     * if the previous claim is older than the given time.
+     *
+     * @param processingInstanceId The id of the processing instance.
+     * @param expiredClaimTime     The time before which a previous claim has expired.
+     * @param claimTime            The time of the new claim.
+     * @return The number of claimed processing instances, i.e. <code>1</code> if the claim has been won.
+     */
+    @Query("{ '_id' : ?0, 'startCommandPending' : true, 'startCommandClaimTime' : { '$not' : { '$gte' : ?1 } } }")
+    @Update("{ '$set' : { 'startCommandClaimTime' : ?2 } }")
+    long claimStartCommand(String processingInstanceId, Instant expiredClaimTime, Instant claimTime);
+
+    @Query("{ '_id' : ?0, 'startCommandPending' : true }")
+    @Update("{ '$unset' : { 'startCommandClaimTime' : 1 } }")
+    void releaseStartCommand(String processingInstanceId);
+
+    @Query("{ '_id' : ?0 }")
+    @Update("{ '$unset' : { 'startCommandPending' : 1, 'startCommandClaimTime' : 1 } }")
+    void clearStartCommandPending(String processingInstanceId);
+
+    /**
+     * Reads a segment of the input of a processing instance in the database
+     * with the operator <code>$substrCP</code>, so that only the segment is transferred.
+     *
+     * @param processingInstanceId The id of the processing instance.
+     * @param offset               The zero-based position of the first symbol of the segment.
+     * @param length               The maximum length of the segment.
+     * @return The segment, or an empty optional if there is no processing instance with the id.
+     */
+    @Aggregation(pipeline = {
+            "{ '$match' : { '_id' : ?0 } }",
+            "{ '$project' : { '_id' : 0, 'input' : { '$substrCP' : [ '$input', ?1, ?2 ] } } }"})
+    Optional<String> findInputSegment(String processingInstanceId, int offset, int length);
 
 }
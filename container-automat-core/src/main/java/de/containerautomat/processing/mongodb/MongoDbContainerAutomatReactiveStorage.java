@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.mongodb;
+
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.ContainerAutomatReactiveStorage;
+import de.containerautomat.processing.ContainerAutomatRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatReactiveStorage}
+ * for using MongoDB as the database with the reactive MongoDB driver. The
+ * processing instances are stored as documents of type
+ * {@link MongoDbContainerAutomatProcessingInstance}, like by the
+ * {@link MongoDbContainerAutomatStorage}.
+ */
+@Profile("mongodb")
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class MongoDbContainerAutomatReactiveStorage implements ContainerAutomatReactiveStorage {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+
+    @Override
+    public Mono<ContainerAutomatProcessingInstance> createProcessingInstance(ContainerAutomatRequest containerAutomatRequest) {
+
+        var processingInstance = MongoDbContainerAutomatStorage.buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), Instant.now());
+        return reactiveMongoTemplate.insert(processingInstance).map(ContainerAutomatProcessingInstance.class::cast);
+    }
+
+    @Override
+    public Flux<ContainerAutomatProcessingInstance> createProcessingInstances(List<? extends ContainerAutomatRequest> containerAutomatRequests) {
+
+        var creationTime = Instant.now();
+        var processingInstances = containerAutomatRequests.stream()
+                .map(containerAutomatRequest -> MongoDbContainerAutomatStorage.buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), creationTime))
+                .toList();
+
+        return reactiveMongoTemplate.insertAll(processingInstances).map(ContainerAutomatProcessingInstance.class::cast);
+    }
+
+}
@@ -24,7 +24,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -47,21 +50,66 @@ public class MongoDbContainerAutomatStorage implements ContainerAutomatStorage {
     @Override
     public ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest) {
 
-        var processingInstance = MongoDbContainerAutomatProcessingInstance.builder()
-                .processingInstanceId(UUID.randomUUID().toString())
-                .creationTime(Instant.now())
-                .input(containerAutomatRequest.getInput())
-                .description(containerAutomatRequest.getDescription())
-                .build();
-
+        var processingInstance = buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), Instant.now());
         processingInstance = processingInstanceRepository.save(processingInstance);
         return processingInstance;
     }
 
+    @Override
+    public ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId) {
+
+        var processingInstance = buildProcessingInstance(containerAutomatRequest, processingInstanceId, Instant.now());
+        processingInstance.setStartCommandPending(true);
+        processingInstance.setStartCommandClaimTime(processingInstance.getCreationTime());
+        return processingInstanceRepository.insert(processingInstance);
+    }
+
+    @Override
+    public Optional<ContainerAutomatProcessingInstance> findProcessingInstance(String processingInstanceId) {
+
+        return processingInstanceRepository.findById(processingInstanceId).map(ContainerAutomatProcessingInstance.class::cast);
+    }
+
+    @Override
+    public boolean claimStartCommand(String processingInstanceId, Duration claimLease) {
+
+        var claimTime = Instant.now();
+        return processingInstanceRepository.claimStartCommand(processingInstanceId, claimTime.minus(claimLease), claimTime) == 1;
+    }
+
+    @Override
+    public void releaseStartCommand(String processingInstanceId) {
+
+        processingInstanceRepository.releaseStartCommand(processingInstanceId);
+    }
+
+    @Override
+    public void clearStartCommandPending(String processingInstanceId) {
+
+        processingInstanceRepository.clearStartCommandPending(processingInstanceId);
+    }
+
+    @Override
+    public Optional<String> findInputSegment(String processingInstanceId, int offset, int length) {
+
+        return processingInstanceRepository.findInputSegment(processingInstanceId, offset, length);
+    }
+
+    @Override
+    public List<ContainerAutomatProcessingInstance> createProcessingInstances(List<? extends ContainerAutomatRequest> containerAutomatRequests) {
+
+        var creationTime = Instant.now();
+        var processingInstances = containerAutomatRequests.stream()
+                .map(containerAutomatRequest -> buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), creationTime))
+                .toList();
+
+        return List.copyOf(processingInstanceRepository.insert(processingInstances));
+    }
+
     @Override
     public ContainerAutomatProcessingStep createProcessingStep(Instant startTime, ContainerAutomatEvent containerAutomatEvent) {
 
-        if (processingInstanceRepository.findById(containerAutomatEvent.getProcessingInstanceId()).isEmpty()) {
+        if (!processingInstanceRepository.existsById(containerAutomatEvent.getProcessingInstanceId())) {
             throw new IllegalArgumentException(ERROR_MESSAGE_UNKNOWN_PROCESSING_INSTANCE_ID.formatted(containerAutomatEvent.getProcessingInstanceId()));
         }
 
@@ -81,4 +129,14 @@ public class MongoDbContainerAutomatStorage implements ContainerAutomatStorage {
         return processingStep;
     }
 
+    static MongoDbContainerAutomatProcessingInstance buildProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId, Instant creationTime) {
+
+        return MongoDbContainerAutomatProcessingInstance.builder()
+                .processingInstanceId(processingInstanceId)
+                .creationTime(creationTime)
+                .input(containerAutomatRequest.getInput())
+                .description(containerAutomatRequest.getDescription())
+                .build();
+    }
+
 }
@@ -23,6 +23,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,6 +39,11 @@ import java.util.Objects;
  * An implementation of the data type {@link ContainerAutomatProcessingInstance}
  * for storing objects of this type in a PostgreSQL database when using Spring
  * Data JPA.
+ * <p/>
+ * The keys are drawn from a sequence that hands out {@value #KEY_ALLOCATION_SIZE}
+ * keys per call, so that the processing instances of a batch request are known
+ * before they are inserted and Hibernate can send them in JDBC batches. Keys
+ * generated by the database on insert would force one INSERT per instance.
  */
 @Entity
 @Table(name = "container-automat_processing_instance", indexes = {
@@ -57,14 +63,19 @@ public class PostgreSqlContainerAutomatProcessingInstance implements ContainerAu
     public static final String COLUMN_CREATION_TIME = "creation_time";
     public static final String COLUMN_INPUT = "input";
     public static final String COLUMN_DESCRIPTION = "description";
+    public static final String COLUMN_START_COMMAND_PENDING = "start_command_pending";
+    public static final String COLUMN_START_COMMAND_CLAIM_TIME = "start_command_claim_time";
+
+    public static final String KEY_SEQUENCE_NAME = "containerautomat_processing_instance_key_seq";
+    public static final int KEY_ALLOCATION_SIZE = 50;
 
     public static final int MAX_LENGTH_PROCESSING_INSTANCE_ID = 40;
-    public static final int MAX_LENGTH_INPUT = 500;
     public static final int MAX_LENGTH_DESCRIPTION = 200;
 
     @JsonIgnore
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = KEY_SEQUENCE_NAME)
+    @SequenceGenerator(name = KEY_SEQUENCE_NAME, sequenceName = KEY_SEQUENCE_NAME, allocationSize = KEY_ALLOCATION_SIZE)
     @Column(name = COLUMN_KEY)
     private Long key;
 
@@ -74,12 +85,20 @@ public class PostgreSqlContainerAutomatProcessingInstance implements ContainerAu
     @Column(name = COLUMN_CREATION_TIME, nullable = false)
     private Instant creationTime;
 
-    @Column(name = COLUMN_INPUT, length = MAX_LENGTH_INPUT, nullable = false)
+    @Column(name = COLUMN_INPUT, columnDefinition = "text", nullable = false)
     private String input;
 
     @Column(name = COLUMN_DESCRIPTION, length = MAX_LENGTH_DESCRIPTION, nullable = false)
     private String description;
 
+    @JsonIgnore
+    @Column(name = COLUMN_START_COMMAND_PENDING)
+    private Boolean startCommandPending;
+
+    @JsonIgnore
+    @Column(name = COLUMN_START_COMMAND_CLAIM_TIME)
+    private Instant startCommandClaimTime;
+
 
     @Override
     public boolean equals(Object o) {
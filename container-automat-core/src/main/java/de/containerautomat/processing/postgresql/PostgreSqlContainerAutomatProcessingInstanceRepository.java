@@ -17,8 +17,13 @@ package de.containerautomat.processing.postgresql;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -31,4 +36,41 @@ public interface PostgreSqlContainerAutomatProcessingInstanceRepository extends
 
     Optional<PostgreSqlContainerAutomatProcessingInstance> findByProcessingInstanceId(String processingInstanceId);
 
+    /**
+     * Claims the sending of the pending start command of a processing instance,
+     * if the previous claim is older than the given time.
+     *
+     * @param processingInstanceId The id of the processing instance.
+     * @param expiredClaimTime     The time before which a previous claim has expired.
+     * @param claimTime            The time of the new claim.
+     * @return The number of claimed processing instances, i.e. <code>1</code> if the claim has been won.
+     */
+    @Transactional
+    @Modifying
+    @Query("update PostgreSqlContainerAutomatProcessingInstance p set p.startCommandClaimTime = :claimTime where p.processingInstanceId = :processingInstanceId"
+            + " and p.startCommandPending = true and (p.startCommandClaimTime is null or p.startCommandClaimTime < :expiredClaimTime)")
+    int claimStartCommand(@Param("processingInstanceId") String processingInstanceId, @Param("expiredClaimTime") Instant expiredClaimTime, @Param("claimTime") Instant claimTime);
+
+    @Transactional
+    @Modifying
+    @Query("update PostgreSqlContainerAutomatProcessingInstance p set p.startCommandClaimTime = null where p.processingInstanceId = :processingInstanceId and p.startCommandPending = true")
+    void releaseStartCommand(@Param("processingInstanceId") String processingInstanceId);
+
+    @Transactional
+    @Modifying
+    @Query("update PostgreSqlContainerAutomatProcessingInstance p set p.startCommandPending = null, p.startCommandClaimTime = null where p.processingInstanceId = :processingInstanceId")
+    void clearStartCommandPending(@Param("processingInstanceId") String processingInstanceId);
+
+    /**
+     * Reads a segment of the input of a processing instance in the database,
+     * so that only the segment is transferred.
+     *
+     * @param processingInstanceId The id of the processing instance.
+     * @param start                The one-based position of the first symbol of the segment.
+     * @param length               The maximum length of the segment.
+     * @return The segment, or an empty optional if there is no processing instance with the id.
+     */
+    @Query("select substring(p.input, :start, :length) from PostgreSqlContainerAutomatProcessingInstance p where p.processingInstanceId = :processingInstanceId")
+    Optional<String> findInputSegment(@Param("processingInstanceId") String processingInstanceId, @Param("start") int start, @Param("length") int length);
+
 }
@@ -22,9 +22,14 @@ import de.containerautomat.processing.ContainerAutomatRequest;
 import de.containerautomat.processing.ContainerAutomatStorage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -38,6 +43,7 @@ import java.util.UUID;
 public class PostgreSqlContainerAutomatStorage implements ContainerAutomatStorage {
 
     static final String ERROR_MESSAGE_UNKNOWN_PROCESSING_INSTANCE_ID = "No ProcessingInstance with id %s.";
+    static final String ERROR_MESSAGE_DUPLICATE_PROCESSING_INSTANCE_ID = "ProcessingInstance with id %s already exists.";
 
 
     private final PostgreSqlContainerAutomatProcessingInstanceRepository processingInstanceRepository;
@@ -48,17 +54,66 @@ public class PostgreSqlContainerAutomatStorage implements ContainerAutomatStorag
     @Override
     public ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest) {
 
-        var processingInstance = PostgreSqlContainerAutomatProcessingInstance.builder()
-                .processingInstanceId(UUID.randomUUID().toString())
-                .creationTime(Instant.now())
-                .input(containerAutomatRequest.getInput())
-                .description(containerAutomatRequest.getDescription())
-                .build();
-
+        var processingInstance = buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), Instant.now());
         processingInstance = processingInstanceRepository.save(processingInstance);
         return processingInstance;
     }
 
+    @Override
+    public ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId) {
+
+        var processingInstance = buildProcessingInstance(containerAutomatRequest, processingInstanceId, Instant.now());
+        processingInstance.setStartCommandPending(true);
+        processingInstance.setStartCommandClaimTime(processingInstance.getCreationTime());
+        try {
+            return processingInstanceRepository.saveAndFlush(processingInstance);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateKeyException(ERROR_MESSAGE_DUPLICATE_PROCESSING_INSTANCE_ID.formatted(processingInstanceId), e);
+        }
+    }
+
+    @Override
+    public Optional<ContainerAutomatProcessingInstance> findProcessingInstance(String processingInstanceId) {
+
+        return processingInstanceRepository.findByProcessingInstanceId(processingInstanceId).map(ContainerAutomatProcessingInstance.class::cast);
+    }
+
+    @Override
+    public boolean claimStartCommand(String processingInstanceId, Duration claimLease) {
+
+        var claimTime = Instant.now();
+        return processingInstanceRepository.claimStartCommand(processingInstanceId, claimTime.minus(claimLease), claimTime) == 1;
+    }
+
+    @Override
+    public void releaseStartCommand(String processingInstanceId) {
+
+        processingInstanceRepository.releaseStartCommand(processingInstanceId);
+    }
+
+    @Override
+    public void clearStartCommandPending(String processingInstanceId) {
+
+        processingInstanceRepository.clearStartCommandPending(processingInstanceId);
+    }
+
+    @Override
+    public Optional<String> findInputSegment(String processingInstanceId, int offset, int length) {
+
+        return processingInstanceRepository.findInputSegment(processingInstanceId, offset + 1, length);
+    }
+
+    @Override
+    public List<ContainerAutomatProcessingInstance> createProcessingInstances(List<? extends ContainerAutomatRequest> containerAutomatRequests) {
+
+        var creationTime = Instant.now();
+        var processingInstances = containerAutomatRequests.stream()
+                .map(containerAutomatRequest -> buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), creationTime))
+                .toList();
+
+        return List.copyOf(processingInstanceRepository.saveAll(processingInstances));
+    }
+
     @Override
     public ContainerAutomatProcessingStep createProcessingStep(Instant startTime, ContainerAutomatEvent containerAutomatEvent) {
 
@@ -80,4 +135,15 @@ public class PostgreSqlContainerAutomatStorage implements ContainerAutomatStorag
         processingStep = processingStepRepository.save(processingStep);
         return processingStep;
     }
+
+    private static PostgreSqlContainerAutomatProcessingInstance buildProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId, Instant creationTime) {
+
+        return PostgreSqlContainerAutomatProcessingInstance.builder()
+                .processingInstanceId(processingInstanceId)
+                .creationTime(creationTime)
+                .input(containerAutomatRequest.getInput())
+                .description(containerAutomatRequest.getDescription())
+                .build();
+    }
+
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.rabbitmq;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommandBacklog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatCommandBacklog}
+ * for use with RabbitMQ as a message broker.
+ * <p/>
+ * The backlog of a state is the number of messages in the commands queue of
+ * the state that are ready for delivery, as reported by {@link AmqpAdmin#getQueueInfo(String)}.
+ * Messages that have been delivered but not yet acknowledged are not included.
+ */
+@Profile("rabbitmq")
+@Service
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+@RequiredArgsConstructor
+public class RabbitMqContainerAutomatCommandBacklog implements ContainerAutomatCommandBacklog {
+
+    static final String BROKER_NAME = "rabbitmq";
+
+    private final AmqpAdmin amqpAdmin;
+
+
+    @Override
+    public String getBrokerName() {
+
+        return BROKER_NAME;
+    }
+
+    @Override
+    public long getCommandBacklog(String stateName) {
+
+        var queueName = RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + stateName;
+        var queueInfo = amqpAdmin.getQueueInfo(queueName);
+        if (queueInfo == null) {
+            throw new IllegalStateException("Unable to query the backlog of state %s because the queue %s does not exist.".formatted(stateName, queueName));
+        }
+        return queueInfo.getMessageCount();
+    }
+
+}
@@ -19,17 +19,22 @@ import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommand;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitHandler;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 
 /**
  * An implementation of the service interface {@link ContainerAutomatCommandProcessor}
  * for use with RabbitMQ as a message broker.
  * <p/>
  * For the actual processing of the commands, the class
- * {@link ContainerAutomatRuntimeProcessor} is delegated to.
+ * {@link ContainerAutomatRuntimeProcessor} is delegated to,
+ * together with the trace context received in the message header
+ * {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT}.
  * <p/>
  * For the simulation of an application-specific processing logic that takes some
  * time and whose duration depends to some extent on chance, an object of type
@@ -48,10 +53,15 @@ public class RabbitMqContainerAutomatCommandProcessor implements ContainerAutoma
 
 
     @Override
-    @RabbitHandler
     public void processCommand(ContainerAutomatCommand containerAutomatCommand) {
 
-        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, containerAutomatWorkSimulator::simulateWork);
+        receiveCommand(containerAutomatCommand, null);
+    }
+
+    @RabbitHandler
+    public void receiveCommand(@Payload ContainerAutomatCommand containerAutomatCommand, @Header(name = ContainerAutomatTraceContext.HEADER_TRACEPARENT, required = false) String traceparent) {
+
+        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, traceparent, containerAutomatWorkSimulator::simulateWork);
     }
 
 }
@@ -20,17 +20,26 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
 
 /**
  * A Spring configuration that defines Spring beans needed by the generated
@@ -48,6 +57,15 @@ import org.springframework.context.annotation.PropertySource;
  * <p/>
  * The queues are created in the {@link RabbitMqContainerAutomatMessaging} service.
  * <p/>
+ * The queue type, the prefetch count and the number of concurrent consumers can
+ * be configured per state with the properties below
+ * {@link #PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX}, falling back to the
+ * properties below {@link #PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX}.
+ * Since every service declares all command queues, the queue types have to be
+ * configured identically for all services. The queue for events can also be
+ * declared as a RabbitMQ stream, whereas streams are not suitable for commands,
+ * because each command has to be processed exactly once.
+ * <p/>
  * AMQP is used as the protocol.
  */
 @Profile("rabbitmq")
@@ -55,11 +73,69 @@ import org.springframework.context.annotation.PropertySource;
 @PropertySource(value = {"classpath:/rabbitmq.properties"})
 public class RabbitMqContainerAutomatConfig {
 
+    public enum QueueType {
+        CLASSIC, QUORUM, STREAM;
+
+        public Queue createQueue(String queueName) {
+
+            return switch (this) {
+                case CLASSIC -> new Queue(queueName);
+                case QUORUM -> QueueBuilder.durable(queueName).quorum().build();
+                case STREAM -> QueueBuilder.durable(queueName).stream().build();
+            };
+        }
+
+        public static QueueType fromPropertyValue(String propertyValue) {
+
+            return QueueType.valueOf(propertyValue.trim().toUpperCase());
+        }
+    }
+
+    public record RabbitMqStateSettings(QueueType queueType, int prefetch, int minConcurrency, int maxConcurrency) {
+
+        public RabbitMqStateSettings {
+
+            if (queueType == QueueType.STREAM) {
+                throw new IllegalArgumentException("Invalid queue type %s for commands. Streams are only supported for events.".formatted(queueType));
+            }
+            if (prefetch < 1 || minConcurrency < 1 || maxConcurrency < minConcurrency) {
+                throw new IllegalArgumentException("Invalid RabbitMQ settings with a prefetch of %s and a concurrency of %s to %s consumers.".formatted(prefetch, minConcurrency, maxConcurrency));
+            }
+        }
+
+        public static RabbitMqStateSettings fromEnvironment(Environment environment, String stateName) {
+
+            return new RabbitMqStateSettings(
+                    QueueType.fromPropertyValue(getStateProperty(environment, stateName, SETTING_QUEUE_TYPE, QueueType.CLASSIC.name())),
+                    Integer.parseInt(getStateProperty(environment, stateName, SETTING_PREFETCH, Integer.toString(DEFAULT_PREFETCH))),
+                    Integer.parseInt(getStateProperty(environment, stateName, SETTING_MIN_CONCURRENCY, Integer.toString(DEFAULT_CONCURRENCY))),
+                    Integer.parseInt(getStateProperty(environment, stateName, SETTING_MAX_CONCURRENCY, Integer.toString(DEFAULT_CONCURRENCY))));
+        }
+
+        private static String getStateProperty(Environment environment, String stateName, String setting, String defaultValue) {
+
+            var defaultsValue = environment.getProperty(PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX + setting, defaultValue);
+            return environment.getProperty(PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX + stateName + "." + setting, defaultsValue);
+        }
+    }
+
+
     public static final String FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS = "container-automat-events";
     public static final String DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS = "container-automat-commands";
     public static final String COMMANDS_QUEUE_NAME_PREFIX = "container-automat-";
     public static final String EVENTS_QUEUE_NAME = "container-automat-events";
 
+    public static final String PROPERTY_CONTAINERAUTOMAT_RABBITMQ_EVENTS_QUEUE_TYPE = "containerautomat.rabbitmq.events-queue-type";
+    public static final String PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX = "containerautomat.rabbitmq.defaults.";
+    public static final String PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX = "containerautomat.rabbitmq.states.";
+
+    static final String SETTING_QUEUE_TYPE = "queue-type";
+    static final String SETTING_PREFETCH = "prefetch";
+    static final String SETTING_MIN_CONCURRENCY = "min-concurrency";
+    static final String SETTING_MAX_CONCURRENCY = "max-concurrency";
+    static final int DEFAULT_PREFETCH = 250;
+    static final int DEFAULT_CONCURRENCY = 1;
+
 
     @Bean
     public MessageConverter messageConverter(ObjectMapper objectMapper) {
@@ -80,6 +156,18 @@ public class RabbitMqContainerAutomatConfig {
         return new FanoutExchange(FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS, false, false);
     }
 
+    @Bean(name = "rabbitListenerContainerFactory")
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory, SimpleRabbitListenerContainerFactoryConfigurer configurer, Environment environment, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName) {
+
+        var settings = RabbitMqStateSettings.fromEnvironment(environment, stateName);
+        var factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setPrefetchCount(settings.prefetch());
+        factory.setConcurrentConsumers(settings.minConcurrency());
+        factory.setMaxConcurrentConsumers(settings.maxConcurrency());
+        return factory;
+    }
+
     @Bean
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
     public ContainerAutomatCommandProcessor containerAutomatCommandProcessor(ContainerAutomatRuntimeProcessor containerAutomatRuntimeProcessor, ContainerAutomatWorkSimulator containerAutomatWorkSimulator) {
@@ -89,9 +177,9 @@ public class RabbitMqContainerAutomatConfig {
 
     @Bean
     @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY)
-    public ContainerAutomatEventListener containerAutomatEventListener() {
+    public ContainerAutomatEventListener containerAutomatEventListener(ApplicationEventPublisher applicationEventPublisher, ContainerAutomatLogging logging) {
 
-        return new RabbitMqContainerAutomatEventListener();
+        return new RabbitMqContainerAutomatEventListener(applicationEventPublisher, logging);
     }
 
 }
@@ -16,11 +16,15 @@
 package de.containerautomat.processing.rabbitmq;
 
 import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitHandler;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.ApplicationEventPublisher;
 
 /**
  * An implementation of the service interface {@link ContainerAutomatEventListener}
@@ -28,20 +32,36 @@ import org.springframework.amqp.rabbit.annotation.RabbitListener;
  * <p/>
  * Some notes on the messaging concepts used in conjunction with RabbitMQ are
  * located in {@link RabbitMqContainerAutomatConfig}.
+ * <p/>
+ * Each event is also published as a Spring application event, so that
+ * clients waiting for notifications about processing instances are served.
  */
 @RabbitListener(queues = RabbitMqContainerAutomatConfig.EVENTS_QUEUE_NAME)
+@RequiredArgsConstructor
 public class RabbitMqContainerAutomatEventListener implements ContainerAutomatEventListener {
 
     private static final Log log = LogFactory.getLog(RabbitMqContainerAutomatEventListener.class);
 
     static final String HANDLE_EVENT_LOG_MESSAGE_TEMPLATE = "Received ContainerAutomatEvent:%n%s";
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final ContainerAutomatLogging logging;
+
 
     @Override
     @RabbitHandler
     public void handleEvent(ContainerAutomatEvent containerAutomatEvent) {
 
-        log.info(HANDLE_EVENT_LOG_MESSAGE_TEMPLATE.formatted(containerAutomatEvent.toString()));
+        logging.logEvent(log, HANDLE_EVENT_LOG_MESSAGE_TEMPLATE, containerAutomatEvent);
+        applicationEventPublisher.publishEvent(containerAutomatEvent);
+    }
+
+    @Override
+    @RabbitHandler
+    public void handleEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        ContainerAutomatEventListener.super.handleEventBatch(containerAutomatEventBatch);
     }
 
 }
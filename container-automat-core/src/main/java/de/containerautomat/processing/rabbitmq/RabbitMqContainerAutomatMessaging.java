@@ -19,7 +19,9 @@ import de.containerautomat.automaton.AutomatonState;
 import de.containerautomat.automaton.DeterministicFiniteAutomaton;
 import de.containerautomat.processing.ContainerAutomatCommand;
 import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
 import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.AmqpAdmin;
@@ -27,12 +29,16 @@ import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.Queue;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 /**
  * An implementation of the service interface {@link ContainerAutomatMessaging}
  * for use with RabbitMQ as a message broker.
  * <p/>
+ * If a span is active while a command is sent, its context is sent in the
+ * message header {@link ContainerAutomatTraceContext#HEADER_TRACEPARENT}.
+ * <p/>
  * Some notes on the messaging concepts used in conjunction with RabbitMQ are
  * located in {@link RabbitMqContainerAutomatConfig}.
  */
@@ -47,26 +53,40 @@ public class RabbitMqContainerAutomatMessaging implements ContainerAutomatMessag
 
     private final AmqpTemplate amqpTemplate;
 
+    private final Environment environment;
+
 
     @PostConstruct
     void init() {
 
-        prepareQueue(RabbitMqContainerAutomatConfig.EVENTS_QUEUE_NAME, RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS);
+        var eventsQueueType = RabbitMqContainerAutomatConfig.QueueType.fromPropertyValue(environment.getProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_EVENTS_QUEUE_TYPE, RabbitMqContainerAutomatConfig.QueueType.CLASSIC.name()));
+        prepareQueue(eventsQueueType.createQueue(RabbitMqContainerAutomatConfig.EVENTS_QUEUE_NAME), RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS);
         for (AutomatonState state : automaton.getStates()) {
-            prepareQueue(RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + state.getName(), RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS);
+            var stateSettings = RabbitMqContainerAutomatConfig.RabbitMqStateSettings.fromEnvironment(environment, state.getName());
+            prepareQueue(stateSettings.queueType().createQueue(RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + state.getName()), RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS);
         }
     }
 
-    private void prepareQueue(String queueName, String exchangeName) {
+    private void prepareQueue(Queue queue, String exchangeName) {
 
-        amqpAdmin.declareQueue(new Queue(queueName));
+        var queueName = queue.getName();
+        amqpAdmin.declareQueue(queue);
         amqpAdmin.declareBinding(new Binding(queueName, Binding.DestinationType.QUEUE, exchangeName, RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS.equals(exchangeName) ? "" : queueName, null));
     }
 
     @Override
     public void sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand) {
 
-        amqpTemplate.convertAndSend(RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS, RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + targetState, containerAutomatCommand);
+        var routingKey = RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + targetState;
+        var traceparent = ContainerAutomatTraceContext.currentTraceparent();
+        if (traceparent.isEmpty()) {
+            amqpTemplate.convertAndSend(RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS, routingKey, containerAutomatCommand);
+            return;
+        }
+        amqpTemplate.convertAndSend(RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS, routingKey, containerAutomatCommand, message -> {
+            message.getMessageProperties().setHeader(ContainerAutomatTraceContext.HEADER_TRACEPARENT, traceparent.get());
+            return message;
+        });
     }
 
     @Override
@@ -75,4 +95,10 @@ public class RabbitMqContainerAutomatMessaging implements ContainerAutomatMessag
         amqpTemplate.convertAndSend(RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS, "", containerAutomatEvent);
     }
 
+    @Override
+    public void sendContainerAutomatEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        amqpTemplate.convertAndSend(RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS, "", containerAutomatEventBatch);
+    }
+
 }
@@ -16,7 +16,7 @@
 package de.containerautomat.processing.redis;
 
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -25,6 +25,6 @@ import org.springframework.stereotype.Repository;
  */
 @Profile("redis")
 @Repository
-public interface RedisContainerAutomatProcessingInstanceRepository extends CrudRepository<RedisContainerAutomatProcessingInstance, String> {
+public interface RedisContainerAutomatProcessingInstanceRepository extends ListCrudRepository<RedisContainerAutomatProcessingInstance, String> {
 
 }
@@ -22,14 +22,32 @@ import de.containerautomat.processing.ContainerAutomatRequest;
 import de.containerautomat.processing.ContainerAutomatStorage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * An implementation of the service interface {@link ContainerAutomatStorage}
  * for using Redis as the database for the generated application.
+ * <p/>
+ * Since saving an entity with a Redis repository overwrites an existing entity
+ * with the same id, the creation of a processing instance with a given id is
+ * guarded by a marker key that is set atomically with <code>SETNX</code>, so that
+ * only one of several concurrent requests with the same id succeeds. The value
+ * of the marker key records whether the start command is still pending, and if
+ * so, the time of the last claim for sending it. A claim is taken over with a
+ * Lua script, so that the marker key is compared and set atomically.
+ * <p/>
+ * Note: The input is a field of the hash of the processing instance, which
+ * Redis cannot read in parts. For a segment of the input, the complete
+ * processing instance is therefore read and the segment is cut here.
  */
 @Profile("redis")
 @Service
@@ -37,31 +55,103 @@ import java.util.UUID;
 public class RedisContainerAutomatStorage implements ContainerAutomatStorage {
 
     static final String ERROR_MESSAGE_UNKNOWN_PROCESSING_INSTANCE_ID = "No ProcessingInstance with id %s.";
+    static final String ERROR_MESSAGE_DUPLICATE_PROCESSING_INSTANCE_ID = "ProcessingInstance with id %s already exists.";
+    static final String PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE = "ContainerAutomatProcessingInstance:created:%s";
+    static final String MARKER_START_COMMAND_PENDING_PREFIX = "pending:";
+    static final String MARKER_START_COMMAND_SENT = "sent";
+    static final RedisScript<Long> CLAIM_START_COMMAND_SCRIPT = RedisScript.of("""
+            local marker = redis.call('GET', KEYS[1])
+            if marker and string.sub(marker, 1, string.len(ARGV[1])) == ARGV[1]
+                    and tonumber(string.sub(marker, string.len(ARGV[1]) + 1)) < tonumber(ARGV[2]) then
+                redis.call('SET', KEYS[1], ARGV[1] .. ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
 
 
     private final RedisContainerAutomatProcessingInstanceRepository processingInstanceRepository;
 
     private final RedisContainerAutomatProcessingStepRepository processingStepRepository;
 
+    private final StringRedisTemplate redisTemplate;
+
 
     @Override
     public ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest) {
 
-        var processingInstance = RedisContainerAutomatProcessingInstance.builder()
-                .processingInstanceId(UUID.randomUUID().toString())
-                .creationTime(Instant.now())
-                .input(containerAutomatRequest.getInput())
-                .description(containerAutomatRequest.getDescription())
-                .build();
-
+        var processingInstance = buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), Instant.now());
         processingInstance = processingInstanceRepository.save(processingInstance);
         return processingInstance;
     }
 
+    @Override
+    public ContainerAutomatProcessingInstance createProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId) {
+
+        var markerKey = PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(processingInstanceId);
+        var creationTime = Instant.now();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(markerKey, MARKER_START_COMMAND_PENDING_PREFIX + creationTime.toEpochMilli()))) {
+            throw new DuplicateKeyException(ERROR_MESSAGE_DUPLICATE_PROCESSING_INSTANCE_ID.formatted(processingInstanceId));
+        }
+        var processingInstance = buildProcessingInstance(containerAutomatRequest, processingInstanceId, creationTime);
+        try {
+            return processingInstanceRepository.save(processingInstance);
+        } catch (RuntimeException e) {
+            redisTemplate.delete(markerKey);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<ContainerAutomatProcessingInstance> findProcessingInstance(String processingInstanceId) {
+
+        return processingInstanceRepository.findById(processingInstanceId).map(ContainerAutomatProcessingInstance.class::cast);
+    }
+
+    @Override
+    public boolean claimStartCommand(String processingInstanceId, Duration claimLease) {
+
+        var claimTime = Instant.now();
+        var claimed = redisTemplate.execute(CLAIM_START_COMMAND_SCRIPT, List.of(PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(processingInstanceId)),
+                MARKER_START_COMMAND_PENDING_PREFIX, Long.toString(claimTime.minus(claimLease).toEpochMilli()), Long.toString(claimTime.toEpochMilli()));
+        return Long.valueOf(1).equals(claimed);
+    }
+
+    @Override
+    public void releaseStartCommand(String processingInstanceId) {
+
+        redisTemplate.execute(CLAIM_START_COMMAND_SCRIPT, List.of(PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(processingInstanceId)),
+                MARKER_START_COMMAND_PENDING_PREFIX, Long.toString(Long.MAX_VALUE), "0");
+    }
+
+    @Override
+    public void clearStartCommandPending(String processingInstanceId) {
+
+        redisTemplate.opsForValue().setIfPresent(PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(processingInstanceId), MARKER_START_COMMAND_SENT);
+    }
+
+    @Override
+    public Optional<String> findInputSegment(String processingInstanceId, int offset, int length) {
+
+        return processingInstanceRepository.findById(processingInstanceId)
+                .map(processingInstance -> ContainerAutomatStorage.inputSegment(processingInstance.getInput(), offset, length));
+    }
+
+    @Override
+    public List<ContainerAutomatProcessingInstance> createProcessingInstances(List<? extends ContainerAutomatRequest> containerAutomatRequests) {
+
+        var creationTime = Instant.now();
+        var processingInstances = containerAutomatRequests.stream()
+                .map(containerAutomatRequest -> buildProcessingInstance(containerAutomatRequest, UUID.randomUUID().toString(), creationTime))
+                .toList();
+
+        return List.copyOf(processingInstanceRepository.saveAll(processingInstances));
+    }
+
     @Override
     public ContainerAutomatProcessingStep createProcessingStep(Instant startTime, ContainerAutomatEvent containerAutomatEvent) {
 
-        if (processingInstanceRepository.findById(containerAutomatEvent.getProcessingInstanceId()).isEmpty()) {
+        if (!processingInstanceRepository.existsById(containerAutomatEvent.getProcessingInstanceId())) {
             throw new IllegalArgumentException(ERROR_MESSAGE_UNKNOWN_PROCESSING_INSTANCE_ID.formatted(containerAutomatEvent.getProcessingInstanceId()));
         }
 
@@ -81,4 +171,14 @@ public class RedisContainerAutomatStorage implements ContainerAutomatStorage {
         return processingStep;
     }
 
+    private static RedisContainerAutomatProcessingInstance buildProcessingInstance(ContainerAutomatRequest containerAutomatRequest, String processingInstanceId, Instant creationTime) {
+
+        return RedisContainerAutomatProcessingInstance.builder()
+                .processingInstanceId(processingInstanceId)
+                .creationTime(creationTime)
+                .input(containerAutomatRequest.getInput())
+                .description(containerAutomatRequest.getDescription())
+                .build();
+    }
+
 }
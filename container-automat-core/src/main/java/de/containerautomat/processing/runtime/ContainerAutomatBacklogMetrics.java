@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommandBacklog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Spring bean of the state services that periodically samples the number
+ * of commands waiting in the message broker for the state of the service,
+ * using the implementation of {@link ContainerAutomatCommandBacklog} for the
+ * active message broker.
+ * <p/>
+ * The following metrics are registered as soon as the bean is bound to the
+ * meter registry of Spring Boot Actuator, tagged with the name of the state
+ * and the name of the message broker:
+ * <ul>
+ * <li><code>containerautomat.state.backlog</code>: A gauge with the backlog of
+ * the last successful sample, which is suited to drive the autoscaling of the
+ * state services. Until the first successful sample, the gauge has no value.</li>
+ * <li><code>containerautomat.state.backlog.failures</code>: A counter of samples
+ * that failed, e.g. because the message broker could not be reached.</li>
+ * </ul>
+ * The sampling interval is configured with the property
+ * {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_BACKLOG_SAMPLING_INTERVAL_MILLIS}.
+ * An interval of 0 disables the sampling.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ContainerAutomatBacklogMetrics implements MeterBinder {
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatBacklogMetrics.class);
+
+    static final String METRIC_NAME_BACKLOG = "containerautomat.state.backlog";
+    static final String METRIC_NAME_BACKLOG_FAILURES = "containerautomat.state.backlog.failures";
+    static final String METRIC_TAG_STATE = "state";
+    static final String METRIC_TAG_BROKER = "broker";
+    static final String LOG_MESSAGE_SAMPLING_BACKLOG_FAILED_TEMPLATE = "Unable to sample the backlog of state %s: %s";
+
+    private static final long NO_SAMPLE = -1;
+
+    private final Optional<ContainerAutomatCommandBacklog> commandBacklog;
+
+    @Getter
+    private final String stateName;
+
+    @Getter
+    private final long samplingIntervalMillis;
+
+    private final AtomicLong lastBacklog = new AtomicLong(NO_SAMPLE);
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile boolean lastSampleFailed;
+
+    private ScheduledExecutorService samplingScheduler;
+
+
+    public ContainerAutomatBacklogMetrics(Optional<ContainerAutomatCommandBacklog> commandBacklog,
+                                          @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName,
+                                          @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_BACKLOG_SAMPLING_INTERVAL_MILLIS + ":5000}") long samplingIntervalMillis) {
+
+        if (samplingIntervalMillis < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatBacklogMetrics because of a sampling interval of %s milliseconds.".formatted(samplingIntervalMillis));
+        }
+
+        this.commandBacklog = commandBacklog;
+        this.stateName = stateName;
+        this.samplingIntervalMillis = samplingIntervalMillis;
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (commandBacklog.isPresent() && samplingIntervalMillis > 0) {
+            samplingScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("containerautomat-backlog-sampling").factory());
+            samplingScheduler.scheduleWithFixedDelay(this::sampleBacklog, 0, samplingIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        if (samplingScheduler != null) {
+            samplingScheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        if (commandBacklog.isEmpty()) {
+            return;
+        }
+        var brokerName = commandBacklog.get().getBrokerName();
+        Gauge.builder(METRIC_NAME_BACKLOG, lastBacklog, backlog -> backlog.get() == NO_SAMPLE ? Double.NaN : backlog.get())
+                .description("The number of commands waiting in the message broker for the state.")
+                .tag(METRIC_TAG_STATE, stateName)
+                .tag(METRIC_TAG_BROKER, brokerName)
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME_BACKLOG_FAILURES, failureCount, AtomicLong::get)
+                .description("The number of failed samples of the backlog of the state.")
+                .tag(METRIC_TAG_STATE, stateName)
+                .tag(METRIC_TAG_BROKER, brokerName)
+                .register(registry);
+    }
+
+    /**
+     * @return The backlog of the last successful sample, or an empty optional if no sample succeeded yet.
+     */
+    public OptionalLong getLastBacklog() {
+
+        var backlog = lastBacklog.get();
+        return backlog == NO_SAMPLE ? OptionalLong.empty() : OptionalLong.of(backlog);
+    }
+
+    /**
+     * Queries the backlog of the state from the message broker. A failure is
+     * counted and logged once until the next successful sample.
+     */
+    void sampleBacklog() {
+
+        try {
+            lastBacklog.set(commandBacklog.orElseThrow().getCommandBacklog(stateName));
+            lastSampleFailed = false;
+        } catch (Exception e) {
+            failureCount.incrementAndGet();
+            if (!lastSampleFailed) {
+                log.warn(LOG_MESSAGE_SAMPLING_BACKLOG_FAILED_TEMPLATE.formatted(stateName, e.getMessage()), e);
+            }
+            lastSampleFailed = true;
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Spring bean that publishes the events of a state service, either
+ * individually or packed into envelopes of type {@link ContainerAutomatEventBatch}.
+ * <p/>
+ * With a batch size greater than one, events are accumulated and sent as
+ * soon as the batch size is reached or the maximum delay has elapsed,
+ * whichever comes first. The listeners for events unpack the envelopes.
+ * With the default batch size of one, each event is sent immediately
+ * with a message of its own.
+ * <p/>
+ * If a batch cannot be sent, no matter whether by the caller reaching the
+ * batch size or by the timer, the failure is logged and the events are put
+ * back in front of the pending events, so that the next batch retries them.
+ * The events of other processing instances in the batch, e.g. concluding
+ * events that clients wait for, are thus not lost with the failure. Each
+ * envelope holds at most the batch size of events, so that the pending
+ * events after a failure are sent in as many envelopes as needed. To
+ * bound the memory while the message broker is unavailable, at most
+ * {@value #MAX_PENDING_BATCHES} batches are kept; beyond that, the oldest
+ * events are dropped and counted.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ContainerAutomatEventBatchPublisher {
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatEventBatchPublisher.class);
+
+    static final String LOG_MESSAGE_SENDING_EVENT_BATCH_FAILED_TEMPLATE = "Unable to send batch of %d events, retrying with the next batch: %s";
+    static final String LOG_MESSAGE_DROPPING_EVENTS_TEMPLATE = "Dropping %d events that could not be sent, %d events dropped so far.";
+
+    static final int MAX_PENDING_BATCHES = 10;
+
+    private final ContainerAutomatMessaging messaging;
+
+    @Getter
+    private final int batchSize;
+
+    @Getter
+    private final long batchMaxDelayMillis;
+
+    private final List<ContainerAutomatEvent> pendingEvents = new ArrayList<>();
+
+    private final AtomicLong droppedEventCount = new AtomicLong();
+
+    private ScheduledExecutorService flushScheduler;
+
+
+    public ContainerAutomatEventBatchPublisher(ContainerAutomatMessaging messaging, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_BATCH_SIZE + ":1}") int batchSize, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_BATCH_MAX_DELAY_MILLIS + ":100}") long batchMaxDelayMillis) {
+
+        if (batchSize < 1 || batchMaxDelayMillis < 1) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatEventBatchPublisher because of a batch size of %s and a maximum delay of %s milliseconds.".formatted(batchSize, batchMaxDelayMillis));
+        }
+        this.messaging = messaging;
+        this.batchSize = batchSize;
+        this.batchMaxDelayMillis = batchMaxDelayMillis;
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (isBatching()) {
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("containerautomat-event-batching").factory());
+            flushScheduler.scheduleWithFixedDelay(this::flushPendingEvents, batchMaxDelayMillis, batchMaxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            flushPendingEvents();
+        }
+    }
+
+    public boolean isBatching() {
+
+        return batchSize > 1;
+    }
+
+    public void publishEvent(ContainerAutomatEvent event) {
+
+        if (!isBatching()) {
+            messaging.sendContainerAutomatEvent(event);
+            return;
+        }
+
+        List<ContainerAutomatEvent> batchEvents;
+        synchronized (pendingEvents) {
+            pendingEvents.add(event);
+            batchEvents = takeEventBatch(batchSize);
+        }
+        while (batchEvents != null && sendEventBatch(batchEvents)) {
+            synchronized (pendingEvents) {
+                batchEvents = takeEventBatch(batchSize);
+            }
+        }
+    }
+
+    void flushPendingEvents() {
+
+        List<ContainerAutomatEvent> batchEvents;
+        do {
+            synchronized (pendingEvents) {
+                batchEvents = takeEventBatch(1);
+            }
+        } while (batchEvents != null && sendEventBatch(batchEvents));
+    }
+
+    /**
+     * Returns the number of events that were dropped, because they could not
+     * be sent while the maximum number of pending batches was exceeded.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEventCount() {
+
+        return droppedEventCount.get();
+    }
+
+    private boolean sendEventBatch(List<ContainerAutomatEvent> batchEvents) {
+
+        try {
+            messaging.sendContainerAutomatEventBatch(new ContainerAutomatRuntimeEventBatch(batchEvents));
+            return true;
+        } catch (Exception e) {
+            log.error(LOG_MESSAGE_SENDING_EVENT_BATCH_FAILED_TEMPLATE.formatted(batchEvents.size(), e.getMessage()), e);
+            requeueEvents(batchEvents);
+            return false;
+        }
+    }
+
+    private void requeueEvents(List<ContainerAutomatEvent> batchEvents) {
+
+        int droppedEvents;
+        synchronized (pendingEvents) {
+            pendingEvents.addAll(0, batchEvents);
+            droppedEvents = Math.max(0, pendingEvents.size() - batchSize * MAX_PENDING_BATCHES);
+            if (droppedEvents > 0) {
+                pendingEvents.subList(0, droppedEvents).clear();
+            }
+        }
+        if (droppedEvents > 0) {
+            log.error(LOG_MESSAGE_DROPPING_EVENTS_TEMPLATE.formatted(droppedEvents, droppedEventCount.addAndGet(droppedEvents)));
+        }
+    }
+
+    /**
+     * Takes the oldest pending events, up to the batch size, if there are at
+     * least the given number of them. Must be called while holding the lock
+     * of the pending events.
+     *
+     * @param minSize The minimum number of pending events to take a batch.
+     * @return The events of the batch, or <code>null</code> if there are fewer pending events.
+     */
+    private List<ContainerAutomatEvent> takeEventBatch(int minSize) {
+
+        if (pendingEvents.size() < minSize) {
+            return null;
+        }
+        var batchPart = pendingEvents.subList(0, Math.min(pendingEvents.size(), batchSize));
+        var batchEvents = List.copyOf(batchPart);
+        batchPart.clear();
+        return batchEvents;
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A Spring bean that sends the events of a state service according to a
+ * configurable emission policy, in order to reduce the load on the message
+ * broker caused by events.
+ * <p/>
+ * The policy only applies to progress events, i.e. events of the types
+ * {@link EventType#STATE_PROCESSING_START} and
+ * {@link EventType#STATE_PROCESSING_FINISHED_CONTINUE_PROCESS}. Events that
+ * conclude the processing of a request or report an error are always sent.
+ * <p/>
+ * The policy is configured with the property {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_EVENTS_EMISSION_POLICY}
+ * and the related properties, which can be overridden per state below
+ * {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_EVENTS_STATES_PREFIX}.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ContainerAutomatEventEmitter {
+
+    /**
+     * The policies for sending progress events.
+     * <ul>
+     * <li>{@link #ALL}: All events are sent.</li>
+     * <li>{@link #FINISH_ONLY}: Events of type {@link EventType#STATE_PROCESSING_START} are suppressed.</li>
+     * <li>{@link #SAMPLED}: Progress events are only sent for a percentage of the processing instances.</li>
+     * <li>{@link #AGGREGATED}: Progress events are counted and sent as one event of type
+     * {@link EventType#STATE_PROCESSING_EVENTS_AGGREGATED} per time window.</li>
+     * </ul>
+     */
+    public enum EmissionPolicy {
+        ALL, FINISH_ONLY, SAMPLED, AGGREGATED
+    }
+
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatEventEmitter.class);
+
+    static final String SETTING_EMISSION_POLICY = "emission-policy";
+    static final String SETTING_SAMPLING_PERCENT = "sampling-percent";
+    static final String SETTING_AGGREGATION_WINDOW_MILLIS = "aggregation-window-millis";
+    static final int DEFAULT_SAMPLING_PERCENT = 10;
+    static final long DEFAULT_AGGREGATION_WINDOW_MILLIS = 10000;
+
+    static final String AGGREGATED_EVENTS_DESCRIPTION_TEMPLATE = "Aggregated progress events between %s and %s: %s";
+    static final String LOG_MESSAGE_SENDING_AGGREGATED_EVENT_FAILED_TEMPLATE = "Unable to send aggregated event: %s";
+
+    private final ContainerAutomatEventBatchPublisher publisher;
+
+    private final String stateName;
+
+    @Getter
+    private final EmissionPolicy emissionPolicy;
+
+    @Getter
+    private final int samplingPercent;
+
+    @Getter
+    private final long aggregationWindowMillis;
+
+    private final Map<EventType, Long> aggregatedEventCounts = new EnumMap<>(EventType.class);
+
+    private Instant aggregationWindowStart = Instant.now();
+
+    private ScheduledExecutorService aggregationScheduler;
+
+
+    public ContainerAutomatEventEmitter(ContainerAutomatEventBatchPublisher publisher, Environment environment, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName) {
+
+        this.publisher = publisher;
+        this.stateName = stateName;
+        this.emissionPolicy = EmissionPolicy.valueOf(getStateProperty(environment, SETTING_EMISSION_POLICY, EmissionPolicy.ALL.name()).trim().toUpperCase().replace('-', '_'));
+        this.samplingPercent = Integer.parseInt(getStateProperty(environment, SETTING_SAMPLING_PERCENT, Integer.toString(DEFAULT_SAMPLING_PERCENT)));
+        this.aggregationWindowMillis = Long.parseLong(getStateProperty(environment, SETTING_AGGREGATION_WINDOW_MILLIS, Long.toString(DEFAULT_AGGREGATION_WINDOW_MILLIS)));
+
+        if (samplingPercent < 0 || samplingPercent > 100 || aggregationWindowMillis < 1) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatEventEmitter because of a sampling percentage of %s and an aggregation window of %s milliseconds.".formatted(samplingPercent, aggregationWindowMillis));
+        }
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (emissionPolicy == EmissionPolicy.AGGREGATED) {
+            aggregationScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("containerautomat-event-aggregation").factory());
+            aggregationScheduler.scheduleAtFixedRate(this::sendAggregatedEvent, aggregationWindowMillis, aggregationWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        if (aggregationScheduler != null) {
+            aggregationScheduler.shutdown();
+            sendAggregatedEvent();
+        }
+    }
+
+    /**
+     * Sends the event or handles it according to the emission policy.
+     *
+     * @param event The event to send.
+     * @return <code>true</code> if the event was sent, <code>false</code> if it was suppressed or aggregated.
+     */
+    public boolean emitEvent(ContainerAutomatEvent event) {
+
+        if (!isProgressEvent(event.getEventType()) || isProgressEventToSend(event)) {
+            publisher.publishEvent(event);
+            return true;
+        }
+        if (emissionPolicy == EmissionPolicy.AGGREGATED) {
+            synchronized (aggregatedEventCounts) {
+                aggregatedEventCounts.merge(event.getEventType(), 1L, Long::sum);
+            }
+        }
+        return false;
+    }
+
+    void sendAggregatedEvent() {
+
+        String counts;
+        Instant windowStart;
+        var windowEnd = Instant.now();
+        synchronized (aggregatedEventCounts) {
+            if (aggregatedEventCounts.isEmpty()) {
+                aggregationWindowStart = windowEnd;
+                return;
+            }
+            counts = aggregatedEventCounts.entrySet().stream()
+                    .map(entry -> "%s=%d".formatted(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.joining(", "));
+            windowStart = aggregationWindowStart;
+            aggregatedEventCounts.clear();
+            aggregationWindowStart = windowEnd;
+        }
+
+        var event = ContainerAutomatRuntimeEvent.builder()
+                .eventType(EventType.STATE_PROCESSING_EVENTS_AGGREGATED)
+                .eventTime(windowEnd)
+                .processingInstanceId("")
+                .processingInput("")
+                .processingPosition(0)
+                .stateName(stateName)
+                .description(AGGREGATED_EVENTS_DESCRIPTION_TEMPLATE.formatted(windowStart, windowEnd, counts))
+                .build();
+        try {
+            publisher.publishEvent(event);
+        } catch (Exception e) {
+            log.error(LOG_MESSAGE_SENDING_AGGREGATED_EVENT_FAILED_TEMPLATE.formatted(e.getMessage()), e);
+        }
+    }
+
+    private boolean isProgressEventToSend(ContainerAutomatEvent event) {
+
+        return switch (emissionPolicy) {
+            case ALL -> true;
+            case FINISH_ONLY -> event.getEventType() != EventType.STATE_PROCESSING_START;
+            case SAMPLED -> Math.floorMod(event.getProcessingInstanceId().hashCode(), 100) < samplingPercent;
+            case AGGREGATED -> false;
+        };
+    }
+
+    private String getStateProperty(Environment environment, String setting, String defaultValue) {
+
+        var defaultsValue = environment.getProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + setting, defaultValue);
+        return environment.getProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_STATES_PREFIX + stateName + "." + setting, defaultsValue);
+    }
+
+    static boolean isProgressEvent(EventType eventType) {
+
+        return eventType == EventType.STATE_PROCESSING_START || eventType == EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS;
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor.ContainerAutomatProcessingResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * A Spring bean of the state services that emits custom events of the JDK
+ * Flight Recorder for the processing of commands by the {@link ContainerAutomatRuntimeProcessor},
+ * so that pauses caused by garbage collection or lock contention in a recording
+ * can be correlated with the processing of the DFA.
+ * <p/>
+ * The following events are emitted in the category <code>Container-Automat</code>,
+ * each with the name of the state, the ID of the processing instance, the
+ * processing position and its duration:
+ * <ul>
+ * <li><code>de.containerautomat.CommandProcessed</code>: The complete processing
+ * of a command, with the outcome <code>continued</code>, <code>accepted</code>,
+ * <code>rejected</code> or <code>error</code>.</li>
+ * <li><code>de.containerautomat.WorkExecuted</code>: The work of the state.</li>
+ * <li><code>de.containerautomat.MessageSent</code>: Sending the start event, the
+ * next command or the finish event, with the name of the phase.</li>
+ * <li><code>de.containerautomat.StepStored</code>: Storing the processing step.</li>
+ * </ul>
+ * The events are only created if the property {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_JFR_ENABLED}
+ * is <code>true</code>. Whether they are written to a recording is controlled
+ * by the settings of the recording as usual.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+@Getter
+public class ContainerAutomatFlightRecorder {
+
+    static final String EVENT_NAME_PREFIX = "de.containerautomat.";
+    static final String EVENT_CATEGORY = "Container-Automat";
+
+    /**
+     * The fields that are common to all events of the command processing.
+     */
+    @StackTrace(false)
+    abstract static class ProcessingEvent extends Event {
+
+        @Label("State")
+        String stateName;
+
+        @Label("Processing Instance ID")
+        String processingInstanceId;
+
+        @Label("Processing Position")
+        int processingPosition;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+
+    @Name(EVENT_NAME_PREFIX + "CommandProcessed")
+    @Label("Command Processed")
+    @Category(EVENT_CATEGORY)
+    @Description("The complete processing of a command by a state service.")
+    public static final class CommandProcessedEvent extends ProcessingEvent {
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name(EVENT_NAME_PREFIX + "WorkExecuted")
+    @Label("Work Executed")
+    @Category(EVENT_CATEGORY)
+    @Description("The work of a state service for a command.")
+    static final class WorkExecutedEvent extends ProcessingEvent {
+    }
+
+    @Name(EVENT_NAME_PREFIX + "MessageSent")
+    @Label("Message Sent")
+    @Category(EVENT_CATEGORY)
+    @Description("Sending an event or the next command to the message broker.")
+    static final class MessageSentEvent extends ProcessingEvent {
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name(EVENT_NAME_PREFIX + "StepStored")
+    @Label("Step Stored")
+    @Category(EVENT_CATEGORY)
+    @Description("Storing the processing step of a command.")
+    static final class StepStoredEvent extends ProcessingEvent {
+    }
+
+
+    private final boolean enabled;
+
+    private final String stateName;
+
+
+    public ContainerAutomatFlightRecorder(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_JFR_ENABLED + ":false}") boolean enabled,
+                                          @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName) {
+
+        this.enabled = enabled;
+        this.stateName = stateName;
+        if (enabled) {
+            FlightRecorder.register(CommandProcessedEvent.class);
+            FlightRecorder.register(WorkExecutedEvent.class);
+            FlightRecorder.register(MessageSentEvent.class);
+            FlightRecorder.register(StepStoredEvent.class);
+        }
+    }
+
+    /**
+     * Executes a phase of the command processing and emits the event of the phase.
+     *
+     * @param phase                   The name of the phase as defined in {@link ContainerAutomatProcessingMetrics}.
+     * @param containerAutomatCommand The processed command.
+     * @param action                  The action of the phase.
+     * @param <T>                     The type of the result of the action.
+     * @return The result of the action.
+     */
+    public <T> T recordPhase(String phase, ContainerAutomatCommand containerAutomatCommand, Supplier<T> action) {
+
+        if (!enabled) {
+            return action.get();
+        }
+        var event = createPhaseEvent(phase);
+        var succeeded = false;
+        event.begin();
+        try {
+            var result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                setProcessingFields(event, containerAutomatCommand, succeeded);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Starts the event for the complete processing of a command.
+     *
+     * @return The started event, or <code>null</code> if no events are emitted.
+     */
+    public CommandProcessedEvent beginProcessing() {
+
+        if (!enabled) {
+            return null;
+        }
+        var event = new CommandProcessedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event for the complete processing of a command and emits it.
+     *
+     * @param event  The event returned by {@link #beginProcessing()}, which may be <code>null</code>.
+     * @param result The result of the processing.
+     */
+    public void endProcessing(CommandProcessedEvent event, ContainerAutomatProcessingResult result) {
+
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            setProcessingFields(event, result.getProcessedCommand(), result.getError() == null);
+            event.outcome = ContainerAutomatProcessingMetrics.getOutcome(result);
+            event.commit();
+        }
+    }
+
+    private ProcessingEvent createPhaseEvent(String phase) {
+
+        return switch (phase) {
+            case ContainerAutomatProcessingMetrics.PHASE_WORK -> new WorkExecutedEvent();
+            case ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE -> new StepStoredEvent();
+            default -> {
+                var event = new MessageSentEvent();
+                event.phase = phase;
+                yield event;
+            }
+        };
+    }
+
+    private void setProcessingFields(ProcessingEvent event, ContainerAutomatCommand containerAutomatCommand, boolean succeeded) {
+
+        event.stateName = stateName;
+        event.processingInstanceId = containerAutomatCommand.getProcessingInstanceId();
+        event.processingPosition = containerAutomatCommand.getProcessingPosition();
+        event.succeeded = succeeded;
+    }
+
+}
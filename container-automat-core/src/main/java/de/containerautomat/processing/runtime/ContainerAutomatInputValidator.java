@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.automaton.DeterministicFiniteAutomaton;
+import de.containerautomat.processing.ContainerAutomatInput;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.BitSet;
+
+/**
+ * A validator for the constraint {@link ContainerAutomatInput}, which checks
+ * each character of an input string against a bit set that is built once from
+ * the alphabet of the DFA.
+ * <p/>
+ * The validator is created by the Spring validator factory, which provides the
+ * {@link DeterministicFiniteAutomaton} bean. Compared to the evaluation of a
+ * regular expression for the alphabet, the check does not allocate any objects,
+ * and it reports the position of the first invalid symbol.
+ */
+public class ContainerAutomatInputValidator implements ConstraintValidator<ContainerAutomatInput, String> {
+
+    static final String MESSAGE_INVALID_SYMBOL_TEMPLATE = "contains a symbol at position %d that is not part of the alphabet";
+
+    private final BitSet alphabet = new BitSet();
+
+
+    public ContainerAutomatInputValidator(DeterministicFiniteAutomaton automaton) {
+
+        automaton.getAlphabet().forEach(alphabetSymbol -> alphabetSymbol.getSymbol().chars().forEach(alphabet::set));
+    }
+
+    @Override
+    public boolean isValid(String input, ConstraintValidatorContext context) {
+
+        if (input == null) {
+            return true;
+        }
+        var position = findInvalidPosition(input);
+        if (position == -1) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(MESSAGE_INVALID_SYMBOL_TEMPLATE.formatted(position)).addConstraintViolation();
+        return false;
+    }
+
+    /**
+     * Finds the first character of an input string that is not a symbol of the alphabet.
+     *
+     * @param input The input string.
+     * @return The zero-based position of the first invalid symbol, or -1 if all symbols are valid.
+     */
+    public int findInvalidPosition(String input) {
+
+        for (int position = 0; position < input.length(); position++) {
+            if (!alphabet.get(input.charAt(position))) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A Spring bean of the state services that refills the input window of
+ * commands for long input strings.
+ * <p/>
+ * If the entry service is configured with an input window size, commands
+ * only carry a window of the input instead of the complete input, so that
+ * the number of bytes sent per command does not grow with the length of
+ * the input. When the window of a command is exhausted, the next window of
+ * the same size is read from the input stored with the processing instance.
+ * <p/>
+ * The input is read from the database in segments, which are kept in a
+ * bounded cache with least-recently-used eviction. A state service that
+ * refills several windows within the same segment therefore reads the
+ * segment only once.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ContainerAutomatInputWindows {
+
+    record SegmentKey(String processingInstanceId, int segmentIndex) {
+    }
+
+
+    static final String ERROR_MESSAGE_INPUT_SEGMENT_NOT_FOUND_TEMPLATE = "Unable to read the input of ProcessingInstance %s at position %d.";
+
+    private final ContainerAutomatStorage storage;
+
+    private final int segmentSize;
+
+    private final Map<SegmentKey, String> segments;
+
+
+    public ContainerAutomatInputWindows(ContainerAutomatStorage storage,
+                                        @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_SEGMENT_SIZE + ":65536}") int segmentSize,
+                                        @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_PROCESSING_INPUT_CACHE_SIZE + ":64}") int cacheSize) {
+
+        if (segmentSize < 1 || cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatInputWindows because of a segment size of %s and a cache size of %s.".formatted(segmentSize, cacheSize));
+        }
+        this.storage = storage;
+        this.segmentSize = segmentSize;
+        this.segments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SegmentKey, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Refills the input window of a command if it is exhausted. The new window
+     * starts at the processing position and has the size of the exhausted window.
+     *
+     * @param containerAutomatCommand The command.
+     * @return The command itself if its window is not exhausted, otherwise a copy with the next window.
+     */
+    public ContainerAutomatCommand refillInputWindow(ContainerAutomatCommand containerAutomatCommand) {
+
+        if (!containerAutomatCommand.isInputWindowExhausted()) {
+            return containerAutomatCommand;
+        }
+
+        var processingInstanceId = containerAutomatCommand.getProcessingInstanceId();
+        var windowStart = containerAutomatCommand.getProcessingPosition();
+        var windowEnd = Math.min(windowStart + Math.max(containerAutomatCommand.getProcessingInput().length(), 1), containerAutomatCommand.getProcessingInputLength());
+        var window = new StringBuilder(windowEnd - windowStart);
+        while (windowStart + window.length() < windowEnd) {
+            var position = windowStart + window.length();
+            var segment = getSegment(processingInstanceId, position / segmentSize);
+            var segmentStart = position % segmentSize;
+            var segmentEnd = Math.min(segment.length(), segmentStart + windowEnd - position);
+            if (segmentStart >= segmentEnd) {
+                throw new IllegalStateException(ERROR_MESSAGE_INPUT_SEGMENT_NOT_FOUND_TEMPLATE.formatted(processingInstanceId, position));
+            }
+            window.append(segment, segmentStart, segmentEnd);
+        }
+
+        return ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(processingInstanceId)
+                .processingInput(window.toString())
+                .processingPosition(windowStart)
+                .processingInputOffset(windowStart)
+                .processingInputLength(containerAutomatCommand.getProcessingInputLength())
+                .build();
+    }
+
+    int getCacheSize() {
+
+        synchronized (segments) {
+            return segments.size();
+        }
+    }
+
+    private String getSegment(String processingInstanceId, int segmentIndex) {
+
+        var segmentKey = new SegmentKey(processingInstanceId, segmentIndex);
+        synchronized (segments) {
+            var segment = segments.get(segmentKey);
+            if (segment != null) {
+                return segment;
+            }
+        }
+        var segment = storage.findInputSegment(processingInstanceId, segmentIndex * segmentSize, segmentSize)
+                .orElseThrow(() -> new IllegalStateException(ERROR_MESSAGE_INPUT_SEGMENT_NOT_FOUND_TEMPLATE.formatted(processingInstanceId, segmentIndex * segmentSize)));
+        synchronized (segments) {
+            segments.put(segmentKey, segment);
+        }
+        return segment;
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A Spring bean that writes the log messages which occur for every command
+ * and every event, such as the start and the end of the processing of an
+ * input symbol by a state service.
+ * <p/>
+ * These messages are written at the level given by the property
+ * {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_LOGGING_PER_COMMAND_LEVEL},
+ * which is <code>info</code> by default and can be demoted to <code>debug</code>,
+ * <code>trace</code> or <code>off</code>. Callers check {@link #isEnabled(Log)}
+ * before they assemble the values of a message, so that no strings are created
+ * for messages that are not written.
+ * <p/>
+ * The property {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_LOGGING_FORMAT}
+ * selects between the readable <code>text</code> format and the <code>json</code>
+ * format, in which a message is written as one JSON object with the name of the
+ * event and the values as key/value pairs, so that log collectors do not need to
+ * parse the text. In both formats, long values such as the input of a processing
+ * instance are abbreviated.
+ */
+@Component
+@Getter
+public class ContainerAutomatLogging {
+
+    /**
+     * The formats of the log messages.
+     */
+    public enum Format {
+        TEXT, JSON
+    }
+
+    /**
+     * The levels at which the log messages per command and event are written.
+     */
+    public enum Level {
+        INFO, DEBUG, TRACE, OFF
+    }
+
+
+    static final String JSON_KEY_EVENT = "event";
+    static final String LOG_EVENT_EVENT_RECEIVED = "event.received";
+    static final String LOG_KEY_EVENT_TYPE = "eventType";
+    static final String LOG_KEY_STATE = "state";
+    static final String LOG_KEY_POSITION = "position";
+    static final String LOG_KEY_INPUT = "input";
+    static final String LOG_KEY_PROCESSING_INSTANCE_ID = "instanceId";
+    static final String LOG_KEY_DESCRIPTION = "description";
+    static final int MAX_VALUE_LENGTH = 200;
+    static final String ABBREVIATED_VALUE_TEMPLATE = "%s... (%d characters)";
+    static final String EVENT_TEXT_TEMPLATE = "%s(eventType=%s, eventTime=%s, processingInstanceId=%s, processingInput=%s, processingPosition=%d, processingInputOffset=%d, stateName=%s, description=%s)";
+
+    private final Format format;
+
+    private final Level perCommandLevel;
+
+
+    public ContainerAutomatLogging(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_LOGGING_FORMAT + ":text}") String format,
+                                   @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_LOGGING_PER_COMMAND_LEVEL + ":info}") String perCommandLevel) {
+
+        this.format = Format.valueOf(format.trim().toUpperCase());
+        this.perCommandLevel = Level.valueOf(perCommandLevel.trim().toUpperCase());
+    }
+
+    /**
+     * @param log The log to check.
+     * @return Whether messages per command and event are written to the given log.
+     */
+    public boolean isEnabled(Log log) {
+
+        return switch (perCommandLevel) {
+            case INFO -> log.isInfoEnabled();
+            case DEBUG -> log.isDebugEnabled();
+            case TRACE -> log.isTraceEnabled();
+            case OFF -> false;
+        };
+    }
+
+    /**
+     * Writes a message per command or event, if such messages are enabled for the given log.
+     *
+     * @param log          The log to write to.
+     * @param event        The name of the event, which is written as value of the key
+     *                     <code>event</code> in the JSON format.
+     * @param textTemplate The template for the text format, which is formatted with the
+     *                     values in the order of the key/value pairs.
+     * @param keyValues    Alternating keys and values.
+     */
+    public void log(Log log, String event, String textTemplate, Object... keyValues) {
+
+        if (!isEnabled(log)) {
+            return;
+        }
+        write(log, format == Format.JSON ? toJson(event, keyValues) : toText(textTemplate, keyValues));
+    }
+
+    /**
+     * Writes a message for a received event, if such messages are enabled for the given log.
+     *
+     * @param log          The log to write to.
+     * @param textTemplate The template for the text format, which is formatted with the
+     *                     fields of the event in the form of {@link #EVENT_TEXT_TEMPLATE}.
+     * @param event        The received event.
+     */
+    public void logEvent(Log log, String textTemplate, ContainerAutomatEvent event) {
+
+        if (!isEnabled(log)) {
+            return;
+        }
+        if (format == Format.TEXT) {
+            write(log, textTemplate.formatted(toText(EVENT_TEXT_TEMPLATE, new Object[]{
+                    "class", event.getClass().getSimpleName(),
+                    LOG_KEY_EVENT_TYPE, event.getEventType(),
+                    "eventTime", event.getEventTime(),
+                    LOG_KEY_PROCESSING_INSTANCE_ID, event.getProcessingInstanceId(),
+                    LOG_KEY_INPUT, event.getProcessingInput(),
+                    LOG_KEY_POSITION, event.getProcessingPosition(),
+                    "inputOffset", event.getProcessingInputOffset(),
+                    LOG_KEY_STATE, event.getStateName(),
+                    LOG_KEY_DESCRIPTION, event.getDescription()})));
+            return;
+        }
+        write(log, toJson(LOG_EVENT_EVENT_RECEIVED, new Object[]{
+                LOG_KEY_EVENT_TYPE, event.getEventType(),
+                LOG_KEY_STATE, event.getStateName(),
+                LOG_KEY_POSITION, event.getProcessingPosition(),
+                LOG_KEY_INPUT, event.getProcessingInput(),
+                LOG_KEY_PROCESSING_INSTANCE_ID, event.getProcessingInstanceId(),
+                LOG_KEY_DESCRIPTION, event.getDescription()}));
+    }
+
+    private void write(Log log, String message) {
+
+        switch (perCommandLevel) {
+            case INFO -> log.info(message);
+            case DEBUG -> log.debug(message);
+            case TRACE -> log.trace(message);
+            case OFF -> {
+                // Not reached, because isEnabled returns false.
+            }
+        }
+    }
+
+    static String toText(String textTemplate, Object[] keyValues) {
+
+        var values = new Object[keyValues.length / 2];
+        for (int index = 0; index < values.length; index++) {
+            var value = keyValues[2 * index + 1];
+            values[index] = value instanceof CharSequence charSequence ? abbreviate(charSequence) : value;
+        }
+        return textTemplate.formatted(values);
+    }
+
+    static String toJson(String event, Object[] keyValues) {
+
+        var builder = new StringBuilder(64 + 32 * keyValues.length);
+        builder.append('{');
+        appendJsonString(builder, JSON_KEY_EVENT);
+        builder.append(':');
+        appendJsonString(builder, event);
+        for (int index = 0; index + 1 < keyValues.length; index += 2) {
+            builder.append(',');
+            appendJsonString(builder, String.valueOf(keyValues[index]));
+            builder.append(':');
+            var value = keyValues[index + 1];
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                builder.append(value);
+            } else {
+                appendJsonString(builder, abbreviate(value.toString()));
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    static CharSequence abbreviate(CharSequence value) {
+
+        if (value.length() <= MAX_VALUE_LENGTH) {
+            return value;
+        }
+        return ABBREVIATED_VALUE_TEMPLATE.formatted(value.subSequence(0, MAX_VALUE_LENGTH), value.length());
+    }
+
+    private static void appendJsonString(StringBuilder builder, CharSequence value) {
+
+        builder.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            var character = value.charAt(index);
+            switch (character) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        builder.append("\\u%04x".formatted((int) character));
+                    } else {
+                        builder.append(character);
+                    }
+                }
+            }
+        }
+        builder.append('"');
+    }
+
+}
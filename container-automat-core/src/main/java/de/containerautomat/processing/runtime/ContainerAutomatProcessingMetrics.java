@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor.ContainerAutomatProcessingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A Spring bean of the state services that records the durations of the
+ * phases of command processing by the {@link ContainerAutomatRuntimeProcessor}.
+ * <p/>
+ * The following metrics are registered as soon as the bean is bound to the
+ * meter registry of Spring Boot Actuator, all tagged with the name of the state:
+ * <ul>
+ * <li><code>containerautomat.state.phase</code>: A timer per phase, i.e. sending
+ * the start event, the work, sending the next command, sending the finish event
+ * and storing the processing step, tagged with the phase and its outcome
+ * <code>success</code> or <code>error</code>.</li>
+ * <li><code>containerautomat.state.processing</code>: A timer for the complete
+ * processing of a command, tagged with the outcome <code>continued</code>,
+ * <code>accepted</code>, <code>rejected</code> or <code>error</code>.</li>
+ * <li><code>containerautomat.state.errors</code>: A counter of errors, tagged
+ * with the simple name of the exception class.</li>
+ * </ul>
+ * The timers publish percentile histograms, so that percentiles can be
+ * aggregated across replicas, e.g. by Prometheus. The timers of the known
+ * phases and outcomes are created when the bean is bound to a registry, so
+ * that recording a duration only looks up a prepared timer.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ContainerAutomatProcessingMetrics implements MeterBinder {
+
+    static final String METRIC_NAME_PHASE = "containerautomat.state.phase";
+    static final String METRIC_NAME_PROCESSING = "containerautomat.state.processing";
+    static final String METRIC_NAME_ERRORS = "containerautomat.state.errors";
+    static final String METRIC_TAG_STATE = "state";
+    static final String METRIC_TAG_PHASE = "phase";
+    static final String METRIC_TAG_OUTCOME = "outcome";
+    static final String METRIC_TAG_EXCEPTION = "exception";
+
+    public static final String PHASE_START_EVENT = "start-event";
+    public static final String PHASE_WORK = "work";
+    public static final String PHASE_NEXT_COMMAND = "next-command";
+    public static final String PHASE_FINISH_EVENT = "finish-event";
+    public static final String PHASE_STEP_STORAGE = "step-storage";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_ERROR = "error";
+    static final String OUTCOME_CONTINUED = "continued";
+    static final String OUTCOME_ACCEPTED = "accepted";
+    static final String OUTCOME_REJECTED = "rejected";
+
+    static final List<String> PHASES = List.of(PHASE_START_EVENT, PHASE_WORK, PHASE_NEXT_COMMAND, PHASE_FINISH_EVENT, PHASE_STEP_STORAGE);
+    static final List<String> PROCESSING_OUTCOMES = List.of(OUTCOME_CONTINUED, OUTCOME_ACCEPTED, OUTCOME_REJECTED, OUTCOME_ERROR);
+
+    /**
+     * The summarized durations of a phase.
+     *
+     * @param count       The number of executions of the phase.
+     * @param totalMillis The total duration of all executions in milliseconds.
+     * @param maxMillis   The recent maximum duration of an execution in milliseconds.
+     */
+    public record PhaseDurations(long count, double totalMillis, double maxMillis) {
+
+        public double meanMillis() {
+
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        PhaseDurations add(PhaseDurations other) {
+
+            return new PhaseDurations(count + other.count, totalMillis + other.totalMillis, Math.max(maxMillis, other.maxMillis));
+        }
+    }
+
+    /**
+     * The timers of a phase per outcome.
+     *
+     * @param success The timer of the successful executions.
+     * @param error   The timer of the failed executions.
+     */
+    private record PhaseTimers(Timer success, Timer error) {
+    }
+
+
+    @Getter
+    private final String stateName;
+
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    private volatile Map<String, PhaseTimers> phaseTimers;
+
+    private volatile Map<String, Timer> processingTimers;
+
+
+    public ContainerAutomatProcessingMetrics(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName) {
+
+        this.stateName = stateName;
+        bindTo(new CompositeMeterRegistry());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        this.registry = registry;
+        var newPhaseTimers = new ConcurrentHashMap<String, PhaseTimers>();
+        PHASES.forEach(phase -> newPhaseTimers.put(phase, createPhaseTimers(phase)));
+        var newProcessingTimers = new HashMap<String, Timer>();
+        PROCESSING_OUTCOMES.forEach(outcome -> newProcessingTimers.put(outcome, createTimer(METRIC_NAME_PROCESSING, null, outcome)));
+        phaseTimers = newPhaseTimers;
+        processingTimers = newProcessingTimers;
+        errorCounters.clear();
+    }
+
+    /**
+     * Executes a phase of the command processing and records its duration.
+     *
+     * @param phase  The name of the phase.
+     * @param action The action of the phase.
+     * @param <T>    The type of the result of the action.
+     * @return The result of the action.
+     */
+    public <T> T recordPhase(String phase, Supplier<T> action) {
+
+        var start = System.nanoTime();
+        var succeeded = false;
+        try {
+            var result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            var timers = getPhaseTimers(phase);
+            (succeeded ? timers.success() : timers.error()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Executes a phase of the command processing without a result and records its duration.
+     *
+     * @param phase  The name of the phase.
+     * @param action The action of the phase.
+     */
+    public void recordPhase(String phase, Runnable action) {
+
+        recordPhase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records the duration of the complete processing of a command and counts its error, if any.
+     *
+     * @param startNanos The value of {@link System#nanoTime()} at the start of the processing.
+     * @param result     The result of the processing.
+     */
+    public void recordProcessing(long startNanos, ContainerAutomatProcessingResult result) {
+
+        processingTimers.get(getOutcome(result)).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        var error = result.getError();
+        if (error != null) {
+            errorCounters.computeIfAbsent(error.getClass().getSimpleName(), exception -> Counter.builder(METRIC_NAME_ERRORS)
+                            .description("Number of errors during the processing of commands.")
+                            .tag(METRIC_TAG_STATE, stateName)
+                            .tag(METRIC_TAG_EXCEPTION, exception)
+                            .register(registry))
+                    .increment();
+        }
+    }
+
+    /**
+     * Summarizes the phase timers over their outcomes. The maximum durations
+     * are those of the recent past, as reported by the timers.
+     *
+     * @return The count, the mean and the recent maximum duration per phase.
+     */
+    public Map<String, PhaseDurations> getPhaseDurations() {
+
+        var phaseDurations = new TreeMap<String, PhaseDurations>();
+        phaseTimers.forEach((phase, timers) -> {
+            for (var timer : List.of(timers.success(), timers.error())) {
+                if (timer.count() > 0) {
+                    var durations = new PhaseDurations(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+                    phaseDurations.merge(phase, durations, PhaseDurations::add);
+                }
+            }
+        });
+        return phaseDurations;
+    }
+
+    private PhaseTimers getPhaseTimers(String phase) {
+
+        var currentPhaseTimers = phaseTimers;
+        var timers = currentPhaseTimers.get(phase);
+        return timers != null ? timers : currentPhaseTimers.computeIfAbsent(phase, this::createPhaseTimers);
+    }
+
+    private PhaseTimers createPhaseTimers(String phase) {
+
+        return new PhaseTimers(createTimer(METRIC_NAME_PHASE, phase, OUTCOME_SUCCESS), createTimer(METRIC_NAME_PHASE, phase, OUTCOME_ERROR));
+    }
+
+    private Timer createTimer(String name, String phase, String outcome) {
+
+        var builder = Timer.builder(name)
+                .tag(METRIC_TAG_STATE, stateName)
+                .tag(METRIC_TAG_OUTCOME, outcome)
+                .publishPercentileHistogram();
+        if (phase != null) {
+            builder.description("Duration of a phase of the processing of commands.")
+                    .tag(METRIC_TAG_PHASE, phase);
+        } else {
+            builder.description("Duration of the processing of commands.");
+        }
+        return builder.register(registry);
+    }
+
+    static String getOutcome(ContainerAutomatProcessingResult result) {
+
+        if (result.getError() != null || result.getLastEvent() == null) {
+            return OUTCOME_ERROR;
+        }
+        var eventType = result.getLastEvent().getEventType();
+        if (eventType == EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED) {
+            return OUTCOME_ACCEPTED;
+        }
+        if (eventType == EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED) {
+            return OUTCOME_REJECTED;
+        }
+        return eventType == EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS ? OUTCOME_CONTINUED : OUTCOME_ERROR;
+    }
+
+}
@@ -26,6 +26,10 @@ import lombok.NonNull;
 /**
  * An implementation of the data type {@link ContainerAutomatCommand},
  * which also provides factory methods.
+ * <p/>
+ * A processing input length of zero means that the command carries the
+ * complete input, which is the case unless a window size is passed to
+ * {@link #fromProcessingInstance(ContainerAutomatProcessingInstance, int)}.
  */
 @Data
 @Builder
@@ -41,6 +45,21 @@ public class ContainerAutomatRuntimeCommand implements ContainerAutomatCommand {
 
     private int processingPosition;
 
+    private int processingInputOffset;
+
+    private int processingInputLength;
+
+
+    public ContainerAutomatRuntimeCommand(@NonNull String processingInstanceId, @NonNull String processingInput, int processingPosition) {
+
+        this(processingInstanceId, processingInput, processingPosition, 0, 0);
+    }
+
+    @Override
+    public int getProcessingInputLength() {
+
+        return processingInputLength > 0 ? processingInputLength : processingInputOffset + processingInput.length();
+    }
 
     @Override
     public ContainerAutomatRuntimeCommand nextCommand() {
@@ -53,15 +72,33 @@ public class ContainerAutomatRuntimeCommand implements ContainerAutomatCommand {
                 .processingInstanceId(processingInstanceId)
                 .processingInput(processingInput)
                 .processingPosition(processingPosition + 1)
+                .processingInputOffset(processingInputOffset)
+                .processingInputLength(processingInputLength)
                 .build();
     }
 
     public static ContainerAutomatRuntimeCommand fromProcessingInstance(ContainerAutomatProcessingInstance processingInstance) {
 
+        return fromProcessingInstance(processingInstance, 0);
+    }
+
+    /**
+     * Creates the first command for processing the input of a processing instance.
+     *
+     * @param processingInstance The processing instance.
+     * @param inputWindowSize    The maximum number of input symbols carried by the command,
+     *                           or zero to carry the complete input.
+     * @return The command for the first input symbol.
+     */
+    public static ContainerAutomatRuntimeCommand fromProcessingInstance(ContainerAutomatProcessingInstance processingInstance, int inputWindowSize) {
+
+        var input = processingInstance.getInput();
+        var windowed = inputWindowSize > 0 && input.length() > inputWindowSize;
         return ContainerAutomatRuntimeCommand.builder()
                 .processingInstanceId(processingInstance.getProcessingInstanceId())
-                .processingInput(processingInstance.getInput())
+                .processingInput(windowed ? input.substring(0, inputWindowSize) : input)
                 .processingPosition(0)
+                .processingInputLength(windowed ? input.length() : 0)
                 .build();
     }
 
@@ -47,6 +47,8 @@ public class ContainerAutomatRuntimeEvent implements ContainerAutomatEvent {
 
     private int processingPosition;
 
+    private int processingInputOffset;
+
     @NonNull
     private String stateName;
 
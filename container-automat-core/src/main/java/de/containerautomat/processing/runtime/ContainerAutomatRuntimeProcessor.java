@@ -36,7 +36,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.Instant;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A service class for processing objects of type {@link ContainerAutomatCommand}.
@@ -44,13 +46,25 @@ import java.util.function.Function;
  * represent states of the underlying DFA.
  * <p/>
  * Implementations of {@link ContainerAutomatCommandProcessor#processCommand(ContainerAutomatCommand)}
- * delegate to the {@link #processCommand(ContainerAutomatCommand, Function)}
+ * delegate to the {@link #processCommand(ContainerAutomatCommand, String, Function)}
  * method of this class.
  * <p/>
  * A reference to {@link ContainerAutomatWorkSimulator#simulateWork(ContainerAutomatCommand)}
  * is passed as a function to simulate application-specific processing
  * logic that takes some time and whose duration depends to some extent
  * on chance.
+ * <p/>
+ * If the next command only carries a window of the input and the window is
+ * exhausted, the window is refilled by the {@link ContainerAutomatInputWindows}
+ * before the command is sent.
+ * <p/>
+ * The durations of the phases of the processing and the errors are
+ * recorded as metrics by the {@link ContainerAutomatProcessingMetrics}.
+ * If tracing is enabled, the processing of a command and each of its phases
+ * are additionally recorded as spans by the {@link ContainerAutomatTracing},
+ * continuing the trace whose context was received with the command.
+ * The log messages per command are written through the {@link ContainerAutomatLogging},
+ * which determines their level and format.
  */
 @Service
 @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
@@ -95,6 +109,29 @@ public class ContainerAutomatRuntimeProcessor {
     static final String LOG_MESSAGE_PROCESSING_STEP_CREATION_FAILED_ORIGINAL_ERROR_TEMPLATE = "Unable to create processing step. Returning result with original error: %s. Error during step creation:";
     static final String LOG_MESSAGE_PROCESSING_STEP_CREATION_FAILED_STEP_CREATION_ERROR_TEMPLATE = "Unable to create processing step. Returning result with step creation error: %s. Error during step creation:";
 
+    static final String LOG_EVENT_FINALIZING_PROCESSING = "command.finalizing";
+    static final String LOG_EVENT_FINALIZED_PROCESSING = "command.finalized";
+    static final String LOG_EVENT_START_PROCESSING = "command.start";
+    static final String LOG_EVENT_END_PROCESSING = "command.end";
+    static final String LOG_EVENT_FAILED_PROCESSING = "command.failed";
+    static final String LOG_KEY_SYMBOL = "symbol";
+    static final String LOG_KEY_POSITION = "position";
+    static final String LOG_KEY_INPUT = "input";
+    static final String LOG_KEY_PROCESSING_INSTANCE_ID = "instanceId";
+    static final String LOG_KEY_RESULT = "result";
+    static final String LOG_KEY_REASON = "reason";
+
+    static final String SPAN_NAME_PROCESS = "containerautomat.state.process";
+    static final String SPAN_NAME_PHASE_PREFIX = "containerautomat.state.";
+    static final String SPAN_NAME_PHASE_START_EVENT = SPAN_NAME_PHASE_PREFIX + ContainerAutomatProcessingMetrics.PHASE_START_EVENT;
+    static final String SPAN_NAME_PHASE_WORK = SPAN_NAME_PHASE_PREFIX + ContainerAutomatProcessingMetrics.PHASE_WORK;
+    static final String SPAN_NAME_PHASE_NEXT_COMMAND = SPAN_NAME_PHASE_PREFIX + ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND;
+    static final String SPAN_NAME_PHASE_FINISH_EVENT = SPAN_NAME_PHASE_PREFIX + ContainerAutomatProcessingMetrics.PHASE_FINISH_EVENT;
+    static final String SPAN_NAME_PHASE_STEP_STORAGE = SPAN_NAME_PHASE_PREFIX + ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE;
+    static final String SPAN_ATTRIBUTE_STATE = "containerautomat.state";
+    static final String SPAN_ATTRIBUTE_PROCESSING_INSTANCE_ID = "containerautomat.processing.instance.id";
+    static final String SPAN_ATTRIBUTE_PROCESSING_POSITION = "containerautomat.processing.position";
+
     static final String PROCESSING_MESSAGE_CONTINUATION_WITH_FINALIZATION_TEMPLATE = "Processing continues with finalization at final state %s. Processing message: %s";
     static final String PROCESSING_MESSAGE_CONTINUATION_WITH_INPUT_TEMPLATE = "Processing continues with input symbol %s at state %s. Processing message: %s";
     static final String PROCESSING_MESSAGE_FINALIZATION_WITH_ACCEPT_TEMPLATE = "Instance input accepted. Processing message: %s";
@@ -109,8 +146,22 @@ public class ContainerAutomatRuntimeProcessor {
 
     private final ContainerAutomatStorage storage;
 
+    private final ContainerAutomatEventEmitter eventEmitter;
+
+    private final ContainerAutomatInputWindows inputWindows;
+
+    private final ContainerAutomatProcessingMetrics metrics;
+
+    private final ContainerAutomatTracing tracing;
+
+    private final ContainerAutomatLogging logging;
+
+    private final ContainerAutomatFlightRecorder flightRecorder;
+
+    private final ContainerAutomatSlowHopWatchdog slowHopWatchdog;
 
-    public ContainerAutomatRuntimeProcessor(DeterministicFiniteAutomaton automaton, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName, ContainerAutomatMessaging messaging, ContainerAutomatStorage storage) {
+
+    public ContainerAutomatRuntimeProcessor(DeterministicFiniteAutomaton automaton, @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName, ContainerAutomatMessaging messaging, ContainerAutomatStorage storage, ContainerAutomatEventEmitter eventEmitter, ContainerAutomatInputWindows inputWindows, ContainerAutomatProcessingMetrics metrics, ContainerAutomatTracing tracing, ContainerAutomatLogging logging, ContainerAutomatFlightRecorder flightRecorder, ContainerAutomatSlowHopWatchdog slowHopWatchdog) {
 
         if (automaton.getState(stateName) == null) {
             throw new IllegalArgumentException(DeterministicFiniteAutomaton.ERROR_MESSAGE_NO_STATE_TEMPLATE.formatted(stateName));
@@ -120,22 +171,57 @@ public class ContainerAutomatRuntimeProcessor {
         this.stateName = stateName;
         this.messaging = messaging;
         this.storage = storage;
+        this.eventEmitter = eventEmitter;
+        this.inputWindows = inputWindows;
+        this.metrics = metrics;
+        this.tracing = tracing;
+        this.logging = logging;
+        this.flightRecorder = flightRecorder;
+        this.slowHopWatchdog = slowHopWatchdog;
     }
 
     public ContainerAutomatProcessingResult processCommand(ContainerAutomatCommand containerAutomatCommand, Function<ContainerAutomatCommand, ContainerAutomatWorkResult> worker) {
 
+        return processCommand(containerAutomatCommand, null, worker);
+    }
+
+    /**
+     * Processes a command in a span that continues the trace of the request.
+     *
+     * @param containerAutomatCommand The command to process.
+     * @param traceparent             The <code>traceparent</code> header received with the command,
+     *                                or <code>null</code> if the command was received without one.
+     * @param worker                  The function that performs the work of the state.
+     * @return The result of the processing.
+     */
+    public ContainerAutomatProcessingResult processCommand(ContainerAutomatCommand containerAutomatCommand, String traceparent, Function<ContainerAutomatCommand, ContainerAutomatWorkResult> worker) {
+
+        if (!tracing.isEnabled()) {
+            return processTracedCommand(containerAutomatCommand, worker);
+        }
+        var attributes = Map.of(
+                SPAN_ATTRIBUTE_STATE, stateName,
+                SPAN_ATTRIBUTE_PROCESSING_INSTANCE_ID, containerAutomatCommand.getProcessingInstanceId(),
+                SPAN_ATTRIBUTE_PROCESSING_POSITION, Integer.toString(containerAutomatCommand.getProcessingPosition()));
+        return tracing.inSpan(SPAN_NAME_PROCESS, traceparent, attributes, () -> processTracedCommand(containerAutomatCommand, worker));
+    }
+
+    private ContainerAutomatProcessingResult processTracedCommand(ContainerAutomatCommand containerAutomatCommand, Function<ContainerAutomatCommand, ContainerAutomatWorkResult> worker) {
+
         var processingStart = Instant.now();
+        var processingStartNanos = System.nanoTime();
         var result = new ContainerAutomatProcessingResult(containerAutomatCommand);
+        var processedEvent = flightRecorder.beginProcessing();
 
         try {
             logCommandProcessingStart(containerAutomatCommand);
-            sendCommandProcessingEvent(containerAutomatCommand, EventType.STATE_PROCESSING_START, stateName, "", result);
-            result.setWorkResult(worker.apply(containerAutomatCommand));
+            recordPhase(ContainerAutomatProcessingMetrics.PHASE_START_EVENT, containerAutomatCommand, () -> sendCommandProcessingEvent(containerAutomatCommand, EventType.STATE_PROCESSING_START, stateName, "", result));
+            result.setWorkResult(recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, containerAutomatCommand, () -> worker.apply(containerAutomatCommand)));
             if (containerAutomatCommand.isProcessingEndCommand()) {
-                sendInputProcessingFinishedEvent(containerAutomatCommand, result);
+                recordPhase(ContainerAutomatProcessingMetrics.PHASE_FINISH_EVENT, containerAutomatCommand, () -> sendInputProcessingFinishedEvent(containerAutomatCommand, result));
             } else {
-                result.setContinuation(sendNextCommand(containerAutomatCommand));
-                sendProcessingContinuesEvent(containerAutomatCommand, result);
+                result.setContinuation(recordPhase(ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND, containerAutomatCommand, () -> sendNextCommand(containerAutomatCommand)));
+                recordPhase(ContainerAutomatProcessingMetrics.PHASE_FINISH_EVENT, containerAutomatCommand, () -> sendProcessingContinuesEvent(containerAutomatCommand, result));
             }
         } catch (Exception e) {
             result.setError(e);
@@ -143,36 +229,65 @@ public class ContainerAutomatRuntimeProcessor {
         } finally {
             logCommandProcessingEnd(result);
             storeProcessingStep(processingStart, result);
+            metrics.recordProcessing(processingStartNanos, result);
+            slowHopWatchdog.recordProcessing(processingStartNanos);
+            flightRecorder.endProcessing(processedEvent, result);
         }
         return result;
     }
 
     protected void logCommandProcessingStart(ContainerAutomatCommand containerAutomatCommand) {
 
+        if (!logging.isEnabled(log)) {
+            return;
+        }
         if (containerAutomatCommand.isProcessingEndCommand()) {
-            log.info(LOG_MESSAGE_FINALIZING_PROCESSING_TEMPLATE.formatted(containerAutomatCommand.getProcessingInput(), containerAutomatCommand.getProcessingPosition(), containerAutomatCommand.getProcessingInstanceId()));
+            logging.log(log, LOG_EVENT_FINALIZING_PROCESSING, LOG_MESSAGE_FINALIZING_PROCESSING_TEMPLATE,
+                    LOG_KEY_INPUT, containerAutomatCommand.getProcessingInput(),
+                    LOG_KEY_POSITION, containerAutomatCommand.getProcessingPosition(),
+                    LOG_KEY_PROCESSING_INSTANCE_ID, containerAutomatCommand.getProcessingInstanceId());
             return;
         }
-        log.info(LOG_MESSAGE_START_PROCESSING_SYMBOL_AT_POSITION_TEMPLATE.formatted(containerAutomatCommand.currentInputSymbol().orElseThrow(), containerAutomatCommand.getProcessingPosition(), containerAutomatCommand.getProcessingInput(), containerAutomatCommand.getProcessingInstanceId()));
+        logging.log(log, LOG_EVENT_START_PROCESSING, LOG_MESSAGE_START_PROCESSING_SYMBOL_AT_POSITION_TEMPLATE,
+                LOG_KEY_SYMBOL, containerAutomatCommand.currentInputSymbol().orElseThrow(),
+                LOG_KEY_POSITION, containerAutomatCommand.getProcessingPosition(),
+                LOG_KEY_INPUT, containerAutomatCommand.getProcessingInput(),
+                LOG_KEY_PROCESSING_INSTANCE_ID, containerAutomatCommand.getProcessingInstanceId());
     }
 
     protected void logCommandProcessingEnd(ContainerAutomatProcessingResult result) {
 
         var error = result.getError();
-        if (error != null) {
-            if (error instanceof IllegalArgumentException) {
-                log.info(LOG_MESSAGE_FAILED_PROCESSING_SYMBOL_AT_POSITION_TEMPLATE.formatted(result.getProcessedCommand().currentInputSymbol().orElseThrow(), result.getProcessedCommand().getProcessingPosition(), result.getProcessedCommand().getProcessingInput(), result.getProcessedCommand().getProcessingInstanceId(), getExceptionMessageOrClassName(error)));
-            } else {
-                log.error(LOG_MESSAGE_ERROR_DURING_COMMAND_PROCESSING_TEMPLATE.formatted(getExceptionMessageOrClassName(error)), error);
-            }
+        if (error != null && !(error instanceof IllegalArgumentException)) {
+            log.error(LOG_MESSAGE_ERROR_DURING_COMMAND_PROCESSING_TEMPLATE.formatted(getExceptionMessageOrClassName(error)), error);
+            return;
+        }
+        if (!logging.isEnabled(log)) {
             return;
         }
         var command = result.getProcessedCommand();
+        if (error != null) {
+            logging.log(log, LOG_EVENT_FAILED_PROCESSING, LOG_MESSAGE_FAILED_PROCESSING_SYMBOL_AT_POSITION_TEMPLATE,
+                    LOG_KEY_SYMBOL, command.currentInputSymbol().orElseThrow(),
+                    LOG_KEY_POSITION, command.getProcessingPosition(),
+                    LOG_KEY_INPUT, command.getProcessingInput(),
+                    LOG_KEY_PROCESSING_INSTANCE_ID, command.getProcessingInstanceId(),
+                    LOG_KEY_REASON, getExceptionMessageOrClassName(error));
+            return;
+        }
         if (command.isProcessingEndCommand()) {
-            log.info(LOG_MESSAGE_FINALIZED_PROCESSING_TEMPLATE.formatted(command.getProcessingInput(), command.getProcessingPosition(), command.getProcessingInstanceId()));
+            logging.log(log, LOG_EVENT_FINALIZED_PROCESSING, LOG_MESSAGE_FINALIZED_PROCESSING_TEMPLATE,
+                    LOG_KEY_INPUT, command.getProcessingInput(),
+                    LOG_KEY_POSITION, command.getProcessingPosition(),
+                    LOG_KEY_PROCESSING_INSTANCE_ID, command.getProcessingInstanceId());
             return;
         }
-        log.info(LOG_MESSAGE_END_PROCESSING_SYMBOL_AT_POSITION_TEMPLATE.formatted(command.currentInputSymbol().orElseThrow(), command.getProcessingPosition(), command.getProcessingInput(), command.getProcessingInstanceId(), result.getLastEvent().getDescription()));
+        logging.log(log, LOG_EVENT_END_PROCESSING, LOG_MESSAGE_END_PROCESSING_SYMBOL_AT_POSITION_TEMPLATE,
+                LOG_KEY_SYMBOL, command.currentInputSymbol().orElseThrow(),
+                LOG_KEY_POSITION, command.getProcessingPosition(),
+                LOG_KEY_INPUT, command.getProcessingInput(),
+                LOG_KEY_PROCESSING_INSTANCE_ID, command.getProcessingInstanceId(),
+                LOG_KEY_RESULT, result.getLastEvent().getDescription());
     }
 
     protected void sendCommandProcessingEvent(ContainerAutomatCommand containerAutomatCommand, ContainerAutomatEvent.EventType eventType, String stateName, String eventDescription, ContainerAutomatProcessingResult result) {
@@ -184,12 +299,13 @@ public class ContainerAutomatRuntimeProcessor {
                 .stateName(stateName)
                 .processingInput(containerAutomatCommand.getProcessingInput())
                 .processingPosition(containerAutomatCommand.getProcessingPosition())
+                .processingInputOffset(containerAutomatCommand.getProcessingInputOffset())
                 .description(eventDescription)
                 .build();
 
         result.setLastEvent(event);
         result.setLastEventSent(false);
-        messaging.sendContainerAutomatEvent(event);
+        eventEmitter.emitEvent(event);
         result.setLastEventSent(true);
     }
 
@@ -218,7 +334,7 @@ public class ContainerAutomatRuntimeProcessor {
         var currentInputSymbol = containerAutomatCommand.currentInputSymbol().orElseThrow();
         var transition = automaton.getTransition(stateName, currentInputSymbol);
         var subsequentStateName = transition.getSubsequentStateName();
-        var nextCommand = containerAutomatCommand.nextCommand();
+        var nextCommand = inputWindows.refillInputWindow(containerAutomatCommand.nextCommand());
 
         messaging.sendContainerAutomatCommand(subsequentStateName, nextCommand);
         return new ContainerAutomatProcessingContinuation(subsequentStateName, nextCommand);
@@ -230,7 +346,7 @@ public class ContainerAutomatRuntimeProcessor {
             if (result.getLastEvent() == null) {
                 sendCommandProcessingEvent(result.getProcessedCommand(), EventType.STATE_PROCESSING_ERROR, stateName, PROCESSING_MESSAGE_AMBIGUOUS_SITUATION_ERROR, result);
             }
-            var processingStep = storage.createProcessingStep(processingStart, result.getLastEvent());
+            var processingStep = recordPhase(ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE, result.getProcessedCommand(), () -> storage.createProcessingStep(processingStart, result.getLastEvent()));
             result.setProcessingStep(processingStep);
         } catch (Exception e) {
             if (result.getError() == null) {
@@ -242,6 +358,35 @@ public class ContainerAutomatRuntimeProcessor {
         }
     }
 
+    private <T> T recordPhase(String phase, ContainerAutomatCommand containerAutomatCommand, Supplier<T> action) {
+
+        Supplier<T> recordedAction = flightRecorder.isEnabled() ? () -> flightRecorder.recordPhase(phase, containerAutomatCommand, action) : action;
+        if (!tracing.isEnabled()) {
+            return metrics.recordPhase(phase, recordedAction);
+        }
+        return tracing.inSpan(getPhaseSpanName(phase), () -> metrics.recordPhase(phase, recordedAction));
+    }
+
+    private static String getPhaseSpanName(String phase) {
+
+        return switch (phase) {
+            case ContainerAutomatProcessingMetrics.PHASE_START_EVENT -> SPAN_NAME_PHASE_START_EVENT;
+            case ContainerAutomatProcessingMetrics.PHASE_WORK -> SPAN_NAME_PHASE_WORK;
+            case ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND -> SPAN_NAME_PHASE_NEXT_COMMAND;
+            case ContainerAutomatProcessingMetrics.PHASE_FINISH_EVENT -> SPAN_NAME_PHASE_FINISH_EVENT;
+            case ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE -> SPAN_NAME_PHASE_STEP_STORAGE;
+            default -> SPAN_NAME_PHASE_PREFIX + phase;
+        };
+    }
+
+    private void recordPhase(String phase, ContainerAutomatCommand containerAutomatCommand, Runnable action) {
+
+        recordPhase(phase, containerAutomatCommand, () -> {
+            action.run();
+            return null;
+        });
+    }
+
     protected static String getExceptionMessageOrClassName(Exception e) {
 
         return StringUtils.hasText(e.getMessage()) ? e.getMessage() : e.getClass().getName();
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A Spring bean of the state services that watches the durations of the
+ * processing of commands by the {@link ContainerAutomatRuntimeProcessor}
+ * in order to catch intermittent latency regressions of the state.
+ * <p/>
+ * The durations of the most recent commands are kept in a window. If the
+ * 99th percentile of the window exceeds the threshold configured with the
+ * property {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_P99_THRESHOLD_MILLIS},
+ * a diagnostic snapshot is written to a local file and an event of type
+ * {@link EventType#STATE_PROCESSING_SLOW_HOP_DETECTED} is sent. The snapshot
+ * contains the phases of the processing ordered by their recent maximum
+ * duration, the last sampled command backlog and a thread dump.
+ * <p/>
+ * After a snapshot, the window is cleared and further snapshots are
+ * suppressed for the configured cooldown. A threshold of 0 disables the
+ * watchdog.
+ */
+@Component
+@ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+public class ContainerAutomatSlowHopWatchdog {
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatSlowHopWatchdog.class);
+
+    static final int MIN_SAMPLES = 100;
+    static final double PERCENTILE = 0.99;
+    static final String SNAPSHOT_FILE_NAME_TEMPLATE = "slow-hop-%s-%d.txt";
+    static final String SNAPSHOT_DEFAULT_DIRECTORY_NAME = "containerautomat-diagnostics";
+    static final String SLOW_HOP_DESCRIPTION_TEMPLATE = "The 99th percentile of the processing duration of %d ms exceeds the threshold of %d ms. Diagnostic snapshot: %s";
+    static final String LOG_MESSAGE_SLOW_HOP_DETECTED_TEMPLATE = "Slow hop detected in state %s: %s";
+    static final String LOG_MESSAGE_WRITING_SNAPSHOT_FAILED_TEMPLATE = "Unable to write diagnostic snapshot %s: %s";
+    static final String LOG_MESSAGE_SENDING_SLOW_HOP_EVENT_FAILED_TEMPLATE = "Unable to send slow hop event: %s";
+
+    private final ContainerAutomatProcessingMetrics processingMetrics;
+
+    private final ContainerAutomatBacklogMetrics backlogMetrics;
+
+    private final ContainerAutomatEventEmitter eventEmitter;
+
+    @Getter
+    private final String stateName;
+
+    @Getter
+    private final long p99ThresholdMillis;
+
+    @Getter
+    private final long checkIntervalMillis;
+
+    @Getter
+    private final long cooldownMillis;
+
+    @Getter
+    private final Path snapshotDirectory;
+
+    private final LongSupplier currentTimeMillis;
+
+    private final long[] durationWindow;
+
+    private int nextDurationIndex;
+
+    private int durationCount;
+
+    private long nextSnapshotMillis;
+
+    private ScheduledExecutorService checkScheduler;
+
+
+    @Autowired
+    public ContainerAutomatSlowHopWatchdog(ContainerAutomatProcessingMetrics processingMetrics,
+                                           ContainerAutomatBacklogMetrics backlogMetrics,
+                                           ContainerAutomatEventEmitter eventEmitter,
+                                           @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName,
+                                           @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_P99_THRESHOLD_MILLIS + ":0}") long p99ThresholdMillis,
+                                           @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_CHECK_INTERVAL_MILLIS + ":10000}") long checkIntervalMillis,
+                                           @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_WINDOW_SIZE + ":1000}") int windowSize,
+                                           @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_COOLDOWN_MILLIS + ":300000}") long cooldownMillis,
+                                           @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_SLOW_HOP_SNAPSHOT_DIRECTORY + ":}") String snapshotDirectory) {
+
+        this(processingMetrics, backlogMetrics, eventEmitter, stateName, p99ThresholdMillis, checkIntervalMillis, windowSize, cooldownMillis, snapshotDirectory, System::currentTimeMillis);
+    }
+
+    ContainerAutomatSlowHopWatchdog(ContainerAutomatProcessingMetrics processingMetrics,
+                                    ContainerAutomatBacklogMetrics backlogMetrics,
+                                    ContainerAutomatEventEmitter eventEmitter,
+                                    String stateName,
+                                    long p99ThresholdMillis,
+                                    long checkIntervalMillis,
+                                    int windowSize,
+                                    long cooldownMillis,
+                                    String snapshotDirectory,
+                                    LongSupplier currentTimeMillis) {
+
+        if (p99ThresholdMillis < 0 || checkIntervalMillis < 1 || windowSize < MIN_SAMPLES || cooldownMillis < 0) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatSlowHopWatchdog because of a threshold of %s milliseconds, a check interval of %s milliseconds, a window size of %s and a cooldown of %s milliseconds. The window size must be at least %s."
+                    .formatted(p99ThresholdMillis, checkIntervalMillis, windowSize, cooldownMillis, MIN_SAMPLES));
+        }
+
+        this.processingMetrics = processingMetrics;
+        this.backlogMetrics = backlogMetrics;
+        this.eventEmitter = eventEmitter;
+        this.stateName = stateName;
+        this.p99ThresholdMillis = p99ThresholdMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.cooldownMillis = cooldownMillis;
+        this.snapshotDirectory = snapshotDirectory.isBlank() ? Path.of(System.getProperty("java.io.tmpdir"), SNAPSHOT_DEFAULT_DIRECTORY_NAME) : Path.of(snapshotDirectory);
+        this.currentTimeMillis = currentTimeMillis;
+        this.durationWindow = new long[windowSize];
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (isEnabled()) {
+            checkScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("containerautomat-slow-hop-check").factory());
+            checkScheduler.scheduleWithFixedDelay(this::checkForSlowHops, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+
+        if (checkScheduler != null) {
+            checkScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if a threshold is configured and the watchdog is active.
+     */
+    public boolean isEnabled() {
+
+        return p99ThresholdMillis > 0;
+    }
+
+    /**
+     * Adds the duration of the complete processing of a command to the window.
+     *
+     * @param startNanos The value of {@link System#nanoTime()} at the start of the processing.
+     */
+    public void recordProcessing(long startNanos) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        var durationNanos = System.nanoTime() - startNanos;
+        synchronized (durationWindow) {
+            durationWindow[nextDurationIndex] = durationNanos;
+            nextDurationIndex = (nextDurationIndex + 1) % durationWindow.length;
+            durationCount = Math.min(durationCount + 1, durationWindow.length);
+        }
+    }
+
+    /**
+     * Computes the 99th percentile of the window and captures a diagnostic
+     * snapshot if it exceeds the threshold and no cooldown is in effect.
+     *
+     * @return The path of the snapshot file, or an empty optional if no snapshot was captured.
+     */
+    Optional<Path> checkForSlowHops() {
+
+        long[] durations;
+        var now = currentTimeMillis.getAsLong();
+        synchronized (durationWindow) {
+            if (!isEnabled() || durationCount < MIN_SAMPLES || now < nextSnapshotMillis) {
+                return Optional.empty();
+            }
+            durations = Arrays.copyOf(durationWindow, durationCount);
+        }
+
+        Arrays.sort(durations);
+        var p99Millis = TimeUnit.NANOSECONDS.toMillis(durations[(int) Math.ceil(PERCENTILE * durations.length) - 1]);
+        if (p99Millis <= p99ThresholdMillis) {
+            return Optional.empty();
+        }
+        synchronized (durationWindow) {
+            nextSnapshotMillis = now + cooldownMillis;
+            nextDurationIndex = 0;
+            durationCount = 0;
+        }
+        return Optional.of(captureSnapshot(p99Millis, durations.length, now));
+    }
+
+    private Path captureSnapshot(long p99Millis, int sampleCount, long now) {
+
+        var snapshotPath = snapshotDirectory.resolve(SNAPSHOT_FILE_NAME_TEMPLATE.formatted(stateName, now));
+        try {
+            Files.createDirectories(snapshotDirectory);
+            Files.writeString(snapshotPath, createSnapshot(p99Millis, sampleCount, now));
+        } catch (IOException e) {
+            log.warn(LOG_MESSAGE_WRITING_SNAPSHOT_FAILED_TEMPLATE.formatted(snapshotPath, e.getMessage()), e);
+        }
+
+        var description = SLOW_HOP_DESCRIPTION_TEMPLATE.formatted(p99Millis, p99ThresholdMillis, snapshotPath);
+        log.warn(LOG_MESSAGE_SLOW_HOP_DETECTED_TEMPLATE.formatted(stateName, description));
+        var event = ContainerAutomatRuntimeEvent.builder()
+                .eventType(EventType.STATE_PROCESSING_SLOW_HOP_DETECTED)
+                .eventTime(Instant.ofEpochMilli(now))
+                .processingInstanceId("")
+                .processingInput("")
+                .processingPosition(0)
+                .stateName(stateName)
+                .description(description)
+                .build();
+        try {
+            eventEmitter.emitEvent(event);
+        } catch (Exception e) {
+            log.error(LOG_MESSAGE_SENDING_SLOW_HOP_EVENT_FAILED_TEMPLATE.formatted(e.getMessage()), e);
+        }
+        return snapshotPath;
+    }
+
+    String createSnapshot(long p99Millis, int sampleCount, long now) {
+
+        var snapshot = new StringBuilder();
+        snapshot.append("Slow hop detected in state %s at %s%n".formatted(stateName, Instant.ofEpochMilli(now)));
+        snapshot.append("99th percentile of the processing duration: %d ms (threshold %d ms, %d samples)%n".formatted(p99Millis, p99ThresholdMillis, sampleCount));
+        var backlog = backlogMetrics.getLastBacklog();
+        snapshot.append("Command backlog: %s%n%n".formatted(backlog.isPresent() ? Long.toString(backlog.getAsLong()) : "unknown"));
+
+        snapshot.append("Phases by recent maximum duration:%n".formatted());
+        processingMetrics.getPhaseDurations().entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingDouble(ContainerAutomatProcessingMetrics.PhaseDurations::maxMillis).reversed()))
+                .forEach(entry -> snapshot.append("  %s: max %.1f ms, mean %.1f ms, count %d%n"
+                        .formatted(entry.getKey(), entry.getValue().maxMillis(), entry.getValue().meanMillis(), entry.getValue().count())));
+
+        snapshot.append("%nThreads:%n".formatted());
+        for (var threadInfo : ManagementFactory.getThreadMXBean().dumpAllThreads(true, true)) {
+            appendThreadInfo(snapshot, threadInfo);
+        }
+        return snapshot.toString();
+    }
+
+    /**
+     * Appends a thread in the format of {@link ThreadInfo#toString()}, but
+     * with all frames of its stack instead of the first eight.
+     *
+     * @param snapshot   The snapshot to append to.
+     * @param threadInfo The thread with its locked monitors and synchronizers.
+     */
+    static void appendThreadInfo(StringBuilder snapshot, ThreadInfo threadInfo) {
+
+        snapshot.append("\"%s\"%s Id=%d %s".formatted(threadInfo.getThreadName(), threadInfo.isDaemon() ? " daemon" : "", threadInfo.getThreadId(), threadInfo.getThreadState()));
+        if (threadInfo.getLockName() != null) {
+            snapshot.append(" on ").append(threadInfo.getLockName());
+        }
+        if (threadInfo.getLockOwnerName() != null) {
+            snapshot.append(" owned by \"%s\" Id=%d".formatted(threadInfo.getLockOwnerName(), threadInfo.getLockOwnerId()));
+        }
+        snapshot.append(System.lineSeparator());
+
+        var stackTrace = threadInfo.getStackTrace();
+        for (int depth = 0; depth < stackTrace.length; depth++) {
+            snapshot.append("\tat ").append(stackTrace[depth]).append(System.lineSeparator());
+            if (depth == 0 && threadInfo.getLockInfo() != null) {
+                var lockState = switch (threadInfo.getThreadState()) {
+                    case BLOCKED -> "blocked on";
+                    case WAITING, TIMED_WAITING -> "waiting on";
+                    default -> null;
+                };
+                if (lockState != null) {
+                    snapshot.append("\t-  %s %s%n".formatted(lockState, threadInfo.getLockInfo()));
+                }
+            }
+            for (var lockedMonitor : threadInfo.getLockedMonitors()) {
+                if (lockedMonitor.getLockedStackDepth() == depth) {
+                    snapshot.append("\t-  locked %s%n".formatted(lockedMonitor));
+                }
+            }
+        }
+
+        var lockedSynchronizers = threadInfo.getLockedSynchronizers();
+        if (lockedSynchronizers.length > 0) {
+            snapshot.append("%n\tNumber of locked synchronizers = %d%n".formatted(lockedSynchronizers.length));
+            for (var lockedSynchronizer : lockedSynchronizers) {
+                snapshot.append("\t- %s%n".formatted(lockedSynchronizer));
+            }
+        }
+        snapshot.append(System.lineSeparator());
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * The context of a trace according to the W3C Trace Context specification,
+ * i.e. the id of the trace, the id of the current span and the sampled flag.
+ * <p/>
+ * The context is propagated between the services of the generated application
+ * as a <code>traceparent</code> header of the command messages, in the format
+ * <code>00-&lt;trace-id&gt;-&lt;parent-id&gt;-&lt;trace-flags&gt;</code>.
+ * <p/>
+ * The context of the span that is currently active in a thread is set by the
+ * {@link ContainerAutomatTracing} and read by the implementations of
+ * {@link de.containerautomat.processing.ContainerAutomatMessaging} with
+ * {@link #currentTraceparent()}, so that no dependency on the tracing bean is
+ * required for sending the header.
+ *
+ * @param traceId The id of the trace as 32 lowercase hex digits.
+ * @param spanId  The id of the span as 16 lowercase hex digits.
+ * @param sampled Whether the trace is sampled.
+ */
+public record ContainerAutomatTraceContext(String traceId, String spanId, boolean sampled) {
+
+    public static final String HEADER_TRACEPARENT = "traceparent";
+
+    static final String VERSION = "00";
+    static final String FLAGS_SAMPLED = "01";
+    static final String FLAGS_NOT_SAMPLED = "00";
+
+    private static final Pattern TRACEPARENT_PATTERN = Pattern.compile("([0-9a-f]{2})-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+    private static final String INVALID_VERSION = "ff";
+
+    private static final ThreadLocal<ContainerAutomatTraceContext> CURRENT = new ThreadLocal<>();
+
+
+    /**
+     * Parses the value of a <code>traceparent</code> header.
+     *
+     * @param traceparent The header value, which may be <code>null</code>.
+     * @return The context, or an empty optional if the value is missing or invalid.
+     */
+    public static Optional<ContainerAutomatTraceContext> parse(String traceparent) {
+
+        if (traceparent == null) {
+            return Optional.empty();
+        }
+        var matcher = TRACEPARENT_PATTERN.matcher(traceparent.trim());
+        if (!matcher.matches() || INVALID_VERSION.equals(matcher.group(1)) || INVALID_TRACE_ID.equals(matcher.group(2)) || INVALID_SPAN_ID.equals(matcher.group(3))) {
+            return Optional.empty();
+        }
+        var sampled = (HexFormat.fromHexDigits(matcher.group(4)) & 1) == 1;
+        return Optional.of(new ContainerAutomatTraceContext(matcher.group(2), matcher.group(3), sampled));
+    }
+
+    /**
+     * @return A context with a new trace id and a new span id.
+     */
+    public static ContainerAutomatTraceContext newRoot() {
+
+        var random = ThreadLocalRandom.current();
+        String traceId;
+        do {
+            traceId = HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong());
+        } while (INVALID_TRACE_ID.equals(traceId));
+        return new ContainerAutomatTraceContext(traceId, newSpanId(), true);
+    }
+
+    /**
+     * @return A context of the same trace with a new span id, for a child span of this context.
+     */
+    public ContainerAutomatTraceContext child() {
+
+        return new ContainerAutomatTraceContext(traceId, newSpanId(), sampled);
+    }
+
+    /**
+     * @return The context as value of a <code>traceparent</code> header.
+     */
+    public String toTraceparent() {
+
+        return String.join("-", VERSION, traceId, spanId, sampled ? FLAGS_SAMPLED : FLAGS_NOT_SAMPLED);
+    }
+
+    /**
+     * @return The context of the span that is currently active in this thread.
+     */
+    public static Optional<ContainerAutomatTraceContext> current() {
+
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @return The <code>traceparent</code> header value of the span that is
+     * currently active in this thread, or an empty optional if there is none.
+     */
+    public static Optional<String> currentTraceparent() {
+
+        return current().map(ContainerAutomatTraceContext::toTraceparent);
+    }
+
+    static void setCurrent(ContainerAutomatTraceContext context) {
+
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    private static String newSpanId() {
+
+        var random = ThreadLocalRandom.current();
+        long spanId;
+        do {
+            spanId = random.nextLong();
+        } while (spanId == 0);
+        return HexFormat.of().toHexDigits(spanId);
+    }
+
+}
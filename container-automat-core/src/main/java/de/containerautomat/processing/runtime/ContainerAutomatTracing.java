@@ -0,0 +1,416 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A Spring bean that records spans of the processing of requests, in order to
+ * follow a processing instance across the entry service, the state services
+ * and the message broker hops between them.
+ * <p/>
+ * The entry service starts a trace per request and the state services continue
+ * it with the context received in the <code>traceparent</code> header of a
+ * command, see {@link ContainerAutomatTraceContext}. Only sampled traces are
+ * exported. The state services record
+ * a span for the processing of a command and a child span per processing phase.
+ * The time between the end of the span of one state and the start of the span
+ * of the next state is the time the command spent in the message broker.
+ * <p/>
+ * The finished spans are exported depending on the property
+ * {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_TRACING_EXPORTER}:
+ * <ul>
+ * <li><code>none</code>: Tracing is disabled, which is the default. No spans
+ * are recorded and no headers are sent.</li>
+ * <li><code>memory</code>: The most recent spans are kept in memory, e.g. for tests.</li>
+ * <li><code>otlp-file</code>: The spans are appended in the OTLP/JSON format to the
+ * file given by {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_TRACING_OTLP_FILE},
+ * which can be imported by tools that understand OpenTelemetry traces.</li>
+ * </ul>
+ * The OTLP file is not written by the processing threads. They only put the
+ * finished spans into a bounded queue, whose size is given by
+ * {@link ContainerAutomatCoreConfig#PROPERTY_CONTAINERAUTOMAT_TRACING_OTLP_QUEUE_SIZE},
+ * and a background thread writes them in batches of up to {@link #OTLP_MAX_BATCH_SIZE}
+ * spans per line, flushing the file once per run. Spans that do not fit into
+ * a full queue are dropped and counted in a warning, so that a slow disk does
+ * not slow down the processing.
+ */
+@Component
+public class ContainerAutomatTracing {
+
+    /**
+     * The exporters for finished spans.
+     */
+    public enum Exporter {
+        NONE, MEMORY, OTLP_FILE
+    }
+
+    /**
+     * A finished span.
+     *
+     * @param traceId         The id of the trace.
+     * @param spanId          The id of the span.
+     * @param parentSpanId    The id of the parent span, or <code>null</code> for a root span.
+     * @param name            The name of the span.
+     * @param startEpochNanos The start time in nanoseconds since the epoch.
+     * @param endEpochNanos   The end time in nanoseconds since the epoch.
+     * @param attributes      The attributes of the span.
+     * @param error           Whether the span ended with an exception.
+     */
+    public record FinishedSpan(String traceId, String spanId, String parentSpanId, String name, long startEpochNanos,
+                               long endEpochNanos, Map<String, String> attributes, boolean error) {
+    }
+
+    /**
+     * A span that has been started with {@link #startSpan(String, Map)} and
+     * is exported when it is ended.
+     */
+    public final class Span {
+
+        @Getter
+        private final ContainerAutomatTraceContext context;
+
+        private final ContainerAutomatTraceContext parentContext;
+
+        private final String name;
+
+        private final Map<String, String> attributes;
+
+        private final long startEpochNanos = toEpochNanos(Instant.now());
+
+        private final long startNanos = System.nanoTime();
+
+
+        private Span(ContainerAutomatTraceContext parentContext, String name, Map<String, String> attributes) {
+
+            this.context = parentContext != null ? parentContext.child() : ContainerAutomatTraceContext.newRoot();
+            this.parentContext = parentContext;
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        /**
+         * Ends the span and exports it, if its trace is sampled.
+         *
+         * @param error Whether the span ended with an error.
+         */
+        public void end(boolean error) {
+
+            if (context.sampled()) {
+                var endEpochNanos = startEpochNanos + (System.nanoTime() - startNanos);
+                export(new FinishedSpan(context.traceId(), context.spanId(), parentContext != null ? parentContext.spanId() : null, name, startEpochNanos, endEpochNanos, attributes, error));
+            }
+        }
+
+    }
+
+
+    private static final Log log = LogFactory.getLog(ContainerAutomatTracing.class);
+
+    static final String INSTRUMENTATION_SCOPE_NAME = "de.containerautomat";
+    static final int OTLP_STATUS_CODE_ERROR = 2;
+    static final int OTLP_MAX_BATCH_SIZE = 512;
+    static final long OTLP_EXPORT_INTERVAL_MILLIS = 200;
+    static final String LOG_MESSAGE_EXPORTING_SPANS_FAILED_TEMPLATE = "Unable to export %d spans: %s";
+    static final String LOG_MESSAGE_SPANS_DROPPED_TEMPLATE = "Dropped %d spans, because the export queue was full.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Getter
+    private final Exporter exporter;
+
+    private final int memorySize;
+
+    private final String serviceName;
+
+    private final Deque<FinishedSpan> finishedSpans = new ArrayDeque<>();
+
+    private final BufferedWriter otlpWriter;
+
+    private final BlockingQueue<FinishedSpan> otlpQueue;
+
+    private final AtomicLong droppedSpanCount = new AtomicLong();
+
+    private ScheduledExecutorService otlpScheduler;
+
+
+    public ContainerAutomatTracing(@Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_TRACING_EXPORTER + ":none}") String exporter,
+                                   @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_TRACING_MEMORY_SIZE + ":1000}") int memorySize,
+                                   @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_TRACING_OTLP_FILE + ":containerautomat-traces.jsonl}") String otlpFile,
+                                   @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_TRACING_OTLP_QUEUE_SIZE + ":10000}") int otlpQueueSize,
+                                   @Value("${spring.application.name:ContainerAutomat}") String serviceName) {
+
+        this.exporter = Exporter.valueOf(exporter.trim().toUpperCase().replace('-', '_'));
+        this.memorySize = memorySize;
+        this.serviceName = serviceName;
+
+        if (memorySize < 1 || otlpQueueSize < 1) {
+            throw new IllegalArgumentException("Invalid Configuration for ContainerAutomatTracing because of a memory size of %s and an OTLP queue size of %s.".formatted(memorySize, otlpQueueSize));
+        }
+
+        this.otlpWriter = this.exporter == Exporter.OTLP_FILE ? openOtlpWriter(Path.of(otlpFile)) : null;
+        this.otlpQueue = this.exporter == Exporter.OTLP_FILE ? new ArrayBlockingQueue<>(otlpQueueSize) : null;
+    }
+
+    @PostConstruct
+    void init() {
+
+        if (otlpWriter != null) {
+            otlpScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("containerautomat-tracing-export").factory());
+            otlpScheduler.scheduleWithFixedDelay(this::exportQueuedSpans, OTLP_EXPORT_INTERVAL_MILLIS, OTLP_EXPORT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+
+        if (otlpScheduler != null) {
+            otlpScheduler.shutdown();
+            otlpScheduler.awaitTermination(OTLP_EXPORT_INTERVAL_MILLIS * 10, TimeUnit.MILLISECONDS);
+        }
+        if (otlpWriter != null) {
+            exportQueuedSpans();
+            otlpWriter.close();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if spans are recorded, <code>false</code> if tracing is disabled.
+     */
+    public boolean isEnabled() {
+
+        return exporter != Exporter.NONE;
+    }
+
+    /**
+     * Executes an action in a child span of the span that is currently active
+     * in this thread, or in a new trace if no span is active.
+     *
+     * @param name   The name of the span.
+     * @param action The action to execute.
+     */
+    public void inSpan(String name, Runnable action) {
+
+        inSpan(name, null, Map.of(), () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes an action in a child span of the span that is currently active
+     * in this thread, or in a new trace if no span is active.
+     *
+     * @param name   The name of the span.
+     * @param action The action to execute.
+     * @param <T>    The type of the result of the action.
+     * @return The result of the action.
+     */
+    public <T> T inSpan(String name, Supplier<T> action) {
+
+        return inSpan(name, null, Map.of(), action);
+    }
+
+    /**
+     * Executes an action in a span whose parent is given by a <code>traceparent</code>
+     * header value received from another service. If the value is missing or invalid,
+     * the span is a child of the span that is currently active in this thread,
+     * or starts a new trace if no span is active.
+     *
+     * @param name        The name of the span.
+     * @param traceparent The <code>traceparent</code> header value, which may be <code>null</code>.
+     * @param attributes  The attributes of the span.
+     * @param action      The action to execute.
+     * @param <T>         The type of the result of the action.
+     * @return The result of the action.
+     */
+    public <T> T inSpan(String name, String traceparent, Map<String, String> attributes, Supplier<T> action) {
+
+        if (!isEnabled()) {
+            return action.get();
+        }
+
+        var previousContext = ContainerAutomatTraceContext.current().orElse(null);
+        var span = new Span(ContainerAutomatTraceContext.parse(traceparent).orElse(previousContext), name, attributes);
+        var error = false;
+        ContainerAutomatTraceContext.setCurrent(span.getContext());
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            error = true;
+            throw e;
+        } finally {
+            ContainerAutomatTraceContext.setCurrent(previousContext);
+            span.end(error);
+        }
+    }
+
+    /**
+     * Starts a span as a child of the span that is currently active in this
+     * thread, or in a new trace if no span is active, without making it the
+     * active span. This is needed where an action is not executed by a single
+     * thread, e.g. in a reactive pipeline, which must pass the context of the
+     * span on itself and end the span when the action has finished.
+     *
+     * @param name       The name of the span.
+     * @param attributes The attributes of the span.
+     * @return The started span.
+     */
+    public Span startSpan(String name, Map<String, String> attributes) {
+
+        return new Span(ContainerAutomatTraceContext.current().orElse(null), name, attributes);
+    }
+
+    /**
+     * @return The spans kept in memory, starting with the oldest one, if the
+     * exporter is <code>memory</code>, otherwise an empty list.
+     */
+    public List<FinishedSpan> getFinishedSpans() {
+
+        synchronized (finishedSpans) {
+            return new ArrayList<>(finishedSpans);
+        }
+    }
+
+    void export(FinishedSpan span) {
+
+        switch (exporter) {
+            case MEMORY -> {
+                synchronized (finishedSpans) {
+                    if (finishedSpans.size() == memorySize) {
+                        finishedSpans.removeFirst();
+                    }
+                    finishedSpans.addLast(span);
+                }
+            }
+            case OTLP_FILE -> {
+                if (!otlpQueue.offer(span)) {
+                    droppedSpanCount.incrementAndGet();
+                }
+            }
+            case NONE -> {
+            }
+        }
+    }
+
+    /**
+     * Writes the queued spans to the OTLP file, one line per batch, and
+     * flushes the file once at the end. This is only called by the export
+     * thread, or on shutdown after the export thread has stopped.
+     */
+    void exportQueuedSpans() {
+
+        var droppedSpans = droppedSpanCount.getAndSet(0);
+        if (droppedSpans > 0) {
+            log.warn(LOG_MESSAGE_SPANS_DROPPED_TEMPLATE.formatted(droppedSpans));
+        }
+
+        var batch = new ArrayList<FinishedSpan>(OTLP_MAX_BATCH_SIZE);
+        try {
+            while (otlpQueue.drainTo(batch, OTLP_MAX_BATCH_SIZE) > 0) {
+                otlpWriter.write(objectMapper.writeValueAsString(toOtlp(batch)));
+                otlpWriter.newLine();
+                batch.clear();
+            }
+            otlpWriter.flush();
+        } catch (IOException e) {
+            log.error(LOG_MESSAGE_EXPORTING_SPANS_FAILED_TEMPLATE.formatted(batch.size(), e.getMessage()), e);
+        }
+    }
+
+    Map<String, Object> toOtlp(List<FinishedSpan> spans) {
+
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", toOtlpAttributes(Map.of("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", INSTRUMENTATION_SCOPE_NAME),
+                        "spans", spans.stream().map(ContainerAutomatTracing::toOtlpSpan).toList())))));
+    }
+
+    private static Map<String, Object> toOtlpSpan(FinishedSpan span) {
+
+        var otlpSpan = new LinkedHashMap<String, Object>();
+        otlpSpan.put("traceId", span.traceId());
+        otlpSpan.put("spanId", span.spanId());
+        if (span.parentSpanId() != null) {
+            otlpSpan.put("parentSpanId", span.parentSpanId());
+        }
+        otlpSpan.put("name", span.name());
+        otlpSpan.put("startTimeUnixNano", Long.toString(span.startEpochNanos()));
+        otlpSpan.put("endTimeUnixNano", Long.toString(span.endEpochNanos()));
+        otlpSpan.put("attributes", toOtlpAttributes(span.attributes()));
+        if (span.error()) {
+            otlpSpan.put("status", Map.of("code", OTLP_STATUS_CODE_ERROR));
+        }
+
+        return otlpSpan;
+    }
+
+    private static List<Map<String, Object>> toOtlpAttributes(Map<String, String> attributes) {
+
+        return attributes.entrySet().stream()
+                .map(attribute -> Map.<String, Object>of("key", attribute.getKey(), "value", Map.of("stringValue", attribute.getValue())))
+                .toList();
+    }
+
+    private static BufferedWriter openOtlpWriter(Path otlpFile) {
+
+        try {
+            if (otlpFile.getParent() != null) {
+                Files.createDirectories(otlpFile.getParent());
+            }
+            return Files.newBufferedWriter(otlpFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long toEpochNanos(Instant instant) {
+
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatCommandProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatCommandProcessor}
+ * that takes the commands for the state of the service from a {@link SharedMemoryRingBuffer}.
+ * <p/>
+ * The ring buffer is polled by a dedicated thread. While no commands are available,
+ * the thread first spins briefly and then parks for the configured idle time, in
+ * order to combine a low latency under load with a low CPU usage when idle.
+ * <p/>
+ * The trace context that was sent along with a command in the ring buffer record
+ * is passed on, so that the trace of the request is continued.
+ * <p/>
+ * For the actual processing of the commands, the class
+ * {@link ContainerAutomatRuntimeProcessor} is delegated to.
+ * <p/>
+ * Note: A command is removed from the ring buffer before it is processed.
+ * If its processing fails, the error is only logged and the command is lost,
+ * whereas the message brokers deliver such a command again. In addition, a
+ * producer that terminates while writing a command blocks the ring buffer,
+ * as described in {@link SharedMemoryRingBuffer}.
+ */
+public class SharedMemoryContainerAutomatCommandProcessor implements ContainerAutomatCommandProcessor {
+
+    private static final Log log = LogFactory.getLog(SharedMemoryContainerAutomatCommandProcessor.class);
+
+    static final int IDLE_SPIN_COUNT = 100;
+    static final String LOG_MESSAGE_PROCESSING_COMMAND_FAILED_TEMPLATE = "Unable to process command from shared memory: %s";
+
+    private final ContainerAutomatRuntimeProcessor containerAutomatRuntimeProcessor;
+
+    private final ContainerAutomatWorkSimulator containerAutomatWorkSimulator;
+
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private final Path commandsRingPath;
+
+    private final int ringCapacity;
+
+    private final long idleParkNanos;
+
+    private SharedMemoryRingBuffer commandsRing;
+
+    private Thread pollingThread;
+
+    private volatile boolean running;
+
+
+    public SharedMemoryContainerAutomatCommandProcessor(ContainerAutomatRuntimeProcessor containerAutomatRuntimeProcessor, ContainerAutomatWorkSimulator containerAutomatWorkSimulator, ObjectMapper objectMapper, Path commandsRingPath, int ringCapacity, long idleParkMicros) {
+
+        this.containerAutomatRuntimeProcessor = containerAutomatRuntimeProcessor;
+        this.containerAutomatWorkSimulator = containerAutomatWorkSimulator;
+        this.objectMapper = objectMapper;
+        this.commandsRingPath = commandsRingPath;
+        this.ringCapacity = ringCapacity;
+        this.idleParkNanos = TimeUnit.MICROSECONDS.toNanos(idleParkMicros);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+
+        commandsRing = SharedMemoryRingBuffer.open(commandsRingPath, ringCapacity);
+        running = true;
+        pollingThread = Thread.ofPlatform().daemon().name("containerautomat-sharedmemory-commands").start(this::pollCommands);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+
+        running = false;
+        if (pollingThread != null) {
+            pollingThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (commandsRing != null) {
+            commandsRing.close();
+        }
+    }
+
+    @Override
+    public void processCommand(ContainerAutomatCommand containerAutomatCommand) {
+
+        processCommand(containerAutomatCommand, null);
+    }
+
+    void processCommand(ContainerAutomatCommand containerAutomatCommand, String traceparent) {
+
+        containerAutomatRuntimeProcessor.processCommand(containerAutomatCommand, traceparent, containerAutomatWorkSimulator::simulateWork);
+    }
+
+    /**
+     * Takes the next command from the ring buffer and processes it.
+     *
+     * @return <code>true</code> if a command was available, <code>false</code> otherwise.
+     */
+    boolean pollCommand() {
+
+        var payload = commandsRing.poll();
+        if (payload == null) {
+            return false;
+        }
+        try {
+            processCommand(SharedMemoryContainerAutomatConfig.readCommand(objectMapper, payload), SharedMemoryContainerAutomatConfig.readTraceparent(payload));
+        } catch (Exception e) {
+            log.error(LOG_MESSAGE_PROCESSING_COMMAND_FAILED_TEMPLATE.formatted(e.getMessage()), e);
+        }
+        return true;
+    }
+
+    private void pollCommands() {
+
+        var idleCount = 0;
+        while (running) {
+            if (pollCommand()) {
+                idleCount = 0;
+            } else if (idleCount++ < IDLE_SPIN_COUNT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(idleParkNanos);
+            }
+        }
+    }
+
+}
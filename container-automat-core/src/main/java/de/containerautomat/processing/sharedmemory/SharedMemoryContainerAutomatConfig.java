@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatCommandProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.PropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * A Spring configuration that defines Spring beans needed by the generated
+ * application when commands are passed between the services through shared
+ * memory instead of a message broker.
+ * <p/>
+ * The profile <code>sharedmemory</code> is activated in addition to the profile
+ * of the message broker, which is still used for events. Commands of type
+ * {@link de.containerautomat.processing.ContainerAutomatCommand} are written to
+ * a {@link SharedMemoryRingBuffer} per target state, whose files are located in
+ * the directory {@link #PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_DIRECTORY}. This
+ * directory must be shared by all services, e.g. by a tmpfs volume in Docker
+ * Compose, so that the transport is limited to services on the same host.
+ * <p/>
+ * Each command is stored in the ring buffer as a record that starts with the
+ * length of the value of the {@link de.containerautomat.processing.runtime.ContainerAutomatTraceContext#HEADER_TRACEPARENT}
+ * header as one byte, followed by this value and the command as JSON, so that
+ * the trace of a request is continued across the hops through shared memory
+ * as with the message brokers. A length of zero means that there is no trace.
+ */
+@Profile("sharedmemory")
+@Configuration
+@PropertySource(value = {"classpath:/sharedmemory.properties"})
+public class SharedMemoryContainerAutomatConfig {
+
+    public static final String PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_DIRECTORY = "containerautomat.sharedmemory.directory";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_RING_CAPACITY = "containerautomat.sharedmemory.ring-capacity";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_IDLE_PARK_MICROS = "containerautomat.sharedmemory.idle-park-micros";
+    public static final String PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_SEND_TIMEOUT_MILLIS = "containerautomat.sharedmemory.send-timeout-millis";
+
+    static final String COMMANDS_RING_FILE_NAME_PREFIX = "container-automat-";
+    static final String COMMANDS_RING_FILE_NAME_SUFFIX = ".ring";
+    static final int COMMAND_RECORD_MAX_TRACEPARENT_LENGTH = 255;
+
+
+    @Bean
+    @ConditionalOnProperty(value = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE)
+    public ContainerAutomatCommandProcessor sharedMemoryContainerAutomatCommandProcessor(ContainerAutomatRuntimeProcessor containerAutomatRuntimeProcessor,
+                                                                                         ContainerAutomatWorkSimulator containerAutomatWorkSimulator,
+                                                                                         ObjectMapper objectMapper,
+                                                                                         @Value("${" + PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_DIRECTORY + "}") String directory,
+                                                                                         @Value("${" + PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_RING_CAPACITY + "}") int ringCapacity,
+                                                                                         @Value("${" + PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_IDLE_PARK_MICROS + "}") long idleParkMicros,
+                                                                                         @Value("${" + ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + ":}") String stateName) {
+
+        return new SharedMemoryContainerAutomatCommandProcessor(containerAutomatRuntimeProcessor, containerAutomatWorkSimulator, objectMapper, getCommandsRingPath(directory, stateName), ringCapacity, idleParkMicros);
+    }
+
+    static Path getCommandsRingPath(String directory, String stateName) {
+
+        return Path.of(directory, COMMANDS_RING_FILE_NAME_PREFIX + stateName + COMMANDS_RING_FILE_NAME_SUFFIX);
+    }
+
+    static byte[] writeCommandRecord(ObjectMapper objectMapper, ContainerAutomatCommand containerAutomatCommand, String traceparent) throws IOException {
+
+        var traceparentBytes = traceparent == null ? new byte[0] : traceparent.getBytes(StandardCharsets.US_ASCII);
+        if (traceparentBytes.length > COMMAND_RECORD_MAX_TRACEPARENT_LENGTH) {
+            traceparentBytes = new byte[0];
+        }
+        var commandRecord = new ByteArrayOutputStream(256);
+        commandRecord.write(traceparentBytes.length);
+        commandRecord.write(traceparentBytes);
+        objectMapper.writeValue(commandRecord, containerAutomatCommand);
+        return commandRecord.toByteArray();
+    }
+
+    static String readTraceparent(byte[] commandRecord) {
+
+        var traceparentLength = Byte.toUnsignedInt(commandRecord[0]);
+        return traceparentLength == 0 ? null : new String(commandRecord, 1, traceparentLength, StandardCharsets.US_ASCII);
+    }
+
+    static ContainerAutomatCommand readCommand(ObjectMapper objectMapper, byte[] commandRecord) throws IOException {
+
+        var commandOffset = 1 + Byte.toUnsignedInt(commandRecord[0]);
+        return objectMapper.readValue(commandRecord, commandOffset, commandRecord.length - commandOffset, ContainerAutomatCommand.class);
+    }
+
+}
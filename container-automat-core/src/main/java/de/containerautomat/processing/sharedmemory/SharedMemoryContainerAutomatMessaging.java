@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import jakarta.annotation.PreDestroy;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An implementation of the service interface {@link ContainerAutomatMessaging}
+ * that sends commands through shared memory and events through the message broker.
+ * <p/>
+ * Commands are serialized to JSON together with the <code>traceparent</code> of the
+ * current span and appended to the {@link SharedMemoryRingBuffer} of the target state. If the ring is full, sending is retried until the configured
+ * timeout has elapsed. Events and event batches are delegated to the implementation
+ * of {@link ContainerAutomatMessaging} for the active message broker, so that the
+ * listeners for events and the optional Logstash pipeline remain unchanged.
+ * <p/>
+ * Some notes on the shared memory transport are located in
+ * {@link SharedMemoryContainerAutomatConfig}.
+ */
+@Profile("sharedmemory")
+@Primary
+@Service
+public class SharedMemoryContainerAutomatMessaging implements ContainerAutomatMessaging {
+
+    private final ObjectProvider<ContainerAutomatMessaging> messagingProvider;
+
+    private final ObjectMapper objectMapper;
+
+    private final String directory;
+
+    private final int ringCapacity;
+
+    private final long idleParkNanos;
+
+    private final long sendTimeoutNanos;
+
+    private final Map<String, SharedMemoryRingBuffer> commandsRings = new ConcurrentHashMap<>();
+
+    private volatile ContainerAutomatMessaging eventsMessaging;
+
+
+    public SharedMemoryContainerAutomatMessaging(ObjectProvider<ContainerAutomatMessaging> messagingProvider,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${" + SharedMemoryContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_DIRECTORY + "}") String directory,
+                                                 @Value("${" + SharedMemoryContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_RING_CAPACITY + "}") int ringCapacity,
+                                                 @Value("${" + SharedMemoryContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_IDLE_PARK_MICROS + "}") long idleParkMicros,
+                                                 @Value("${" + SharedMemoryContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_SHAREDMEMORY_SEND_TIMEOUT_MILLIS + "}") long sendTimeoutMillis) {
+
+        this.messagingProvider = messagingProvider;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.ringCapacity = ringCapacity;
+        this.idleParkNanos = TimeUnit.MICROSECONDS.toNanos(idleParkMicros);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+
+        for (SharedMemoryRingBuffer commandsRing : commandsRings.values()) {
+            commandsRing.close();
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public void sendContainerAutomatCommand(String targetState, ContainerAutomatCommand containerAutomatCommand) {
+
+        var commandsRing = commandsRings.computeIfAbsent(targetState, this::openCommandsRing);
+        var payload = SharedMemoryContainerAutomatConfig.writeCommandRecord(objectMapper, containerAutomatCommand, ContainerAutomatTraceContext.currentTraceparent().orElse(null));
+        var deadline = System.nanoTime() + sendTimeoutNanos;
+        while (!commandsRing.offer(payload)) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("Unable to send command for processing instance %s to state %s because the shared memory ring is full.".formatted(containerAutomatCommand.getProcessingInstanceId(), targetState));
+            }
+            LockSupport.parkNanos(idleParkNanos);
+        }
+    }
+
+    @Override
+    public void sendContainerAutomatEvent(ContainerAutomatEvent containerAutomatEvent) {
+
+        getEventsMessaging().sendContainerAutomatEvent(containerAutomatEvent);
+    }
+
+    @Override
+    public void sendContainerAutomatEventBatch(ContainerAutomatEventBatch containerAutomatEventBatch) {
+
+        getEventsMessaging().sendContainerAutomatEventBatch(containerAutomatEventBatch);
+    }
+
+    ContainerAutomatMessaging getEventsMessaging() {
+
+        if (eventsMessaging == null) {
+            eventsMessaging = messagingProvider.orderedStream()
+                    .filter(messaging -> messaging != this)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No ContainerAutomatMessaging for a message broker is available for sending events."));
+        }
+        return eventsMessaging;
+    }
+
+    private SharedMemoryRingBuffer openCommandsRing(String targetState) {
+
+        try {
+            return SharedMemoryRingBuffer.open(SharedMemoryContainerAutomatConfig.getCommandsRingPath(directory, targetState), ringCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
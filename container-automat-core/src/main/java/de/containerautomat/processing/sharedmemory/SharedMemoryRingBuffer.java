@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A ring buffer for messages in a memory-mapped file, which can be written
+ * by several processes on the same host and is read by exactly one consumer.
+ * <p/>
+ * The file starts with a header that contains the capacity of the ring, the
+ * position up to which space has been claimed by producers (tail) and the
+ * position up to which messages have been consumed (head). The two positions
+ * are located on separate cache lines and are only ever increased.
+ * <p/>
+ * Each message is stored as a record that consists of its length, its type
+ * and the payload, aligned to eight bytes. A producer claims the space for a
+ * record with an atomic compare-and-set on the tail, writes the payload and
+ * finally publishes the length with release semantics. The consumer reads the
+ * length with acquire semantics, so that a length of zero means that no record
+ * is available yet. After reading, the consumer clears the record and advances
+ * the head. If a record does not fit into the remaining space before the end
+ * of the ring, a padding record is written and the record starts at the
+ * beginning of the ring.
+ * <p/>
+ * Note: A producer that terminates between claiming the space for a record
+ * and publishing its length blocks the consumer at that record. The ring
+ * file should therefore be located on a volume whose lifetime is bound to
+ * the application, e.g. a tmpfs volume.
+ */
+public class SharedMemoryRingBuffer implements AutoCloseable {
+
+    static final int CAPACITY_OFFSET = 0;
+    static final int TAIL_OFFSET = 64;
+    static final int HEAD_OFFSET = 128;
+    static final int HEADER_LENGTH = 192;
+    static final int RECORD_HEADER_LENGTH = 8;
+    static final int RECORD_ALIGNMENT = 8;
+    static final int RECORD_TYPE_MESSAGE = 1;
+    static final int RECORD_TYPE_PADDING = 2;
+    static final int MIN_CAPACITY = 1024;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    @Getter
+    private final Path path;
+
+    @Getter
+    private final int capacity;
+
+    private final FileChannel fileChannel;
+
+    private final MappedByteBuffer buffer;
+
+
+    private SharedMemoryRingBuffer(Path path, int capacity, FileChannel fileChannel, MappedByteBuffer buffer) {
+
+        this.path = path;
+        this.capacity = capacity;
+        this.fileChannel = fileChannel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens the ring buffer in the given file, which is created if it does not
+     * exist yet. All producers and the consumer of a ring must use the same capacity.
+     *
+     * @param path     The path of the file of the ring buffer.
+     * @param capacity The capacity of the ring in bytes, which must be a power of two.
+     * @return The opened ring buffer.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public static SharedMemoryRingBuffer open(Path path, int capacity) throws IOException {
+
+        if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Invalid capacity %s for SharedMemoryRingBuffer %s. The capacity must be a power of two and at least %s.".formatted(capacity, path, MIN_CAPACITY));
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        var fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) HEADER_LENGTH + capacity);
+            var existingCapacity = (long) LONG_VIEW.compareAndExchange(buffer, CAPACITY_OFFSET, 0L, (long) capacity);
+            if (existingCapacity != 0L && existingCapacity != capacity) {
+                throw new IllegalStateException("SharedMemoryRingBuffer %s was created with a capacity of %s instead of %s.".formatted(path, existingCapacity, capacity));
+            }
+            return new SharedMemoryRingBuffer(path, capacity, fileChannel, buffer);
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a message to the ring buffer. This method can be called
+     * concurrently by several threads and processes.
+     *
+     * @param payload The message to append.
+     * @return <code>true</code> if the message was appended, <code>false</code> if the ring is full.
+     */
+    public boolean offer(byte[] payload) {
+
+        var recordLength = RECORD_HEADER_LENGTH + payload.length;
+        var alignedLength = align(recordLength);
+        if (alignedLength > capacity) {
+            throw new IllegalArgumentException("Message of %s bytes exceeds the capacity %s of SharedMemoryRingBuffer %s.".formatted(payload.length, capacity, path));
+        }
+
+        long tail;
+        int index;
+        int padding;
+        do {
+            var head = (long) LONG_VIEW.getVolatile(buffer, HEAD_OFFSET);
+            tail = (long) LONG_VIEW.getVolatile(buffer, TAIL_OFFSET);
+            index = (int) (tail & (capacity - 1));
+            var remaining = capacity - index;
+            padding = alignedLength > remaining ? remaining : 0;
+            if (tail + padding + alignedLength - head > capacity) {
+                return false;
+            }
+        } while (!LONG_VIEW.compareAndSet(buffer, TAIL_OFFSET, tail, tail + padding + alignedLength));
+
+        if (padding > 0) {
+            INT_VIEW.set(buffer, HEADER_LENGTH + index + Integer.BYTES, RECORD_TYPE_PADDING);
+            INT_VIEW.setRelease(buffer, HEADER_LENGTH + index, padding);
+            index = 0;
+        }
+        var offset = HEADER_LENGTH + index;
+        buffer.put(offset + RECORD_HEADER_LENGTH, payload);
+        INT_VIEW.set(buffer, offset + Integer.BYTES, RECORD_TYPE_MESSAGE);
+        INT_VIEW.setRelease(buffer, offset, recordLength);
+        return true;
+    }
+
+    /**
+     * Takes the next message from the ring buffer. This method must only be
+     * called by the single consumer of the ring.
+     *
+     * @return The next message, or <code>null</code> if no message is available.
+     */
+    public byte[] poll() {
+
+        var head = (long) LONG_VIEW.getVolatile(buffer, HEAD_OFFSET);
+        for (; ; ) {
+            var offset = HEADER_LENGTH + (int) (head & (capacity - 1));
+            var recordLength = (int) INT_VIEW.getAcquire(buffer, offset);
+            if (recordLength == 0) {
+                return null;
+            }
+
+            byte[] payload = null;
+            if ((int) INT_VIEW.get(buffer, offset + Integer.BYTES) == RECORD_TYPE_MESSAGE) {
+                payload = new byte[recordLength - RECORD_HEADER_LENGTH];
+                buffer.get(offset + RECORD_HEADER_LENGTH, payload);
+            }
+
+            var alignedLength = align(recordLength);
+            for (var position = 0; position < alignedLength; position += Long.BYTES) {
+                LONG_VIEW.set(buffer, offset + position, 0L);
+            }
+            head += alignedLength;
+            LONG_VIEW.setRelease(buffer, HEAD_OFFSET, head);
+
+            if (payload != null) {
+                return payload;
+            }
+        }
+    }
+
+    /**
+     * @return The number of bytes claimed by producers and not yet consumed.
+     */
+    public long getPendingBytes() {
+
+        return (long) LONG_VIEW.getVolatile(buffer, TAIL_OFFSET) - (long) LONG_VIEW.getVolatile(buffer, HEAD_OFFSET);
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        fileChannel.close();
+    }
+
+    static int align(int length) {
+
+        return (length + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static de.containerautomat.api.ContainerAutomatTestEvents.createTestEvent;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test suite for the class {@link ContainerAutomatAdmissionControl}
+ * for rejecting requests under overload.
+ */
+class ContainerAutomatAdmissionControlTests {
+
+    private static final long TEST_IN_FLIGHT_TIMEOUT_MILLIS = 60000;
+    private static final long TEST_RETRY_AFTER_SECONDS = 3;
+
+
+    @Test
+    void admission_control_without_limits_admits_all_requests() {
+
+        var admissionControl = new ContainerAutomatAdmissionControl(0, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, TEST_RETRY_AFTER_SECONDS, new AtomicLong()::get);
+
+        assertDoesNotThrow(() -> admissionControl.admit(1000000));
+        admissionControl.addInFlight(List.of(UUID.randomUUID().toString()));
+
+        assertEquals(1000000, admissionControl.getAdmittedCount());
+        assertEquals(0, admissionControl.getInFlightCount());
+    }
+
+    @Test
+    void in_flight_limit_rejects_requests_until_instances_are_concluded() {
+
+        var admissionControl = new ContainerAutomatAdmissionControl(2, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, TEST_RETRY_AFTER_SECONDS, new AtomicLong()::get);
+        var testIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        admissionControl.admit(2);
+        admissionControl.addInFlight(testIds);
+        var exception = assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+        assertEquals(TEST_RETRY_AFTER_SECONDS, exception.getRetryAfterSeconds());
+
+        admissionControl.handleEvent(createTestEvent(testIds.getFirst(), EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS));
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+        admissionControl.handleEvent(createTestEvent(testIds.getFirst(), EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+
+        assertDoesNotThrow(() -> admissionControl.admit(1));
+        assertEquals(3, admissionControl.getAdmittedCount());
+        assertEquals(2, admissionControl.getRejectedCount());
+    }
+
+    @Test
+    void in_flight_instances_expire_after_timeout() {
+
+        var time = new AtomicLong();
+        var admissionControl = new ContainerAutomatAdmissionControl(1, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, TEST_RETRY_AFTER_SECONDS, time::get);
+
+        admissionControl.admit(1);
+        admissionControl.addInFlight(List.of(UUID.randomUUID().toString()));
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(TEST_IN_FLIGHT_TIMEOUT_MILLIS + 1));
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+        admissionControl.removeExpiredInFlight();
+
+        assertEquals(0, admissionControl.getInFlightCount());
+        assertDoesNotThrow(() -> admissionControl.admit(1));
+        assertEquals(1, admissionControl.getInFlightCount());
+    }
+
+    @Test
+    void concurrent_admissions_do_not_exceed_in_flight_limit() throws InterruptedException {
+
+        var maxInFlight = 10;
+        var admissionControl = new ContainerAutomatAdmissionControl(maxInFlight, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, TEST_RETRY_AFTER_SECONDS, new AtomicLong()::get);
+        var startLatch = new CountDownLatch(1);
+        var rejections = new AtomicInteger();
+        var threads = IntStream.range(0, 8)
+                .mapToObj(i -> Thread.ofPlatform().start(() -> {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < 100; j++) {
+                        try {
+                            admissionControl.admit(1);
+                        } catch (ContainerAutomatOverloadException e) {
+                            rejections.incrementAndGet();
+                        }
+                    }
+                }))
+                .toList();
+        startLatch.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(maxInFlight, admissionControl.getAdmittedCount());
+        assertEquals(maxInFlight, admissionControl.getInFlightCount());
+        assertEquals(800 - maxInFlight, rejections.get());
+        assertEquals(800 - maxInFlight, admissionControl.getRejectedCount());
+    }
+
+    @Test
+    void released_and_removed_requests_free_their_slots() {
+
+        var admissionControl = new ContainerAutomatAdmissionControl(2, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, TEST_RETRY_AFTER_SECONDS, new AtomicLong()::get);
+        var testIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        admissionControl.admit(2);
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+        admissionControl.release(2);
+        assertEquals(0, admissionControl.getInFlightCount());
+
+        admissionControl.admit(2);
+        admissionControl.addInFlight(testIds);
+        admissionControl.removeInFlight(testIds);
+        admissionControl.removeInFlight(testIds);
+
+        assertEquals(0, admissionControl.getInFlightCount());
+        assertDoesNotThrow(() -> admissionControl.admit(2));
+    }
+
+    @Test
+    void rate_limited_requests_do_not_hold_in_flight_slots() {
+
+        var admissionControl = new ContainerAutomatAdmissionControl(5, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 1, 1, TEST_RETRY_AFTER_SECONDS, new AtomicLong()::get);
+
+        admissionControl.admit(1);
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+
+        assertEquals(1, admissionControl.getInFlightCount());
+    }
+
+    @Test
+    void rate_limit_rejects_requests_until_tokens_are_refilled() {
+
+        var time = new AtomicLong();
+        var admissionControl = new ContainerAutomatAdmissionControl(0, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 10, 5, TEST_RETRY_AFTER_SECONDS, time::get);
+
+        admissionControl.admit(5);
+        var exception = assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+        assertEquals(1, exception.getRetryAfterSeconds());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertDoesNotThrow(() -> admissionControl.admit(1));
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+    }
+
+    @Test
+    void batch_larger_than_burst_is_admitted_with_full_bucket() {
+
+        var time = new AtomicLong();
+        var admissionControl = new ContainerAutomatAdmissionControl(0, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 1, 2, TEST_RETRY_AFTER_SECONDS, time::get);
+
+        admissionControl.admit(10);
+        time.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        var exception = assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+
+        assertEquals(4, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void counters_are_registered_as_metrics() {
+
+        var admissionControl = new ContainerAutomatAdmissionControl(1, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 10, 0, TEST_RETRY_AFTER_SECONDS, new AtomicLong()::get);
+        var registry = new SimpleMeterRegistry();
+        admissionControl.bindTo(registry);
+
+        admissionControl.admit(1);
+        admissionControl.addInFlight(List.of(UUID.randomUUID().toString()));
+        assertThrows(ContainerAutomatOverloadException.class, () -> admissionControl.admit(1));
+
+        assertEquals(1, registry.get(ContainerAutomatAdmissionControl.METRIC_NAME_PREFIX + "in-flight").gauge().value());
+        assertEquals(1, registry.get(ContainerAutomatAdmissionControl.METRIC_NAME_PREFIX + "admitted").functionCounter().count());
+        assertEquals(1, registry.get(ContainerAutomatAdmissionControl.METRIC_NAME_PREFIX + "rejected")
+                .tag(ContainerAutomatAdmissionControl.METRIC_TAG_REASON, ContainerAutomatAdmissionControl.REJECTION_REASON_IN_FLIGHT)
+                .functionCounter().count());
+        assertEquals(9, registry.get(ContainerAutomatAdmissionControl.METRIC_NAME_PREFIX + "tokens").gauge().value());
+    }
+
+    @Test
+    void admission_control_creation_with_invalid_configuration_fails() {
+
+        var time = new AtomicLong();
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatAdmissionControl(-1, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, TEST_RETRY_AFTER_SECONDS, time::get));
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatAdmissionControl(0, TEST_IN_FLIGHT_TIMEOUT_MILLIS, -1, 0, TEST_RETRY_AFTER_SECONDS, time::get));
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatAdmissionControl(0, TEST_IN_FLIGHT_TIMEOUT_MILLIS, 0, 0, 0, time::get));
+    }
+
+}
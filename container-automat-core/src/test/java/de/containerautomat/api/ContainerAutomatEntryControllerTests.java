@@ -17,10 +17,13 @@ package de.containerautomat.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatEvent;
 import de.containerautomat.processing.ContainerAutomatMessaging;
 import de.containerautomat.processing.ContainerAutomatProcessingInstance;
 import de.containerautomat.processing.ContainerAutomatRequest;
 import de.containerautomat.processing.ContainerAutomatStorage;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,27 +32,40 @@ import lombok.NoArgsConstructor;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -58,10 +74,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * finite automaton implemented by the generated application.
  */
 @ContextConfiguration(classes = ContainerAutomatCoreConfig.class)
-@TestPropertySource(properties = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true")
+@TestPropertySource(properties = {
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true",
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_STREAM_CHUNK_SIZE + "=" + ContainerAutomatEntryControllerTests.TEST_STREAM_CHUNK_SIZE})
 @WebMvcTest(ContainerAutomatEntryController.class)
 class ContainerAutomatEntryControllerTests {
 
+    static final int TEST_STREAM_CHUNK_SIZE = 2;
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -91,6 +111,15 @@ class ContainerAutomatEntryControllerTests {
     @Autowired
     ContainerAutomatEntryController containerAutomatEntryController;
 
+    @Autowired
+    ContainerAutomatPendingResults pendingResults;
+
+    @SpyBean
+    ContainerAutomatAdmissionControl admissionControl;
+
+    @SpyBean
+    ContainerAutomatOutcomeCache outcomeCache;
+
 
     @Test
     void object_mapper_is_available() {
@@ -178,6 +207,27 @@ class ContainerAutomatEntryControllerTests {
         }
     }
 
+    @Test
+    void post_request_with_invalid_symbol_returns_position_in_error_details() {
+
+        try {
+            var errorJson = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .content("{\"input\": \"01x1\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            var errorJsonObject = assertDoesNotThrow(() -> new JSONObject(errorJson));
+            assertTrue(errorJsonObject.getString("detail").contains("position 2"));
+            Mockito.verifyNoInteractions(storage, messaging);
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
     @Test
     @ExtendWith(OutputCaptureExtension.class)
     void log_message_of_processing_instance_creation(CapturedOutput output) {
@@ -199,4 +249,483 @@ class ContainerAutomatEntryControllerTests {
         assertTrue(output.getOut().contains(testMessage));
     }
 
+    @Test
+    void post_request_batch_as_json_array_returns_processing_instance_ids() {
+
+        var testBatchJson = """
+                [
+                  {"input": "0101", "description": "first"},
+                  {"input": "1100", "description": "second"}
+                ]
+                """;
+
+        var resultNdjson = postRequestBatch(testBatchJson, MediaType.APPLICATION_JSON, List.of("0101", "1100"));
+
+        assertEquals(2, resultNdjson.lines().count());
+    }
+
+    @Test
+    void post_request_batch_as_ndjson_returns_processing_instance_ids() {
+
+        var testBatchNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                """;
+
+        var resultNdjson = postRequestBatch(testBatchNdjson, MediaType.APPLICATION_NDJSON, List.of("0101", "1100", "0000"));
+
+        assertEquals(3, resultNdjson.lines().count());
+    }
+
+    @Test
+    void post_request_batch_with_invalid_request_returns_error_details() {
+
+        var testBatchNdjson = """
+                {"input": "0101", "description": "valid"}
+                {"input": "", "description": "invalid"}
+                """;
+
+        try {
+            var errorJson = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS_BATCH).content(testBatchNdjson)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            var errorJsonObject = assertDoesNotThrow(() -> new JSONObject(errorJson));
+            assertTrue(errorJsonObject.getString("detail").contains("index 1"));
+            Mockito.verifyNoInteractions(storage, messaging);
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_empty_request_batch_returns_error_details() {
+
+        try {
+            mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS_BATCH).content("[]")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+            Mockito.verifyNoInteractions(storage, messaging);
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+
+    @Test
+    void post_request_stream_submits_requests_in_chunks() {
+
+        var testStreamNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                {"input": "1111", "description": "fourth"}
+                {"input": "1010", "description": "fifth"}
+                """;
+
+        stubCreateProcessingInstances();
+
+        try {
+            var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_STREAM, testStreamNdjson, MediaType.APPLICATION_NDJSON);
+
+            Mockito.verify(storage, Mockito.times(3)).createProcessingInstances(Mockito.anyList());
+            Mockito.verify(messaging, Mockito.times(3)).sendContainerAutomatCommands(Mockito.anyString(), Mockito.anyList());
+            assertEquals(5, resultNdjson.lines().count());
+            assertTrue(resultNdjson.lines().allMatch(line -> line.contains("processingInstanceId")));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_request_stream_with_invalid_request_ends_with_error_line() {
+
+        var testStreamNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                {"input": "", "description": "invalid"}
+                {"input": "1010", "description": "fifth"}
+                """;
+
+        stubCreateProcessingInstances();
+
+        try {
+            var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_STREAM, testStreamNdjson, MediaType.APPLICATION_NDJSON);
+
+            Mockito.verify(storage, Mockito.times(1)).createProcessingInstances(Mockito.anyList());
+            var resultLines = resultNdjson.lines().toList();
+            assertEquals(TEST_STREAM_CHUNK_SIZE + 1, resultLines.size());
+            var errorJsonNode = objectMapper.readTree(resultLines.getLast());
+            assertEquals(3, errorJsonNode.get("index").asInt());
+            assertTrue(errorJsonNode.get("error").asText().contains("input"));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_request_with_wait_returns_concluding_event() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_request_with_wait_returns_concluding_event")
+                .build();
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)
+                .eventTime(Instant.now())
+                .processingInstanceId(testProcessingInstance.getProcessingInstanceId())
+                .processingInput(testProcessingInstance.getInput())
+                .processingPosition(testProcessingInstance.getInput().length())
+                .stateName("S1")
+                .build();
+
+        Mockito.when(storage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(testProcessingInstance);
+
+        try {
+            var asyncResult = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .param(ContainerAutomatEntryController.PARAMETER_WAIT, "5s")
+                            .content("{\"input\": \"0101\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            assertEquals(1, pendingResults.getPendingCount());
+            pendingResults.handleEvent(testEvent);
+            assertEquals(0, pendingResults.getPendingCount());
+
+            var resultJson = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            var resultJsonNode = objectMapper.readTree(resultJson);
+            assertEquals(testEvent.getEventType().name(), resultJsonNode.get("eventType").asText());
+            assertEquals(testProcessingInstance.getProcessingInstanceId(), resultJsonNode.get("processingInstanceId").asText());
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_request_with_invalid_wait_returns_error_details() {
+
+        try {
+            mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .param(ContainerAutomatEntryController.PARAMETER_WAIT, "soon")
+                            .content("{\"input\": \"0101\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+            Mockito.verify(storage, Mockito.never()).createProcessingInstance(Mockito.any(ContainerAutomatRequest.class));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_retried_request_with_idempotency_key_returns_original_processing_instance() {
+
+        var testIdempotencyKey = UUID.randomUUID().toString();
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testIdempotencyKey))
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_retried_request_with_idempotency_key_returns_original_processing_instance")
+                .build();
+
+        Mockito.when(storage.findProcessingInstance(testProcessingInstance.getProcessingInstanceId())).thenReturn(Optional.empty());
+        Mockito.when(storage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.eq(testProcessingInstance.getProcessingInstanceId())))
+                .thenReturn(testProcessingInstance);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                var resultJson = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                                .header(ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, testIdempotencyKey)
+                                .content("{\"input\": \"0101\"}")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+
+                assertEquals(testProcessingInstance, objectMapper.readValue(resultJson, ProcessingInstanceImpl.class));
+            }
+
+            Mockito.verify(storage, Mockito.times(1)).createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.anyString());
+            Mockito.verify(storage, Mockito.never()).createProcessingInstance(Mockito.any(ContainerAutomatRequest.class));
+            Mockito.verify(messaging, Mockito.times(1)).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_retried_request_with_idempotency_key_sends_pending_start_command() {
+
+        var testIdempotencyKey = UUID.randomUUID().toString();
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testIdempotencyKey))
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_retried_request_with_idempotency_key_sends_pending_start_command")
+                .build();
+
+        Mockito.when(storage.findProcessingInstance(testProcessingInstance.getProcessingInstanceId())).thenReturn(Optional.empty());
+        Mockito.when(storage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.eq(testProcessingInstance.getProcessingInstanceId())))
+                .thenReturn(testProcessingInstance);
+        Mockito.when(storage.claimStartCommand(Mockito.eq(testProcessingInstance.getProcessingInstanceId()), Mockito.any(Duration.class))).thenReturn(true);
+        Mockito.doThrow(new IllegalStateException("Broker unavailable."))
+                .doNothing()
+                .when(messaging).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+
+        try {
+            mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .header(ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, testIdempotencyKey)
+                            .content("{\"input\": \"0101\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isInternalServerError());
+
+            Mockito.verify(storage, Mockito.never()).clearStartCommandPending(Mockito.anyString());
+            Mockito.verify(storage, Mockito.times(1)).releaseStartCommand(testProcessingInstance.getProcessingInstanceId());
+            Mockito.verify(admissionControl, Mockito.times(1)).removeInFlight(List.of(testProcessingInstance.getProcessingInstanceId()));
+
+            var resultJson = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .header(ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, testIdempotencyKey)
+                            .content("{\"input\": \"0101\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertEquals(testProcessingInstance, objectMapper.readValue(resultJson, ProcessingInstanceImpl.class));
+            Mockito.verify(storage, Mockito.times(1)).createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.anyString());
+            Mockito.verify(messaging, Mockito.times(2)).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+            Mockito.verify(storage, Mockito.times(1)).clearStartCommandPending(testProcessingInstance.getProcessingInstanceId());
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_retried_request_with_idempotency_key_during_slow_send_does_not_send_second_start_command() throws Exception {
+
+        var testIdempotencyKey = UUID.randomUUID().toString();
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testIdempotencyKey))
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_retried_request_with_idempotency_key_during_slow_send_does_not_send_second_start_command")
+                .build();
+        var claimTime = new AtomicReference<Instant>();
+        var sendStarted = new CountDownLatch(1);
+        var sendReleased = new CountDownLatch(1);
+
+        Mockito.when(storage.findProcessingInstance(testProcessingInstance.getProcessingInstanceId()))
+                .thenAnswer(invocation -> Optional.ofNullable(claimTime.get()).map(time -> testProcessingInstance));
+        Mockito.when(storage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.eq(testProcessingInstance.getProcessingInstanceId())))
+                .thenAnswer(invocation -> {
+                    claimTime.set(Instant.now());
+                    return testProcessingInstance;
+                });
+        Mockito.when(storage.claimStartCommand(Mockito.eq(testProcessingInstance.getProcessingInstanceId()), Mockito.any(Duration.class)))
+                .thenAnswer(invocation -> {
+                    var previousClaimTime = claimTime.get();
+                    var newClaimTime = Instant.now();
+                    return previousClaimTime.isBefore(newClaimTime.minus(invocation.getArgument(1, Duration.class)))
+                            && claimTime.compareAndSet(previousClaimTime, newClaimTime);
+                });
+        Mockito.doAnswer(invocation -> {
+            sendStarted.countDown();
+            assertTrue(sendReleased.await(10, TimeUnit.SECONDS));
+            return null;
+        }).when(messaging).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+
+        var originalRequest = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                                .header(ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, testIdempotencyKey)
+                                .content("{\"input\": \"0101\"}")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(sendStarted.await(10, TimeUnit.SECONDS));
+
+        var resultJson = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                        .header(ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, testIdempotencyKey)
+                        .content("{\"input\": \"0101\"}")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        sendReleased.countDown();
+        originalRequest.get(10, TimeUnit.SECONDS);
+
+        assertEquals(testProcessingInstance, objectMapper.readValue(resultJson, ProcessingInstanceImpl.class));
+        Mockito.verify(storage, Mockito.times(1)).claimStartCommand(Mockito.eq(testProcessingInstance.getProcessingInstanceId()), Mockito.any(Duration.class));
+        Mockito.verify(messaging, Mockito.times(1)).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+        Mockito.verify(storage, Mockito.times(1)).clearStartCommandPending(testProcessingInstance.getProcessingInstanceId());
+    }
+
+    @Test
+    void post_request_with_memoized_outcome_returns_fast_answer() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_request_with_memoized_outcome_returns_fast_answer")
+                .build();
+
+        Mockito.doReturn(Optional.of(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)).when(outcomeCache).getFastAnswer("0101");
+        Mockito.when(storage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(testProcessingInstance);
+
+        try {
+            var resultJson = mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .content("{\"input\": \"0101\", \"description\": \"post_request_with_memoized_outcome_returns_fast_answer\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            var cachedOutcome = objectMapper.readValue(resultJson, ContainerAutomatCachedOutcome.class);
+            assertEquals(testProcessingInstance.getProcessingInstanceId(), cachedOutcome.getProcessingInstanceId());
+            assertEquals(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED, cachedOutcome.getOutcome());
+            assertTrue(cachedOutcome.isCached());
+            Mockito.verify(admissionControl, Mockito.never()).admit(Mockito.anyInt());
+            Mockito.verify(messaging, Mockito.never()).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_request_under_overload_returns_too_many_requests() {
+
+        Mockito.doThrow(new ContainerAutomatOverloadException("Overloaded.", 3)).when(admissionControl).admit(1);
+
+        try {
+            mockMvc.perform(post(ContainerAutomatEntryController.PATH_REQUESTS)
+                            .content("{\"input\": \"0101\"}")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+            Mockito.verify(storage, Mockito.never()).createProcessingInstance(Mockito.any(ContainerAutomatRequest.class));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void post_request_stream_under_overload_ends_with_error_line() {
+
+        var testStreamNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                """;
+
+        stubCreateProcessingInstances();
+        Mockito.doCallRealMethod().doThrow(new ContainerAutomatOverloadException("Overloaded.", 3)).when(admissionControl).admit(Mockito.anyInt());
+
+        try {
+            var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_STREAM, testStreamNdjson, MediaType.APPLICATION_NDJSON);
+
+            Mockito.verify(storage, Mockito.times(1)).createProcessingInstances(Mockito.anyList());
+            var resultLines = resultNdjson.lines().toList();
+            assertEquals(TEST_STREAM_CHUNK_SIZE + 1, resultLines.size());
+            var errorJsonNode = objectMapper.readTree(resultLines.getLast());
+            assertEquals(TEST_STREAM_CHUNK_SIZE, errorJsonNode.get("index").asInt());
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private String postRequestBatch(String testBatch, MediaType contentType, List<String> expectedInputs) {
+
+        stubCreateProcessingInstances();
+
+        try {
+            var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_BATCH, testBatch, contentType);
+
+            var requestsCaptor = ArgumentCaptor.forClass(List.class);
+            Mockito.verify(storage, Mockito.times(1)).createProcessingInstances(requestsCaptor.capture());
+            var storedRequests = (List<ContainerAutomatRequest>) requestsCaptor.getValue();
+            assertEquals(expectedInputs, storedRequests.stream().map(ContainerAutomatRequest::getInput).toList());
+
+            var commandsCaptor = ArgumentCaptor.forClass(List.class);
+            Mockito.verify(messaging, Mockito.times(1)).sendContainerAutomatCommands(Mockito.anyString(), commandsCaptor.capture());
+            var sentCommands = (List<ContainerAutomatCommand>) commandsCaptor.getValue();
+            var sentIds = sentCommands.stream().map(ContainerAutomatCommand::getProcessingInstanceId).toList();
+            var returnedIds = resultNdjson.lines()
+                    .map(line -> assertDoesNotThrow(() -> objectMapper.readTree(line).get("processingInstanceId").asText()))
+                    .toList();
+            assertEquals(sentIds, returnedIds);
+            Mockito.verify(messaging, Mockito.never()).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+
+            return resultNdjson;
+
+        } catch (Exception e) {
+            return fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCreateProcessingInstances() {
+
+        Mockito.when(storage.createProcessingInstances(Mockito.anyList())).thenAnswer(invocation -> ((List<ContainerAutomatRequest>) invocation.getArgument(0)).stream()
+                .map(request -> (ContainerAutomatProcessingInstance) ProcessingInstanceImpl.builder()
+                        .processingInstanceId(UUID.randomUUID().toString())
+                        .creationTime(Instant.now())
+                        .input(request.getInput())
+                        .description(request.getDescription())
+                        .build())
+                .toList());
+    }
+
+    private String performStreamingPost(String path, String content, MediaType contentType) throws Exception {
+
+        var asyncResult = mockMvc.perform(post(path).content(content)
+                        .contentType(contentType)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+    }
+
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static de.containerautomat.api.ContainerAutomatTestEvents.createTestEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatEventSubscriptions}
+ * for notifying subscribed clients about events of processing instances.
+ */
+class ContainerAutomatEventSubscriptionsTests {
+
+    private static final long TEST_TIMEOUT_MILLIS = 60000;
+    private static final int TEST_MAX_IDS = 3;
+    private static final int TEST_RECENT_COMPLETIONS = 10;
+
+
+    static class RecordingSseEmitter extends SseEmitter {
+
+        private final List<String> sentEvents = new ArrayList<>();
+
+        private boolean completed;
+
+
+        RecordingSseEmitter(long timeout) {
+
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+
+            sentEvents.add(builder.build().stream()
+                    .map(dataWithMediaType -> dataWithMediaType.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+
+            completed = true;
+        }
+
+    }
+
+    static class RecordingSubscriber implements ContainerAutomatEventSubscriptions.Subscriber {
+
+        private final List<ContainerAutomatEvent> sentEvents = new ArrayList<>();
+
+        private boolean completed;
+
+
+        @Override
+        public void send(ContainerAutomatEvent containerAutomatEvent) {
+
+            sentEvents.add(containerAutomatEvent);
+        }
+
+        @Override
+        public void sendOverflow(String message) {
+        }
+
+        @Override
+        public void complete() {
+
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable e) {
+
+            completed = true;
+        }
+
+    }
+
+
+    @Test
+    void subscription_receives_events_and_completes_with_concluding_event() {
+
+        var subscriptions = createSubscriptions(16, Runnable::run);
+        var testId = UUID.randomUUID().toString();
+
+        var emitter = (RecordingSseEmitter) subscriptions.subscribe(List.of(testId));
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_START));
+        subscriptions.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_START));
+        assertFalse(emitter.completed);
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+
+        assertEquals(2, emitter.sentEvents.size());
+        assertTrue(emitter.sentEvents.getFirst().contains("event:" + EventType.STATE_PROCESSING_START));
+        assertTrue(emitter.sentEvents.getLast().contains("event:" + EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        assertTrue(emitter.completed);
+        assertEquals(0, subscriptions.getSubscriptionCount(testId));
+    }
+
+    @Test
+    void subscription_for_several_ids_completes_after_all_are_concluded() {
+
+        var subscriptions = createSubscriptions(16, Runnable::run);
+        var testId1 = UUID.randomUUID().toString();
+        var testId2 = UUID.randomUUID().toString();
+
+        var emitter = (RecordingSseEmitter) subscriptions.subscribe(List.of(testId1, testId2));
+        subscriptions.handleEvent(createTestEvent(testId1, EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED));
+        assertFalse(emitter.completed);
+        subscriptions.handleEvent(createTestEvent(testId2, EventType.STATE_PROCESSING_ERROR));
+
+        assertEquals(2, emitter.sentEvents.size());
+        assertTrue(emitter.completed);
+        assertEquals(0, subscriptions.getSubscriptionCount(testId1));
+        assertEquals(0, subscriptions.getSubscriptionCount(testId2));
+    }
+
+    @Test
+    void late_subscription_receives_recent_completion() {
+
+        var subscriptions = createSubscriptions(16, Runnable::run);
+        var testId = UUID.randomUUID().toString();
+
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        var emitter = (RecordingSseEmitter) subscriptions.subscribe(List.of(testId));
+
+        assertEquals(1, emitter.sentEvents.size());
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void late_subscription_receives_more_recent_completions_than_buffer_size() {
+
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var subscriptions = createSubscriptions(1, pendingDeliveries::add);
+        var testIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        testIds.forEach(testId -> subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)));
+        var emitter = (RecordingSseEmitter) subscriptions.subscribe(testIds);
+        pendingDeliveries.forEach(Runnable::run);
+
+        assertEquals(testIds.size(), emitter.sentEvents.size());
+        assertTrue(emitter.sentEvents.stream().noneMatch(sentEvent -> sentEvent.contains("event:" + ContainerAutomatEventSubscriptions.SSE_EVENT_NAME_OVERFLOW)));
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void subscription_is_closed_on_buffer_overflow() {
+
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var subscriptions = createSubscriptions(1, pendingDeliveries::add);
+        var testId = UUID.randomUUID().toString();
+
+        var emitter = (RecordingSseEmitter) subscriptions.subscribe(List.of(testId));
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_START));
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS));
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_START));
+
+        assertEquals(1, pendingDeliveries.size());
+        assertEquals(1, emitter.sentEvents.size());
+        assertTrue(emitter.sentEvents.getFirst().contains("event:" + ContainerAutomatEventSubscriptions.SSE_EVENT_NAME_OVERFLOW));
+        assertTrue(emitter.completed);
+        assertEquals(0, subscriptions.getSubscriptionCount(testId));
+    }
+
+    @Test
+    void subscriber_receives_events_until_cancelled() {
+
+        var subscriptions = createSubscriptions(16, Runnable::run);
+        var testId = UUID.randomUUID().toString();
+        var subscriber = new RecordingSubscriber();
+
+        var cancellation = subscriptions.subscribe(List.of(testId), subscriber);
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_START));
+        cancellation.run();
+        subscriptions.handleEvent(createTestEvent(testId, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+
+        assertEquals(List.of(EventType.STATE_PROCESSING_START), subscriber.sentEvents.stream().map(ContainerAutomatEvent::getEventType).toList());
+        assertFalse(subscriber.completed);
+        assertEquals(0, subscriptions.getSubscriptionCount(testId));
+    }
+
+    @Test
+    void subscription_with_invalid_number_of_ids_fails() {
+
+        var subscriptions = createSubscriptions(16, Runnable::run);
+        var tooManyIds = List.of("1", "2", "3", "4");
+
+        assertThrows(IllegalArgumentException.class, () -> subscriptions.subscribe(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> subscriptions.subscribe(tooManyIds));
+    }
+
+
+    private static ContainerAutomatEventSubscriptions createSubscriptions(int bufferSize, Executor deliveryExecutor) {
+
+        return new ContainerAutomatEventSubscriptions(bufferSize, TEST_TIMEOUT_MILLIS, TEST_MAX_IDS, TEST_RECENT_COMPLETIONS, deliveryExecutor) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return new RecordingSseEmitter(timeoutMillis);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatIdempotentRequests}
+ * for submitting requests with idempotency keys.
+ */
+class ContainerAutomatIdempotentRequestsTests {
+
+    private static final String TEST_INPUT = "1010";
+    private static final String TEST_DESCRIPTION = "Test request for ContainerAutomatIdempotentRequests.";
+    private static final long TEST_CACHE_TTL_MILLIS = 60000;
+    private static final long TEST_START_COMMAND_LEASE_MILLIS = 30000;
+
+
+    @Test
+    void processing_instance_id_is_derived_from_idempotency_key() {
+
+        var testKey = UUID.randomUUID().toString();
+
+        assertEquals(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey), ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey));
+        assertNotEquals(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey), ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey + "x"));
+        assertThrows(IllegalArgumentException.class, () -> ContainerAutomatIdempotentRequests.toProcessingInstanceId(" "));
+        assertThrows(IllegalArgumentException.class, () -> ContainerAutomatIdempotentRequests.toProcessingInstanceId("x".repeat(ContainerAutomatIdempotentRequests.MAX_LENGTH_IDEMPOTENCY_KEY + 1)));
+    }
+
+    @Test
+    void created_processing_instance_is_found_in_cache() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 10, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, new AtomicLong()::get);
+        var testKey = UUID.randomUUID().toString();
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_DESCRIPTION);
+        var testInstance = createTestProcessingInstance(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey), TEST_INPUT);
+        Mockito.when(storage.createProcessingInstance(testRequest, testInstance.getProcessingInstanceId())).thenReturn(testInstance);
+
+        assertSame(testInstance, idempotentRequests.createProcessingInstance(testKey, testRequest));
+        var foundInstance = idempotentRequests.findProcessingInstance(testKey, testRequest);
+
+        assertSame(testInstance, foundInstance.orElseThrow());
+        Mockito.verify(storage, Mockito.never()).findProcessingInstance(Mockito.anyString());
+    }
+
+    @Test
+    void processing_instance_is_looked_up_in_storage_after_expiry() {
+
+        var time = new AtomicLong();
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 10, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, time::get);
+        var testKey = UUID.randomUUID().toString();
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_DESCRIPTION);
+        var testInstance = createTestProcessingInstance(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey), TEST_INPUT);
+        Mockito.when(storage.createProcessingInstance(testRequest, testInstance.getProcessingInstanceId())).thenReturn(testInstance);
+        Mockito.when(storage.findProcessingInstance(testInstance.getProcessingInstanceId())).thenReturn(Optional.of(testInstance));
+
+        idempotentRequests.createProcessingInstance(testKey, testRequest);
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(TEST_CACHE_TTL_MILLIS + 1));
+        var foundInstance = idempotentRequests.findProcessingInstance(testKey, testRequest);
+
+        assertSame(testInstance, foundInstance.orElseThrow());
+        Mockito.verify(storage, Mockito.times(1)).findProcessingInstance(testInstance.getProcessingInstanceId());
+    }
+
+    @Test
+    void start_command_is_claimed_in_storage_until_cleared() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 10, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, new AtomicLong()::get);
+        var testKey = UUID.randomUUID().toString();
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_DESCRIPTION);
+        var testInstance = createTestProcessingInstance(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey), TEST_INPUT);
+        Mockito.when(storage.createProcessingInstance(testRequest, testInstance.getProcessingInstanceId())).thenReturn(testInstance);
+        Mockito.when(storage.claimStartCommand(testInstance.getProcessingInstanceId(), Duration.ofMillis(TEST_START_COMMAND_LEASE_MILLIS))).thenReturn(true, false);
+
+        idempotentRequests.createProcessingInstance(testKey, testRequest);
+        assertTrue(idempotentRequests.claimStartCommand(testInstance));
+        assertFalse(idempotentRequests.claimStartCommand(testInstance));
+
+        idempotentRequests.clearStartCommandPending(testInstance);
+        assertFalse(idempotentRequests.claimStartCommand(testInstance));
+
+        Mockito.verify(storage, Mockito.times(2)).claimStartCommand(testInstance.getProcessingInstanceId(), Duration.ofMillis(TEST_START_COMMAND_LEASE_MILLIS));
+        Mockito.verify(storage, Mockito.times(1)).clearStartCommandPending(testInstance.getProcessingInstanceId());
+    }
+
+    @Test
+    void start_command_claim_is_released_in_storage() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 10, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, new AtomicLong()::get);
+        var testInstance = createTestProcessingInstance(ContainerAutomatIdempotentRequests.toProcessingInstanceId(UUID.randomUUID().toString()), TEST_INPUT);
+
+        idempotentRequests.releaseStartCommand(testInstance);
+
+        Mockito.verify(storage, Mockito.times(1)).releaseStartCommand(testInstance.getProcessingInstanceId());
+    }
+
+    @Test
+    void unknown_idempotency_key_is_not_found() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 10, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, new AtomicLong()::get);
+        Mockito.when(storage.findProcessingInstance(Mockito.anyString())).thenReturn(Optional.empty());
+
+        assertTrue(idempotentRequests.findProcessingInstance(UUID.randomUUID().toString(), new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_DESCRIPTION)).isEmpty());
+        assertEquals(0, idempotentRequests.getCacheSize());
+    }
+
+    @Test
+    void reused_idempotency_key_with_different_input_fails() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 10, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, new AtomicLong()::get);
+        var testKey = UUID.randomUUID().toString();
+        var testInstance = createTestProcessingInstance(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testKey), TEST_INPUT);
+        Mockito.when(storage.findProcessingInstance(testInstance.getProcessingInstanceId())).thenReturn(Optional.of(testInstance));
+        var otherRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT + TEST_INPUT, TEST_DESCRIPTION);
+
+        assertThrows(IllegalArgumentException.class, () -> idempotentRequests.findProcessingInstance(testKey, otherRequest));
+    }
+
+    @Test
+    void cache_is_bounded() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var idempotentRequests = new ContainerAutomatIdempotentRequests(storage, 2, TEST_CACHE_TTL_MILLIS, TEST_START_COMMAND_LEASE_MILLIS, new AtomicLong()::get);
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_DESCRIPTION);
+        Mockito.when(storage.createProcessingInstance(Mockito.eq(testRequest), Mockito.anyString()))
+                .thenAnswer(invocation -> createTestProcessingInstance(invocation.getArgument(1), TEST_INPUT));
+
+        for (int i = 0; i < 5; i++) {
+            idempotentRequests.createProcessingInstance(UUID.randomUUID().toString(), testRequest);
+        }
+
+        assertEquals(2, idempotentRequests.getCacheSize());
+    }
+
+
+    private static ContainerAutomatProcessingInstance createTestProcessingInstance(String processingInstanceId, String input) {
+
+        var processingInstance = Mockito.mock(ContainerAutomatProcessingInstance.class);
+        Mockito.when(processingInstance.getProcessingInstanceId()).thenReturn(processingInstanceId);
+        Mockito.when(processingInstance.getInput()).thenReturn(input);
+        return processingInstance;
+    }
+
+}
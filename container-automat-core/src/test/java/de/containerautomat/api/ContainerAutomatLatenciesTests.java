@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatLatencies}
+ * for measuring the end-to-end latency of processing instances.
+ */
+class ContainerAutomatLatenciesTests {
+
+    @Data
+    @AllArgsConstructor
+    static class ProcessingInstanceImpl implements ContainerAutomatProcessingInstance {
+
+        private String processingInstanceId;
+        private Instant creationTime;
+        private String input;
+        private String description;
+    }
+
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_INPUT = "1010";
+    private static final long TEST_LATENCY_MILLIS = 250;
+
+
+    @Test
+    void latency_of_concluded_processing_instance_is_recorded() {
+
+        var latencies = new ContainerAutomatLatencies(10, 60000);
+        var registry = new SimpleMeterRegistry();
+        latencies.bindTo(registry);
+        var testInstance = createTestInstance();
+
+        latencies.track(List.of(testInstance));
+        latencies.handleEvent(createTestEvent(testInstance, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+
+        var timer = registry.get(ContainerAutomatLatencies.METRIC_NAME_LATENCY)
+                .tag(ContainerAutomatLatencies.METRIC_TAG_OUTCOME, "accepted")
+                .tag(ContainerAutomatLatencies.METRIC_TAG_INPUT_LENGTH, "0-10")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(TEST_LATENCY_MILLIS, timer.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, latencies.getTrackedCount());
+    }
+
+    @Test
+    void progress_events_do_not_conclude_tracking() {
+
+        var latencies = new ContainerAutomatLatencies(10, 60000);
+        var testInstance = createTestInstance();
+
+        latencies.track(List.of(testInstance));
+        latencies.handleEvent(createTestEvent(testInstance, EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS));
+
+        assertEquals(1, latencies.getTrackedCount());
+        assertTrue(latencies.getStatistics().getLatencies().isEmpty());
+    }
+
+    @Test
+    void statistics_contain_percentiles_per_outcome() {
+
+        var latencies = new ContainerAutomatLatencies(10, 60000);
+        var acceptedInstance = createTestInstance();
+        var failedInstance = createTestInstance();
+
+        latencies.track(List.of(acceptedInstance, failedInstance));
+        latencies.handleEvent(createTestEvent(acceptedInstance, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        latencies.handleEvent(createTestEvent(failedInstance, EventType.STATE_PROCESSING_ERROR));
+        latencies.handleEvent(createTestEvent(createTestInstance(), EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED));
+
+        var statistics = latencies.getStatistics();
+        assertEquals(0, statistics.getTrackedCount());
+        assertEquals(1, statistics.getUntrackedCount());
+        assertEquals(2, statistics.getLatencies().size());
+        var acceptedLatency = statistics.getLatencies().getFirst();
+        assertEquals("accepted", acceptedLatency.getOutcome());
+        assertEquals(1, acceptedLatency.getCount());
+        assertTrue(acceptedLatency.getP99Millis() > 0);
+        assertEquals("error", statistics.getLatencies().getLast().getOutcome());
+    }
+
+    @Test
+    void processing_instances_beyond_maximum_are_not_tracked() {
+
+        var latencies = new ContainerAutomatLatencies(1, 60000);
+
+        latencies.track(List.of(createTestInstance(), createTestInstance()));
+
+        assertEquals(1, latencies.getTrackedCount());
+    }
+
+    @Test
+    void input_lengths_are_assigned_to_decimal_buckets() {
+
+        assertEquals("0-10", ContainerAutomatLatencies.getInputLengthBucket(0));
+        assertEquals("11-100", ContainerAutomatLatencies.getInputLengthBucket(11));
+        assertEquals("1001-10000", ContainerAutomatLatencies.getInputLengthBucket(10000));
+        assertEquals("100001+", ContainerAutomatLatencies.getInputLengthBucket(1000000));
+        assertEquals(100001, ContainerAutomatLatencies.getInputLengthBucketMin("100001+"));
+    }
+
+    @Test
+    void latencies_creation_with_invalid_timeout_fails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatLatencies(10, 0));
+    }
+
+
+    private static ContainerAutomatProcessingInstance createTestInstance() {
+
+        return new ProcessingInstanceImpl(UUID.randomUUID().toString(), Instant.now(), TEST_INPUT, "");
+    }
+
+    private static ContainerAutomatEvent createTestEvent(ContainerAutomatProcessingInstance processingInstance, EventType eventType) {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(eventType)
+                .eventTime(processingInstance.getCreationTime().plusMillis(TEST_LATENCY_MILLIS))
+                .processingInstanceId(processingInstance.getProcessingInstanceId())
+                .processingInput(processingInstance.getInput())
+                .processingPosition(processingInstance.getInput().length())
+                .stateName(TEST_STATE_NAME)
+                .build();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A test suite for the class {@link ContainerAutomatNotificationController}
+ * for notifying clients about the processing of their requests.
+ */
+@ContextConfiguration(classes = ContainerAutomatCoreConfig.class)
+@TestPropertySource(properties = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true")
+@WebMvcTest(ContainerAutomatNotificationController.class)
+class ContainerAutomatNotificationControllerTests {
+
+    @MockBean
+    ContainerAutomatStorage storage;
+
+    @MockBean
+    ContainerAutomatMessaging messaging;
+
+    @MockBean
+    ContainerAutomatEventSubscriptions subscriptions;
+
+    @Autowired
+    MockMvc mockMvc;
+
+
+    @Test
+    void get_events_subscribes_to_given_processing_instances() {
+
+        var testIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        Mockito.when(subscriptions.subscribe(testIds)).thenReturn(new SseEmitter());
+
+        try {
+            mockMvc.perform(get(ContainerAutomatNotificationController.PATH_REQUESTS_EVENTS)
+                            .param(ContainerAutomatNotificationController.PARAMETER_IDS, testIds.toArray(String[]::new))
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+
+            Mockito.verify(subscriptions, Mockito.times(1)).subscribe(testIds);
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void get_events_without_ids_returns_error_details() {
+
+        Mockito.when(subscriptions.subscribe(List.of())).thenThrow(new IllegalArgumentException("No ids."));
+
+        try {
+            mockMvc.perform(get(ContainerAutomatNotificationController.PATH_REQUESTS_EVENTS)
+                            .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+}
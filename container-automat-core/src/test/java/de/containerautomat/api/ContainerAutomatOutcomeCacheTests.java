@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test suite for the class {@link ContainerAutomatOutcomeCache}
+ * for memoizing the outcome of the processing of inputs.
+ */
+class ContainerAutomatOutcomeCacheTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_INPUT = "1010";
+    private static final String TEST_OTHER_INPUT = "0101";
+    private static final String TEST_THIRD_INPUT = "1111";
+
+
+    @Test
+    void concluding_outcomes_are_memoized() {
+
+        var outcomeCache = new ContainerAutomatOutcomeCache(10, false, true);
+
+        outcomeCache.handleEvent(createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        outcomeCache.handleEvent(createTestEvent(TEST_OTHER_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED));
+
+        assertEquals(Optional.of(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED), outcomeCache.getOutcome(TEST_INPUT));
+        assertEquals(Optional.of(EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED), outcomeCache.getOutcome(TEST_OTHER_INPUT));
+        assertEquals(2, outcomeCache.getSize());
+    }
+
+    @Test
+    void progress_events_and_errors_are_not_memoized() {
+
+        var outcomeCache = new ContainerAutomatOutcomeCache(10, false, true);
+
+        outcomeCache.handleEvent(createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_START));
+        outcomeCache.handleEvent(createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS));
+        outcomeCache.handleEvent(createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_ERROR));
+
+        assertEquals(Optional.empty(), outcomeCache.getOutcome(TEST_INPUT));
+        assertEquals(0, outcomeCache.getSize());
+    }
+
+    @Test
+    void least_recently_used_outcome_is_evicted() {
+
+        var outcomeCache = new ContainerAutomatOutcomeCache(2, false, true);
+
+        outcomeCache.handleEvent(createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        outcomeCache.handleEvent(createTestEvent(TEST_OTHER_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED));
+        outcomeCache.getOutcome(TEST_INPUT);
+        outcomeCache.handleEvent(createTestEvent(TEST_THIRD_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+
+        assertEquals(2, outcomeCache.getSize());
+        assertEquals(Optional.empty(), outcomeCache.getOutcome(TEST_OTHER_INPUT));
+        assertEquals(Optional.of(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED), outcomeCache.getOutcome(TEST_INPUT));
+    }
+
+    @Test
+    void fast_answer_is_only_given_when_enabled() {
+
+        var disabledCache = new ContainerAutomatOutcomeCache(10, false, true);
+        var enabledCache = new ContainerAutomatOutcomeCache(10, true, true);
+        var testEvent = createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED);
+        disabledCache.handleEvent(testEvent);
+        enabledCache.handleEvent(testEvent);
+
+        assertEquals(Optional.empty(), disabledCache.getFastAnswer(TEST_INPUT));
+        assertEquals(Optional.of(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED), enabledCache.getFastAnswer(TEST_INPUT));
+        assertEquals(Optional.empty(), enabledCache.getFastAnswer(TEST_OTHER_INPUT));
+    }
+
+    @Test
+    void lookups_are_registered_as_metrics() {
+
+        var outcomeCache = new ContainerAutomatOutcomeCache(10, true, true);
+        var registry = new SimpleMeterRegistry();
+        outcomeCache.bindTo(registry);
+
+        outcomeCache.handleEvent(createTestEvent(TEST_INPUT, EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        outcomeCache.getFastAnswer(TEST_INPUT);
+        outcomeCache.getFastAnswer(TEST_INPUT);
+        outcomeCache.getFastAnswer(TEST_OTHER_INPUT);
+
+        assertEquals(1, registry.get(ContainerAutomatOutcomeCache.METRIC_NAME_PREFIX + "size").gauge().value());
+        assertEquals(2, registry.get(ContainerAutomatOutcomeCache.METRIC_NAME_PREFIX + "hits").functionCounter().count());
+        assertEquals(1, registry.get(ContainerAutomatOutcomeCache.METRIC_NAME_PREFIX + "misses").functionCounter().count());
+    }
+
+    @Test
+    void outcome_cache_creation_with_invalid_cache_size_fails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatOutcomeCache(-1, false, true));
+    }
+
+
+    private static ContainerAutomatEvent createTestEvent(String input, EventType eventType) {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(eventType)
+                .eventTime(Instant.now())
+                .processingInstanceId(UUID.randomUUID().toString())
+                .processingInput(input)
+                .processingPosition(0)
+                .stateName(TEST_STATE_NAME)
+                .build();
+    }
+
+}
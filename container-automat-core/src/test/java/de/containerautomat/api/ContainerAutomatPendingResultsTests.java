@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static de.containerautomat.api.ContainerAutomatTestEvents.createTestEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatPendingResults}
+ * for correlating waiting requests with the results of their processing.
+ */
+class ContainerAutomatPendingResultsTests {
+
+    private static final long TEST_MAX_WAIT_MILLIS = 60000;
+    private static final Duration TEST_WAIT = Duration.ofSeconds(5);
+
+
+    @Test
+    void concluding_event_completes_pending_result() {
+
+        var pendingResults = new ContainerAutomatPendingResults(TEST_MAX_WAIT_MILLIS, 10);
+        var processingInstance = createTestProcessingInstance();
+        var processingInstanceId = processingInstance.getProcessingInstanceId();
+
+        var deferredResult = pendingResults.register(processingInstance, TEST_WAIT);
+        pendingResults.handleEvent(createTestEvent(processingInstanceId, EventType.STATE_PROCESSING_START));
+        pendingResults.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED));
+        assertFalse(deferredResult.hasResult());
+
+        var concludingEvent = createTestEvent(processingInstanceId, EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED);
+        pendingResults.handleEvent(concludingEvent);
+
+        assertTrue(deferredResult.hasResult());
+        var response = (ResponseEntity<?>) deferredResult.getResult();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(concludingEvent, response.getBody());
+        assertEquals(0, pendingResults.getPendingCount());
+    }
+
+    @Test
+    void register_beyond_maximum_returns_accepted_immediately() {
+
+        var pendingResults = new ContainerAutomatPendingResults(TEST_MAX_WAIT_MILLIS, 1);
+        var processingInstance = createTestProcessingInstance();
+
+        assertFalse(pendingResults.register(createTestProcessingInstance(), TEST_WAIT).hasResult());
+        var deferredResult = pendingResults.register(processingInstance, TEST_WAIT);
+
+        assertTrue(deferredResult.hasResult());
+        var response = (ResponseEntity<?>) deferredResult.getResult();
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertSame(processingInstance, response.getBody());
+        assertEquals(1, pendingResults.getPendingCount());
+    }
+
+    @Test
+    void unregister_removes_pending_result() {
+
+        var pendingResults = new ContainerAutomatPendingResults(TEST_MAX_WAIT_MILLIS, 10);
+        var processingInstance = createTestProcessingInstance();
+
+        pendingResults.register(processingInstance, TEST_WAIT);
+        pendingResults.unregister(processingInstance.getProcessingInstanceId());
+
+        assertEquals(0, pendingResults.getPendingCount());
+    }
+
+    @Test
+    void concluding_event_completes_registered_future() {
+
+        var pendingResults = new ContainerAutomatPendingResults(TEST_MAX_WAIT_MILLIS, 1);
+        var processingInstanceId = UUID.randomUUID().toString();
+
+        var concludingEvent = pendingResults.register(processingInstanceId).orElseThrow();
+        assertTrue(pendingResults.register(UUID.randomUUID().toString()).isEmpty());
+        var testEvent = createTestEvent(processingInstanceId, EventType.STATE_PROCESSING_ERROR);
+        pendingResults.handleEvent(testEvent);
+
+        assertSame(testEvent, concludingEvent.getNow(null));
+        assertEquals(0, pendingResults.getPendingCount());
+    }
+
+    @Test
+    void wait_is_limited_to_maximum() {
+
+        var pendingResults = new ContainerAutomatPendingResults(TEST_MAX_WAIT_MILLIS, 10);
+
+        assertEquals(TEST_WAIT, pendingResults.limitWait(TEST_WAIT));
+        assertEquals(Duration.ofMillis(TEST_MAX_WAIT_MILLIS), pendingResults.limitWait(Duration.ofHours(1)));
+    }
+
+    @Test
+    void register_with_invalid_wait_fails() {
+
+        var pendingResults = new ContainerAutomatPendingResults(TEST_MAX_WAIT_MILLIS, 10);
+        var processingInstance = createTestProcessingInstance();
+
+        assertThrows(IllegalArgumentException.class, () -> pendingResults.register(processingInstance, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatPendingResults(0, 10));
+    }
+
+
+    private static ContainerAutomatProcessingInstance createTestProcessingInstance() {
+
+        var processingInstance = Mockito.mock(ContainerAutomatProcessingInstance.class);
+        Mockito.when(processingInstance.getProcessingInstanceId()).thenReturn(UUID.randomUUID().toString());
+        return processingInstance;
+    }
+
+}
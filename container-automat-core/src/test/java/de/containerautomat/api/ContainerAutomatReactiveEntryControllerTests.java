@@ -0,0 +1,520 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.api.ContainerAutomatEntryControllerTests.ProcessingInstanceImpl;
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.ContainerAutomatReactiveMessaging;
+import de.containerautomat.processing.ContainerAutomatReactiveStorage;
+import de.containerautomat.processing.ContainerAutomatRequest;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeRequest;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.reactivestreams.Subscription;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatReactiveEntryController}
+ * for receiving requests in an entry service that runs as a reactive web
+ * application.
+ */
+@ContextConfiguration(classes = ContainerAutomatCoreConfig.class)
+@TestPropertySource(properties = {
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true",
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_TRACING_EXPORTER + "=memory",
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_BATCH_MAX_SIZE + "=" + ContainerAutomatReactiveEntryControllerTests.TEST_BATCH_MAX_SIZE,
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_ENTRY_STREAM_CHUNK_SIZE + "=" + ContainerAutomatReactiveEntryControllerTests.TEST_STREAM_CHUNK_SIZE})
+@WebFluxTest(ContainerAutomatReactiveEntryController.class)
+class ContainerAutomatReactiveEntryControllerTests {
+
+    static final int TEST_BATCH_MAX_SIZE = 4;
+    static final int TEST_STREAM_CHUNK_SIZE = 2;
+
+
+    @MockBean
+    ContainerAutomatStorage storage;
+
+    @MockBean
+    ContainerAutomatMessaging messaging;
+
+    @MockBean
+    ContainerAutomatReactiveStorage reactiveStorage;
+
+    @MockBean
+    ContainerAutomatReactiveMessaging reactiveMessaging;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ContainerAutomatReactiveEntryController containerAutomatReactiveEntryController;
+
+    @Autowired
+    ContainerAutomatPendingResults pendingResults;
+
+    @Autowired
+    ContainerAutomatTracing tracing;
+
+    @SpyBean
+    ContainerAutomatAdmissionControl admissionControl;
+
+    @SpyBean
+    ContainerAutomatOutcomeCache outcomeCache;
+
+
+    @Test
+    void rest_controller_is_available() {
+
+        assertNotNull(containerAutomatReactiveEntryController);
+    }
+
+    @Test
+    void post_valid_request_returns_processing_instance_and_sends_start_command() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_valid_request_returns_processing_instance_and_sends_start_command")
+                .build();
+
+        Mockito.when(reactiveStorage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(Mono.just(testProcessingInstance));
+        Mockito.when(reactiveMessaging.sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class))).thenReturn(Mono.empty());
+
+        var resultObject = webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"0101\", \"description\": \"%s\"}".formatted(testProcessingInstance.getDescription()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProcessingInstanceImpl.class)
+                .returnResult().getResponseBody();
+
+        assertEquals(testProcessingInstance, resultObject);
+        var commandCaptor = ArgumentCaptor.forClass(ContainerAutomatCommand.class);
+        Mockito.verify(reactiveMessaging, Mockito.times(1)).sendContainerAutomatCommand(Mockito.anyString(), commandCaptor.capture());
+        assertEquals(testProcessingInstance.getProcessingInstanceId(), commandCaptor.getValue().getProcessingInstanceId());
+        Mockito.verifyNoInteractions(storage, messaging);
+    }
+
+    @Test
+    void post_invalid_request_returns_error_details() throws Exception {
+
+        var errorJson = webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        var errorJsonObject = assertDoesNotThrow(() -> new JSONObject(errorJson));
+        assertEquals(ContainerAutomatEntryController.PATH_REQUESTS, errorJsonObject.getString("instance"));
+        assertTrue(errorJsonObject.getString("detail").contains("input"));
+        Mockito.verifyNoInteractions(reactiveStorage, reactiveMessaging);
+    }
+
+    @Test
+    void post_request_sends_start_command_with_context_of_request_span() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_request_sends_start_command_with_context_of_request_span")
+                .build();
+        var sentTraceContext = new AtomicReference<ContainerAutomatTraceContext>();
+
+        Mockito.when(reactiveStorage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(Mono.just(testProcessingInstance));
+        Mockito.when(reactiveMessaging.sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class))).thenReturn(Mono.deferContextual(context -> {
+            sentTraceContext.set(context.get(ContainerAutomatReactiveMessaging.CONTEXT_KEY_TRACE_CONTEXT));
+            return Mono.empty();
+        }));
+
+        webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"0101\"}")
+                .exchange()
+                .expectStatus().isOk();
+
+        var requestSpan = tracing.getFinishedSpans().stream()
+                .filter(span -> testProcessingInstance.getProcessingInstanceId().equals(span.attributes().get(ContainerAutomatEntryController.SPAN_ATTRIBUTE_PROCESSING_INSTANCE_ID)))
+                .findFirst().orElseThrow();
+        assertEquals(ContainerAutomatEntryController.SPAN_NAME_REQUEST, requestSpan.name());
+        assertEquals(requestSpan.traceId(), sentTraceContext.get().traceId());
+        assertEquals(requestSpan.spanId(), sentTraceContext.get().spanId());
+    }
+
+    @Test
+    void post_request_with_wait_returns_concluding_event() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_request_with_wait_returns_concluding_event")
+                .build();
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)
+                .eventTime(Instant.now())
+                .processingInstanceId(testProcessingInstance.getProcessingInstanceId())
+                .processingInput(testProcessingInstance.getInput())
+                .processingPosition(testProcessingInstance.getInput().length())
+                .stateName("S1")
+                .build();
+
+        Mockito.when(reactiveStorage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(Mono.just(testProcessingInstance));
+        Mockito.when(reactiveMessaging.sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class)))
+                .thenReturn(Mono.fromRunnable(() -> pendingResults.handleEvent(testEvent)));
+
+        var resultJson = webTestClient.post().uri(uriBuilder -> uriBuilder.path(ContainerAutomatEntryController.PATH_REQUESTS)
+                        .queryParam(ContainerAutomatEntryController.PARAMETER_WAIT, "5s")
+                        .build())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"0101\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        var resultJsonNode = assertDoesNotThrow(() -> objectMapper.readTree(resultJson));
+        assertEquals(testEvent.getEventType().name(), resultJsonNode.get("eventType").asText());
+        assertEquals(testProcessingInstance.getProcessingInstanceId(), resultJsonNode.get("processingInstanceId").asText());
+        assertEquals(0, pendingResults.getPendingCount());
+    }
+
+    @Test
+    void post_request_with_wait_returns_processing_instance_after_timeout() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_request_with_wait_returns_processing_instance_after_timeout")
+                .build();
+
+        Mockito.when(reactiveStorage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(Mono.just(testProcessingInstance));
+        Mockito.when(reactiveMessaging.sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class))).thenReturn(Mono.empty());
+
+        var resultObject = webTestClient.post().uri(uriBuilder -> uriBuilder.path(ContainerAutomatEntryController.PATH_REQUESTS)
+                        .queryParam(ContainerAutomatEntryController.PARAMETER_WAIT, "50ms")
+                        .build())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"0101\"}")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody(ProcessingInstanceImpl.class)
+                .returnResult().getResponseBody();
+
+        assertEquals(testProcessingInstance, resultObject);
+        assertEquals(0, pendingResults.getPendingCount());
+    }
+
+    @Test
+    void post_retried_request_with_idempotency_key_returns_original_processing_instance() {
+
+        var testIdempotencyKey = UUID.randomUUID().toString();
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(ContainerAutomatIdempotentRequests.toProcessingInstanceId(testIdempotencyKey))
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_retried_request_with_idempotency_key_returns_original_processing_instance")
+                .build();
+
+        Mockito.when(storage.findProcessingInstance(testProcessingInstance.getProcessingInstanceId())).thenReturn(Optional.empty());
+        Mockito.when(storage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.eq(testProcessingInstance.getProcessingInstanceId())))
+                .thenReturn(testProcessingInstance);
+        Mockito.when(reactiveMessaging.sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class))).thenReturn(Mono.empty());
+
+        for (int i = 0; i < 2; i++) {
+            var resultObject = webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS)
+                    .header(ContainerAutomatIdempotentRequests.HEADER_IDEMPOTENCY_KEY, testIdempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"input\": \"0101\"}")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ProcessingInstanceImpl.class)
+                    .returnResult().getResponseBody();
+
+            assertEquals(testProcessingInstance, resultObject);
+        }
+
+        Mockito.verify(storage, Mockito.times(1)).createProcessingInstance(Mockito.any(ContainerAutomatRequest.class), Mockito.anyString());
+        Mockito.verify(storage, Mockito.times(1)).clearStartCommandPending(testProcessingInstance.getProcessingInstanceId());
+        Mockito.verify(reactiveMessaging, Mockito.times(1)).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+        Mockito.verifyNoInteractions(reactiveStorage);
+    }
+
+    @Test
+    void post_request_with_memoized_outcome_returns_fast_answer() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .creationTime(Instant.now())
+                .input("0101")
+                .description("post_request_with_memoized_outcome_returns_fast_answer")
+                .build();
+
+        Mockito.doReturn(Optional.of(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)).when(outcomeCache).getFastAnswer("0101");
+        Mockito.when(reactiveStorage.createProcessingInstance(Mockito.any(ContainerAutomatRequest.class))).thenReturn(Mono.just(testProcessingInstance));
+
+        var cachedOutcome = webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"0101\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ContainerAutomatCachedOutcome.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(cachedOutcome);
+        assertEquals(testProcessingInstance.getProcessingInstanceId(), cachedOutcome.getProcessingInstanceId());
+        assertEquals(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED, cachedOutcome.getOutcome());
+        assertTrue(cachedOutcome.isCached());
+        Mockito.verify(admissionControl, Mockito.never()).admit(Mockito.anyInt());
+        Mockito.verifyNoInteractions(reactiveMessaging);
+    }
+
+    @Test
+    void post_request_under_overload_returns_too_many_requests() {
+
+        Mockito.doThrow(new ContainerAutomatOverloadException("Overloaded.", 3)).when(admissionControl).admit(1);
+
+        webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"input\": \"0101\"}")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "3")
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON);
+
+        Mockito.verifyNoInteractions(reactiveStorage, reactiveMessaging);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void post_request_batch_as_ndjson_returns_processing_instance_ids() {
+
+        var testBatchNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                """;
+
+        stubCreateProcessingInstances();
+
+        var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_BATCH, testBatchNdjson);
+
+        var commandsCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(reactiveStorage, Mockito.times(1)).createProcessingInstances(Mockito.anyList());
+        Mockito.verify(reactiveMessaging, Mockito.times(1)).sendContainerAutomatCommands(Mockito.anyString(), commandsCaptor.capture());
+        var sentIds = ((List<ContainerAutomatCommand>) commandsCaptor.getValue()).stream().map(ContainerAutomatCommand::getProcessingInstanceId).toList();
+        var returnedIds = resultNdjson.lines()
+                .map(line -> assertDoesNotThrow(() -> objectMapper.readTree(line).get("processingInstanceId").asText()))
+                .toList();
+        assertEquals(3, returnedIds.size());
+        assertEquals(sentIds, returnedIds);
+    }
+
+    @Test
+    void post_request_batch_with_invalid_request_returns_error_details() throws Exception {
+
+        var testBatchNdjson = """
+                {"input": "0101", "description": "valid"}
+                {"input": "", "description": "invalid"}
+                """;
+
+        var errorJson = webTestClient.post().uri(ContainerAutomatEntryController.PATH_REQUESTS_BATCH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(testBatchNdjson)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        var errorJsonObject = assertDoesNotThrow(() -> new JSONObject(errorJson));
+        assertTrue(errorJsonObject.getString("detail").contains("index 1"));
+        Mockito.verifyNoInteractions(reactiveStorage, reactiveMessaging);
+    }
+
+    @Test
+    void post_request_stream_submits_requests_in_chunks() {
+
+        var testStreamNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                {"input": "1111", "description": "fourth"}
+                {"input": "1010", "description": "fifth"}
+                """;
+
+        stubCreateProcessingInstances();
+
+        var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_STREAM, testStreamNdjson);
+
+        Mockito.verify(reactiveStorage, Mockito.times(3)).createProcessingInstances(Mockito.anyList());
+        Mockito.verify(reactiveMessaging, Mockito.times(3)).sendContainerAutomatCommands(Mockito.anyString(), Mockito.anyList());
+        assertEquals(5, resultNdjson.lines().count());
+        assertTrue(resultNdjson.lines().allMatch(line -> line.contains("processingInstanceId")));
+    }
+
+    @Test
+    void post_request_stream_with_invalid_request_ends_with_error_line() throws Exception {
+
+        var testStreamNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                {"input": "", "description": "invalid"}
+                {"input": "1010", "description": "fifth"}
+                """;
+
+        stubCreateProcessingInstances();
+
+        var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_STREAM, testStreamNdjson);
+
+        Mockito.verify(reactiveStorage, Mockito.times(1)).createProcessingInstances(Mockito.anyList());
+        var resultLines = resultNdjson.lines().toList();
+        assertEquals(TEST_STREAM_CHUNK_SIZE + 1, resultLines.size());
+        var errorJsonNode = objectMapper.readTree(resultLines.getLast());
+        assertEquals(3, errorJsonNode.get("index").asInt());
+        assertTrue(errorJsonNode.get("error").asText().contains("input"));
+    }
+
+    @Test
+    void post_request_stream_under_overload_ends_with_error_line() throws Exception {
+
+        var testStreamNdjson = """
+                {"input": "0101", "description": "first"}
+                {"input": "1100", "description": "second"}
+                {"input": "0000", "description": "third"}
+                """;
+
+        stubCreateProcessingInstances();
+        Mockito.doCallRealMethod().doThrow(new ContainerAutomatOverloadException("Overloaded.", 3)).when(admissionControl).admit(Mockito.anyInt());
+
+        var resultNdjson = performStreamingPost(ContainerAutomatEntryController.PATH_REQUESTS_STREAM, testStreamNdjson);
+
+        Mockito.verify(reactiveStorage, Mockito.times(1)).createProcessingInstances(Mockito.anyList());
+        var resultLines = resultNdjson.lines().toList();
+        assertEquals(TEST_STREAM_CHUNK_SIZE + 1, resultLines.size());
+        var errorJsonNode = objectMapper.readTree(resultLines.getLast());
+        assertEquals(TEST_STREAM_CHUNK_SIZE, errorJsonNode.get("index").asInt());
+    }
+
+    @Test
+    void request_stream_whose_response_is_not_read_ends_with_error_line() throws Exception {
+
+        var testRequests = Flux.range(0, 10).map(i -> (ContainerAutomatRequest) new ContainerAutomatRuntimeRequest("0101", "request " + i));
+        var resultLines = new ArrayList<String>();
+        var responseSubscriber = new BaseSubscriber<String>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(String responseLines) {
+                resultLines.add(responseLines);
+            }
+        };
+
+        stubCreateProcessingInstances();
+
+        containerAutomatReactiveEntryController.processRequestStream(testRequests).subscribe(responseSubscriber);
+        responseSubscriber.requestUnbounded();
+
+        Mockito.verify(reactiveStorage, Mockito.times(3)).createProcessingInstances(Mockito.anyList());
+        assertTrue(responseSubscriber.isDisposed());
+        var errorJsonNode = objectMapper.readTree(resultLines.getLast());
+        assertEquals(3 * TEST_STREAM_CHUNK_SIZE, errorJsonNode.get("index").asInt());
+        assertTrue(errorJsonNode.get("error").asText().contains("not read"));
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private void stubCreateProcessingInstances() {
+
+        Mockito.when(reactiveStorage.createProcessingInstances(Mockito.anyList())).thenAnswer(invocation -> Flux.fromIterable((List<ContainerAutomatRequest>) invocation.getArgument(0))
+                .map(request -> (ContainerAutomatProcessingInstance) ProcessingInstanceImpl.builder()
+                        .processingInstanceId(UUID.randomUUID().toString())
+                        .creationTime(Instant.now())
+                        .input(request.getInput())
+                        .description(request.getDescription())
+                        .build()));
+        Mockito.when(reactiveMessaging.sendContainerAutomatCommands(Mockito.anyString(), Mockito.anyList())).thenReturn(Mono.empty());
+    }
+
+    private String performStreamingPost(String path, String content) {
+
+        return webTestClient.post().uri(path)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(content)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+    }
+
+}
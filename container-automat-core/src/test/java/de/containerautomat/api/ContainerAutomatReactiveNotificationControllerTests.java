@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.ContainerAutomatReactiveMessaging;
+import de.containerautomat.processing.ContainerAutomatReactiveStorage;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatReactiveNotificationController}
+ * for notifying clients about the processing of their requests in an entry
+ * service that runs as a reactive web application.
+ */
+@ContextConfiguration(classes = ContainerAutomatCoreConfig.class)
+@TestPropertySource(properties = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true")
+@WebFluxTest(ContainerAutomatReactiveNotificationController.class)
+class ContainerAutomatReactiveNotificationControllerTests {
+
+    @MockBean
+    ContainerAutomatStorage storage;
+
+    @MockBean
+    ContainerAutomatMessaging messaging;
+
+    @MockBean
+    ContainerAutomatReactiveStorage reactiveStorage;
+
+    @MockBean
+    ContainerAutomatReactiveMessaging reactiveMessaging;
+
+    @Autowired
+    ContainerAutomatEventSubscriptions subscriptions;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+
+    @Test
+    void get_events_streams_events_until_processing_instances_are_concluded() {
+
+        var testIds = new String[]{UUID.randomUUID().toString(), UUID.randomUUID().toString()};
+        for (String testId : testIds) {
+            subscriptions.handleEvent(ContainerAutomatRuntimeEvent.builder()
+                    .eventType(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)
+                    .eventTime(Instant.now())
+                    .processingInstanceId(testId)
+                    .processingInput("0101")
+                    .processingPosition(4)
+                    .stateName("S1")
+                    .build());
+        }
+
+        var resultEvents = webTestClient.get().uri(uriBuilder -> uriBuilder.path(ContainerAutomatNotificationController.PATH_REQUESTS_EVENTS)
+                        .queryParam(ContainerAutomatNotificationController.PARAMETER_IDS, (Object[]) testIds)
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(resultEvents);
+        assertEquals(2, resultEvents.lines().filter(line -> line.equals("event:" + EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)).count());
+        for (String testId : testIds) {
+            assertTrue(resultEvents.contains("id:" + testId));
+            assertEquals(0, subscriptions.getSubscriptionCount(testId));
+        }
+    }
+
+    @Test
+    void get_events_without_ids_returns_error_details() {
+
+        webTestClient.get().uri(ContainerAutomatNotificationController.PATH_REQUESTS_EVENTS)
+                .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_PROBLEM_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+}
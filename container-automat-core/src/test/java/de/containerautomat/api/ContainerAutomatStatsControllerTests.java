@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.ContainerAutomatStorage;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A test suite for the class {@link ContainerAutomatStatsController}
+ * for serving the statistics of the entry service.
+ */
+@ContextConfiguration(classes = ContainerAutomatCoreConfig.class)
+@TestPropertySource(properties = ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true")
+@WebMvcTest(ContainerAutomatStatsController.class)
+class ContainerAutomatStatsControllerTests {
+
+    @MockBean
+    ContainerAutomatStorage storage;
+
+    @MockBean
+    ContainerAutomatMessaging messaging;
+
+    @MockBean
+    ContainerAutomatLatencies latencies;
+
+    @MockBean
+    ContainerAutomatThroughput throughput;
+
+    @Autowired
+    MockMvc mockMvc;
+
+
+    @Test
+    void get_stats_returns_latency_statistics() {
+
+        var testLatency = ContainerAutomatLatencyStatistics.Latency.builder()
+                .outcome("accepted")
+                .inputLength("0-10")
+                .count(3)
+                .p99Millis(42)
+                .build();
+        Mockito.when(latencies.getStatistics()).thenReturn(ContainerAutomatLatencyStatistics.builder()
+                .trackedCount(2)
+                .untrackedCount(1)
+                .latencies(List.of(testLatency))
+                .build());
+
+        try {
+            mockMvc.perform(get(ContainerAutomatStatsController.PATH_STATS)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.trackedCount").value(2))
+                    .andExpect(jsonPath("$.untrackedCount").value(1))
+                    .andExpect(jsonPath("$.latencies[0].outcome").value("accepted"))
+                    .andExpect(jsonPath("$.latencies[0].p99Millis").value(42.0));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+    @Test
+    void get_throughput_stats_returns_throughput_statistics() {
+
+        var testWindow = ContainerAutomatThroughputStatistics.Window.builder()
+                .count(120)
+                .perSecond(2)
+                .errorRate(0.25)
+                .build();
+        Mockito.when(throughput.getStatistics()).thenReturn(ContainerAutomatThroughputStatistics.builder()
+                .states(Map.of("S1", Map.of("1m", testWindow)))
+                .transitions(Map.of())
+                .build());
+
+        try {
+            mockMvc.perform(get(ContainerAutomatStatsController.PATH_STATS_THROUGHPUT)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.states.S1.1m.count").value(120))
+                    .andExpect(jsonPath("$.states.S1.1m.perSecond").value(2.0))
+                    .andExpect(jsonPath("$.states.S1.1m.errorRate").value(0.25));
+
+        } catch (Exception e) {
+            fail("Unexpected Exception: %s".formatted(e.getMessage()), e);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+
+import java.time.Instant;
+
+/**
+ * A test fixture that creates the events received by the entry service
+ * for the test suites of the beans handling them.
+ */
+final class ContainerAutomatTestEvents {
+
+    static final String TEST_PROCESSING_INPUT = "1010";
+    static final String TEST_STATE_NAME = "S1";
+
+
+    private ContainerAutomatTestEvents() {
+    }
+
+    static ContainerAutomatEvent createTestEvent(String processingInstanceId, EventType eventType) {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(eventType)
+                .eventTime(Instant.now())
+                .processingInstanceId(processingInstanceId)
+                .processingInput(TEST_PROCESSING_INPUT)
+                .processingPosition(0)
+                .stateName(TEST_STATE_NAME)
+                .build();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.api;
+
+import de.containerautomat.automaton.DeterministicFiniteAutomaton;
+import de.containerautomat.automaton.StateTransition;
+import de.containerautomat.automaton.runtime.RuntimeStateTransition;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatThroughput}
+ * for aggregating the throughput per state and transition.
+ */
+class ContainerAutomatThroughputTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_SUBSEQUENT_STATE_NAME = "S2";
+    private static final String TEST_INPUT = "0";
+    private static final String TEST_TRANSITION_NAME = "S1 -0-> S2";
+    private static final long TEST_START_MILLIS = 1_000_000;
+    private static final long TEST_DURATION_MILLIS = 40;
+
+
+    @Test
+    void finished_commands_are_counted_per_state_and_transition() {
+
+        var currentTimeMillis = new AtomicLong(TEST_START_MILLIS);
+        var throughput = new ContainerAutomatThroughput(createTestAutomaton(), 10, currentTimeMillis::get);
+        var processingInstanceId = UUID.randomUUID().toString();
+
+        throughput.handleEvent(createTestEvent(processingInstanceId, EventType.STATE_PROCESSING_START, 0));
+        throughput.handleEvent(createTestEvent(processingInstanceId, EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS, TEST_DURATION_MILLIS));
+        throughput.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_ERROR, 0));
+        currentTimeMillis.addAndGet(1000);
+
+        var statistics = throughput.getStatistics();
+        var stateWindow = statistics.getStates().get(TEST_STATE_NAME).get("1s");
+        assertEquals(2, stateWindow.getCount());
+        assertEquals(2.0, stateWindow.getPerSecond());
+        assertEquals(0.5, stateWindow.getErrorRate());
+        assertEquals(TEST_DURATION_MILLIS, stateWindow.getAverageDurationMillis());
+        var transitionWindow = statistics.getTransitions().get(TEST_TRANSITION_NAME).get("1m");
+        assertEquals(2, transitionWindow.getCount());
+        assertEquals(2.0 / 60, transitionWindow.getPerSecond());
+        assertEquals(0, throughput.getPendingStartCount());
+    }
+
+    @Test
+    void counts_leave_the_windows_as_time_passes() {
+
+        var currentTimeMillis = new AtomicLong(TEST_START_MILLIS);
+        var throughput = new ContainerAutomatThroughput(createTestAutomaton(), 10, currentTimeMillis::get);
+
+        throughput.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS, 0));
+        currentTimeMillis.addAndGet(120_000);
+        var windows = throughput.getStatistics().getStates().get(TEST_STATE_NAME);
+        assertEquals(0, windows.get("1s").getCount());
+        assertEquals(0, windows.get("1m").getCount());
+        assertEquals(1, windows.get("5m").getCount());
+
+        currentTimeMillis.addAndGet(300_000);
+        throughput.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS, 0));
+        currentTimeMillis.addAndGet(1000);
+        assertEquals(1, throughput.getStatistics().getStates().get(TEST_STATE_NAME).get("5m").getCount());
+    }
+
+    @Test
+    void start_events_beyond_maximum_are_not_kept_and_aggregated_events_are_ignored() {
+
+        var throughput = new ContainerAutomatThroughput(createTestAutomaton(), 1, () -> TEST_START_MILLIS);
+
+        throughput.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_START, 0));
+        throughput.handleEvent(createTestEvent(UUID.randomUUID().toString(), EventType.STATE_PROCESSING_START, 0));
+        throughput.handleEvent(createTestEvent("", EventType.STATE_PROCESSING_EVENTS_AGGREGATED, 0));
+
+        assertEquals(1, throughput.getPendingStartCount());
+        assertTrue(throughput.getStatistics().getStates().isEmpty());
+    }
+
+    @Test
+    void throughput_creation_with_invalid_maximum_fails() {
+
+        var automaton = createTestAutomaton();
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatThroughput(automaton, -1));
+    }
+
+
+    private static DeterministicFiniteAutomaton createTestAutomaton() {
+
+        var automaton = Mockito.mock(DeterministicFiniteAutomaton.class);
+        Set<StateTransition> transitions = Set.of(new RuntimeStateTransition(TEST_STATE_NAME, TEST_INPUT, TEST_SUBSEQUENT_STATE_NAME, ""));
+        Mockito.when(automaton.getTransitions()).thenReturn(transitions);
+        return automaton;
+    }
+
+    private static ContainerAutomatEvent createTestEvent(String processingInstanceId, EventType eventType, long offsetMillis) {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(eventType)
+                .eventTime(Instant.ofEpochMilli(TEST_START_MILLIS + offsetMillis))
+                .processingInstanceId(processingInstanceId)
+                .processingInput(TEST_INPUT)
+                .processingPosition(0)
+                .stateName(TEST_STATE_NAME)
+                .build();
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.automaton.DeterministicFiniteAutomaton;
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
+import org.mockito.Mockito;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A benchmark that measures how fast commands are passed from the sending
+ * {@link ContainerAutomatMessaging} to the {@link ContainerAutomatCommandProcessor}
+ * of a state, in order to compare the shared memory transport with the
+ * message brokers.
+ * <p/>
+ * The benchmark is a plain program that is started with the Spring profile
+ * of the transport to be measured, e.g. <code>--spring.profiles.active=sharedmemory</code>
+ * or <code>--spring.profiles.active=kafka</code>. It starts the messaging and
+ * command processor beans of this profile as a state program without a
+ * database, in which a mock of {@link ContainerAutomatRuntimeProcessor} only
+ * records the arrival of each command. The message broker must be running
+ * and reachable with the connection settings of its properties file. Other
+ * programs of the application must not consume the commands of the state
+ * at the same time.
+ * <p/>
+ * Two phases are measured after a warm-up. In the throughput phase, all
+ * commands are sent as fast as possible, and the number of commands per second
+ * up to the arrival of the last command is reported together with the
+ * latencies, which are dominated by the time the commands wait in the queue.
+ * In the round trip phase, each command is only sent after the previous one
+ * has arrived, so that the latencies show the time of a single hop through
+ * an idle transport.
+ * <p/>
+ * The number of commands can be changed with the arguments
+ * <code>--containerautomat.benchmark.commands</code>,
+ * <code>--containerautomat.benchmark.round-trips</code> and
+ * <code>--containerautomat.benchmark.warmup-commands</code>, and the length
+ * of the input carried by each command with
+ * <code>--containerautomat.benchmark.input-length</code>. The state receiving
+ * the commands defaults to the start state of the DFA.
+ */
+public class ContainerAutomatCommandTransportBenchmark {
+
+    static final String PROPERTY_CONTAINERAUTOMAT_BENCHMARK_COMMANDS = "containerautomat.benchmark.commands";
+    static final String PROPERTY_CONTAINERAUTOMAT_BENCHMARK_ROUND_TRIPS = "containerautomat.benchmark.round-trips";
+    static final String PROPERTY_CONTAINERAUTOMAT_BENCHMARK_WARMUP_COMMANDS = "containerautomat.benchmark.warmup-commands";
+    static final String PROPERTY_CONTAINERAUTOMAT_BENCHMARK_INPUT_LENGTH = "containerautomat.benchmark.input-length";
+
+    private static final String DFA_RESOURCE_PATH = "/dfa.json";
+    private static final long RECEIVE_TIMEOUT_SECONDS = 60;
+
+
+    /**
+     * The commands of one phase of the benchmark together with the times
+     * at which they were sent and received.
+     */
+    record BenchmarkPhase(String processingInstanceIdPrefix, long[] sendNanos, long[] receiveNanos, Semaphore received) {
+
+        BenchmarkPhase(String name, int commands) {
+
+            this(name + "-" + UUID.randomUUID() + "-", new long[commands], new long[commands], new Semaphore(0));
+        }
+
+        void receiveCommand(ContainerAutomatCommand containerAutomatCommand) {
+
+            var processingInstanceId = containerAutomatCommand.getProcessingInstanceId();
+            if (processingInstanceId.startsWith(processingInstanceIdPrefix)) {
+                receiveNanos[Integer.parseInt(processingInstanceId, processingInstanceIdPrefix.length(), processingInstanceId.length(), 10)] = System.nanoTime();
+                received.release();
+            }
+        }
+
+        long[] sortedLatencyNanos() {
+
+            var latencyNanos = new long[sendNanos.length];
+            for (var i = 0; i < latencyNanos.length; i++) {
+                latencyNanos[i] = receiveNanos[i] - sendNanos[i];
+            }
+            Arrays.sort(latencyNanos);
+            return latencyNanos;
+        }
+
+        long durationNanos() {
+
+            return Arrays.stream(receiveNanos).max().orElseThrow() - sendNanos[0];
+        }
+
+    }
+
+    /**
+     * The Spring configuration of the benchmark, which only includes the beans
+     * for messaging and not those for storage and processing. It is not annotated
+     * with {@link org.springframework.context.annotation.Configuration}, so that the
+     * component scan of {@link ContainerAutomatCoreConfig} in the tests does not
+     * pick it up.
+     */
+    @EnableAutoConfiguration(excludeName = {
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration",
+            "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration"})
+    @ComponentScan(basePackages = "de.containerautomat.processing",
+            excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = ".*\\.processing\\.(runtime|mongodb|postgresql|redis)\\..*"))
+    static class BenchmarkConfig {
+
+        final AtomicReference<BenchmarkPhase> currentPhase = new AtomicReference<>();
+
+
+        @Bean
+        public Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder() {
+
+            return new ContainerAutomatCoreConfig().jackson2ObjectMapperBuilder();
+        }
+
+        @Bean
+        public DeterministicFiniteAutomaton deterministicFiniteAutomaton(ObjectMapper objectMapper) {
+
+            return new ContainerAutomatCoreConfig().deterministicFiniteAutomaton(DFA_RESOURCE_PATH, objectMapper);
+        }
+
+        @Bean
+        public ContainerAutomatWorkSimulator containerAutomatWorkSimulator() {
+
+            return new ContainerAutomatWorkSimulator(0, 0);
+        }
+
+        @Bean
+        public ContainerAutomatRuntimeProcessor containerAutomatRuntimeProcessor() {
+
+            return Mockito.mock(ContainerAutomatRuntimeProcessor.class, invocation -> {
+                var phase = currentPhase.get();
+                if (phase != null && "processCommand".equals(invocation.getMethod().getName())) {
+                    phase.receiveCommand(invocation.getArgument(0));
+                }
+                return null;
+            });
+        }
+
+    }
+
+
+    public static void main(String[] args) throws Exception {
+
+        var stateName = new ContainerAutomatCoreConfig().deterministicFiniteAutomaton(DFA_RESOURCE_PATH, new ObjectMapper()).getStartState();
+        var sharedMemoryDirectory = Files.createTempDirectory("container-automat-benchmark");
+        var defaultProperties = new HashMap<String, Object>();
+        defaultProperties.put(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE, "true");
+        defaultProperties.put(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME, stateName);
+        defaultProperties.put("containerautomat.sharedmemory.directory", sharedMemoryDirectory.toString());
+        defaultProperties.put("spring.kafka.consumer.group-id", "ContainerAutomatBenchmark");
+        defaultProperties.put("spring.kafka.consumer.auto-offset-reset", "earliest");
+        defaultProperties.put("spring.kafka.consumer.key-deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        defaultProperties.put("spring.kafka.consumer.value-deserializer", "org.springframework.kafka.support.serializer.JsonDeserializer");
+        defaultProperties.put("spring.kafka.consumer.properties.spring.json.trusted.packages", "*");
+        defaultProperties.put("spring.kafka.producer.key-serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        defaultProperties.put("spring.kafka.producer.value-serializer", "org.springframework.kafka.support.serializer.JsonSerializer");
+
+        try (var context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaultProperties)
+                .run(args)) {
+
+            var environment = context.getEnvironment();
+            var benchmarkConfig = context.getBean(BenchmarkConfig.class);
+            var messaging = context.getBean(ContainerAutomatMessaging.class);
+            var targetState = environment.getRequiredProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME);
+            var input = "0".repeat(environment.getProperty(PROPERTY_CONTAINERAUTOMAT_BENCHMARK_INPUT_LENGTH, Integer.class, 16));
+            var transport = String.join(",", environment.getActiveProfiles());
+
+            runThroughputPhase(benchmarkConfig, messaging, targetState, input, new BenchmarkPhase("warmup", getCount(environment, PROPERTY_CONTAINERAUTOMAT_BENCHMARK_WARMUP_COMMANDS, 10000)));
+            var throughputPhase = runThroughputPhase(benchmarkConfig, messaging, targetState, input, new BenchmarkPhase("throughput", getCount(environment, PROPERTY_CONTAINERAUTOMAT_BENCHMARK_COMMANDS, 100000)));
+            var roundTripPhase = runRoundTripPhase(benchmarkConfig, messaging, targetState, input, new BenchmarkPhase("roundtrip", getCount(environment, PROPERTY_CONTAINERAUTOMAT_BENCHMARK_ROUND_TRIPS, 10000)));
+
+            var throughputCommands = throughputPhase.sendNanos().length;
+            System.out.printf("%s throughput: %d commands in %d ms = %d commands/s, %s%n", transport, throughputCommands,
+                    TimeUnit.NANOSECONDS.toMillis(throughputPhase.durationNanos()), throughputCommands * TimeUnit.SECONDS.toNanos(1) / throughputPhase.durationNanos(),
+                    formatLatencies(throughputPhase.sortedLatencyNanos()));
+            System.out.printf("%s round trips: %d commands, %s%n", transport, roundTripPhase.sendNanos().length, formatLatencies(roundTripPhase.sortedLatencyNanos()));
+        } finally {
+            FileSystemUtils.deleteRecursively(sharedMemoryDirectory);
+        }
+    }
+
+    static BenchmarkPhase runThroughputPhase(BenchmarkConfig benchmarkConfig, ContainerAutomatMessaging messaging, String targetState, String input, BenchmarkPhase phase) throws InterruptedException {
+
+        benchmarkConfig.currentPhase.set(phase);
+        for (var i = 0; i < phase.sendNanos().length; i++) {
+            phase.sendNanos()[i] = System.nanoTime();
+            messaging.sendContainerAutomatCommand(targetState, new ContainerAutomatRuntimeCommand(phase.processingInstanceIdPrefix() + i, input, 0));
+        }
+        awaitCommands(phase, phase.sendNanos().length);
+        return phase;
+    }
+
+    static BenchmarkPhase runRoundTripPhase(BenchmarkConfig benchmarkConfig, ContainerAutomatMessaging messaging, String targetState, String input, BenchmarkPhase phase) throws InterruptedException {
+
+        benchmarkConfig.currentPhase.set(phase);
+        for (var i = 0; i < phase.sendNanos().length; i++) {
+            phase.sendNanos()[i] = System.nanoTime();
+            messaging.sendContainerAutomatCommand(targetState, new ContainerAutomatRuntimeCommand(phase.processingInstanceIdPrefix() + i, input, 0));
+            awaitCommands(phase, 1);
+        }
+        return phase;
+    }
+
+    private static void awaitCommands(BenchmarkPhase phase, int commands) throws InterruptedException {
+
+        if (!phase.received().tryAcquire(commands, RECEIVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Not all commands of the phase %s were received within %d seconds.".formatted(phase.processingInstanceIdPrefix(), RECEIVE_TIMEOUT_SECONDS));
+        }
+    }
+
+    private static int getCount(Environment environment, String propertyName, int defaultValue) {
+
+        return environment.getProperty(propertyName, Integer.class, defaultValue);
+    }
+
+    private static String formatLatencies(long[] sortedLatencyNanos) {
+
+        return "latency p50 = %d us, p99 = %d us, max = %d us".formatted(
+                TimeUnit.NANOSECONDS.toMicros(sortedLatencyNanos[sortedLatencyNanos.length / 2]),
+                TimeUnit.NANOSECONDS.toMicros(sortedLatencyNanos[(int) (sortedLatencyNanos.length * 0.99)]),
+                TimeUnit.NANOSECONDS.toMicros(sortedLatencyNanos[sortedLatencyNanos.length - 1]));
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.artemis;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * A test suite for testing the method in {@link ArtemisContainerAutomatCommandBacklog}
+ * that queries the backlog of a state.
+ * <p/>
+ * Note: These tests are rudimentary, as no integration tests for the messaging
+ * and broker components are included at this level.
+ */
+class ArtemisContainerAutomatCommandBacklogTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+
+
+    @Test
+    void command_backlog_is_requested_from_management_address() {
+
+        var managementJmsTemplate = Mockito.mock(JmsTemplate.class);
+        var commandBacklog = new ArtemisContainerAutomatCommandBacklog(managementJmsTemplate);
+
+        assertThrows(IllegalStateException.class, () -> commandBacklog.getCommandBacklog(TEST_STATE_NAME));
+
+        Mockito.verify(managementJmsTemplate, Mockito.times(1)).sendAndReceive(eq(ArtemisContainerAutomatCommandBacklog.MANAGEMENT_ADDRESS), any(MessageCreator.class));
+        assertEquals(ArtemisContainerAutomatCommandBacklog.BROKER_NAME, commandBacklog.getBrokerName());
+    }
+
+}
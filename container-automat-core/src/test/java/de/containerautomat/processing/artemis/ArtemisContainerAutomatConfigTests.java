@@ -19,10 +19,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.DeliveryMode;
+import jakarta.jms.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -30,8 +32,10 @@ import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFac
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.ApplicationContext;
+import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.config.JmsListenerContainerFactory;
 import org.springframework.jms.config.JmsListenerEndpointRegistry;
+import org.springframework.jms.config.SimpleJmsListenerEndpoint;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.test.context.ActiveProfiles;
@@ -56,7 +60,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @ContextConfiguration(classes = ArtemisContainerAutomatConfig.class)
 @TestPropertySource(properties = {
         ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true",
-        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE + "=true"
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE + "=true",
+        ArtemisContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_ARTEMIS_COMMANDS_CONCURRENCY + "=2-4",
+        ArtemisContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_ARTEMIS_COMMANDS_ACKNOWLEDGE_MODE + "=dups_ok"
 })
 class ArtemisContainerAutomatConfigTests {
 
@@ -78,6 +84,9 @@ class ArtemisContainerAutomatConfigTests {
     @MockBean
     ContainerAutomatWorkSimulator containerAutomatWorkSimulator;
 
+    @MockBean
+    ContainerAutomatLogging containerAutomatLogging;
+
 
     @Autowired
     ApplicationContext applicationContext;
@@ -89,6 +98,10 @@ class ArtemisContainerAutomatConfigTests {
     @Qualifier("commandQueueJmsTemplate")
     JmsTemplate commandQueueJmsTemplate;
 
+    @Autowired
+    @Qualifier("commandBatchJmsTemplate")
+    JmsTemplate commandBatchJmsTemplate;
+
     @Autowired
     @Qualifier("eventTopicJmsTemplate")
     JmsTemplate eventTopicJmsTemplate;
@@ -123,6 +136,15 @@ class ArtemisContainerAutomatConfigTests {
         assertNotNull(commandQueueJmsTemplate);
         assertFalse(commandQueueJmsTemplate.isPubSubDomain());
         assertEquals(DeliveryMode.PERSISTENT, commandQueueJmsTemplate.getDeliveryMode());
+        assertFalse(commandQueueJmsTemplate.isSessionTransacted());
+    }
+
+    @Test
+    void command_batch_jms_template_bean_is_available() {
+        assertNotNull(commandBatchJmsTemplate);
+        assertFalse(commandBatchJmsTemplate.isPubSubDomain());
+        assertEquals(DeliveryMode.PERSISTENT, commandBatchJmsTemplate.getDeliveryMode());
+        assertTrue(commandBatchJmsTemplate.isSessionTransacted());
     }
 
     @Test
@@ -142,6 +164,26 @@ class ArtemisContainerAutomatConfigTests {
         assertNotNull(topicJmsListenerContainerFactory);
     }
 
+    @Test
+    void queue_jms_listener_container_factory_applies_concurrency_and_acknowledge_mode() {
+
+        var container = ((DefaultJmsListenerContainerFactory) queueJmsListenerContainerFactory).createListenerContainer(createTestEndpoint());
+
+        assertEquals(2, container.getConcurrentConsumers());
+        assertEquals(4, container.getMaxConcurrentConsumers());
+        assertEquals(Session.DUPS_OK_ACKNOWLEDGE, container.getSessionAcknowledgeMode());
+        assertFalse(container.isSessionTransacted());
+    }
+
+    @Test
+    void topic_jms_listener_container_factory_uses_single_consumer_and_transacted_session() {
+
+        var container = ((DefaultJmsListenerContainerFactory) topicJmsListenerContainerFactory).createListenerContainer(createTestEndpoint());
+
+        assertEquals(1, container.getMaxConcurrentConsumers());
+        assertTrue(container.isSessionTransacted());
+    }
+
     @Test
     void containerautomat_command_processor_bean_is_available() {
         assertNotNull(containerAutomatCommandProcessor);
@@ -152,4 +194,14 @@ class ArtemisContainerAutomatConfigTests {
         assertNotNull(containerAutomatEventListener);
     }
 
-}
\ No newline at end of file
+    private static SimpleJmsListenerEndpoint createTestEndpoint() {
+
+        var endpoint = new SimpleJmsListenerEndpoint();
+        endpoint.setId("test");
+        endpoint.setDestination(ArtemisContainerAutomatConfig.EVENTS_TOPIC);
+        endpoint.setMessageListener(message -> {
+        });
+        return endpoint;
+    }
+
+}
@@ -18,19 +18,33 @@ package de.containerautomat.processing.artemis;
 import de.containerautomat.processing.ContainerAutomatEvent;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEventBatch;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.jms.core.SessionCallback;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.eq;
 
 /**
  * A test suite for testing the methods in {@link ArtemisContainerAutomatMessaging}
@@ -49,12 +63,18 @@ class ArtemisContainerAutomatMessagingTests {
     private static final int TEST_PROCESSING_POSITION = 1;
     private static final String TEST_STATE_NAME = "S1";
     private static final String TEST_EVENT_DESCRIPTION = "Test event for ContainerAutomatRuntimeProcessor.";
+    private static final String TEST_SERVICE_NAME = "Test ContainerAutomat State";
+    private static final String TEST_SPAN_NAME = "test.span";
 
 
     @MockBean
     @Qualifier("commandQueueJmsTemplate")
     JmsTemplate commandQueueJmsTemplate;
 
+    @MockBean
+    @Qualifier("commandBatchJmsTemplate")
+    JmsTemplate commandBatchJmsTemplate;
+
     @MockBean
     @Qualifier("eventTopicJmsTemplate")
     JmsTemplate eventTopicJmsTemplate;
@@ -84,6 +104,65 @@ class ArtemisContainerAutomatMessagingTests {
         Mockito.verify(commandQueueJmsTemplate, Mockito.times(1)).convertAndSend(ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + TEST_STATE_NAME, testCommand);
     }
 
+    @Test
+    void send_containerautomat_command_in_span_sets_traceparent_property() throws Exception {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        var traceparent = tracing.inSpan(TEST_SPAN_NAME, () -> {
+            artemisContainerAutomatMessaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand);
+            return ContainerAutomatTraceContext.currentTraceparent().orElseThrow();
+        });
+
+        var postProcessorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        Mockito.verify(commandQueueJmsTemplate, Mockito.times(1)).convertAndSend(eq(ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + TEST_STATE_NAME), eq(testCommand), postProcessorCaptor.capture());
+        var message = Mockito.mock(TextMessage.class);
+        postProcessorCaptor.getValue().postProcessMessage(message);
+        Mockito.verify(message, Mockito.times(1)).setStringProperty(ContainerAutomatTraceContext.HEADER_TRACEPARENT, traceparent);
+    }
+
+    @Test
+    void send_containerautomat_commands_uses_one_transacted_session() throws Exception {
+
+        var testCommands = List.of(
+                ContainerAutomatRuntimeCommand.builder()
+                        .processingInstanceId(UUID.randomUUID().toString())
+                        .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                        .processingPosition(0)
+                        .build(),
+                ContainerAutomatRuntimeCommand.builder()
+                        .processingInstanceId(UUID.randomUUID().toString())
+                        .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                        .processingPosition(0)
+                        .build());
+        var session = Mockito.mock(Session.class);
+        var queue = Mockito.mock(Queue.class);
+        var producer = Mockito.mock(MessageProducer.class);
+        var message = Mockito.mock(TextMessage.class);
+        var messageConverter = Mockito.mock(MessageConverter.class);
+
+        Mockito.when(session.getTransacted()).thenReturn(true);
+        Mockito.when(session.createQueue(ArtemisContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + TEST_STATE_NAME)).thenReturn(queue);
+        Mockito.when(session.createProducer(queue)).thenReturn(producer);
+        Mockito.when(messageConverter.toMessage(Mockito.any(), Mockito.eq(session))).thenReturn(message);
+        Mockito.when(commandBatchJmsTemplate.getDestinationResolver()).thenReturn(new DynamicDestinationResolver());
+        Mockito.when(commandBatchJmsTemplate.getMessageConverter()).thenReturn(messageConverter);
+        Mockito.when(commandBatchJmsTemplate.execute(Mockito.<SessionCallback<Object>>any()))
+                .thenAnswer(invocation -> invocation.<SessionCallback<Object>>getArgument(0).doInJms(session));
+
+        artemisContainerAutomatMessaging.sendContainerAutomatCommands(TEST_STATE_NAME, testCommands);
+
+        Mockito.verify(producer, Mockito.times(2)).send(message);
+        Mockito.verify(session, Mockito.times(1)).commit();
+        Mockito.verify(producer, Mockito.times(1)).close();
+        Mockito.verify(commandQueueJmsTemplate, Mockito.never()).convertAndSend(Mockito.anyString(), Mockito.any(Object.class));
+    }
+
     @Test
     void send_containerautomat_event_calls_event_topic_jms_template() {
 
@@ -102,4 +181,25 @@ class ArtemisContainerAutomatMessagingTests {
         Mockito.verify(eventTopicJmsTemplate, Mockito.times(1)).convertAndSend(ArtemisContainerAutomatConfig.EVENTS_TOPIC, testEvent);
     }
 
+    @Test
+    void send_containerautomat_event_batch_calls_event_topic_jms_template() {
+
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
+                .eventTime(Instant.now())
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .stateName(TEST_STATE_NAME)
+                .description(TEST_EVENT_DESCRIPTION)
+                .build();
+        var testEventBatch = ContainerAutomatRuntimeEventBatch.builder()
+                .events(List.of(testEvent))
+                .build();
+
+        artemisContainerAutomatMessaging.sendContainerAutomatEventBatch(testEventBatch);
+
+        Mockito.verify(eventTopicJmsTemplate, Mockito.times(1)).convertAndSend(ArtemisContainerAutomatConfig.EVENTS_TOPIC, testEventBatch);
+    }
+
 }
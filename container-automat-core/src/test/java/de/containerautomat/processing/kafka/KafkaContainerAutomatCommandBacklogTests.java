@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.kafka;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+
+/**
+ * A test suite for testing the method in {@link KafkaContainerAutomatCommandBacklog}
+ * that queries the backlog of a state.
+ * <p/>
+ * Note: These tests are rudimentary, as no integration tests for the messaging
+ * and broker components are included at this level.
+ */
+class KafkaContainerAutomatCommandBacklogTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_GROUP_ID = "ContainerAutomatCommandsS1";
+    private static final String TEST_TOPIC = KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + TEST_STATE_NAME;
+
+
+    @Test
+    void command_backlog_is_consumer_lag_over_all_partitions_from_earliest_offset_if_uncommitted() {
+
+        var admin = createAdmin(Map.of(new TopicPartition(TEST_TOPIC, 0), new OffsetAndMetadata(90)));
+        var commandBacklog = new KafkaContainerAutomatCommandBacklog(admin, TEST_GROUP_ID, "earliest");
+
+        assertEquals(10L + 30L, commandBacklog.getCommandBacklog(TEST_STATE_NAME));
+        assertEquals(KafkaContainerAutomatCommandBacklog.BROKER_NAME, commandBacklog.getBrokerName());
+    }
+
+    @Test
+    void command_backlog_skips_uncommitted_partitions_if_offset_reset_is_latest() {
+
+        var admin = createAdmin(Map.of(new TopicPartition(TEST_TOPIC, 0), new OffsetAndMetadata(90)));
+        var commandBacklog = new KafkaContainerAutomatCommandBacklog(admin, TEST_GROUP_ID, KafkaContainerAutomatCommandBacklog.AUTO_OFFSET_RESET_LATEST);
+
+        assertEquals(10L, commandBacklog.getCommandBacklog(TEST_STATE_NAME));
+    }
+
+    @Test
+    void command_backlog_fails_if_admin_request_fails() {
+
+        var admin = Mockito.mock(Admin.class);
+        var describeTopicsResult = Mockito.mock(DescribeTopicsResult.class);
+        Mockito.when(admin.describeTopics(anyCollection())).thenReturn(describeTopicsResult);
+        Mockito.when(describeTopicsResult.allTopicNames()).thenReturn(KafkaFuture.completedFuture(Map.<String, TopicDescription>of()).thenApply(topics -> {
+            throw new IllegalStateException("Topic not found.");
+        }));
+        var commandBacklog = new KafkaContainerAutomatCommandBacklog(admin, TEST_GROUP_ID, KafkaContainerAutomatCommandBacklog.AUTO_OFFSET_RESET_LATEST);
+
+        assertThrows(IllegalStateException.class, () -> commandBacklog.getCommandBacklog(TEST_STATE_NAME));
+    }
+
+
+    private static Admin createAdmin(Map<TopicPartition, OffsetAndMetadata> committedOffsets) {
+
+        var node = new Node(1, "localhost", 9092);
+        var topicDescription = new TopicDescription(TEST_TOPIC, false, List.of(
+                new TopicPartitionInfo(0, node, List.of(node), List.of(node)),
+                new TopicPartitionInfo(1, node, List.of(node), List.of(node))));
+        var describeTopicsResult = Mockito.mock(DescribeTopicsResult.class);
+        Mockito.when(describeTopicsResult.allTopicNames()).thenReturn(KafkaFuture.completedFuture(Map.of(TEST_TOPIC, topicDescription)));
+
+        var latestOffsetsResult = Mockito.mock(ListOffsetsResult.class);
+        Mockito.when(latestOffsetsResult.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                new TopicPartition(TEST_TOPIC, 0), new ListOffsetsResult.ListOffsetsResultInfo(100, -1, Optional.empty()),
+                new TopicPartition(TEST_TOPIC, 1), new ListOffsetsResult.ListOffsetsResultInfo(50, -1, Optional.empty()))));
+        var earliestOffsetsResult = Mockito.mock(ListOffsetsResult.class);
+        Mockito.when(earliestOffsetsResult.all()).thenReturn(KafkaFuture.completedFuture(Map.of(
+                new TopicPartition(TEST_TOPIC, 1), new ListOffsetsResult.ListOffsetsResultInfo(20, -1, Optional.empty()))));
+
+        var listConsumerGroupOffsetsResult = Mockito.mock(ListConsumerGroupOffsetsResult.class);
+        Mockito.when(listConsumerGroupOffsetsResult.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(committedOffsets));
+
+        var admin = Mockito.mock(Admin.class);
+        Mockito.when(admin.describeTopics(anyCollection())).thenReturn(describeTopicsResult);
+        Mockito.when(admin.listOffsets(anyMap())).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> offsetSpecs = invocation.getArgument(0);
+            return offsetSpecs.values().stream().allMatch(OffsetSpec.EarliestSpec.class::isInstance) ? earliestOffsetsResult : latestOffsetsResult;
+        });
+        Mockito.when(admin.listConsumerGroupOffsets(TEST_GROUP_ID)).thenReturn(listConsumerGroupOffsetsResult);
+        return admin;
+    }
+
+}
@@ -26,6 +26,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -33,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 /**
  * A test suite for testing the method in {@link KafkaContainerAutomatCommandProcessor}
@@ -49,6 +51,7 @@ class KafkaContainerAutomatCommandProcessorTests {
     private static final String TEST_PROCESSING_INSTANCE_ID = UUID.randomUUID().toString();
     private static final String TEST_ACCEPTED_PROCESSING_INPUT = "1010";
     private static final int TEST_PROCESSING_POSITION = 1;
+    private static final String TEST_TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
 
 
     @MockBean
@@ -80,7 +83,21 @@ class KafkaContainerAutomatCommandProcessorTests {
 
         containerAutomatCommandProcessor.processCommand(testCommand);
 
-        Mockito.verify(containerAutomatRuntimeProcessor, Mockito.times(1)).processCommand(eq(testCommand), any(Function.class));
+        Mockito.verify(containerAutomatRuntimeProcessor, Mockito.times(1)).processCommand(eq(testCommand), isNull(), any(Function.class));
+    }
+
+    @Test
+    void receive_command_passes_traceparent_to_containerautomat_runtime_processor() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+
+        ((KafkaContainerAutomatCommandProcessor) containerAutomatCommandProcessor).receiveCommand(testCommand, TEST_TRACEPARENT.getBytes(StandardCharsets.UTF_8));
+
+        Mockito.verify(containerAutomatRuntimeProcessor, Mockito.times(1)).processCommand(eq(testCommand), eq(TEST_TRACEPARENT), any(Function.class));
     }
 
 }
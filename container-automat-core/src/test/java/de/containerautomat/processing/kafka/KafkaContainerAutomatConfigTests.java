@@ -18,6 +18,7 @@ package de.containerautomat.processing.kafka;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import org.apache.kafka.clients.admin.NewTopic;
@@ -48,7 +49,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 @TestPropertySource(properties = {
         ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true",
         ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE + "=true",
-        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + "=S1"
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + "=S1",
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_KAFKA_COMMAND_TOPIC_PARTITIONS + "=3"
 })
 class KafkaContainerAutomatConfigTests {
 
@@ -58,6 +60,9 @@ class KafkaContainerAutomatConfigTests {
     @MockBean
     ContainerAutomatWorkSimulator containerAutomatWorkSimulator;
 
+    @MockBean
+    ContainerAutomatLogging containerAutomatLogging;
+
 
     @Autowired
     ApplicationContext applicationContext;
@@ -86,6 +91,7 @@ class KafkaContainerAutomatConfigTests {
     void state_topic_bean_is_available() {
         assertNotNull(stateTopic);
         assertEquals(KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + "S1", stateTopic.name());
+        assertEquals(3, stateTopic.numPartitions());
     }
 
     @Test
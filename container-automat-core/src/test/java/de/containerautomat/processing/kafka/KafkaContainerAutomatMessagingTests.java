@@ -18,7 +18,12 @@ package de.containerautomat.processing.kafka;
 import de.containerautomat.processing.ContainerAutomatEvent;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEventBatch;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,10 +31,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 /**
  * A test suite for testing the methods in {@link KafkaContainerAutomatMessaging}
@@ -48,6 +58,8 @@ class KafkaContainerAutomatMessagingTests {
     private static final int TEST_PROCESSING_POSITION = 1;
     private static final String TEST_STATE_NAME = "S1";
     private static final String TEST_EVENT_DESCRIPTION = "Test event for ContainerAutomatRuntimeProcessor.";
+    private static final String TEST_SERVICE_NAME = "Test ContainerAutomat State";
+    private static final String TEST_SPAN_NAME = "test.span";
 
 
     @MockBean
@@ -78,6 +90,29 @@ class KafkaContainerAutomatMessagingTests {
         Mockito.verify(kafkaTemplate, Mockito.times(1)).send(KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + TEST_STATE_NAME, TEST_PROCESSING_INSTANCE_ID, testCommand);
     }
 
+    @Test
+    void send_containerautomat_command_in_span_adds_traceparent_header() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        var traceparent = tracing.inSpan(TEST_SPAN_NAME, () -> {
+            kafkaContainerAutomatMessaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand);
+            return ContainerAutomatTraceContext.currentTraceparent().orElseThrow();
+        });
+
+        var recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(kafkaTemplate, Mockito.times(1)).send(recordCaptor.capture());
+        var producerRecord = (ProducerRecord<?, ?>) recordCaptor.getValue();
+        assertEquals(KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + TEST_STATE_NAME, producerRecord.topic());
+        assertEquals(testCommand, producerRecord.value());
+        assertEquals(traceparent, new String(producerRecord.headers().lastHeader(ContainerAutomatTraceContext.HEADER_TRACEPARENT).value(), StandardCharsets.UTF_8));
+    }
+
     @Test
     void send_containerautomat_event_calls_event_topic_jms_template() {
 
@@ -96,4 +131,25 @@ class KafkaContainerAutomatMessagingTests {
         Mockito.verify(kafkaTemplate, Mockito.times(1)).send(KafkaContainerAutomatConfig.EVENTS_TOPIC_NAME, TEST_PROCESSING_INSTANCE_ID, testEvent);
     }
 
-}
\ No newline at end of file
+    @Test
+    void send_containerautomat_event_batch_calls_kafka_template() {
+
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
+                .eventTime(Instant.now())
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .stateName(TEST_STATE_NAME)
+                .description(TEST_EVENT_DESCRIPTION)
+                .build();
+        var testEventBatch = ContainerAutomatRuntimeEventBatch.builder()
+                .events(List.of(testEvent))
+                .build();
+
+        kafkaContainerAutomatMessaging.sendContainerAutomatEventBatch(testEventBatch);
+
+        Mockito.verify(kafkaTemplate, Mockito.times(1)).send(eq(KafkaContainerAutomatConfig.EVENTS_TOPIC_NAME), any(String.class), eq(testEventBatch));
+    }
+
+}
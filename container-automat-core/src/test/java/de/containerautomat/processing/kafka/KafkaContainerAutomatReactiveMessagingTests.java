@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.kafka;
+
+import de.containerautomat.processing.ContainerAutomatReactiveMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * A test suite for testing the methods in {@link KafkaContainerAutomatReactiveMessaging}
+ * that send commands with Reactor Kafka.
+ * <p/>
+ * Note: These tests are rudimentary, as no integration tests for the messaging and
+ * broker components are included at this level.
+ */
+class KafkaContainerAutomatReactiveMessagingTests {
+
+    private static final String TEST_ACCEPTED_PROCESSING_INPUT = "1010";
+    private static final String TEST_STATE_NAME = "S1";
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_containerautomat_command_sends_record_keyed_by_processing_instance() {
+
+        var producerTemplate = (ReactiveKafkaProducerTemplate<String, Object>) Mockito.mock(ReactiveKafkaProducerTemplate.class);
+        var recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.when(producerTemplate.send(recordCaptor.capture())).thenReturn(Mono.empty());
+        var messaging = new KafkaContainerAutomatReactiveMessaging(producerTemplate);
+        var testCommand = createTestCommand();
+
+        messaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand).block();
+
+        var producerRecord = (ProducerRecord<String, Object>) recordCaptor.getValue();
+        assertEquals(KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + TEST_STATE_NAME, producerRecord.topic());
+        assertEquals(testCommand.getProcessingInstanceId(), producerRecord.key());
+        assertEquals(testCommand, producerRecord.value());
+        assertNull(producerRecord.headers().lastHeader(ContainerAutomatTraceContext.HEADER_TRACEPARENT));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_containerautomat_command_with_trace_context_adds_traceparent_header() {
+
+        var producerTemplate = (ReactiveKafkaProducerTemplate<String, Object>) Mockito.mock(ReactiveKafkaProducerTemplate.class);
+        var recordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.when(producerTemplate.send(recordCaptor.capture())).thenReturn(Mono.empty());
+        var messaging = new KafkaContainerAutomatReactiveMessaging(producerTemplate);
+        var testTraceContext = ContainerAutomatTraceContext.newRoot();
+
+        messaging.sendContainerAutomatCommand(TEST_STATE_NAME, createTestCommand())
+                .contextWrite(Context.of(ContainerAutomatReactiveMessaging.CONTEXT_KEY_TRACE_CONTEXT, testTraceContext))
+                .block();
+
+        var producerRecord = (ProducerRecord<String, Object>) recordCaptor.getValue();
+        assertEquals(testTraceContext.toTraceparent(), new String(producerRecord.headers().lastHeader(ContainerAutomatTraceContext.HEADER_TRACEPARENT).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_containerautomat_commands_sends_records_keyed_by_processing_instance() {
+
+        var producerTemplate = (ReactiveKafkaProducerTemplate<String, Object>) Mockito.mock(ReactiveKafkaProducerTemplate.class);
+        var recordsCaptor = ArgumentCaptor.forClass(Publisher.class);
+        Mockito.when(producerTemplate.send(recordsCaptor.capture())).thenReturn(Flux.empty());
+        var messaging = new KafkaContainerAutomatReactiveMessaging(producerTemplate);
+        var testCommands = List.of(createTestCommand(), createTestCommand());
+
+        messaging.sendContainerAutomatCommands(TEST_STATE_NAME, testCommands).block();
+
+        var sentRecords = Flux.from((Publisher<SenderRecord<String, Object, String>>) recordsCaptor.getValue()).collectList().block();
+        assertNotNull(sentRecords);
+        assertEquals(testCommands.size(), sentRecords.size());
+        for (int i = 0; i < testCommands.size(); i++) {
+            assertEquals(KafkaContainerAutomatConfig.COMMANDS_TOPIC_NAME_PREFIX + TEST_STATE_NAME, sentRecords.get(i).topic());
+            assertEquals(testCommands.get(i).getProcessingInstanceId(), sentRecords.get(i).key());
+            assertEquals(testCommands.get(i), sentRecords.get(i).value());
+            assertNull(sentRecords.get(i).headers().lastHeader(ContainerAutomatTraceContext.HEADER_TRACEPARENT));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdown_closes_producer() {
+
+        var producerTemplate = (ReactiveKafkaProducerTemplate<String, Object>) Mockito.mock(ReactiveKafkaProducerTemplate.class);
+        var messaging = new KafkaContainerAutomatReactiveMessaging(producerTemplate);
+
+        messaging.shutdown();
+
+        Mockito.verify(producerTemplate, Mockito.times(1)).close();
+    }
+
+
+    private static ContainerAutomatRuntimeCommand createTestCommand() {
+
+        return ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(0)
+                .build();
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.mongodb;
+
+import de.containerautomat.processing.ContainerAutomatProcessingInstance;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * A test suite for testing the methods in {@link MongoDbContainerAutomatReactiveStorage}
+ * that store processing instances with the reactive MongoDB driver.
+ * <p/>
+ * Note: These tests are rudimentary, as no integration tests for the actual database
+ * access are included at this level.
+ */
+class MongoDbContainerAutomatReactiveStorageTests {
+
+    private static final String TEST_INPUT = "1010";
+    private static final String TEST_REQUEST_DESCRIPTION = "Test reqest for ContainerAutomatReactiveStorage.";
+
+
+    @Test
+    void create_processing_instance_inserts_document() {
+
+        var reactiveMongoTemplate = Mockito.mock(ReactiveMongoTemplate.class);
+        Mockito.when(reactiveMongoTemplate.insert(Mockito.any(MongoDbContainerAutomatProcessingInstance.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        var storage = new MongoDbContainerAutomatReactiveStorage(reactiveMongoTemplate);
+
+        var processingInstance = storage.createProcessingInstance(new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION)).block();
+
+        assertNotNull(processingInstance);
+        assertNotNull(processingInstance.getProcessingInstanceId());
+        assertNotNull(processingInstance.getCreationTime());
+        assertEquals(TEST_INPUT, processingInstance.getInput());
+        assertEquals(TEST_REQUEST_DESCRIPTION, processingInstance.getDescription());
+        Mockito.verify(reactiveMongoTemplate, Mockito.times(1)).insert(Mockito.any(MongoDbContainerAutomatProcessingInstance.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void create_processing_instances_inserts_documents_at_once() {
+
+        var reactiveMongoTemplate = Mockito.mock(ReactiveMongoTemplate.class);
+        Mockito.when(reactiveMongoTemplate.insertAll(Mockito.anyCollection()))
+                .thenAnswer(invocation -> Flux.fromIterable((Collection<Object>) invocation.getArgument(0)));
+        var storage = new MongoDbContainerAutomatReactiveStorage(reactiveMongoTemplate);
+        var testRequests = List.of(new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION), new ContainerAutomatRuntimeRequest(TEST_INPUT + TEST_INPUT, TEST_REQUEST_DESCRIPTION));
+
+        var processingInstances = storage.createProcessingInstances(testRequests).collectList().block();
+
+        assertNotNull(processingInstances);
+        assertEquals(List.of(TEST_INPUT, TEST_INPUT + TEST_INPUT), processingInstances.stream().map(ContainerAutomatProcessingInstance::getInput).toList());
+        assertNotEquals(processingInstances.getFirst().getProcessingInstanceId(), processingInstances.getLast().getProcessingInstanceId());
+        Mockito.verify(reactiveMongoTemplate, Mockito.times(1)).insertAll(Mockito.anyCollection());
+    }
+
+}
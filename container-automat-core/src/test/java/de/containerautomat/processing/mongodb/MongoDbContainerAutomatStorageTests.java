@@ -21,6 +21,7 @@ import de.containerautomat.processing.ContainerAutomatProcessingStep;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeRequest;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -32,13 +33,18 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
 
 /**
@@ -112,15 +118,76 @@ class MongoDbContainerAutomatStorageTests {
         assertNotNull(TEST_REQUEST_DESCRIPTION, testResult.getDescription());
     }
 
+    @Test
+    void create_processing_instance_with_given_id_uses_insert() {
+
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION);
+        var testInstanceId = UUID.randomUUID().toString();
+
+        Mockito.doAnswer(invocation -> invocation.getArgument(0, MongoDbContainerAutomatProcessingInstance.class))
+                .when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .insert(Mockito.any(MongoDbContainerAutomatProcessingInstance.class));
+
+        var testResult = mongoDbContainerAutomatStorage.createProcessingInstance(testRequest, testInstanceId);
+
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, times(1)).insert(Mockito.any(MongoDbContainerAutomatProcessingInstance.class));
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, Mockito.never()).save(Mockito.any(MongoDbContainerAutomatProcessingInstance.class));
+        assertEquals(testInstanceId, testResult.getProcessingInstanceId());
+        assertEquals(TEST_INPUT, testResult.getInput());
+        assertTrue(((MongoDbContainerAutomatProcessingInstance) testResult).getStartCommandPending());
+        assertEquals(testResult.getCreationTime(), ((MongoDbContainerAutomatProcessingInstance) testResult).getStartCommandClaimTime());
+    }
+
+    @Test
+    void start_command_is_claimed_released_and_cleared_in_repository() {
+
+        var testInstanceId = UUID.randomUUID().toString();
+        var testClaimLease = Duration.ofSeconds(30);
+        var claimTimes = ArgumentCaptor.forClass(Instant.class);
+
+        Mockito.doReturn(1L, 0L).when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .claimStartCommand(Mockito.eq(testInstanceId), Mockito.any(Instant.class), Mockito.any(Instant.class));
+        Mockito.doNothing().when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .releaseStartCommand(testInstanceId);
+        Mockito.doNothing().when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .clearStartCommandPending(testInstanceId);
+
+        assertTrue(mongoDbContainerAutomatStorage.claimStartCommand(testInstanceId, testClaimLease));
+        assertFalse(mongoDbContainerAutomatStorage.claimStartCommand(testInstanceId, testClaimLease));
+        mongoDbContainerAutomatStorage.releaseStartCommand(testInstanceId);
+        mongoDbContainerAutomatStorage.clearStartCommandPending(testInstanceId);
+
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, times(2)).claimStartCommand(Mockito.eq(testInstanceId), claimTimes.capture(), claimTimes.capture());
+        assertEquals(testClaimLease, Duration.between(claimTimes.getAllValues().get(0), claimTimes.getAllValues().get(1)));
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, times(1)).releaseStartCommand(testInstanceId);
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, times(1)).clearStartCommandPending(testInstanceId);
+    }
+
+    @Test
+    void create_processing_instances_with_one_bulk_write() {
+
+        var testRequests = List.of(
+                new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION),
+                new ContainerAutomatRuntimeRequest(TEST_INPUT + TEST_INPUT, TEST_REQUEST_DESCRIPTION));
+
+        Mockito.doAnswer(invocation -> invocation.getArgument(0))
+                .when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .insert(Mockito.<List<MongoDbContainerAutomatProcessingInstance>>any());
+
+        var testResult = mongoDbContainerAutomatStorage.createProcessingInstances(testRequests);
+
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, times(1)).insert(Mockito.<List<MongoDbContainerAutomatProcessingInstance>>any());
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, Mockito.never()).save(Mockito.any(MongoDbContainerAutomatProcessingInstance.class));
+
+        assertEquals(testRequests.size(), testResult.size());
+        assertEquals(TEST_INPUT, testResult.get(0).getInput());
+        assertEquals(TEST_INPUT + TEST_INPUT, testResult.get(1).getInput());
+        assertNotEquals(testResult.get(0).getProcessingInstanceId(), testResult.get(1).getProcessingInstanceId());
+    }
+
     @Test
     void create_processing_step_for_existing_processing_instance() {
 
-        var testInstance = MongoDbContainerAutomatProcessingInstance.builder()
-                .processingInstanceId(TEST_INSTANCE_ID)
-                .creationTime(Instant.now())
-                .input(TEST_INPUT)
-                .description(TEST_REQUEST_DESCRIPTION)
-                .build();
         var testTime = Instant.now();
         var testEvent = ContainerAutomatRuntimeEvent.builder()
                 .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
@@ -132,8 +199,8 @@ class MongoDbContainerAutomatStorageTests {
                 .description(TEST_EVENT_DESCRIPTION)
                 .build();
 
-        Mockito.doReturn(Optional.of(testInstance)).when(mongoDbContainerAutomatProcessingInstanceRepository)
-                .findById(TEST_INSTANCE_ID);
+        Mockito.doReturn(true).when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .existsById(TEST_INSTANCE_ID);
         Mockito.doAnswer(invocation -> invocation.getArgument(0, MongoDbContainerAutomatProcessingStep.class))
                 .when(mongoDbContainerAutomatProcessingStepRepository)
                 .save(Mockito.any(MongoDbContainerAutomatProcessingStep.class));
@@ -166,12 +233,31 @@ class MongoDbContainerAutomatStorageTests {
                 .description(TEST_EVENT_DESCRIPTION)
                 .build();
 
-        Mockito.doReturn(Optional.empty()).when(mongoDbContainerAutomatProcessingInstanceRepository)
-                .findById(Mockito.any(String.class));
+        Mockito.doReturn(false).when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .existsById(Mockito.any(String.class));
 
         var resultError = assertThrows(IllegalArgumentException.class, () -> mongoDbContainerAutomatStorage.createProcessingStep(testTime, testEvent));
 
         assertEquals(MongoDbContainerAutomatStorage.ERROR_MESSAGE_UNKNOWN_PROCESSING_INSTANCE_ID.formatted(TEST_INSTANCE_ID), resultError.getMessage());
     }
 
+    @Test
+    void find_input_segment_of_processing_instance() {
+
+        Mockito.doReturn(Optional.of(TEST_INPUT.substring(1, 3))).when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .findInputSegment(TEST_INSTANCE_ID, 1, 2);
+
+        assertEquals(TEST_INPUT.substring(1, 3), mongoDbContainerAutomatStorage.findInputSegment(TEST_INSTANCE_ID, 1, 2).orElseThrow());
+        Mockito.verify(mongoDbContainerAutomatProcessingInstanceRepository, times(0)).findById(Mockito.any(String.class));
+    }
+
+    @Test
+    void find_input_segment_of_not_existing_processing_instance() {
+
+        Mockito.doReturn(Optional.empty()).when(mongoDbContainerAutomatProcessingInstanceRepository)
+                .findInputSegment(Mockito.any(String.class), Mockito.anyInt(), Mockito.anyInt());
+
+        assertTrue(mongoDbContainerAutomatStorage.findInputSegment(TEST_INSTANCE_ID, 0, 1).isEmpty());
+    }
+
 }
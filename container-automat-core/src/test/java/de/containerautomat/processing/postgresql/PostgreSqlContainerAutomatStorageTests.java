@@ -40,10 +40,12 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.times;
@@ -154,6 +156,28 @@ class PostgreSqlContainerAutomatStorageTests {
         assertNotNull(TEST_REQUEST_DESCRIPTION, testResult.getDescription());
     }
 
+    @Test
+    void create_processing_instances_with_one_bulk_write() {
+
+        var testRequests = List.of(
+                new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION),
+                new ContainerAutomatRuntimeRequest(TEST_INPUT + TEST_INPUT, TEST_REQUEST_DESCRIPTION));
+
+        Mockito.doAnswer(invocation -> invocation.getArgument(0))
+                .when(postgresSqlContainerAutomatProcessingInstanceRepository)
+                .saveAll(Mockito.<List<PostgreSqlContainerAutomatProcessingInstance>>any());
+
+        var testResult = postgresSqlContainerAutomatStorage.createProcessingInstances(testRequests);
+
+        Mockito.verify(postgresSqlContainerAutomatProcessingInstanceRepository, times(1)).saveAll(Mockito.<List<PostgreSqlContainerAutomatProcessingInstance>>any());
+        Mockito.verify(postgresSqlContainerAutomatProcessingInstanceRepository, Mockito.never()).save(Mockito.any(PostgreSqlContainerAutomatProcessingInstance.class));
+
+        assertEquals(testRequests.size(), testResult.size());
+        assertEquals(TEST_INPUT, testResult.get(0).getInput());
+        assertEquals(TEST_INPUT + TEST_INPUT, testResult.get(1).getInput());
+        assertNotEquals(testResult.get(0).getProcessingInstanceId(), testResult.get(1).getProcessingInstanceId());
+    }
+
     @Test
     void create_processing_step_for_existing_processing_instance() {
 
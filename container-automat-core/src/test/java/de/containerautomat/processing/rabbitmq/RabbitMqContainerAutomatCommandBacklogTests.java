@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.rabbitmq;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test suite for testing the method in {@link RabbitMqContainerAutomatCommandBacklog}
+ * that queries the backlog of a state.
+ * <p/>
+ * Note: These tests are rudimentary, as no integration tests for the messaging
+ * and broker components are included at this level.
+ */
+@SpringBootTest(classes = RabbitMqContainerAutomatCommandBacklog.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("rabbitmq")
+@TestPropertySource(properties = {
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE + "=true"
+})
+class RabbitMqContainerAutomatCommandBacklogTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+
+
+    @MockBean
+    AmqpAdmin amqpAdmin;
+
+
+    @Autowired
+    RabbitMqContainerAutomatCommandBacklog commandBacklog;
+
+
+    @Test
+    void command_backlog_is_message_count_of_commands_queue() {
+
+        var queueName = RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + TEST_STATE_NAME;
+        Mockito.when(amqpAdmin.getQueueInfo(queueName)).thenReturn(new QueueInformation(queueName, 17, 1));
+
+        assertEquals(17L, commandBacklog.getCommandBacklog(TEST_STATE_NAME));
+        assertEquals(RabbitMqContainerAutomatCommandBacklog.BROKER_NAME, commandBacklog.getBrokerName());
+    }
+
+    @Test
+    void command_backlog_of_missing_queue_fails() {
+
+        assertThrows(IllegalStateException.class, () -> commandBacklog.getCommandBacklog(TEST_STATE_NAME));
+    }
+
+}
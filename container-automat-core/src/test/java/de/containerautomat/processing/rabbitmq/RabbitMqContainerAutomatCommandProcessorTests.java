@@ -33,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 /**
  * A test suite for testing the method in {@link RabbitMqContainerAutomatCommandProcessor}
@@ -49,6 +50,7 @@ class RabbitMqContainerAutomatCommandProcessorTests {
     private static final String TEST_PROCESSING_INSTANCE_ID = UUID.randomUUID().toString();
     private static final String TEST_ACCEPTED_PROCESSING_INPUT = "1010";
     private static final int TEST_PROCESSING_POSITION = 1;
+    private static final String TEST_TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
 
 
     @MockBean
@@ -80,7 +82,21 @@ class RabbitMqContainerAutomatCommandProcessorTests {
 
         containerAutomatCommandProcessor.processCommand(testCommand);
 
-        Mockito.verify(containerAutomatRuntimeProcessor, Mockito.times(1)).processCommand(eq(testCommand), any(Function.class));
+        Mockito.verify(containerAutomatRuntimeProcessor, Mockito.times(1)).processCommand(eq(testCommand), isNull(), any(Function.class));
+    }
+
+    @Test
+    void receive_command_passes_traceparent_to_containerautomat_runtime_processor() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+
+        ((RabbitMqContainerAutomatCommandProcessor) containerAutomatCommandProcessor).receiveCommand(testCommand, TEST_TRACEPARENT);
+
+        Mockito.verify(containerAutomatRuntimeProcessor, Mockito.times(1)).processCommand(eq(testCommand), eq(TEST_TRACEPARENT), any(Function.class));
     }
 
 }
@@ -19,21 +19,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.containerautomat.config.ContainerAutomatCoreConfig;
 import de.containerautomat.processing.ContainerAutomatCommandProcessor;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
 import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.context.TestPropertySource;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * A test suite for testing the methods in {@link RabbitMqContainerAutomatConfig}
@@ -48,10 +56,15 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 @ContextConfiguration(classes = {RabbitMqContainerAutomatConfig.class})
 @TestPropertySource(properties = {
         ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_ENTRY + "=true",
-        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE + "=true"
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_APP_IS_STATE + "=true",
+        ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_STATE_NAME + "=" + RabbitMqContainerAutomatConfigTests.TEST_STATE_NAME,
+        RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX + RabbitMqContainerAutomatConfigTests.TEST_STATE_NAME + ".prefetch=" + RabbitMqContainerAutomatConfigTests.TEST_PREFETCH
 })
 class RabbitMqContainerAutomatConfigTests {
 
+    static final String TEST_STATE_NAME = "S1";
+    static final int TEST_PREFETCH = 10;
+
     @MockBean
     ObjectMapper objectMapper;
 
@@ -61,6 +74,15 @@ class RabbitMqContainerAutomatConfigTests {
     @MockBean
     ContainerAutomatWorkSimulator containerAutomatWorkSimulator;
 
+    @MockBean
+    ConnectionFactory connectionFactory;
+
+    @MockBean
+    SimpleRabbitListenerContainerFactoryConfigurer simpleRabbitListenerContainerFactoryConfigurer;
+
+    @MockBean
+    ContainerAutomatLogging containerAutomatLogging;
+
 
     @Autowired
     ApplicationContext applicationContext;
@@ -80,6 +102,9 @@ class RabbitMqContainerAutomatConfigTests {
     @Autowired
     ContainerAutomatEventListener containerAutomatEventListener;
 
+    @Autowired
+    SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory;
+
 
     @Test
     void application_context_loads() {
@@ -111,4 +136,58 @@ class RabbitMqContainerAutomatConfigTests {
         assertNotNull(containerAutomatEventListener);
     }
 
+    @Test
+    void rabbit_listener_container_factory_bean_is_available() {
+        assertNotNull(rabbitListenerContainerFactory);
+    }
+
+    @Test
+    void state_settings_use_code_defaults_without_properties() {
+
+        var settings = RabbitMqContainerAutomatConfig.RabbitMqStateSettings.fromEnvironment(new MockEnvironment(), TEST_STATE_NAME);
+
+        assertEquals(new RabbitMqContainerAutomatConfig.RabbitMqStateSettings(RabbitMqContainerAutomatConfig.QueueType.CLASSIC, 250, 1, 1), settings);
+    }
+
+    @Test
+    void state_settings_prefer_state_properties_over_defaults() {
+
+        var environment = new MockEnvironment()
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX + "queue-type", "quorum")
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX + "prefetch", "50")
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX + TEST_STATE_NAME + ".prefetch", "5")
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX + TEST_STATE_NAME + ".max-concurrency", "4");
+
+        var settings = RabbitMqContainerAutomatConfig.RabbitMqStateSettings.fromEnvironment(environment, TEST_STATE_NAME);
+
+        assertEquals(new RabbitMqContainerAutomatConfig.RabbitMqStateSettings(RabbitMqContainerAutomatConfig.QueueType.QUORUM, 5, 1, 4), settings);
+    }
+
+    @Test
+    void state_settings_reject_stream_queue_type_for_commands() {
+
+        var environment = new MockEnvironment()
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_STATES_PREFIX + TEST_STATE_NAME + ".queue-type", "stream");
+
+        assertThrows(IllegalArgumentException.class, () -> RabbitMqContainerAutomatConfig.RabbitMqStateSettings.fromEnvironment(environment, TEST_STATE_NAME));
+    }
+
+    @Test
+    void state_settings_reject_max_concurrency_below_min_concurrency() {
+
+        var environment = new MockEnvironment()
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX + "min-concurrency", "3")
+                .withProperty(RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX + "max-concurrency", "2");
+
+        assertThrows(IllegalArgumentException.class, () -> RabbitMqContainerAutomatConfig.RabbitMqStateSettings.fromEnvironment(environment, TEST_STATE_NAME));
+    }
+
+    @Test
+    void queue_type_creates_queues_with_matching_arguments() {
+
+        assertEquals(QueueBuilder.durable(TEST_STATE_NAME).quorum().build().getArguments(), RabbitMqContainerAutomatConfig.QueueType.QUORUM.createQueue(TEST_STATE_NAME).getArguments());
+        assertEquals("stream", RabbitMqContainerAutomatConfig.QueueType.STREAM.createQueue(TEST_STATE_NAME).getArguments().get("x-queue-type"));
+        assertEquals(0, RabbitMqContainerAutomatConfig.QueueType.CLASSIC.createQueue(TEST_STATE_NAME).getArguments().size());
+    }
+
 }
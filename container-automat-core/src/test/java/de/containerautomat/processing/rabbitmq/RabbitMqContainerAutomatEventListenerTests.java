@@ -17,7 +17,9 @@ package de.containerautomat.processing.rabbitmq;
 
 import de.containerautomat.processing.ContainerAutomatEvent;
 import de.containerautomat.processing.ContainerAutomatEventListener;
+import de.containerautomat.processing.runtime.ContainerAutomatLogging;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEventBatch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +29,11 @@ import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -41,7 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * generated application. In addition, no integration tests for the messaging and
  * broker components are included at this level.
  */
-@SpringBootTest(classes = RabbitMqContainerAutomatEventListener.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(classes = {RabbitMqContainerAutomatEventListener.class, ContainerAutomatLogging.class}, webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @ActiveProfiles("rabbitmq")
 class RabbitMqContainerAutomatEventListenerTests {
 
@@ -83,4 +88,27 @@ class RabbitMqContainerAutomatEventListenerTests {
         assertTrue(output.getOut().contains(testMessage));
     }
 
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void handle_event_batch_logs_each_event(CapturedOutput output) {
+
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
+                .eventTime(Instant.now())
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .stateName(TEST_STATE_NAME)
+                .description(TEST_EVENT_DESCRIPTION)
+                .build();
+        var testEventBatch = ContainerAutomatRuntimeEventBatch.builder()
+                .events(List.of(testEvent, testEvent))
+                .build();
+        var testMessage = RabbitMqContainerAutomatEventListener.HANDLE_EVENT_LOG_MESSAGE_TEMPLATE.formatted(testEvent.toString());
+
+        containerAutomatEventListener.handleEventBatch(testEventBatch);
+
+        assertEquals(2, output.getOut().split(Pattern.quote(testMessage), -1).length - 1);
+    }
+
 }
@@ -19,19 +19,30 @@ import de.containerautomat.automaton.DeterministicFiniteAutomaton;
 import de.containerautomat.processing.ContainerAutomatEvent;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
 import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEventBatch;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.Queue;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.eq;
 
 /**
  * A test suite for testing the methods in {@link RabbitMqContainerAutomatMessaging}
@@ -43,6 +54,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
  */
 @SpringBootTest(classes = RabbitMqContainerAutomatMessaging.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @ActiveProfiles("rabbitmq")
+@TestPropertySource(properties = {
+        RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_EVENTS_QUEUE_TYPE + "=stream",
+        RabbitMqContainerAutomatConfig.PROPERTY_CONTAINERAUTOMAT_RABBITMQ_DEFAULTS_PREFIX + "queue-type=quorum"
+})
 class RabbitMqContainerAutomatMessagingTests {
 
     private static final String TEST_PROCESSING_INSTANCE_ID = UUID.randomUUID().toString();
@@ -50,6 +65,8 @@ class RabbitMqContainerAutomatMessagingTests {
     private static final int TEST_PROCESSING_POSITION = 1;
     private static final String TEST_STATE_NAME = "S1";
     private static final String TEST_EVENT_DESCRIPTION = "Test event for ContainerAutomatRuntimeProcessor.";
+    private static final String TEST_SERVICE_NAME = "Test ContainerAutomat State";
+    private static final String TEST_SPAN_NAME = "test.span";
 
     @MockBean
     DeterministicFiniteAutomaton deterministicFiniteAutomaton;
@@ -71,6 +88,18 @@ class RabbitMqContainerAutomatMessagingTests {
         assertNotNull(rabbitmqContainerAutomatMessaging);
     }
 
+    @Test
+    void init_declares_events_queue_with_configured_queue_type() {
+
+        rabbitmqContainerAutomatMessaging.init();
+
+        var queueCaptor = ArgumentCaptor.forClass(Queue.class);
+        Mockito.verify(amqpAdmin, Mockito.atLeastOnce()).declareQueue(queueCaptor.capture());
+
+        var eventsQueue = queueCaptor.getAllValues().stream().filter(queue -> RabbitMqContainerAutomatConfig.EVENTS_QUEUE_NAME.equals(queue.getName())).findFirst().orElseThrow();
+        assertEquals("stream", eventsQueue.getArguments().get("x-queue-type"));
+    }
+
     @Test
     void send_containerautomat_command_calls_command_queue_jms_template() {
 
@@ -85,6 +114,27 @@ class RabbitMqContainerAutomatMessagingTests {
         Mockito.verify(amqpTemplate, Mockito.times(1)).convertAndSend(RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS, RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + TEST_STATE_NAME, testCommand);
     }
 
+    @Test
+    void send_containerautomat_command_in_span_adds_traceparent_header() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        var traceparent = tracing.inSpan(TEST_SPAN_NAME, () -> {
+            rabbitmqContainerAutomatMessaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand);
+            return ContainerAutomatTraceContext.currentTraceparent().orElseThrow();
+        });
+
+        var postProcessorCaptor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        Mockito.verify(amqpTemplate, Mockito.times(1)).convertAndSend(eq(RabbitMqContainerAutomatConfig.DIRECT_ECHANGE_NAME_CONTAINERAUTOMAT_COMMANDS), eq(RabbitMqContainerAutomatConfig.COMMANDS_QUEUE_NAME_PREFIX + TEST_STATE_NAME), eq(testCommand), postProcessorCaptor.capture());
+        var message = postProcessorCaptor.getValue().postProcessMessage(new Message(new byte[0]));
+        assertEquals(traceparent, message.getMessageProperties().getHeader(ContainerAutomatTraceContext.HEADER_TRACEPARENT));
+    }
+
     @Test
     void send_containerautomat_event_calls_event_topic_jms_template() {
 
@@ -103,4 +153,25 @@ class RabbitMqContainerAutomatMessagingTests {
         Mockito.verify(amqpTemplate, Mockito.times(1)).convertAndSend(RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS, "", testEvent);
     }
 
+    @Test
+    void send_containerautomat_event_batch_calls_amqp_template() {
+
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
+                .eventTime(Instant.now())
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .stateName(TEST_STATE_NAME)
+                .description(TEST_EVENT_DESCRIPTION)
+                .build();
+        var testEventBatch = ContainerAutomatRuntimeEventBatch.builder()
+                .events(List.of(testEvent))
+                .build();
+
+        rabbitmqContainerAutomatMessaging.sendContainerAutomatEventBatch(testEventBatch);
+
+        Mockito.verify(amqpTemplate, Mockito.times(1)).convertAndSend(RabbitMqContainerAutomatConfig.FANOUT_EXCHANGE_NAME_CONTAINERAUTOMAT_EVENTS, "", testEventBatch);
+    }
+
 }
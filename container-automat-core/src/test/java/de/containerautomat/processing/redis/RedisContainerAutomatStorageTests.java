@@ -24,23 +24,31 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
 
 /**
@@ -91,6 +99,9 @@ class RedisContainerAutomatStorageTests {
     @SpyBean
     RedisContainerAutomatProcessingStepRepository redisContainerAutomatProcessingStepRepository;
 
+    @MockBean
+    StringRedisTemplate stringRedisTemplate;
+
     @Autowired
     RedisContainerAutomatStorage redisContainerAutomatStorage;
 
@@ -118,15 +129,98 @@ class RedisContainerAutomatStorageTests {
         assertNotNull(TEST_REQUEST_DESCRIPTION, testResult.getDescription());
     }
 
+    @Test
+    void create_processing_instance_with_given_id() {
+
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION);
+        var testInstanceId = UUID.randomUUID().toString();
+
+        var valueOperations = mockValueOperations();
+        Mockito.doReturn(true).when(valueOperations).setIfAbsent(Mockito.eq(RedisContainerAutomatStorage.PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(testInstanceId)), Mockito.startsWith(RedisContainerAutomatStorage.MARKER_START_COMMAND_PENDING_PREFIX));
+        Mockito.doAnswer(invocation -> invocation.getArgument(0, RedisContainerAutomatProcessingInstance.class))
+                .when(redisContainerAutomatProcessingInstanceRepository)
+                .save(Mockito.any(RedisContainerAutomatProcessingInstance.class));
+
+        var testResult = redisContainerAutomatStorage.createProcessingInstance(testRequest, testInstanceId);
+
+        assertEquals(testInstanceId, testResult.getProcessingInstanceId());
+        assertEquals(TEST_INPUT, testResult.getInput());
+    }
+
+    @Test
+    void create_processing_instance_with_existing_id_fails() {
+
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION);
+        var testInstanceId = UUID.randomUUID().toString();
+
+        var valueOperations = mockValueOperations();
+        Mockito.doReturn(false).when(valueOperations).setIfAbsent(Mockito.eq(RedisContainerAutomatStorage.PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(testInstanceId)), Mockito.startsWith(RedisContainerAutomatStorage.MARKER_START_COMMAND_PENDING_PREFIX));
+
+        assertThrows(DuplicateKeyException.class, () -> redisContainerAutomatStorage.createProcessingInstance(testRequest, testInstanceId));
+        Mockito.verify(redisContainerAutomatProcessingInstanceRepository, Mockito.never()).save(Mockito.any(RedisContainerAutomatProcessingInstance.class));
+    }
+
+    @Test
+    void start_command_is_claimed_released_and_cleared_in_marker() {
+
+        var testInstanceId = UUID.randomUUID().toString();
+        var markerKey = RedisContainerAutomatStorage.PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(testInstanceId);
+
+        var valueOperations = mockValueOperations();
+        Mockito.doReturn(1L).when(stringRedisTemplate).execute(Mockito.eq(RedisContainerAutomatStorage.CLAIM_START_COMMAND_SCRIPT), Mockito.eq(List.of(markerKey)),
+                Mockito.eq(RedisContainerAutomatStorage.MARKER_START_COMMAND_PENDING_PREFIX), Mockito.anyString(), Mockito.anyString());
+
+        assertTrue(redisContainerAutomatStorage.claimStartCommand(testInstanceId, Duration.ofSeconds(30)));
+        redisContainerAutomatStorage.releaseStartCommand(testInstanceId);
+        redisContainerAutomatStorage.clearStartCommandPending(testInstanceId);
+
+        Mockito.verify(stringRedisTemplate, times(1)).execute(RedisContainerAutomatStorage.CLAIM_START_COMMAND_SCRIPT, List.of(markerKey),
+                RedisContainerAutomatStorage.MARKER_START_COMMAND_PENDING_PREFIX, Long.toString(Long.MAX_VALUE), "0");
+        Mockito.verify(valueOperations, times(1)).setIfPresent(markerKey, RedisContainerAutomatStorage.MARKER_START_COMMAND_SENT);
+    }
+
+    @Test
+    void create_processing_instance_with_given_id_releases_marker_if_saving_fails() {
+
+        var testRequest = new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION);
+        var testInstanceId = UUID.randomUUID().toString();
+        var markerKey = RedisContainerAutomatStorage.PROCESSING_INSTANCE_MARKER_KEY_TEMPLATE.formatted(testInstanceId);
+
+        var valueOperations = mockValueOperations();
+        Mockito.doReturn(true).when(valueOperations).setIfAbsent(Mockito.eq(markerKey), Mockito.startsWith(RedisContainerAutomatStorage.MARKER_START_COMMAND_PENDING_PREFIX));
+        Mockito.doThrow(new IllegalStateException("Redis unavailable."))
+                .when(redisContainerAutomatProcessingInstanceRepository)
+                .save(Mockito.any(RedisContainerAutomatProcessingInstance.class));
+
+        assertThrows(IllegalStateException.class, () -> redisContainerAutomatStorage.createProcessingInstance(testRequest, testInstanceId));
+        Mockito.verify(stringRedisTemplate, times(1)).delete(markerKey);
+    }
+
+    @Test
+    void create_processing_instances_with_one_bulk_write() {
+
+        var testRequests = List.of(
+                new ContainerAutomatRuntimeRequest(TEST_INPUT, TEST_REQUEST_DESCRIPTION),
+                new ContainerAutomatRuntimeRequest(TEST_INPUT + TEST_INPUT, TEST_REQUEST_DESCRIPTION));
+
+        Mockito.doAnswer(invocation -> invocation.getArgument(0))
+                .when(redisContainerAutomatProcessingInstanceRepository)
+                .saveAll(Mockito.<List<RedisContainerAutomatProcessingInstance>>any());
+
+        var testResult = redisContainerAutomatStorage.createProcessingInstances(testRequests);
+
+        Mockito.verify(redisContainerAutomatProcessingInstanceRepository, times(1)).saveAll(Mockito.<List<RedisContainerAutomatProcessingInstance>>any());
+        Mockito.verify(redisContainerAutomatProcessingInstanceRepository, Mockito.never()).save(Mockito.any(RedisContainerAutomatProcessingInstance.class));
+
+        assertEquals(testRequests.size(), testResult.size());
+        assertEquals(TEST_INPUT, testResult.get(0).getInput());
+        assertEquals(TEST_INPUT + TEST_INPUT, testResult.get(1).getInput());
+        assertNotEquals(testResult.get(0).getProcessingInstanceId(), testResult.get(1).getProcessingInstanceId());
+    }
+
     @Test
     void create_processing_step_for_existing_processing_instance() {
 
-        var testInstance = RedisContainerAutomatProcessingInstance.builder()
-                .processingInstanceId(TEST_INSTANCE_ID)
-                .creationTime(Instant.now())
-                .input(TEST_INPUT)
-                .description(TEST_REQUEST_DESCRIPTION)
-                .build();
         var testTime = Instant.now();
         var testEvent = ContainerAutomatRuntimeEvent.builder()
                 .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
@@ -138,8 +232,8 @@ class RedisContainerAutomatStorageTests {
                 .description(TEST_EVENT_DESCRIPTION)
                 .build();
 
-        Mockito.doReturn(Optional.of(testInstance)).when(redisContainerAutomatProcessingInstanceRepository)
-                .findById(TEST_INSTANCE_ID);
+        Mockito.doReturn(true).when(redisContainerAutomatProcessingInstanceRepository)
+                .existsById(TEST_INSTANCE_ID);
         Mockito.doAnswer(invocation -> invocation.getArgument(0, RedisContainerAutomatProcessingStep.class))
                 .when(redisContainerAutomatProcessingStepRepository)
                 .save(Mockito.any(RedisContainerAutomatProcessingStep.class));
@@ -172,12 +266,46 @@ class RedisContainerAutomatStorageTests {
                 .description(TEST_EVENT_DESCRIPTION)
                 .build();
 
-        Mockito.doReturn(Optional.empty()).when(redisContainerAutomatProcessingInstanceRepository)
-                .findById(Mockito.any(String.class));
+        Mockito.doReturn(false).when(redisContainerAutomatProcessingInstanceRepository)
+                .existsById(Mockito.any(String.class));
 
         var resultError = assertThrows(IllegalArgumentException.class, () -> redisContainerAutomatStorage.createProcessingStep(testTime, testEvent));
 
         assertEquals(RedisContainerAutomatStorage.ERROR_MESSAGE_UNKNOWN_PROCESSING_INSTANCE_ID.formatted(TEST_INSTANCE_ID), resultError.getMessage());
     }
 
+    @Test
+    void find_input_segment_of_processing_instance() {
+
+        var testInstance = RedisContainerAutomatProcessingInstance.builder()
+                .processingInstanceId(TEST_INSTANCE_ID)
+                .creationTime(Instant.now())
+                .input(TEST_INPUT)
+                .description(TEST_REQUEST_DESCRIPTION)
+                .build();
+
+        Mockito.doReturn(Optional.of(testInstance)).when(redisContainerAutomatProcessingInstanceRepository)
+                .findById(TEST_INSTANCE_ID);
+
+        assertEquals(TEST_INPUT.substring(1, 3), redisContainerAutomatStorage.findInputSegment(TEST_INSTANCE_ID, 1, 2).orElseThrow());
+        assertEquals(TEST_INPUT.substring(1), redisContainerAutomatStorage.findInputSegment(TEST_INSTANCE_ID, 1, TEST_INPUT.length()).orElseThrow());
+    }
+
+    @Test
+    void find_input_segment_of_not_existing_processing_instance() {
+
+        Mockito.doReturn(Optional.empty()).when(redisContainerAutomatProcessingInstanceRepository)
+                .findById(Mockito.any(String.class));
+
+        assertTrue(redisContainerAutomatStorage.findInputSegment(TEST_INSTANCE_ID, 0, 1).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueOperations<String, String> mockValueOperations() {
+
+        var valueOperations = (ValueOperations<String, String>) Mockito.mock(ValueOperations.class);
+        Mockito.doReturn(valueOperations).when(stringRedisTemplate).opsForValue();
+        return valueOperations;
+    }
+
 }
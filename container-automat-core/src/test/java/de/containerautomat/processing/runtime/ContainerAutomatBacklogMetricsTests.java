@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatCommandBacklog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatBacklogMetrics}
+ * for sampling the backlog of a state.
+ */
+class ContainerAutomatBacklogMetricsTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_BROKER_NAME = "test-broker";
+    private static final long TEST_SAMPLING_INTERVAL_MILLIS = 1000;
+
+
+    @Test
+    void sampled_backlog_is_published_as_gauge() {
+
+        var commandBacklog = createCommandBacklog();
+        Mockito.when(commandBacklog.getCommandBacklog(TEST_STATE_NAME)).thenReturn(42L);
+        var registry = new SimpleMeterRegistry();
+        var metrics = new ContainerAutomatBacklogMetrics(Optional.of(commandBacklog), TEST_STATE_NAME, TEST_SAMPLING_INTERVAL_MILLIS);
+        metrics.bindTo(registry);
+
+        var gauge = registry.get(ContainerAutomatBacklogMetrics.METRIC_NAME_BACKLOG)
+                .tag(ContainerAutomatBacklogMetrics.METRIC_TAG_STATE, TEST_STATE_NAME)
+                .tag(ContainerAutomatBacklogMetrics.METRIC_TAG_BROKER, TEST_BROKER_NAME)
+                .gauge();
+        assertTrue(Double.isNaN(gauge.value()));
+        assertTrue(metrics.getLastBacklog().isEmpty());
+
+        metrics.sampleBacklog();
+
+        assertEquals(42.0, gauge.value());
+        assertEquals(42L, metrics.getLastBacklog().orElseThrow());
+    }
+
+    @Test
+    void failed_sample_is_counted_and_keeps_last_backlog() {
+
+        var commandBacklog = createCommandBacklog();
+        Mockito.when(commandBacklog.getCommandBacklog(TEST_STATE_NAME))
+                .thenReturn(7L)
+                .thenThrow(new IllegalStateException("Broker not reachable."));
+        var registry = new SimpleMeterRegistry();
+        var metrics = new ContainerAutomatBacklogMetrics(Optional.of(commandBacklog), TEST_STATE_NAME, TEST_SAMPLING_INTERVAL_MILLIS);
+        metrics.bindTo(registry);
+
+        metrics.sampleBacklog();
+        metrics.sampleBacklog();
+        metrics.sampleBacklog();
+
+        assertEquals(7L, metrics.getLastBacklog().orElseThrow());
+        assertEquals(2.0, registry.get(ContainerAutomatBacklogMetrics.METRIC_NAME_BACKLOG_FAILURES).functionCounter().count());
+    }
+
+    @Test
+    void metrics_without_command_backlog_register_no_meters() {
+
+        var registry = new SimpleMeterRegistry();
+        var metrics = new ContainerAutomatBacklogMetrics(Optional.empty(), TEST_STATE_NAME, TEST_SAMPLING_INTERVAL_MILLIS);
+        metrics.bindTo(registry);
+        metrics.init();
+
+        assertNull(registry.find(ContainerAutomatBacklogMetrics.METRIC_NAME_BACKLOG).gauge());
+        metrics.shutdown();
+    }
+
+    @Test
+    void metrics_creation_with_invalid_sampling_interval_fails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatBacklogMetrics(Optional.empty(), TEST_STATE_NAME, -1));
+    }
+
+
+    private static ContainerAutomatCommandBacklog createCommandBacklog() {
+
+        var commandBacklog = Mockito.mock(ContainerAutomatCommandBacklog.class);
+        Mockito.when(commandBacklog.getBrokerName()).thenReturn(TEST_BROKER_NAME);
+        return commandBacklog;
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEventBatch;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * A test suite for the class {@link ContainerAutomatEventBatchPublisher}
+ * for publishing events individually or in batches.
+ */
+class ContainerAutomatEventBatchPublisherTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_PROCESSING_INPUT = "1010";
+    private static final long TEST_BATCH_MAX_DELAY_MILLIS = 100;
+
+
+    @Test
+    void publisher_with_batch_size_one_sends_events_individually() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+        var publisher = new ContainerAutomatEventBatchPublisher(messaging, 1, TEST_BATCH_MAX_DELAY_MILLIS);
+        var testEvent = createTestEvent();
+
+        publisher.publishEvent(testEvent);
+
+        assertFalse(publisher.isBatching());
+        Mockito.verify(messaging, Mockito.times(1)).sendContainerAutomatEvent(testEvent);
+        Mockito.verify(messaging, Mockito.never()).sendContainerAutomatEventBatch(any(ContainerAutomatEventBatch.class));
+    }
+
+    @Test
+    void publisher_sends_batch_when_batch_size_is_reached() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+        var publisher = new ContainerAutomatEventBatchPublisher(messaging, 3, TEST_BATCH_MAX_DELAY_MILLIS);
+
+        publisher.publishEvent(createTestEvent());
+        publisher.publishEvent(createTestEvent());
+        Mockito.verify(messaging, Mockito.never()).sendContainerAutomatEventBatch(any(ContainerAutomatEventBatch.class));
+        publisher.publishEvent(createTestEvent());
+
+        var batchCaptor = ArgumentCaptor.forClass(ContainerAutomatEventBatch.class);
+        assertTrue(publisher.isBatching());
+        Mockito.verify(messaging, Mockito.times(1)).sendContainerAutomatEventBatch(batchCaptor.capture());
+        assertEquals(3, batchCaptor.getValue().getEvents().size());
+        Mockito.verify(messaging, Mockito.never()).sendContainerAutomatEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void flush_sends_pending_events_and_skips_empty_batches() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+        var publisher = new ContainerAutomatEventBatchPublisher(messaging, 10, TEST_BATCH_MAX_DELAY_MILLIS);
+
+        publisher.publishEvent(createTestEvent());
+        publisher.flushPendingEvents();
+        publisher.flushPendingEvents();
+
+        var batchCaptor = ArgumentCaptor.forClass(ContainerAutomatEventBatch.class);
+        Mockito.verify(messaging, Mockito.times(1)).sendContainerAutomatEventBatch(batchCaptor.capture());
+        assertEquals(1, batchCaptor.getValue().getEvents().size());
+    }
+
+    @Test
+    void events_of_failed_batch_are_sent_with_next_batch() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+        var publisher = new ContainerAutomatEventBatchPublisher(messaging, 2, TEST_BATCH_MAX_DELAY_MILLIS);
+        var testEvents = List.of(createTestEvent(), createTestEvent(), createTestEvent());
+        Mockito.doThrow(new IllegalStateException("Broker unavailable")).doNothing()
+                .when(messaging).sendContainerAutomatEventBatch(any(ContainerAutomatEventBatch.class));
+
+        assertDoesNotThrow(() -> publisher.publishEvent(testEvents.get(0)));
+        assertDoesNotThrow(() -> publisher.publishEvent(testEvents.get(1)));
+        publisher.publishEvent(testEvents.get(2));
+        publisher.flushPendingEvents();
+
+        var batchCaptor = ArgumentCaptor.forClass(ContainerAutomatEventBatch.class);
+        Mockito.verify(messaging, Mockito.times(3)).sendContainerAutomatEventBatch(batchCaptor.capture());
+        assertEquals(testEvents.subList(0, 2), batchCaptor.getAllValues().get(1).getEvents());
+        assertEquals(testEvents.subList(2, 3), batchCaptor.getAllValues().get(2).getEvents());
+        assertEquals(0, publisher.getDroppedEventCount());
+    }
+
+    @Test
+    void pending_events_after_failure_are_sent_in_envelopes_of_batch_size() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+        var publisher = new ContainerAutomatEventBatchPublisher(messaging, 2, TEST_BATCH_MAX_DELAY_MILLIS);
+        Mockito.doThrow(new IllegalStateException("Broker unavailable")).doThrow(new IllegalStateException("Broker unavailable")).doNothing()
+                .when(messaging).sendContainerAutomatEventBatch(any(ContainerAutomatEventBatch.class));
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publishEvent(createTestEvent());
+        }
+        publisher.flushPendingEvents();
+
+        var batchCaptor = ArgumentCaptor.forClass(ContainerAutomatEventBatch.class);
+        Mockito.verify(messaging, Mockito.times(5)).sendContainerAutomatEventBatch(batchCaptor.capture());
+        var batchSizes = batchCaptor.getAllValues().stream().map(batch -> batch.getEvents().size()).toList();
+        assertEquals(List.of(2, 2, 2, 2, 1), batchSizes);
+        assertEquals(0, publisher.getDroppedEventCount());
+    }
+
+    @Test
+    void events_beyond_max_pending_batches_are_dropped_and_counted() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+        var publisher = new ContainerAutomatEventBatchPublisher(messaging, 10, TEST_BATCH_MAX_DELAY_MILLIS);
+        Mockito.doThrow(new IllegalStateException("Broker unavailable"))
+                .when(messaging).sendContainerAutomatEventBatch(any(ContainerAutomatEventBatch.class));
+
+        for (int i = 0; i < ContainerAutomatEventBatchPublisher.MAX_PENDING_BATCHES; i++) {
+            publisher.publishEvent(createTestEvent());
+            publisher.flushPendingEvents();
+        }
+        assertEquals(0, publisher.getDroppedEventCount());
+
+        for (int i = 0; i < 10 * ContainerAutomatEventBatchPublisher.MAX_PENDING_BATCHES; i++) {
+            publisher.publishEvent(createTestEvent());
+        }
+        assertEquals(ContainerAutomatEventBatchPublisher.MAX_PENDING_BATCHES, publisher.getDroppedEventCount());
+    }
+
+    @Test
+    void publisher_creation_with_invalid_batch_size_fails() {
+
+        var messaging = Mockito.mock(ContainerAutomatMessaging.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatEventBatchPublisher(messaging, 0, TEST_BATCH_MAX_DELAY_MILLIS));
+    }
+
+
+    private static ContainerAutomatEvent createTestEvent() {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_START)
+                .eventTime(Instant.now())
+                .processingInstanceId(UUID.randomUUID().toString())
+                .processingInput(TEST_PROCESSING_INPUT)
+                .processingPosition(0)
+                .stateName(TEST_STATE_NAME)
+                .build();
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.config.ContainerAutomatCoreConfig;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * A test suite for the class {@link ContainerAutomatEventEmitter}
+ * for sending events according to an emission policy.
+ */
+class ContainerAutomatEventEmitterTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_OTHER_STATE_NAME = "S2";
+    private static final String TEST_PROCESSING_INPUT = "1010";
+
+
+    @Test
+    void policy_all_sends_every_event() {
+
+        var publisher = Mockito.mock(ContainerAutomatEventBatchPublisher.class);
+        var emitter = new ContainerAutomatEventEmitter(publisher, new MockEnvironment(), TEST_STATE_NAME);
+
+        assertEquals(ContainerAutomatEventEmitter.EmissionPolicy.ALL, emitter.getEmissionPolicy());
+        assertTrue(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_START)));
+        assertTrue(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)));
+        Mockito.verify(publisher, Mockito.times(2)).publishEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void policy_finish_only_suppresses_start_events() {
+
+        var publisher = Mockito.mock(ContainerAutomatEventBatchPublisher.class);
+        var environment = new MockEnvironment()
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_EMISSION_POLICY, "finish-only");
+        var emitter = new ContainerAutomatEventEmitter(publisher, environment, TEST_STATE_NAME);
+
+        assertFalse(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_START)));
+        assertTrue(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)));
+        Mockito.verify(publisher, Mockito.times(1)).publishEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void policy_sampled_with_zero_percent_sends_only_concluding_events() {
+
+        var publisher = Mockito.mock(ContainerAutomatEventBatchPublisher.class);
+        var environment = new MockEnvironment()
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_EMISSION_POLICY, "sampled")
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + ContainerAutomatEventEmitter.SETTING_SAMPLING_PERCENT, "0");
+        var emitter = new ContainerAutomatEventEmitter(publisher, environment, TEST_STATE_NAME);
+
+        assertFalse(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_START)));
+        assertFalse(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)));
+        assertTrue(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)));
+        assertTrue(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_ERROR)));
+        Mockito.verify(publisher, Mockito.times(2)).publishEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void policy_aggregated_sends_one_event_with_counts_per_window() {
+
+        var publisher = Mockito.mock(ContainerAutomatEventBatchPublisher.class);
+        var environment = new MockEnvironment()
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_EMISSION_POLICY, "aggregated");
+        var emitter = new ContainerAutomatEventEmitter(publisher, environment, TEST_STATE_NAME);
+
+        assertFalse(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_START)));
+        assertFalse(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_START)));
+        assertFalse(emitter.emitEvent(createTestEvent(EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)));
+        Mockito.verify(publisher, Mockito.never()).publishEvent(any(ContainerAutomatEvent.class));
+
+        emitter.sendAggregatedEvent();
+        emitter.sendAggregatedEvent();
+
+        var eventCaptor = ArgumentCaptor.forClass(ContainerAutomatEvent.class);
+        Mockito.verify(publisher, Mockito.times(1)).publishEvent(eventCaptor.capture());
+        var aggregatedEvent = eventCaptor.getValue();
+        assertEquals(EventType.STATE_PROCESSING_EVENTS_AGGREGATED, aggregatedEvent.getEventType());
+        assertEquals(TEST_STATE_NAME, aggregatedEvent.getStateName());
+        assertTrue(aggregatedEvent.getDescription().contains(EventType.STATE_PROCESSING_START + "=2"));
+        assertTrue(aggregatedEvent.getDescription().contains(EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS + "=1"));
+    }
+
+    @Test
+    void state_specific_policy_overrides_default_policy() {
+
+        var environment = new MockEnvironment()
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_EMISSION_POLICY, "finish-only")
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_STATES_PREFIX + TEST_STATE_NAME + "." + ContainerAutomatEventEmitter.SETTING_EMISSION_POLICY, "sampled");
+
+        var stateEmitter = new ContainerAutomatEventEmitter(Mockito.mock(ContainerAutomatEventBatchPublisher.class), environment, TEST_STATE_NAME);
+        var otherStateEmitter = new ContainerAutomatEventEmitter(Mockito.mock(ContainerAutomatEventBatchPublisher.class), environment, TEST_OTHER_STATE_NAME);
+
+        assertEquals(ContainerAutomatEventEmitter.EmissionPolicy.SAMPLED, stateEmitter.getEmissionPolicy());
+        assertEquals(ContainerAutomatEventEmitter.EmissionPolicy.FINISH_ONLY, otherStateEmitter.getEmissionPolicy());
+    }
+
+    @Test
+    void emitter_creation_with_invalid_sampling_percent_fails() {
+
+        var environment = new MockEnvironment()
+                .withProperty(ContainerAutomatCoreConfig.PROPERTY_CONTAINERAUTOMAT_EVENTS_PREFIX + ContainerAutomatEventEmitter.SETTING_SAMPLING_PERCENT, "101");
+        var publisher = Mockito.mock(ContainerAutomatEventBatchPublisher.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatEventEmitter(publisher, environment, TEST_STATE_NAME));
+    }
+
+
+    private static ContainerAutomatEvent createTestEvent(EventType eventType) {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(eventType)
+                .eventTime(Instant.now())
+                .processingInstanceId(UUID.randomUUID().toString())
+                .processingInput(TEST_PROCESSING_INPUT)
+                .processingPosition(0)
+                .stateName(TEST_STATE_NAME)
+                .build();
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor.ContainerAutomatProcessingResult;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatFlightRecorder}
+ * for emitting events of the JDK Flight Recorder.
+ */
+class ContainerAutomatFlightRecorderTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_PROCESSING_INPUT = "1010";
+    private static final int TEST_PROCESSING_POSITION = 2;
+    private static final String TEST_RESULT = "Test result.";
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void enabled_recorder_emits_events_with_processing_fields() throws Exception {
+
+        var flightRecorder = new ContainerAutomatFlightRecorder(true, TEST_STATE_NAME);
+        var testCommand = createTestCommand();
+        var testResult = new ContainerAutomatProcessingResult(testCommand);
+        testResult.setLastEvent(ContainerAutomatRuntimeEvent.builder()
+                .eventType(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED)
+                .eventTime(Instant.now())
+                .processingInstanceId(testCommand.getProcessingInstanceId())
+                .processingInput(TEST_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .stateName(TEST_STATE_NAME)
+                .build());
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(ContainerAutomatFlightRecorder.EVENT_NAME_PREFIX + "CommandProcessed");
+            recording.enable(ContainerAutomatFlightRecorder.EVENT_NAME_PREFIX + "WorkExecuted");
+            recording.enable(ContainerAutomatFlightRecorder.EVENT_NAME_PREFIX + "MessageSent");
+            recording.enable(ContainerAutomatFlightRecorder.EVENT_NAME_PREFIX + "StepStored");
+            recording.start();
+            var processedEvent = flightRecorder.beginProcessing();
+            assertEquals(TEST_RESULT, flightRecorder.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, testCommand, () -> TEST_RESULT));
+            flightRecorder.recordPhase(ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND, testCommand, () -> null);
+            flightRecorder.recordPhase(ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE, testCommand, () -> null);
+            flightRecorder.endProcessing(processedEvent, testResult);
+            recording.stop();
+            var recordingFile = tempDir.resolve("test.jfr");
+            recording.dump(recordingFile);
+            events = RecordingFile.readAllEvents(recordingFile);
+        }
+
+        assertEquals(4, events.size());
+        var messageSent = getEvent(events, "MessageSent");
+        assertEquals(ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND, messageSent.getString("phase"));
+        assertEquals(TEST_STATE_NAME, messageSent.getString("stateName"));
+        assertEquals(testCommand.getProcessingInstanceId(), messageSent.getString("processingInstanceId"));
+        assertEquals(TEST_PROCESSING_POSITION, messageSent.getInt("processingPosition"));
+        assertTrue(getEvent(events, "WorkExecuted").getBoolean("succeeded"));
+        assertTrue(getEvent(events, "StepStored").getBoolean("succeeded"));
+        assertEquals(ContainerAutomatProcessingMetrics.OUTCOME_ACCEPTED, getEvent(events, "CommandProcessed").getString("outcome"));
+    }
+
+    @Test
+    void enabled_recorder_passes_on_exception_of_phase() {
+
+        var flightRecorder = new ContainerAutomatFlightRecorder(true, TEST_STATE_NAME);
+        var testCommand = createTestCommand();
+
+        assertThrows(IllegalStateException.class, () -> flightRecorder.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, testCommand, () -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    @Test
+    void disabled_recorder_executes_phases_without_events() {
+
+        var flightRecorder = new ContainerAutomatFlightRecorder(false, TEST_STATE_NAME);
+        var testCommand = createTestCommand();
+
+        assertFalse(flightRecorder.isEnabled());
+        assertNull(flightRecorder.beginProcessing());
+        assertEquals(TEST_RESULT, flightRecorder.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, testCommand, () -> TEST_RESULT));
+        flightRecorder.endProcessing(null, new ContainerAutomatProcessingResult(testCommand));
+    }
+
+
+    private static RecordedEvent getEvent(List<RecordedEvent> events, String simpleEventName) {
+
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(ContainerAutomatFlightRecorder.EVENT_NAME_PREFIX + simpleEventName))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ContainerAutomatCommand createTestCommand() {
+
+        return ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(UUID.randomUUID().toString())
+                .processingInput(TEST_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.automaton.AlphabetSymbol;
+import de.containerautomat.automaton.DeterministicFiniteAutomaton;
+import de.containerautomat.automaton.runtime.RuntimeAlphabetSymbol;
+import de.containerautomat.processing.ContainerAutomatInput;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintValidatorContext.ConstraintViolationBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatInputValidator}
+ * for validating input strings according to the constraint {@link ContainerAutomatInput}.
+ */
+class ContainerAutomatInputValidatorTests {
+
+    private ContainerAutomatInputValidator inputValidator;
+
+
+    @BeforeEach
+    void setUp() {
+
+        var automaton = Mockito.mock(DeterministicFiniteAutomaton.class);
+        Set<AlphabetSymbol> alphabet = Set.of(new RuntimeAlphabetSymbol("0", "Zero"), new RuntimeAlphabetSymbol("1", "One"), new RuntimeAlphabetSymbol("§", "Paragraph"));
+        Mockito.when(automaton.getAlphabet()).thenReturn(alphabet);
+        inputValidator = new ContainerAutomatInputValidator(automaton);
+    }
+
+    @Test
+    void input_of_alphabet_symbols_is_valid() {
+
+        assertEquals(-1, inputValidator.findInvalidPosition("0101§"));
+        assertEquals(-1, inputValidator.findInvalidPosition("01".repeat(10000)));
+        assertTrue(inputValidator.isValid("0101", Mockito.mock(ConstraintValidatorContext.class)));
+        assertTrue(inputValidator.isValid(null, Mockito.mock(ConstraintValidatorContext.class)));
+    }
+
+    @Test
+    void position_of_first_invalid_symbol_is_found() {
+
+        assertEquals(0, inputValidator.findInvalidPosition("2101"));
+        assertEquals(3, inputValidator.findInvalidPosition("010a1b"));
+        assertEquals(20000, inputValidator.findInvalidPosition("01".repeat(10000) + "ā"));
+    }
+
+    @Test
+    void invalid_input_reports_position_in_violation() {
+
+        var context = Mockito.mock(ConstraintValidatorContext.class);
+        var violationBuilder = Mockito.mock(ConstraintViolationBuilder.class);
+        Mockito.when(context.buildConstraintViolationWithTemplate(Mockito.anyString())).thenReturn(violationBuilder);
+
+        assertFalse(inputValidator.isValid("01x1", context));
+
+        Mockito.verify(context).disableDefaultConstraintViolation();
+        Mockito.verify(context).buildConstraintViolationWithTemplate(ContainerAutomatInputValidator.MESSAGE_INVALID_SYMBOL_TEMPLATE.formatted(2));
+        Mockito.verify(violationBuilder).addConstraintViolation();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatStorage;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test suite for the class {@link ContainerAutomatInputWindows}
+ * for refilling the input window of commands from stored segments.
+ */
+class ContainerAutomatInputWindowsTests {
+
+    private static final String TEST_INSTANCE_ID = UUID.randomUUID().toString();
+    private static final String TEST_PROCESSING_INPUT = "0101100111";
+    private static final int TEST_INPUT_WINDOW_SIZE = 3;
+    private static final int TEST_SEGMENT_SIZE = 4;
+    private static final int TEST_CACHE_SIZE = 8;
+
+
+    @Test
+    void command_with_remaining_input_window_is_not_refilled() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        var inputWindows = new ContainerAutomatInputWindows(storage, TEST_SEGMENT_SIZE, TEST_CACHE_SIZE);
+        var testCommand = createTestCommand(0, 1);
+
+        assertSame(testCommand, inputWindows.refillInputWindow(testCommand));
+        Mockito.verifyNoInteractions(storage);
+    }
+
+    @Test
+    void exhausted_input_window_is_refilled_across_segments() {
+
+        var storage = createStorageMock();
+        var inputWindows = new ContainerAutomatInputWindows(storage, TEST_SEGMENT_SIZE, TEST_CACHE_SIZE);
+
+        var refilledCommand = inputWindows.refillInputWindow(createTestCommand(0, TEST_INPUT_WINDOW_SIZE));
+
+        assertEquals(TEST_PROCESSING_INPUT.substring(TEST_INPUT_WINDOW_SIZE, 2 * TEST_INPUT_WINDOW_SIZE), refilledCommand.getProcessingInput());
+        assertEquals(TEST_INPUT_WINDOW_SIZE, refilledCommand.getProcessingPosition());
+        assertEquals(TEST_INPUT_WINDOW_SIZE, refilledCommand.getProcessingInputOffset());
+        assertEquals(TEST_PROCESSING_INPUT.length(), refilledCommand.getProcessingInputLength());
+        assertEquals(Character.toString(TEST_PROCESSING_INPUT.charAt(TEST_INPUT_WINDOW_SIZE)), refilledCommand.currentInputSymbol().orElseThrow());
+        assertEquals(2, inputWindows.getCacheSize());
+    }
+
+    @Test
+    void last_input_window_is_limited_by_input_length() {
+
+        var storage = createStorageMock();
+        var inputWindows = new ContainerAutomatInputWindows(storage, TEST_SEGMENT_SIZE, TEST_CACHE_SIZE);
+        var offset = 2 * TEST_INPUT_WINDOW_SIZE;
+
+        var refilledCommand = inputWindows.refillInputWindow(createTestCommand(offset, offset + TEST_INPUT_WINDOW_SIZE));
+
+        assertEquals(TEST_PROCESSING_INPUT.substring(offset + TEST_INPUT_WINDOW_SIZE), refilledCommand.getProcessingInput());
+    }
+
+    @Test
+    void cached_segments_are_read_only_once() {
+
+        var storage = createStorageMock();
+        var inputWindows = new ContainerAutomatInputWindows(storage, TEST_SEGMENT_SIZE, TEST_CACHE_SIZE);
+
+        inputWindows.refillInputWindow(createTestCommand(0, TEST_INPUT_WINDOW_SIZE));
+        inputWindows.refillInputWindow(createTestCommand(0, TEST_INPUT_WINDOW_SIZE));
+
+        Mockito.verify(storage, Mockito.times(1)).findInputSegment(TEST_INSTANCE_ID, 0, TEST_SEGMENT_SIZE);
+        Mockito.verify(storage, Mockito.times(1)).findInputSegment(TEST_INSTANCE_ID, TEST_SEGMENT_SIZE, TEST_SEGMENT_SIZE);
+    }
+
+    @Test
+    void refill_for_not_existing_processing_instance_fails() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        Mockito.when(storage.findInputSegment(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(Optional.empty());
+        var inputWindows = new ContainerAutomatInputWindows(storage, TEST_SEGMENT_SIZE, TEST_CACHE_SIZE);
+        var testCommand = createTestCommand(0, TEST_INPUT_WINDOW_SIZE);
+
+        var exception = assertThrows(IllegalStateException.class, () -> inputWindows.refillInputWindow(testCommand));
+
+        assertEquals(ContainerAutomatInputWindows.ERROR_MESSAGE_INPUT_SEGMENT_NOT_FOUND_TEMPLATE.formatted(TEST_INSTANCE_ID, 0), exception.getMessage());
+    }
+
+    @Test
+    void input_windows_creation_with_invalid_segment_size_fails() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatInputWindows(storage, 0, TEST_CACHE_SIZE));
+    }
+
+
+    private static ContainerAutomatStorage createStorageMock() {
+
+        var storage = Mockito.mock(ContainerAutomatStorage.class);
+        Mockito.when(storage.findInputSegment(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenAnswer(invocation -> Optional.of(ContainerAutomatStorage.inputSegment(TEST_PROCESSING_INPUT, invocation.getArgument(1), invocation.getArgument(2))));
+        return storage;
+    }
+
+    private static ContainerAutomatRuntimeCommand createTestCommand(int processingInputOffset, int processingPosition) {
+
+        return ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_INSTANCE_ID)
+                .processingInput(TEST_PROCESSING_INPUT.substring(processingInputOffset, processingInputOffset + TEST_INPUT_WINDOW_SIZE))
+                .processingPosition(processingPosition)
+                .processingInputOffset(processingInputOffset)
+                .processingInputLength(TEST_PROCESSING_INPUT.length())
+                .build();
+    }
+
+}
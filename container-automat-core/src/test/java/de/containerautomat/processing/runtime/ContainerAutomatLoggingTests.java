@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import org.apache.commons.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * A test suite for the class {@link ContainerAutomatLogging}
+ * for writing log messages per command and event.
+ */
+class ContainerAutomatLoggingTests {
+
+    private static final String TEST_EVENT = "command.start";
+    private static final String TEST_TEXT_TEMPLATE = "Start processing symbol %s at position %d (InstanceId %s).";
+    private static final String TEST_PROCESSING_INSTANCE_ID = "4711";
+
+
+    @Test
+    void text_format_writes_formatted_template_at_info() {
+
+        var log = createLog(true, true);
+        var logging = new ContainerAutomatLogging("text", "info");
+
+        logging.log(log, TEST_EVENT, TEST_TEXT_TEMPLATE, "symbol", "1", "position", 3, "instanceId", TEST_PROCESSING_INSTANCE_ID);
+
+        Mockito.verify(log).info("Start processing symbol 1 at position 3 (InstanceId 4711).");
+    }
+
+    @Test
+    void json_format_writes_escaped_key_values() {
+
+        var log = createLog(true, true);
+        var logging = new ContainerAutomatLogging("json", "info");
+
+        logging.log(log, TEST_EVENT, TEST_TEXT_TEMPLATE, "symbol", "\"1\"", "position", 3, "instanceId", null);
+
+        Mockito.verify(log).info("{\"event\":\"command.start\",\"symbol\":\"\\\"1\\\"\",\"position\":3,\"instanceId\":null}");
+    }
+
+    @Test
+    void demoted_level_skips_messages_if_level_is_disabled() {
+
+        var log = createLog(true, false);
+        var logging = new ContainerAutomatLogging("text", "debug");
+
+        logging.log(log, TEST_EVENT, TEST_TEXT_TEMPLATE, "symbol", "1", "position", 3, "instanceId", TEST_PROCESSING_INSTANCE_ID);
+
+        assertFalse(logging.isEnabled(log));
+        Mockito.verify(log, Mockito.never()).info(any());
+        Mockito.verify(log, Mockito.never()).debug(any());
+    }
+
+    @Test
+    void level_off_disables_messages() {
+
+        var log = createLog(true, true);
+        var logging = new ContainerAutomatLogging("json", "off");
+
+        logging.logEvent(log, "%s", createTestEvent());
+
+        assertFalse(logging.isEnabled(log));
+        Mockito.verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    void json_format_writes_event_fields() {
+
+        var log = createLog(true, true);
+        var logging = new ContainerAutomatLogging("json", "debug");
+
+        logging.logEvent(log, "%s", createTestEvent());
+
+        Mockito.verify(log).debug("{\"event\":\"event.received\",\"eventType\":\"STATE_PROCESSING_START\",\"state\":\"S1\",\"position\":0,\"input\":\"1010\",\"instanceId\":\"4711\",\"description\":\"Line 1\\nLine 2\"}");
+    }
+
+    @Test
+    void text_format_writes_event_fields_with_abbreviated_input() {
+
+        var log = createLog(true, true);
+        var logging = new ContainerAutomatLogging("text", "info");
+        var testEvent = createTestEvent();
+        var longInput = "1".repeat(ContainerAutomatLogging.MAX_VALUE_LENGTH + 1);
+
+        logging.logEvent(log, "%s", testEvent);
+        testEvent.setProcessingInput(longInput);
+        logging.logEvent(log, "%s", testEvent);
+
+        var messageCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(log, Mockito.times(2)).info(messageCaptor.capture());
+        testEvent.setProcessingInput("1010");
+        assertEquals(testEvent.toString(), messageCaptor.getAllValues().get(0));
+        var abbreviatedMessage = messageCaptor.getAllValues().get(1).toString();
+        assertFalse(abbreviatedMessage.contains(longInput));
+        assertTrue(abbreviatedMessage.contains("processingInput=%s... (%d characters)".formatted("1".repeat(ContainerAutomatLogging.MAX_VALUE_LENGTH), longInput.length())));
+    }
+
+    @Test
+    void long_values_are_abbreviated() {
+
+        var longValue = "1".repeat(ContainerAutomatLogging.MAX_VALUE_LENGTH + 1);
+
+        var text = ContainerAutomatLogging.toText("%s", new Object[]{"input", longValue});
+
+        assertTrue(text.startsWith("1".repeat(ContainerAutomatLogging.MAX_VALUE_LENGTH) + "..."));
+        assertTrue(text.endsWith("(%d characters)".formatted(longValue.length())));
+        assertEquals("12", ContainerAutomatLogging.toText("%s", new Object[]{"input", "12"}));
+    }
+
+    @Test
+    void logging_creation_with_invalid_format_fails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatLogging("xml", "info"));
+    }
+
+
+    private static Log createLog(boolean infoEnabled, boolean debugEnabled) {
+
+        var log = Mockito.mock(Log.class);
+        Mockito.when(log.isInfoEnabled()).thenReturn(infoEnabled);
+        Mockito.when(log.isDebugEnabled()).thenReturn(debugEnabled);
+        return log;
+    }
+
+    private static ContainerAutomatRuntimeEvent createTestEvent() {
+
+        return ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_START)
+                .eventTime(Instant.now())
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput("1010")
+                .processingPosition(0)
+                .stateName("S1")
+                .description("Line 1\nLine 2")
+                .build();
+    }
+
+}
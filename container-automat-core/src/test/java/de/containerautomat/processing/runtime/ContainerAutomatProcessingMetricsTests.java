@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor.ContainerAutomatProcessingResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test suite for the class {@link ContainerAutomatProcessingMetrics}
+ * for recording the durations of the phases of command processing.
+ */
+class ContainerAutomatProcessingMetricsTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final String TEST_PROCESSING_INPUT = "1010";
+    private static final String TEST_PHASE_RESULT = "Test result of phase.";
+
+
+    @Test
+    void successful_phase_is_recorded_with_outcome_success() {
+
+        var registry = new SimpleMeterRegistry();
+        var metrics = createMetrics(registry);
+
+        assertEquals(TEST_PHASE_RESULT, metrics.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, () -> TEST_PHASE_RESULT));
+
+        var timer = registry.get(ContainerAutomatProcessingMetrics.METRIC_NAME_PHASE)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_STATE, TEST_STATE_NAME)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_PHASE, ContainerAutomatProcessingMetrics.PHASE_WORK)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_OUTCOME, ContainerAutomatProcessingMetrics.OUTCOME_SUCCESS)
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void failing_phase_is_recorded_with_outcome_error() {
+
+        var registry = new SimpleMeterRegistry();
+        var metrics = createMetrics(registry);
+
+        assertThrows(IllegalStateException.class, () -> metrics.recordPhase(ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND, () -> {
+            throw new IllegalStateException();
+        }));
+
+        var timer = registry.get(ContainerAutomatProcessingMetrics.METRIC_NAME_PHASE)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_PHASE, ContainerAutomatProcessingMetrics.PHASE_NEXT_COMMAND)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_OUTCOME, ContainerAutomatProcessingMetrics.OUTCOME_ERROR)
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void processing_is_recorded_with_outcome_of_last_event() {
+
+        var registry = new SimpleMeterRegistry();
+        var metrics = createMetrics(registry);
+        var result = createTestResult(EventType.STATE_PROCESSING_FINISHED_INPUT_ACCEPTED);
+
+        metrics.recordProcessing(System.nanoTime(), result);
+
+        var timer = registry.get(ContainerAutomatProcessingMetrics.METRIC_NAME_PROCESSING)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_STATE, TEST_STATE_NAME)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_OUTCOME, ContainerAutomatProcessingMetrics.OUTCOME_ACCEPTED)
+                .timer();
+        assertEquals(1, timer.count());
+        assertNull(registry.find(ContainerAutomatProcessingMetrics.METRIC_NAME_ERRORS).counter());
+    }
+
+    @Test
+    void processing_error_is_counted_by_exception_type() {
+
+        var registry = new SimpleMeterRegistry();
+        var metrics = createMetrics(registry);
+        var result = createTestResult(EventType.STATE_PROCESSING_ERROR);
+        result.setError(new IllegalArgumentException());
+
+        metrics.recordProcessing(System.nanoTime(), result);
+        metrics.recordProcessing(System.nanoTime(), result);
+
+        var counter = registry.get(ContainerAutomatProcessingMetrics.METRIC_NAME_ERRORS)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_STATE, TEST_STATE_NAME)
+                .tag(ContainerAutomatProcessingMetrics.METRIC_TAG_EXCEPTION, IllegalArgumentException.class.getSimpleName())
+                .counter();
+        assertEquals(2, counter.count());
+        assertEquals(ContainerAutomatProcessingMetrics.OUTCOME_ERROR, ContainerAutomatProcessingMetrics.getOutcome(result));
+    }
+
+    @Test
+    void outcome_of_continued_and_rejected_processing() {
+
+        assertEquals(ContainerAutomatProcessingMetrics.OUTCOME_CONTINUED, ContainerAutomatProcessingMetrics.getOutcome(createTestResult(EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)));
+        assertEquals(ContainerAutomatProcessingMetrics.OUTCOME_REJECTED, ContainerAutomatProcessingMetrics.getOutcome(createTestResult(EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED)));
+    }
+
+    @Test
+    void timers_of_known_phases_and_outcomes_are_registered_when_bound() {
+
+        var registry = new SimpleMeterRegistry();
+        createMetrics(registry);
+
+        assertEquals(ContainerAutomatProcessingMetrics.PHASES.size() * 2, registry.get(ContainerAutomatProcessingMetrics.METRIC_NAME_PHASE).timers().size());
+        assertEquals(ContainerAutomatProcessingMetrics.PROCESSING_OUTCOMES.size(), registry.get(ContainerAutomatProcessingMetrics.METRIC_NAME_PROCESSING).timers().size());
+    }
+
+    @Test
+    void phase_durations_are_summarized_over_outcomes() {
+
+        var metrics = createMetrics(new SimpleMeterRegistry());
+
+        metrics.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, () -> TEST_PHASE_RESULT);
+        assertThrows(IllegalStateException.class, () -> metrics.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, () -> {
+            throw new IllegalStateException();
+        }));
+        metrics.recordPhase(ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE, () -> TEST_PHASE_RESULT);
+
+        var phaseDurations = metrics.getPhaseDurations();
+        assertEquals(2, phaseDurations.size());
+        assertEquals(2, phaseDurations.get(ContainerAutomatProcessingMetrics.PHASE_WORK).count());
+        assertEquals(1, phaseDurations.get(ContainerAutomatProcessingMetrics.PHASE_STEP_STORAGE).count());
+    }
+
+    private static ContainerAutomatProcessingMetrics createMetrics(SimpleMeterRegistry registry) {
+
+        var metrics = new ContainerAutomatProcessingMetrics(TEST_STATE_NAME);
+        metrics.bindTo(registry);
+        return metrics;
+    }
+
+    private static ContainerAutomatProcessingResult createTestResult(EventType eventType) {
+
+        var command = new ContainerAutomatRuntimeCommand(UUID.randomUUID().toString(), TEST_PROCESSING_INPUT, 0);
+        var result = new ContainerAutomatProcessingResult(command);
+        result.setLastEvent(ContainerAutomatRuntimeEvent.builder()
+                .eventType(eventType)
+                .eventTime(Instant.now())
+                .processingInstanceId(command.getProcessingInstanceId())
+                .processingInput(command.getProcessingInput())
+                .processingPosition(command.getProcessingPosition())
+                .stateName(TEST_STATE_NAME)
+                .build());
+        return result;
+    }
+
+}
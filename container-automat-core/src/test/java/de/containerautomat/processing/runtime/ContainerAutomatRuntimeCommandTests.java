@@ -43,6 +43,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * <ul>
  *     <li>Serialization and deserialization in JSON format.</li>
  *     <li>The factory methods of the implementation.</li>
+ *     <li>Commands that only carry a window of the input.</li>
  *     <li>
  *         The default implementation of {@link ContainerAutomatCommand#hasInputSymbol()},
  *         {@link ContainerAutomatCommand#currentInputSymbol()} and
@@ -73,6 +74,7 @@ class ContainerAutomatRuntimeCommandTests {
     private static final int VALID_END_OF_PROCESSING_TEST_PROCESSING_POSITION = TEST_PROCESSING_INPUT.length();
     private static final int FIRST_INVALID_TEST_PROCESSING_POSITION = TEST_PROCESSING_INPUT.length() + 1;
     private static final int NEGATIVE_TEST_PROCESSING_POSITION = -1;
+    private static final int TEST_INPUT_WINDOW_SIZE = 2;
 
 
     private ObjectMapper objectMapper;
@@ -162,6 +164,55 @@ class ContainerAutomatRuntimeCommandTests {
         assertEquals(0, command.getProcessingPosition());
     }
 
+    @Test
+    void command_with_input_window_from_processing_instance() {
+
+        var testProcessingInstance = ProcessingInstanceImpl.builder()
+                .processingInstanceId(TEST_INSTANCE_ID)
+                .creationTime(Instant.now())
+                .input(TEST_PROCESSING_INPUT)
+                .description("Test ProcessingInstanceImpl.")
+                .build();
+
+        var command = ContainerAutomatRuntimeCommand.fromProcessingInstance(testProcessingInstance, TEST_INPUT_WINDOW_SIZE);
+
+        assertEquals(TEST_PROCESSING_INPUT.substring(0, TEST_INPUT_WINDOW_SIZE), command.getProcessingInput());
+        assertEquals(0, command.getProcessingInputOffset());
+        assertEquals(TEST_PROCESSING_INPUT.length(), command.getProcessingInputLength());
+        assertFalse(command.isInputWindowExhausted());
+    }
+
+    @Test
+    void command_with_exhausted_input_window() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_INSTANCE_ID)
+                .processingInput(TEST_PROCESSING_INPUT.substring(0, TEST_INPUT_WINDOW_SIZE))
+                .processingPosition(TEST_INPUT_WINDOW_SIZE)
+                .processingInputLength(TEST_PROCESSING_INPUT.length())
+                .build();
+
+        assertTrue(testCommand.hasInputSymbol());
+        assertTrue(testCommand.isInputWindowExhausted());
+        assertTrue(testCommand.currentInputSymbol().isEmpty());
+        assertFalse(testCommand.isProcessingEndCommand());
+    }
+
+    @Test
+    void command_with_input_window_at_offset_has_current_input_symbol() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_INSTANCE_ID)
+                .processingInput(TEST_PROCESSING_INPUT.substring(TEST_INPUT_WINDOW_SIZE))
+                .processingPosition(TEST_INPUT_WINDOW_SIZE + 1)
+                .processingInputOffset(TEST_INPUT_WINDOW_SIZE)
+                .processingInputLength(TEST_PROCESSING_INPUT.length())
+                .build();
+
+        assertEquals(Character.toString(TEST_PROCESSING_INPUT.charAt(TEST_INPUT_WINDOW_SIZE + 1)), testCommand.currentInputSymbol().orElseThrow());
+        assertFalse(testCommand.isInputWindowExhausted());
+    }
+
     @Test
     void command_has_input_symbol_at_test_processing_position() {
 
@@ -42,6 +42,8 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -114,9 +116,30 @@ class ContainerAutomatRuntimeProcessorTests {
     @Autowired
     ContainerAutomatRuntimeProcessor runtimeProcessor;
 
+    @Autowired
+    ContainerAutomatEventEmitter eventEmitter;
+
     @Autowired
     DeterministicFiniteAutomaton dfa;
 
+    @Autowired
+    ContainerAutomatInputWindows inputWindows;
+
+    @Autowired
+    ContainerAutomatProcessingMetrics processingMetrics;
+
+    @Autowired
+    ContainerAutomatTracing tracing;
+
+    @Autowired
+    ContainerAutomatLogging logging;
+
+    @Autowired
+    ContainerAutomatFlightRecorder flightRecorder;
+
+    @Autowired
+    ContainerAutomatSlowHopWatchdog slowHopWatchdog;
+
 
     @Test
     void runtime_processor_is_available() {
@@ -137,7 +160,7 @@ class ContainerAutomatRuntimeProcessorTests {
         var missingStateName = "MissingState";
         var dfaMock = Mockito.mock(DeterministicFiniteAutomaton.class);
         Mockito.when(dfaMock.getState(missingStateName)).thenReturn(null);
-        var exception = assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatRuntimeProcessor(dfaMock, missingStateName, messaging, storage));
+        var exception = assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatRuntimeProcessor(dfaMock, missingStateName, messaging, storage, eventEmitter, inputWindows, processingMetrics, tracing, logging, flightRecorder, slowHopWatchdog));
         assertEquals(DeterministicFiniteAutomaton.ERROR_MESSAGE_NO_STATE_TEMPLATE.formatted(missingStateName), exception.getMessage());
     }
 
@@ -176,6 +199,29 @@ class ContainerAutomatRuntimeProcessorTests {
         assertNull(result.getError());
     }
 
+    @Test
+    void traced_symbol_processing_records_span_per_phase() {
+
+        var testCommand = createTestCommandWithValidInput();
+        var testStep = createTestStep(createTestEvent(testCommand, EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS));
+        var testWorkResult = new ContainerAutomatRuntimeProcessor.ContainerAutomatWorkResult(TEST_WORK_RESULT_DESCRIPTION, 1000);
+        var testTracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_STATE_NAME);
+        var testProcessor = new ContainerAutomatRuntimeProcessor(dfa, TEST_STATE_NAME, messaging, storage, eventEmitter, inputWindows, processingMetrics, testTracing, logging, flightRecorder, slowHopWatchdog);
+
+        Mockito.when(storage.createProcessingStep(isA(Instant.class), isA(ContainerAutomatEvent.class))).thenReturn(testStep);
+
+        testProcessor.processCommand(testCommand, command -> testWorkResult);
+
+        var spanNames = testTracing.getFinishedSpans().stream().map(ContainerAutomatTracing.FinishedSpan::name).toList();
+        assertEquals(List.of(
+                ContainerAutomatRuntimeProcessor.SPAN_NAME_PHASE_START_EVENT,
+                ContainerAutomatRuntimeProcessor.SPAN_NAME_PHASE_WORK,
+                ContainerAutomatRuntimeProcessor.SPAN_NAME_PHASE_NEXT_COMMAND,
+                ContainerAutomatRuntimeProcessor.SPAN_NAME_PHASE_FINISH_EVENT,
+                ContainerAutomatRuntimeProcessor.SPAN_NAME_PHASE_STEP_STORAGE,
+                ContainerAutomatRuntimeProcessor.SPAN_NAME_PROCESS), spanNames);
+    }
+
     @Test
     void result_of_invalid_input_processing() {
 
@@ -408,7 +454,7 @@ class ContainerAutomatRuntimeProcessorTests {
         var testCommand = createTestCommandInputRejected();
         var testEventDescription = ContainerAutomatRuntimeProcessor.PROCESSING_MESSAGE_FINALIZATION_WITH_REJECT_TEMPLATE.formatted(TEST_PROCESSING_MESSAGE);
         var testEvent = createTestEvent(testCommand, EventType.STATE_PROCESSING_FINISHED_INPUT_REJECTED, TEST_REJECT_STATE_NAME, testEventDescription);
-        var testProcessor = new ContainerAutomatRuntimeProcessor(dfa, TEST_REJECT_STATE_NAME, messaging, storage);
+        var testProcessor = new ContainerAutomatRuntimeProcessor(dfa, TEST_REJECT_STATE_NAME, messaging, storage, eventEmitter, inputWindows, processingMetrics, tracing, logging, flightRecorder, slowHopWatchdog);
         var testWorkResult = new ContainerAutomatRuntimeProcessor.ContainerAutomatWorkResult(TEST_WORK_RESULT_DESCRIPTION, 1000);
         var testResult = new ContainerAutomatRuntimeProcessor.ContainerAutomatProcessingResult(testCommand);
         testResult.setWorkResult(testWorkResult);
@@ -435,6 +481,27 @@ class ContainerAutomatRuntimeProcessorTests {
         assertEquals(testNextCommand.getProcessingInstanceId(), continuation.nextCommand().getProcessingInstanceId());
     }
 
+    @Test
+    void process_continuation_of_command_with_exhausted_input_window() {
+
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT.substring(0, 1))
+                .processingPosition(0)
+                .processingInputLength(TEST_ACCEPTED_PROCESSING_INPUT.length())
+                .build();
+
+        Mockito.when(storage.findInputSegment(eq(TEST_PROCESSING_INSTANCE_ID), eq(0), ArgumentMatchers.anyInt())).thenReturn(Optional.of(TEST_ACCEPTED_PROCESSING_INPUT));
+        Mockito.doNothing().when(messaging).sendContainerAutomatCommand(isA(String.class), isA(ContainerAutomatCommand.class));
+
+        var continuation = runtimeProcessor.sendNextCommand(testCommand);
+        assertNotNull(continuation);
+        assertEquals(1, continuation.nextCommand().getProcessingPosition());
+        assertEquals(1, continuation.nextCommand().getProcessingInputOffset());
+        assertEquals(TEST_ACCEPTED_PROCESSING_INPUT.length(), continuation.nextCommand().getProcessingInputLength());
+        assertEquals(TEST_ACCEPTED_PROCESSING_INPUT.substring(1, 2), continuation.nextCommand().getProcessingInput());
+    }
+
     @Test
     void store_step_for_event_without_error() {
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatEvent.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * A test suite for the class {@link ContainerAutomatSlowHopWatchdog}
+ * for capturing diagnostic snapshots of slow processing.
+ */
+class ContainerAutomatSlowHopWatchdogTests {
+
+    private static final String TEST_STATE_NAME = "S1";
+    private static final long TEST_THRESHOLD_MILLIS = 10;
+    private static final long TEST_SLOW_DURATION_MILLIS = 50;
+    private static final long TEST_CHECK_INTERVAL_MILLIS = 1000;
+    private static final long TEST_COOLDOWN_MILLIS = 60000;
+    private static final long TEST_BACKLOG = 42;
+
+    @TempDir
+    Path snapshotDirectory;
+
+
+    @Test
+    void slow_processing_writes_snapshot_and_emits_event() throws Exception {
+
+        var eventEmitter = Mockito.mock(ContainerAutomatEventEmitter.class);
+        var watchdog = createWatchdog(eventEmitter, new AtomicLong());
+
+        recordProcessing(watchdog, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES, TEST_SLOW_DURATION_MILLIS);
+        var snapshotPath = watchdog.checkForSlowHops();
+
+        assertTrue(snapshotPath.isPresent());
+        var snapshot = Files.readString(snapshotPath.get());
+        assertTrue(snapshot.contains("Command backlog: " + TEST_BACKLOG));
+        assertTrue(snapshot.contains(ContainerAutomatProcessingMetrics.PHASE_WORK + ": max"));
+        assertTrue(snapshot.contains(Thread.currentThread().getName()));
+
+        var eventCaptor = ArgumentCaptor.forClass(ContainerAutomatEvent.class);
+        Mockito.verify(eventEmitter, Mockito.times(1)).emitEvent(eventCaptor.capture());
+        assertEquals(EventType.STATE_PROCESSING_SLOW_HOP_DETECTED, eventCaptor.getValue().getEventType());
+        assertEquals(TEST_STATE_NAME, eventCaptor.getValue().getStateName());
+        assertTrue(eventCaptor.getValue().getDescription().contains(snapshotPath.get().toString()));
+    }
+
+    @Test
+    void thread_info_contains_all_frames_and_locked_monitors() {
+
+        var lock = new Object();
+        synchronized (lock) {
+            var threadInfo = ManagementFactory.getThreadMXBean().getThreadInfo(new long[]{Thread.currentThread().threadId()}, true, true)[0];
+            var snapshot = new StringBuilder();
+
+            ContainerAutomatSlowHopWatchdog.appendThreadInfo(snapshot, threadInfo);
+
+            assertTrue(threadInfo.getStackTrace().length > 8);
+            assertEquals(threadInfo.getStackTrace().length, snapshot.toString().split("\tat ", -1).length - 1);
+            assertTrue(snapshot.toString().contains("\t-  locked java.lang.Object@"));
+        }
+    }
+
+    @Test
+    void fast_processing_or_too_few_samples_capture_nothing() {
+
+        var eventEmitter = Mockito.mock(ContainerAutomatEventEmitter.class);
+        var watchdogWithFewSamples = createWatchdog(eventEmitter, new AtomicLong());
+        var watchdogWithFastSamples = createWatchdog(eventEmitter, new AtomicLong());
+
+        recordProcessing(watchdogWithFewSamples, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES - 1, TEST_SLOW_DURATION_MILLIS);
+        recordProcessing(watchdogWithFastSamples, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES * 2, 0);
+
+        assertFalse(watchdogWithFewSamples.checkForSlowHops().isPresent());
+        assertFalse(watchdogWithFastSamples.checkForSlowHops().isPresent());
+        Mockito.verify(eventEmitter, Mockito.never()).emitEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void cooldown_suppresses_further_snapshots() {
+
+        var eventEmitter = Mockito.mock(ContainerAutomatEventEmitter.class);
+        var currentTimeMillis = new AtomicLong();
+        var watchdog = createWatchdog(eventEmitter, currentTimeMillis);
+
+        recordProcessing(watchdog, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES, TEST_SLOW_DURATION_MILLIS);
+        assertTrue(watchdog.checkForSlowHops().isPresent());
+
+        recordProcessing(watchdog, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES, TEST_SLOW_DURATION_MILLIS);
+        currentTimeMillis.addAndGet(TEST_COOLDOWN_MILLIS - 1);
+        assertFalse(watchdog.checkForSlowHops().isPresent());
+
+        currentTimeMillis.incrementAndGet();
+        assertTrue(watchdog.checkForSlowHops().isPresent());
+        Mockito.verify(eventEmitter, Mockito.times(2)).emitEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void fast_processing_after_snapshot_captures_nothing_when_cooldown_expires() {
+
+        var eventEmitter = Mockito.mock(ContainerAutomatEventEmitter.class);
+        var currentTimeMillis = new AtomicLong();
+        var watchdog = createWatchdog(eventEmitter, currentTimeMillis);
+
+        recordProcessing(watchdog, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES * 2, TEST_SLOW_DURATION_MILLIS);
+        assertTrue(watchdog.checkForSlowHops().isPresent());
+
+        recordProcessing(watchdog, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES, 0);
+        currentTimeMillis.addAndGet(TEST_COOLDOWN_MILLIS);
+
+        assertFalse(watchdog.checkForSlowHops().isPresent());
+        Mockito.verify(eventEmitter, Mockito.times(1)).emitEvent(any(ContainerAutomatEvent.class));
+    }
+
+    @Test
+    void watchdog_creation_with_invalid_window_size_fails() {
+
+        var processingMetrics = new ContainerAutomatProcessingMetrics(TEST_STATE_NAME);
+        var backlogMetrics = Mockito.mock(ContainerAutomatBacklogMetrics.class);
+        var eventEmitter = Mockito.mock(ContainerAutomatEventEmitter.class);
+        var windowSize = ContainerAutomatSlowHopWatchdog.MIN_SAMPLES - 1;
+        var directory = snapshotDirectory.toString();
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatSlowHopWatchdog(processingMetrics, backlogMetrics, eventEmitter, TEST_STATE_NAME,
+                TEST_THRESHOLD_MILLIS, TEST_CHECK_INTERVAL_MILLIS, windowSize, TEST_COOLDOWN_MILLIS, directory));
+    }
+
+
+    private ContainerAutomatSlowHopWatchdog createWatchdog(ContainerAutomatEventEmitter eventEmitter, AtomicLong currentTimeMillis) {
+
+        var processingMetrics = new ContainerAutomatProcessingMetrics(TEST_STATE_NAME);
+        processingMetrics.bindTo(new SimpleMeterRegistry());
+        processingMetrics.recordPhase(ContainerAutomatProcessingMetrics.PHASE_WORK, () -> null);
+        var backlogMetrics = Mockito.mock(ContainerAutomatBacklogMetrics.class);
+        Mockito.when(backlogMetrics.getLastBacklog()).thenReturn(OptionalLong.of(TEST_BACKLOG));
+
+        return new ContainerAutomatSlowHopWatchdog(processingMetrics, backlogMetrics, eventEmitter, TEST_STATE_NAME, TEST_THRESHOLD_MILLIS,
+                TEST_CHECK_INTERVAL_MILLIS, ContainerAutomatSlowHopWatchdog.MIN_SAMPLES * 10, TEST_COOLDOWN_MILLIS, snapshotDirectory.toString(), currentTimeMillis::get);
+    }
+
+    private static void recordProcessing(ContainerAutomatSlowHopWatchdog watchdog, int count, long durationMillis) {
+
+        for (var i = 0; i < count; i++) {
+            watchdog.recordProcessing(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(durationMillis));
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatTraceContext}
+ * for parsing and formatting W3C trace context headers.
+ */
+class ContainerAutomatTraceContextTests {
+
+    private static final String TEST_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String TEST_SPAN_ID = "00f067aa0ba902b7";
+    private static final String TEST_TRACEPARENT = "00-" + TEST_TRACE_ID + "-" + TEST_SPAN_ID + "-01";
+
+
+    @Test
+    void parse_and_format_of_traceparent_are_symmetric() {
+
+        var context = ContainerAutomatTraceContext.parse(TEST_TRACEPARENT).orElseThrow();
+
+        assertEquals(TEST_TRACE_ID, context.traceId());
+        assertEquals(TEST_SPAN_ID, context.spanId());
+        assertTrue(context.sampled());
+        assertEquals(TEST_TRACEPARENT, context.toTraceparent());
+    }
+
+    @Test
+    void parse_of_not_sampled_traceparent_clears_sampled_flag() {
+
+        var context = ContainerAutomatTraceContext.parse("00-" + TEST_TRACE_ID + "-" + TEST_SPAN_ID + "-00").orElseThrow();
+
+        assertFalse(context.sampled());
+    }
+
+    @Test
+    void parse_of_invalid_traceparent_returns_empty_optional() {
+
+        assertTrue(ContainerAutomatTraceContext.parse(null).isEmpty());
+        assertTrue(ContainerAutomatTraceContext.parse("").isEmpty());
+        assertTrue(ContainerAutomatTraceContext.parse("00-" + TEST_TRACE_ID + "-" + TEST_SPAN_ID).isEmpty());
+        assertTrue(ContainerAutomatTraceContext.parse("00-" + TEST_TRACE_ID.toUpperCase() + "-" + TEST_SPAN_ID + "-01").isEmpty());
+        assertTrue(ContainerAutomatTraceContext.parse("00-" + "0".repeat(32) + "-" + TEST_SPAN_ID + "-01").isEmpty());
+        assertTrue(ContainerAutomatTraceContext.parse("00-" + TEST_TRACE_ID + "-" + "0".repeat(16) + "-01").isEmpty());
+        assertTrue(ContainerAutomatTraceContext.parse("ff-" + TEST_TRACE_ID + "-" + TEST_SPAN_ID + "-01").isEmpty());
+    }
+
+    @Test
+    void child_keeps_trace_id_and_creates_new_span_id() {
+
+        var root = ContainerAutomatTraceContext.newRoot();
+        var child = root.child();
+
+        assertTrue(ContainerAutomatTraceContext.parse(root.toTraceparent()).isPresent());
+        assertEquals(root.traceId(), child.traceId());
+        assertNotEquals(root.spanId(), child.spanId());
+        assertEquals(root.sampled(), child.sampled());
+    }
+
+}
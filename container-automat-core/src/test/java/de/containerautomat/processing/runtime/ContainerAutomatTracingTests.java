@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.runtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link ContainerAutomatTracing}
+ * for recording and exporting spans.
+ */
+class ContainerAutomatTracingTests {
+
+    private static final String TEST_SERVICE_NAME = "S1 ContainerAutomat State";
+    private static final String TEST_SPAN_NAME = "test.parent";
+    private static final String TEST_CHILD_SPAN_NAME = "test.child";
+    private static final String TEST_TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+    private static final String TEST_ATTRIBUTE_KEY = "containerautomat.state";
+    private static final String TEST_ATTRIBUTE_VALUE = "S1";
+
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void disabled_tracing_executes_action_without_span() {
+
+        var tracing = new ContainerAutomatTracing("none", 10, "", 10, TEST_SERVICE_NAME);
+
+        var traceparent = tracing.inSpan(TEST_SPAN_NAME, ContainerAutomatTraceContext::currentTraceparent);
+
+        assertFalse(tracing.isEnabled());
+        assertTrue(traceparent.isEmpty());
+        assertTrue(tracing.getFinishedSpans().isEmpty());
+    }
+
+    @Test
+    void nested_spans_are_recorded_with_parent_in_memory() {
+
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        tracing.inSpan(TEST_SPAN_NAME, () -> tracing.inSpan(TEST_CHILD_SPAN_NAME, () -> {
+        }));
+
+        var spans = tracing.getFinishedSpans();
+        assertEquals(2, spans.size());
+        var child = spans.get(0);
+        var parent = spans.get(1);
+        assertEquals(TEST_CHILD_SPAN_NAME, child.name());
+        assertEquals(TEST_SPAN_NAME, parent.name());
+        assertNull(parent.parentSpanId());
+        assertEquals(parent.spanId(), child.parentSpanId());
+        assertEquals(parent.traceId(), child.traceId());
+        assertTrue(child.endEpochNanos() >= child.startEpochNanos());
+        assertTrue(ContainerAutomatTraceContext.current().isEmpty());
+    }
+
+    @Test
+    void span_with_remote_parent_continues_trace() {
+
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+        var remoteParent = ContainerAutomatTraceContext.parse(TEST_TRACEPARENT).orElseThrow();
+
+        tracing.inSpan(TEST_SPAN_NAME, TEST_TRACEPARENT, Map.of(TEST_ATTRIBUTE_KEY, TEST_ATTRIBUTE_VALUE), () -> null);
+
+        var span = tracing.getFinishedSpans().getFirst();
+        assertEquals(remoteParent.traceId(), span.traceId());
+        assertEquals(remoteParent.spanId(), span.parentSpanId());
+        assertEquals(TEST_ATTRIBUTE_VALUE, span.attributes().get(TEST_ATTRIBUTE_KEY));
+    }
+
+    @Test
+    void span_with_exception_is_marked_as_error() {
+
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        assertThrows(IllegalStateException.class, () -> tracing.inSpan(TEST_SPAN_NAME, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertTrue(tracing.getFinishedSpans().getFirst().error());
+        assertTrue(ContainerAutomatTraceContext.current().isEmpty());
+    }
+
+    @Test
+    void started_span_is_exported_when_ended_without_becoming_active() {
+
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        var span = tracing.startSpan(TEST_SPAN_NAME, Map.of(TEST_ATTRIBUTE_KEY, TEST_ATTRIBUTE_VALUE));
+        assertTrue(ContainerAutomatTraceContext.current().isEmpty());
+        assertTrue(tracing.getFinishedSpans().isEmpty());
+        span.end(true);
+
+        var finishedSpan = tracing.getFinishedSpans().getFirst();
+        assertEquals(span.getContext().traceId(), finishedSpan.traceId());
+        assertEquals(span.getContext().spanId(), finishedSpan.spanId());
+        assertEquals(TEST_ATTRIBUTE_VALUE, finishedSpan.attributes().get(TEST_ATTRIBUTE_KEY));
+        assertTrue(finishedSpan.error());
+    }
+
+    @Test
+    void memory_exporter_keeps_most_recent_spans() {
+
+        var tracing = new ContainerAutomatTracing("memory", 2, "", 10, TEST_SERVICE_NAME);
+
+        tracing.inSpan("test.first", () -> {
+        });
+        tracing.inSpan("test.second", () -> {
+        });
+        tracing.inSpan("test.third", () -> {
+        });
+
+        var spans = tracing.getFinishedSpans();
+        assertEquals(2, spans.size());
+        assertEquals("test.second", spans.get(0).name());
+        assertEquals("test.third", spans.get(1).name());
+    }
+
+    @Test
+    void otlp_file_exporter_writes_one_json_line_per_span() throws Exception {
+
+        var otlpFile = tempDir.resolve("traces.jsonl");
+        var tracing = new ContainerAutomatTracing("otlp-file", 10, otlpFile.toString(), 10, TEST_SERVICE_NAME);
+
+        tracing.inSpan(TEST_SPAN_NAME, TEST_TRACEPARENT, Map.of(TEST_ATTRIBUTE_KEY, TEST_ATTRIBUTE_VALUE), () -> null);
+        tracing.shutdown();
+
+        var lines = Files.readAllLines(otlpFile);
+        assertEquals(1, lines.size());
+        var resourceSpans = new ObjectMapper().readTree(lines.getFirst()).path("resourceSpans").path(0);
+        assertEquals(TEST_SERVICE_NAME, resourceSpans.path("resource").path("attributes").path(0).path("value").path("stringValue").asText());
+        var span = resourceSpans.path("scopeSpans").path(0).path("spans").path(0);
+        assertEquals(TEST_SPAN_NAME, span.path("name").asText());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.path("traceId").asText());
+        assertEquals("00f067aa0ba902b7", span.path("parentSpanId").asText());
+        assertTrue(span.path("startTimeUnixNano").isTextual());
+        assertEquals(TEST_ATTRIBUTE_KEY, span.path("attributes").path(0).path("key").asText());
+        assertTrue(span.path("status").isMissingNode());
+    }
+
+    @Test
+    void otlp_file_exporter_writes_queued_spans_in_one_line_per_batch() throws Exception {
+
+        var otlpFile = tempDir.resolve("traces.jsonl");
+        var tracing = new ContainerAutomatTracing("otlp-file", 10, otlpFile.toString(), 10, TEST_SERVICE_NAME);
+
+        tracing.inSpan("test.first", () -> {
+        });
+        tracing.inSpan("test.second", () -> {
+        });
+        assertEquals(0, Files.size(otlpFile));
+
+        tracing.exportQueuedSpans();
+
+        var lines = Files.readAllLines(otlpFile);
+        assertEquals(1, lines.size());
+        var spans = new ObjectMapper().readTree(lines.getFirst()).path("resourceSpans").path(0).path("scopeSpans").path(0).path("spans");
+        assertEquals(2, spans.size());
+        assertEquals("test.first", spans.path(0).path("name").asText());
+        assertEquals("test.second", spans.path(1).path("name").asText());
+        tracing.shutdown();
+    }
+
+    @Test
+    void otlp_file_exporter_drops_spans_if_queue_is_full() throws Exception {
+
+        var otlpFile = tempDir.resolve("traces.jsonl");
+        var tracing = new ContainerAutomatTracing("otlp-file", 10, otlpFile.toString(), 1, TEST_SERVICE_NAME);
+
+        tracing.inSpan("test.first", () -> {
+        });
+        tracing.inSpan("test.second", () -> {
+        });
+        tracing.shutdown();
+
+        var lines = Files.readAllLines(otlpFile);
+        assertEquals(1, lines.size());
+        var spans = new ObjectMapper().readTree(lines.getFirst()).path("resourceSpans").path(0).path("scopeSpans").path(0).path("spans");
+        assertEquals(1, spans.size());
+        assertEquals("test.first", spans.path(0).path("name").asText());
+    }
+
+    @Test
+    void tracing_creation_with_invalid_memory_size_fails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatTracing("memory", 0, "", 10, TEST_SERVICE_NAME));
+    }
+
+    @Test
+    void tracing_creation_with_invalid_otlp_queue_size_fails() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ContainerAutomatTracing("otlp-file", 10, tempDir.resolve("traces.jsonl").toString(), 0, TEST_SERVICE_NAME));
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeProcessor;
+import de.containerautomat.processing.runtime.ContainerAutomatWorkSimulator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+
+/**
+ * A test suite for testing the processing of commands taken from shared
+ * memory by {@link SharedMemoryContainerAutomatCommandProcessor}.
+ */
+class SharedMemoryContainerAutomatCommandProcessorTests {
+
+    private static final String TEST_PROCESSING_INSTANCE_ID = UUID.randomUUID().toString();
+    private static final String TEST_ACCEPTED_PROCESSING_INPUT = "1010";
+    private static final int TEST_PROCESSING_POSITION = 1;
+    private static final String TEST_STATE_NAME = "S1";
+    private static final int TEST_RING_CAPACITY = 1024;
+    private static final long TEST_IDLE_PARK_MICROS = 10;
+    private static final String TEST_TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void command_written_to_ring_is_processed() throws Exception {
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var runtimeProcessor = Mockito.mock(ContainerAutomatRuntimeProcessor.class);
+        var ringPath = SharedMemoryContainerAutomatConfig.getCommandsRingPath(tempDir.toString(), TEST_STATE_NAME);
+        var commandProcessor = new SharedMemoryContainerAutomatCommandProcessor(runtimeProcessor, Mockito.mock(ContainerAutomatWorkSimulator.class), objectMapper, ringPath, TEST_RING_CAPACITY, TEST_IDLE_PARK_MICROS);
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+
+        commandProcessor.init();
+        try (var producer = SharedMemoryRingBuffer.open(ringPath, TEST_RING_CAPACITY)) {
+            producer.offer(SharedMemoryContainerAutomatConfig.writeCommandRecord(objectMapper, testCommand, null));
+
+            Mockito.verify(runtimeProcessor, Mockito.timeout(5000).times(1)).processCommand(eq(testCommand), isNull(), any(Function.class));
+        } finally {
+            commandProcessor.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void command_written_to_ring_with_traceparent_continues_trace() throws Exception {
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var runtimeProcessor = Mockito.mock(ContainerAutomatRuntimeProcessor.class);
+        var ringPath = SharedMemoryContainerAutomatConfig.getCommandsRingPath(tempDir.toString(), TEST_STATE_NAME);
+        var commandProcessor = new SharedMemoryContainerAutomatCommandProcessor(runtimeProcessor, Mockito.mock(ContainerAutomatWorkSimulator.class), objectMapper, ringPath, TEST_RING_CAPACITY, TEST_IDLE_PARK_MICROS);
+        var testCommand = ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+
+        commandProcessor.init();
+        try (var producer = SharedMemoryRingBuffer.open(ringPath, TEST_RING_CAPACITY)) {
+            producer.offer(SharedMemoryContainerAutomatConfig.writeCommandRecord(objectMapper, testCommand, TEST_TRACEPARENT));
+
+            Mockito.verify(runtimeProcessor, Mockito.timeout(5000).times(1)).processCommand(eq(testCommand), eq(TEST_TRACEPARENT), any(Function.class));
+        } finally {
+            commandProcessor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.containerautomat.processing.ContainerAutomatCommand;
+import de.containerautomat.processing.ContainerAutomatEvent;
+import de.containerautomat.processing.ContainerAutomatMessaging;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeCommand;
+import de.containerautomat.processing.runtime.ContainerAutomatRuntimeEvent;
+import de.containerautomat.processing.runtime.ContainerAutomatTraceContext;
+import de.containerautomat.processing.runtime.ContainerAutomatTracing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test suite for testing the methods in {@link SharedMemoryContainerAutomatMessaging}
+ * that send commands through shared memory and delegate events to the message broker.
+ */
+class SharedMemoryContainerAutomatMessagingTests {
+
+    private static final String TEST_PROCESSING_INSTANCE_ID = UUID.randomUUID().toString();
+    private static final String TEST_ACCEPTED_PROCESSING_INPUT = "1010";
+    private static final int TEST_PROCESSING_POSITION = 1;
+    private static final String TEST_STATE_NAME = "S1";
+    private static final int TEST_RING_CAPACITY = 1024;
+    private static final long TEST_IDLE_PARK_MICROS = 10;
+    private static final long TEST_SEND_TIMEOUT_MILLIS = 50;
+    private static final String TEST_SERVICE_NAME = "Test ContainerAutomat State";
+    private static final String TEST_SPAN_NAME = "test.span";
+
+
+    @TempDir
+    Path tempDir;
+
+    ObjectMapper objectMapper;
+
+    ContainerAutomatMessaging brokerMessaging;
+
+    SharedMemoryContainerAutomatMessaging sharedMemoryMessaging;
+
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        brokerMessaging = Mockito.mock(ContainerAutomatMessaging.class);
+        ObjectProvider<ContainerAutomatMessaging> messagingProvider = Mockito.mock(ObjectProvider.class);
+        sharedMemoryMessaging = new SharedMemoryContainerAutomatMessaging(messagingProvider, objectMapper, tempDir.toString(), TEST_RING_CAPACITY, TEST_IDLE_PARK_MICROS, TEST_SEND_TIMEOUT_MILLIS);
+        Mockito.when(messagingProvider.orderedStream()).thenAnswer(invocation -> Stream.of(sharedMemoryMessaging, brokerMessaging));
+    }
+
+    @Test
+    void send_containerautomat_command_writes_command_to_ring_of_target_state() throws IOException {
+
+        var testCommand = createTestCommand();
+
+        sharedMemoryMessaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand);
+
+        try (var commandsRing = SharedMemoryRingBuffer.open(SharedMemoryContainerAutomatConfig.getCommandsRingPath(tempDir.toString(), TEST_STATE_NAME), TEST_RING_CAPACITY)) {
+            var commandRecord = commandsRing.poll();
+            assertEquals(testCommand, SharedMemoryContainerAutomatConfig.readCommand(objectMapper, commandRecord));
+            assertNull(SharedMemoryContainerAutomatConfig.readTraceparent(commandRecord));
+        }
+        Mockito.verify(brokerMessaging, Mockito.never()).sendContainerAutomatCommand(Mockito.anyString(), Mockito.any(ContainerAutomatCommand.class));
+    }
+
+    @Test
+    void send_containerautomat_command_in_span_writes_traceparent_to_ring() throws IOException {
+
+        var testCommand = createTestCommand();
+        var tracing = new ContainerAutomatTracing("memory", 10, "", 10, TEST_SERVICE_NAME);
+
+        var traceparent = tracing.inSpan(TEST_SPAN_NAME, () -> {
+            sharedMemoryMessaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand);
+            return ContainerAutomatTraceContext.currentTraceparent().orElseThrow();
+        });
+
+        try (var commandsRing = SharedMemoryRingBuffer.open(SharedMemoryContainerAutomatConfig.getCommandsRingPath(tempDir.toString(), TEST_STATE_NAME), TEST_RING_CAPACITY)) {
+            var commandRecord = commandsRing.poll();
+            assertEquals(testCommand, SharedMemoryContainerAutomatConfig.readCommand(objectMapper, commandRecord));
+            assertEquals(traceparent, SharedMemoryContainerAutomatConfig.readTraceparent(commandRecord));
+        }
+    }
+
+    @Test
+    void send_containerautomat_command_to_full_ring_fails_after_timeout() {
+
+        var testCommand = createTestCommand();
+
+        assertThrows(IllegalStateException.class, () -> {
+            for (; ; ) {
+                sharedMemoryMessaging.sendContainerAutomatCommand(TEST_STATE_NAME, testCommand);
+            }
+        });
+    }
+
+    @Test
+    void send_containerautomat_event_is_delegated_to_broker_messaging() {
+
+        var testEvent = ContainerAutomatRuntimeEvent.builder()
+                .eventType(ContainerAutomatEvent.EventType.STATE_PROCESSING_FINISHED_CONTINUE_PROCESS)
+                .eventTime(Instant.now())
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .stateName(TEST_STATE_NAME)
+                .build();
+
+        sharedMemoryMessaging.sendContainerAutomatEvent(testEvent);
+
+        Mockito.verify(brokerMessaging, Mockito.times(1)).sendContainerAutomatEvent(testEvent);
+    }
+
+
+    private static ContainerAutomatRuntimeCommand createTestCommand() {
+
+        return ContainerAutomatRuntimeCommand.builder()
+                .processingInstanceId(TEST_PROCESSING_INSTANCE_ID)
+                .processingInput(TEST_ACCEPTED_PROCESSING_INPUT)
+                .processingPosition(TEST_PROCESSING_POSITION)
+                .build();
+    }
+
+}
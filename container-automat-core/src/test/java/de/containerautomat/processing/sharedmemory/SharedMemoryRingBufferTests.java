@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.containerautomat.processing.sharedmemory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test suite for the class {@link SharedMemoryRingBuffer}
+ * for passing messages through a memory-mapped file.
+ */
+class SharedMemoryRingBufferTests {
+
+    private static final int TEST_CAPACITY = 1024;
+    private static final String TEST_RING_FILE_NAME = "test.ring";
+
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void offered_messages_are_polled_in_order_by_another_instance() throws IOException {
+
+        try (var producer = SharedMemoryRingBuffer.open(tempDir.resolve(TEST_RING_FILE_NAME), TEST_CAPACITY);
+             var consumer = SharedMemoryRingBuffer.open(tempDir.resolve(TEST_RING_FILE_NAME), TEST_CAPACITY)) {
+
+            assertNull(consumer.poll());
+            assertTrue(producer.offer("first".getBytes()));
+            assertTrue(producer.offer("second message".getBytes()));
+
+            assertArrayEquals("first".getBytes(), consumer.poll());
+            assertArrayEquals("second message".getBytes(), consumer.poll());
+            assertNull(consumer.poll());
+            assertEquals(0, consumer.getPendingBytes());
+        }
+    }
+
+    @Test
+    void messages_wrap_around_the_end_of_the_ring() throws IOException {
+
+        try (var ring = SharedMemoryRingBuffer.open(tempDir.resolve(TEST_RING_FILE_NAME), TEST_CAPACITY)) {
+            var payload = new byte[300];
+            for (var round = 0; round < 20; round++) {
+                payload[0] = (byte) round;
+                assertTrue(ring.offer(payload));
+                assertArrayEquals(payload, ring.poll());
+            }
+            assertNull(ring.poll());
+        }
+    }
+
+    @Test
+    void offer_to_full_ring_fails_until_messages_are_polled() throws IOException {
+
+        try (var ring = SharedMemoryRingBuffer.open(tempDir.resolve(TEST_RING_FILE_NAME), TEST_CAPACITY)) {
+            var payload = new byte[TEST_CAPACITY / 2 - SharedMemoryRingBuffer.RECORD_HEADER_LENGTH];
+
+            assertTrue(ring.offer(payload));
+            assertTrue(ring.offer(payload));
+            assertFalse(ring.offer(payload));
+            assertArrayEquals(payload, ring.poll());
+            assertTrue(ring.offer(payload));
+        }
+    }
+
+    @Test
+    void concurrent_producers_deliver_all_messages() throws Exception {
+
+        var producerCount = 4;
+        var messagesPerProducer = 5000;
+        try (var consumer = SharedMemoryRingBuffer.open(tempDir.resolve(TEST_RING_FILE_NAME), TEST_CAPACITY * 64);
+             var executor = Executors.newFixedThreadPool(producerCount)) {
+
+            var futures = new HashSet<Future<?>>();
+            for (var producerIndex = 0; producerIndex < producerCount; producerIndex++) {
+                var producerId = producerIndex;
+                futures.add(executor.submit(() -> {
+                    try (var producer = SharedMemoryRingBuffer.open(tempDir.resolve(TEST_RING_FILE_NAME), TEST_CAPACITY * 64)) {
+                        for (var messageIndex = 0; messageIndex < messagesPerProducer; messageIndex++) {
+                            var payload = ByteBuffer.allocate(Long.BYTES).putInt(producerId).putInt(messageIndex).array();
+                            while (!producer.offer(payload)) {
+                                Thread.onSpinWait();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            var nextMessageIndexes = new int[producerCount];
+            var receivedCount = 0;
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (receivedCount < producerCount * messagesPerProducer && System.nanoTime() < deadline) {
+                var payload = consumer.poll();
+                if (payload != null) {
+                    var buffer = ByteBuffer.wrap(payload);
+                    var producerId = buffer.getInt();
+                    assertEquals(nextMessageIndexes[producerId]++, buffer.getInt());
+                    receivedCount++;
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(producerCount * messagesPerProducer, receivedCount);
+        }
+    }
+
+    @Test
+    void open_with_invalid_capacity_fails() {
+
+        var ringPath = tempDir.resolve(TEST_RING_FILE_NAME);
+
+        assertThrows(IllegalArgumentException.class, () -> SharedMemoryRingBuffer.open(ringPath, TEST_CAPACITY + 1));
+    }
+
+    @Test
+    void open_with_other_capacity_than_existing_ring_fails() throws IOException {
+
+        var ringPath = tempDir.resolve(TEST_RING_FILE_NAME);
+        try (var ignored = SharedMemoryRingBuffer.open(ringPath, TEST_CAPACITY)) {
+
+            assertThrows(IllegalStateException.class, () -> SharedMemoryRingBuffer.open(ringPath, TEST_CAPACITY * 2));
+        }
+    }
+
+}
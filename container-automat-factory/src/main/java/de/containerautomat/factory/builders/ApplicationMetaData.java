@@ -15,6 +15,9 @@
  */
 package de.containerautomat.factory.builders;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -26,10 +29,18 @@ import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Map;
+
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.END_SUFFIX;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.METRICS_SERVICE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.OPTIONAL_SERVICE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.PLACEHOLDER_DELIMITER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.REACTIVE_ENTRY;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.SHARED_MEMORY;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.START_SUFFIX;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STATE_AUTOSCALING;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STATE_FIXED_REPLICAS;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.VIRTUAL_THREADS;
 
 /**
  * A data type that represents the meta-data for the generation of a
@@ -44,7 +55,24 @@ import static de.containerautomat.factory.builders.ApplicationTemplatesConstants
  * </ul>
  * In addition, the meta-data contains IDs for the message broker and the
  * database to be used, as well as a flag for the inclusion or exclusion
- * of optional services in the generated application.
+ * of optional services in the generated application, i.e. Elasticsearch,
+ * Logstash and Kibana for the events. A lighter-weight alternative is the
+ * flag for the inclusion of metrics services, i.e. Prometheus, which scrapes
+ * the metrics of the entry and state services, and Grafana with a dashboard
+ * of these metrics per state. Another flag selects
+ * whether commands are passed between the services on the same host through
+ * shared memory instead of the message broker when using Docker Compose.
+ * A further flag selects whether the entry service handles requests with
+ * virtual threads, so that the blocking database and message broker calls
+ * per request do not limit the number of concurrent requests. Alternatively,
+ * the entry service can run as a reactive WebFlux application with the
+ * reactive drivers of the database and the message broker, which is only
+ * supported for MongoDB with Kafka and without shared memory for commands.
+ * <p/>
+ * A last flag selects whether the Kubernetes manifests scale the state
+ * services with KEDA based on the command backlog of the message broker and
+ * the CPU utilization. The limits and targets of the scaling can be set for
+ * all states and overridden for individual states by their name.
  */
 @Data
 @Builder
@@ -114,6 +142,48 @@ public class ApplicationMetaData {
     }
 
 
+    /**
+     * The settings for scaling a state service on Kubernetes. Settings
+     * that are not specified are taken from the settings for all states
+     * or from the defaults.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StateAutoscaling {
+
+        static final int DEFAULT_MIN_REPLICAS = 1;
+        static final int DEFAULT_MAX_REPLICAS = 5;
+        static final int DEFAULT_TARGET_CPU_UTILIZATION = 70;
+        static final int DEFAULT_TARGET_BACKLOG = 100;
+
+        static final StateAutoscaling DEFAULTS = new StateAutoscaling(DEFAULT_MIN_REPLICAS, DEFAULT_MAX_REPLICAS, DEFAULT_TARGET_CPU_UTILIZATION, DEFAULT_TARGET_BACKLOG);
+
+        @Min(1)
+        private Integer minReplicas;
+
+        @Min(1)
+        private Integer maxReplicas;
+
+        @Min(1)
+        @Max(100)
+        private Integer targetCpuUtilization;
+
+        @Min(1)
+        private Integer targetBacklog;
+
+        StateAutoscaling withDefaults(StateAutoscaling defaults) {
+
+            return new StateAutoscaling(
+                    minReplicas != null ? minReplicas : defaults.minReplicas,
+                    maxReplicas != null ? maxReplicas : defaults.maxReplicas,
+                    targetCpuUtilization != null ? targetCpuUtilization : defaults.targetCpuUtilization,
+                    targetBacklog != null ? targetBacklog : defaults.targetBacklog);
+        }
+    }
+
+
     static final String REGEXP_CRLF = "\\r?\\n?";
     static final String REGEXP_APP_NAME = "[\\p{Alpha}_][\\p{Alnum}_]*";
     static final String REGEXP_APP_PACKAGE = "[\\p{Lower}_]((\\.[\\p{Lower}_])?[\\p{Lower}\\d_]*)*";
@@ -158,6 +228,21 @@ public class ApplicationMetaData {
 
     private boolean includeOptionalServices;
 
+    private boolean includeMetricsServices;
+
+    private boolean useSharedMemoryForCommands;
+
+    private boolean useVirtualThreadsForEntry;
+
+    private boolean useReactiveEntry;
+
+    private boolean useAutoscalingForStates;
+
+    @Valid
+    private StateAutoscaling stateAutoscaling;
+
+    private Map<String, @Valid StateAutoscaling> stateAutoscalingOverrides;
+
 
     public String removeUnneededMessagingTypeSections(String sourceText) {
 
@@ -193,6 +278,73 @@ public class ApplicationMetaData {
         return removeTextSections(sourceText, OPTIONAL_SERVICE);
     }
 
+    public String resolveMetricsServicePlaceholders(String sourceText) {
+
+        if (includeMetricsServices) {
+            return removeTextSectionStartAndEndMarkers(sourceText, METRICS_SERVICE);
+        }
+        return removeTextSections(sourceText, METRICS_SERVICE);
+    }
+
+    public String resolveSharedMemoryPlaceholders(String sourceText) {
+
+        if (useSharedMemoryForCommands) {
+            return removeTextSectionStartAndEndMarkers(sourceText, SHARED_MEMORY);
+        }
+        return removeTextSections(sourceText, SHARED_MEMORY);
+    }
+
+    public String resolveVirtualThreadsPlaceholders(String sourceText) {
+
+        if (useVirtualThreadsForEntry) {
+            return removeTextSectionStartAndEndMarkers(sourceText, VIRTUAL_THREADS);
+        }
+        return removeTextSections(sourceText, VIRTUAL_THREADS);
+    }
+
+    public String resolveReactiveEntryPlaceholders(String sourceText) {
+
+        if (useReactiveEntry) {
+            if (storageType != StorageType.MONGODB || messagingType != MessagingType.KAFKA || useSharedMemoryForCommands) {
+                throw new IllegalArgumentException("Invalid reactive entry service for %s and %s%s, because it is only supported for %s and %s without shared memory for commands.".formatted(storageType.getDisplayName(),
+                        messagingType.getDisplayName(), useSharedMemoryForCommands ? " with shared memory for commands" : "", StorageType.MONGODB.getDisplayName(), MessagingType.KAFKA.getDisplayName()));
+            }
+            return removeTextSectionStartAndEndMarkers(sourceText, REACTIVE_ENTRY);
+        }
+        return removeTextSections(sourceText, REACTIVE_ENTRY);
+    }
+
+    public String resolveStateAutoscalingPlaceholders(String sourceText) {
+
+        if (useAutoscalingForStates) {
+            return removeTextSections(removeTextSectionStartAndEndMarkers(sourceText, STATE_AUTOSCALING), STATE_FIXED_REPLICAS);
+        }
+        return removeTextSectionStartAndEndMarkers(removeTextSections(sourceText, STATE_AUTOSCALING), STATE_FIXED_REPLICAS);
+    }
+
+    /**
+     * Determines the effective autoscaling settings for a state, where the
+     * settings for the individual state take precedence over the settings
+     * for all states, which in turn take precedence over the defaults.
+     *
+     * @param stateName The name of the state.
+     * @return The autoscaling settings with all values specified.
+     */
+    public StateAutoscaling getEffectiveStateAutoscaling(String stateName) {
+
+        var result = StateAutoscaling.DEFAULTS;
+        if (stateAutoscaling != null) {
+            result = stateAutoscaling.withDefaults(result);
+        }
+        if (stateAutoscalingOverrides != null && stateAutoscalingOverrides.get(stateName) != null) {
+            result = stateAutoscalingOverrides.get(stateName).withDefaults(result);
+        }
+        if (result.getMinReplicas() > result.getMaxReplicas()) {
+            throw new IllegalArgumentException("Invalid autoscaling settings for state %s because of a minimum of %s replicas and a maximum of %s replicas.".formatted(stateName, result.getMinReplicas(), result.getMaxReplicas()));
+        }
+        return result;
+    }
+
     static String removeTextSections(String sourceText, String sectionName) {
 
         var sectionStartMarker = createTextSectionStartOrEndMarker(sectionName, true);
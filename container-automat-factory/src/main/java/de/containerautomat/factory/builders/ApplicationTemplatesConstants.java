@@ -26,6 +26,7 @@ public class ApplicationTemplatesConstants {
     static final String CONTAINER_AUTOMAT_UPPERCASE = CONTAINER_AUTOMAT.toUpperCase();
     static final String CONTAINER_AUTOMAT_CAMELCASE = "containerAutomat";
     static final String CONTAINER_AUTOMAT_KEBABCASE = "container-automat";
+    static final String CONTAINER_AUTOMAT_PACKAGE = "de.containerautomat";
 
     static final String TEMPLATES_PARENT_FOLDER = "templates/";
 
@@ -51,6 +52,11 @@ public class ApplicationTemplatesConstants {
     static final String STATE_MANAGEMENT_PORT_PLACEHOLDER = PLACEHOLDER_DELIMITER + "state_management_port" + PLACEHOLDER_DELIMITER;
     static final int STATE_MANAGEMENT_PORT_BASE = 9995;
 
+    static final String STATE_MIN_REPLICAS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "state_min_replicas" + PLACEHOLDER_DELIMITER;
+    static final String STATE_MAX_REPLICAS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "state_max_replicas" + PLACEHOLDER_DELIMITER;
+    static final String STATE_TARGET_CPU_UTILIZATION_PLACEHOLDER = PLACEHOLDER_DELIMITER + "state_target_cpu_utilization" + PLACEHOLDER_DELIMITER;
+    static final String STATE_TARGET_BACKLOG_PLACEHOLDER = PLACEHOLDER_DELIMITER + "state_target_backlog" + PLACEHOLDER_DELIMITER;
+
     static final String ENVIRONMENT_COMMAND_PLACEHOLDER = PLACEHOLDER_DELIMITER + "environment_command" + PLACEHOLDER_DELIMITER;
     static final String ENVIRONMENT_COMMANDS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "environment_commands" + PLACEHOLDER_DELIMITER;
     static final String ENVIRONMENT_VALUES_PLACEHOLDER = PLACEHOLDER_DELIMITER + "environment_values" + PLACEHOLDER_DELIMITER;
@@ -59,6 +65,8 @@ public class ApplicationTemplatesConstants {
     static final String MESSAGING_ENVIRONMENT_PLACEHOLDER = PLACEHOLDER_DELIMITER + "messaging_environment" + PLACEHOLDER_DELIMITER;
     static final String MESSAGING_TYPE_CONTAINERNAME_PLACEHOLDER = PLACEHOLDER_DELIMITER + "messaging_type_containername" + PLACEHOLDER_DELIMITER;
     static final String MESSAGING_TYPE_LOWERCASE_PLACEHOLDER = PLACEHOLDER_DELIMITER + "messaging_type_lowercase" + PLACEHOLDER_DELIMITER;
+    static final String RABBITMQ_STATE_SETTINGS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "rabbitmq_state_settings" + PLACEHOLDER_DELIMITER;
+    static final String RABBITMQ_STATE_SETTINGS_TEMPLATE = "      %s:\n        queue-type: classic\n        prefetch: 250\n        min-concurrency: 1\n        max-concurrency: 1";
 
     static final String STORAGE_ENVIRONMENT_PLACEHOLDER = PLACEHOLDER_DELIMITER + "storage_environment" + PLACEHOLDER_DELIMITER;
     static final String STORAGE_TYPE_CONTAINERNAME_PLACEHOLDER = PLACEHOLDER_DELIMITER + "storage_type_containername" + PLACEHOLDER_DELIMITER;
@@ -70,12 +78,23 @@ public class ApplicationTemplatesConstants {
     static final String KAFKA_KUBERNETES_LOG_DIRS = "/var/kafka/kraft-combined-logs";
 
     static final String OPTIONAL_SERVICE = "OPTIONAL_SERVICE";
+    static final String METRICS_SERVICE = "METRICS_SERVICE";
+    static final String SHARED_MEMORY = "SHARED_MEMORY";
+    static final String VIRTUAL_THREADS = "VIRTUAL_THREADS";
+    static final String REACTIVE_ENTRY = "REACTIVE_ENTRY";
+    static final String STATE_AUTOSCALING = "STATE_AUTOSCALING";
+    static final String STATE_FIXED_REPLICAS = "STATE_FIXED_REPLICAS";
 
     static final String LOGSTASH_PREPARE_COMMANDS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "logstash_prepare_commands" + PLACEHOLDER_DELIMITER;
     static final String LOGSTASH_CONFFILENAME_PLACEHOLDER = PLACEHOLDER_DELIMITER + "logstash_conf_filename" + PLACEHOLDER_DELIMITER;
     static final String LOGSTASH_JMS_JARS_VOLUME_PLACEHOLDER = PLACEHOLDER_DELIMITER + "logstash_jms_jars_volume" + PLACEHOLDER_DELIMITER;
     static final String LOGSTASH_CONF_SOURCE_PATH_TEMPLATE = "configs/logstash-%s.conf.txt";
     static final String LOGSTASH_CONF_TARGET_PATH_TEMPLATE = "%s/logstash-%s.conf";
+
+    static final String PROMETHEUS_TARGETS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "prometheus_targets" + PLACEHOLDER_DELIMITER;
+    static final String GRAFANA_DATASOURCE_PLACEHOLDER = PLACEHOLDER_DELIMITER + "grafana_datasource" + PLACEHOLDER_DELIMITER;
+    static final String GRAFANA_DASHBOARDS_PLACEHOLDER = PLACEHOLDER_DELIMITER + "grafana_dashboards" + PLACEHOLDER_DELIMITER;
+    static final String GRAFANA_DASHBOARD_PLACEHOLDER = PLACEHOLDER_DELIMITER + "grafana_dashboard" + PLACEHOLDER_DELIMITER;
     static final String LOGSTASH_PREPARE_COMMANDS_TEMPLATE = "localrun/logstash-prepare-%s-%s.txt";
 
     private ApplicationTemplatesConstants() {
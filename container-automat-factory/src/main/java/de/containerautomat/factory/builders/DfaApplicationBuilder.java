@@ -28,11 +28,13 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_CAMELCASE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_KEBABCASE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_LOWERCASE;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_PACKAGE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_UPPERCASE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_REGISTRY_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.INDENT_PLACEHOLDER;
@@ -148,7 +150,13 @@ public class DfaApplicationBuilder {
 
         var result = applicationMetaData.removeUnneededMessagingTypeSections(sourceText);
         result = applicationMetaData.removeUnneededStorageTypeSections(result);
+        result = applicationMetaData.resolveSharedMemoryPlaceholders(result);
+        result = applicationMetaData.resolveVirtualThreadsPlaceholders(result);
+        result = applicationMetaData.resolveReactiveEntryPlaceholders(result);
+        result = applicationMetaData.resolveStateAutoscalingPlaceholders(result);
+        result = applicationMetaData.resolveMetricsServicePlaceholders(result);
         result = result.replace(CONTAINER_REGISTRY_PLACEHOLDER, applicationMetaData.getContainerRegistry());
+        result = result.replace(CONTAINER_AUTOMAT_PACKAGE, applicationMetaData.getAppPackage());
         result = result.replace(CONTAINER_AUTOMAT, applicationMetaData.getAppName());
         result = result.replace(CONTAINER_AUTOMAT_LOWERCASE, applicationMetaData.getAppName().toLowerCase());
         result = result.replace(CONTAINER_AUTOMAT_CAMELCASE, applicationMetaData.getAppName().toLowerCase());
@@ -189,6 +197,15 @@ public class DfaApplicationBuilder {
         return indentSpaces > 0 ? pipelineConfig.replace(INDENT_PLACEHOLDER, " ".repeat(indentSpaces)) : pipelineConfig.replace(INDENT_PLACEHOLDER, "");
     }
 
+    String getIndentedTemplateResource(String templatePath, int indentSpaces) throws IOException {
+
+        var text = resolveApplicationAndServicePlaceholders(readTemplateResource(templatePath));
+        var indent = " ".repeat(indentSpaces);
+        return text.lines()
+                .map(line -> line.isEmpty() ? line : indent + line)
+                .collect(Collectors.joining("\n"));
+    }
+
     void createLogstashPipelineConfig(String targetFolder) throws IOException {
 
         var messageConfName = dfaApplicationParameters.getApplicationMetaData().getMessagingType().name().toLowerCase();
@@ -97,6 +97,40 @@ class DockerAppBuilder {
         if (applicationMetaData.isIncludeOptionalServices()) {
             dfaApplicationBuilder.createLogstashPipelineConfig("dockercompose");
         }
+        if (applicationMetaData.isIncludeMetricsServices()) {
+            createMetricsServiceFiles();
+        }
+    }
+
+    private void createMetricsServiceFiles() throws IOException {
+
+        var targetsBuilder = new StringBuilder();
+        var managementPort = STATE_MANAGEMENT_PORT_BASE;
+        for (int stateNumber = 1; stateNumber <= dfaApplicationBuilder.getDfaApplicationParameters().getDfa().getStates().size(); stateNumber++) {
+            if (stateNumber > 1) {
+                targetsBuilder.append("\r\n");
+            }
+            targetsBuilder.append("    - container-automat-state-");
+            targetsBuilder.append(stateNumber);
+            targetsBuilder.append(':');
+            targetsBuilder.append(managementPort--);
+        }
+        var prometheusYml = dfaApplicationBuilder.readTemplateResource("metrics/prometheus.yml.txt");
+        prometheusYml = prometheusYml.replace(PROMETHEUS_TARGETS_PLACEHOLDER, targetsBuilder.toString());
+        prometheusYml = dfaApplicationBuilder.resolveApplicationAndServicePlaceholders(prometheusYml);
+        dfaApplicationBuilder.writeTargetFile(prometheusYml, "dockercompose/prometheus.yml");
+
+        String[] metricsFileTemplates = {
+                "metrics/grafana-datasource.yml.txt",
+                "metrics/grafana-dashboards.yml.txt",
+                "metrics/container-automat-dashboard.json.txt"
+        };
+        String[] metricsFileTargets = {
+                "dockercompose/grafana-datasource.yml",
+                "dockercompose/grafana-dashboards.yml",
+                "dockercompose/container-automat-dashboard.json"
+        };
+        dfaApplicationBuilder.createTargetFiles(metricsFileTemplates, metricsFileTargets);
     }
 
     private void createComposeYmlFile() throws IOException {
@@ -141,6 +175,7 @@ class DockerAppBuilder {
         composeEnv = applicationMetaData.removeUnneededMessagingTypeSections(composeEnv);
         composeEnv = applicationMetaData.removeUnneededStorageTypeSections(composeEnv);
         composeEnv = applicationMetaData.resolveOptionalServicePlaceholders(composeEnv);
+        composeEnv = applicationMetaData.resolveMetricsServicePlaceholders(composeEnv);
         dfaApplicationBuilder.writeTargetFile(composeEnv, "dockercompose/.env");
     }
 
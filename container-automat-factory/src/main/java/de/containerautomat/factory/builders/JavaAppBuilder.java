@@ -57,7 +57,6 @@ import static de.containerautomat.factory.builders.ApplicationTemplatesConstants
 class JavaAppBuilder {
 
     private static final String CONTAINER_AUTOMAT_PROJECT_PREFIX = "container-automat-";
-    private static final String CONTAINER_AUTOMAT_PACKAGE = "de.containerautomat";
     private static final String PROJECT_SUFFIX_CORE = "-core";
     private static final String PROJECT_SUFFIX_ENTRY = "-entry";
     private static final String PROJECT_SUFFIX_STATE = "-state";
@@ -114,6 +113,7 @@ class JavaAppBuilder {
             }
             pom = applicationMetaData.removeUnneededMessagingTypeSections(pom);
             pom = applicationMetaData.removeUnneededStorageTypeSections(pom);
+            pom = applicationMetaData.resolveReactiveEntryPlaceholders(pom);
             dfaApplicationBuilder.writeTargetFile(pom, pomTargets[templateIndex].replace(CONTAINER_AUTOMAT_PROJECT_PREFIX, applicationMetaData.getAppName().toLowerCase() + "-"));
         }
     }
@@ -123,6 +123,19 @@ class JavaAppBuilder {
 
         String[] javaTemplates = {
                 "ContainerAutomatControllerBase.java",
+                "ContainerAutomatEventSubscriptions.java",
+                "ContainerAutomatNotificationController.java",
+                "ContainerAutomatPendingResults.java",
+                "ContainerAutomatAdmissionControl.java",
+                "ContainerAutomatOverloadException.java",
+                "ContainerAutomatIdempotentRequests.java",
+                "ContainerAutomatOutcomeCache.java",
+                "ContainerAutomatCachedOutcome.java",
+                "ContainerAutomatLatencies.java",
+                "ContainerAutomatLatencyStatistics.java",
+                "ContainerAutomatThroughput.java",
+                "ContainerAutomatThroughputStatistics.java",
+                "ContainerAutomatStatsController.java",
                 "ContainerAutomatEntryController.java",
                 "AlphabetSymbol.java",
                 "AutomatonState.java",
@@ -134,17 +147,32 @@ class JavaAppBuilder {
                 "RuntimeStateTransition.java",
                 "ContainerAutomatCoreConfig.java",
                 "ContainerAutomatCommand.java",
+                "ContainerAutomatCommandBacklog.java",
                 "ContainerAutomatCommandProcessor.java",
                 "ContainerAutomatEvent.java",
+                "ContainerAutomatEventBatch.java",
                 "ContainerAutomatEventListener.java",
+                "ContainerAutomatInput.java",
                 "ContainerAutomatMessaging.java",
                 "ContainerAutomatProcessingInstance.java",
                 "ContainerAutomatProcessingStep.java",
                 "ContainerAutomatStorage.java",
+                "ContainerAutomatBacklogMetrics.java",
+                "ContainerAutomatEventBatchPublisher.java",
+                "ContainerAutomatEventEmitter.java",
+                "ContainerAutomatInputValidator.java",
+                "ContainerAutomatFlightRecorder.java",
+                "ContainerAutomatInputWindows.java",
+                "ContainerAutomatLogging.java",
+                "ContainerAutomatProcessingMetrics.java",
+                "ContainerAutomatTraceContext.java",
+                "ContainerAutomatTracing.java",
                 "ContainerAutomatRuntimeCommand.java",
                 "ContainerAutomatRuntimeEvent.java",
+                "ContainerAutomatRuntimeEventBatch.java",
                 "ContainerAutomatRuntimeProcessor.java",
                 "ContainerAutomatRuntimeRequest.java",
+                "ContainerAutomatSlowHopWatchdog.java",
                 "ContainerAutomatWorkSimulator.java"
         };
 
@@ -158,10 +186,21 @@ class JavaAppBuilder {
                 "RuntimeDeterministicFiniteAutomatonTests.java",
                 "RuntimeStateTransitionTests.java",
                 "ContainerAutomatCoreConfigTests.java",
+                "ContainerAutomatBacklogMetricsTests.java",
+                "ContainerAutomatEventBatchPublisherTests.java",
+                "ContainerAutomatEventEmitterTests.java",
+                "ContainerAutomatFlightRecorderTests.java",
+                "ContainerAutomatInputValidatorTests.java",
+                "ContainerAutomatInputWindowsTests.java",
+                "ContainerAutomatLoggingTests.java",
+                "ContainerAutomatProcessingMetricsTests.java",
+                "ContainerAutomatTraceContextTests.java",
+                "ContainerAutomatTracingTests.java",
                 "ContainerAutomatRuntimeCommandTests.java",
                 "ContainerAutomatRuntimeEventTests.java",
                 "ContainerAutomatRuntimeProcessorTests.java",
                 "ContainerAutomatRuntimeRequestTests.java",
+                "ContainerAutomatSlowHopWatchdogTests.java",
                 "ContainerAutomatWorkSimulatorTests.java"
         };
 
@@ -185,6 +224,7 @@ class JavaAppBuilder {
 
         var messagingType = applicationMetaData.getMessagingType();
         String[] messagingTemplates = {
+                messagingType.getDisplayName() + "ContainerAutomatCommandBacklog.java",
                 messagingType.getDisplayName() + "ContainerAutomatCommandProcessor.java",
                 messagingType.getDisplayName() + "ContainerAutomatConfig.java",
                 messagingType.getDisplayName() + "ContainerAutomatEventListener.java",
@@ -196,6 +236,7 @@ class JavaAppBuilder {
         }
 
         String[] messagingTestTemplates = {
+                messagingType.getDisplayName() + "ContainerAutomatCommandBacklogTests.java",
                 messagingType.getDisplayName() + "ContainerAutomatCommandProcessorTests.java",
                 messagingType.getDisplayName() + "ContainerAutomatConfigTests.java",
                 messagingType.getDisplayName() + "ContainerAutomatEventListenerTests.java",
@@ -206,6 +247,55 @@ class JavaAppBuilder {
             createJavaFile(PARENT_FOLDER_JAVA + messagingTestTemplate, PROJECT_SUFFIX_CORE, FOLDER_SRC_TESTJAVA);
         }
 
+        if (applicationMetaData.isUseSharedMemoryForCommands()) {
+            String[] sharedMemoryTemplates = {
+                    "SharedMemoryContainerAutomatCommandProcessor.java",
+                    "SharedMemoryContainerAutomatConfig.java",
+                    "SharedMemoryContainerAutomatMessaging.java",
+                    "SharedMemoryRingBuffer.java"
+            };
+
+            for (String sharedMemoryTemplate : sharedMemoryTemplates) {
+                createJavaFile(PARENT_FOLDER_JAVA + sharedMemoryTemplate, PROJECT_SUFFIX_CORE, FOLDER_SRC_MAIN_JAVA);
+            }
+
+            String[] sharedMemoryTestTemplates = {
+                    "ContainerAutomatCommandTransportBenchmark.java",
+                    "SharedMemoryContainerAutomatCommandProcessorTests.java",
+                    "SharedMemoryContainerAutomatMessagingTests.java",
+                    "SharedMemoryRingBufferTests.java"
+            };
+
+            for (String sharedMemoryTestTemplate : sharedMemoryTestTemplates) {
+                createJavaFile(PARENT_FOLDER_JAVA + sharedMemoryTestTemplate, PROJECT_SUFFIX_CORE, FOLDER_SRC_TESTJAVA);
+            }
+        }
+
+        if (applicationMetaData.isUseReactiveEntry()) {
+            String[] reactiveEntryTemplates = {
+                    "ContainerAutomatReactiveControllerBase.java",
+                    "ContainerAutomatReactiveEntryController.java",
+                    "ContainerAutomatReactiveMessaging.java",
+                    "ContainerAutomatReactiveNotificationController.java",
+                    "ContainerAutomatReactiveStorage.java",
+                    messagingType.getDisplayName() + "ContainerAutomatReactiveMessaging.java",
+                    storageType.getDisplayName() + "ContainerAutomatReactiveStorage.java"
+            };
+
+            for (String reactiveEntryTemplate : reactiveEntryTemplates) {
+                createJavaFile(PARENT_FOLDER_JAVA + reactiveEntryTemplate, PROJECT_SUFFIX_CORE, FOLDER_SRC_MAIN_JAVA);
+            }
+
+            String[] reactiveEntryTestTemplates = {
+                    messagingType.getDisplayName() + "ContainerAutomatReactiveMessagingTests.java",
+                    storageType.getDisplayName() + "ContainerAutomatReactiveStorageTests.java"
+            };
+
+            for (String reactiveEntryTestTemplate : reactiveEntryTestTemplates) {
+                createJavaFile(PARENT_FOLDER_JAVA + reactiveEntryTestTemplate, PROJECT_SUFFIX_CORE, FOLDER_SRC_TESTJAVA);
+            }
+        }
+
         String[] storageTestTemplates = {
                 storageType.getDisplayName() + "ContainerAutomatConfigTests.java",
                 storageType.getDisplayName() + "ContainerAutomatStorageTests.java"
@@ -240,9 +330,7 @@ class JavaAppBuilder {
 
     private String prepareJavaSource(String javaSource) {
 
-        javaSource = javaSource.replace(CONTAINER_AUTOMAT_PACKAGE, applicationMetaData.getAppPackage());
-        javaSource = dfaApplicationBuilder.resolveApplicationAndServicePlaceholders(javaSource);
-        return javaSource;
+        return dfaApplicationBuilder.resolveApplicationAndServicePlaceholders(javaSource);
     }
 
     private void wirteJavaFile(String javaSource, String templatePath, String targetProjectSuffix, String srcFolder) throws IOException {
@@ -291,13 +379,15 @@ class JavaAppBuilder {
         String[] appPropertiesTemplates = {
                 "resources/entry.application.yml.txt",
                 "resources/state.application.yml.txt",
-                "resources/test-dfa.json.txt"
+                "resources/test-dfa.json.txt",
+                "resources/logback-spring.xml.txt"
         };
 
         String[] appPropertiesTargets = {
                 "container-automat-entry/src/main/resources/application.yml",
                 "container-automat-state/src/main/resources/application.yml",
-                "container-automat-core/src/test/resources/test-dfa.json"
+                "container-automat-core/src/test/resources/test-dfa.json",
+                "container-automat-core/src/main/resources/logback-spring.xml"
         };
 
         for (int templateIndex = 0; templateIndex < appPropertiesTemplates.length; templateIndex++) {
@@ -312,6 +402,10 @@ class JavaAppBuilder {
         var messagingTargetPath = "container-automat-core/src/main/resources/" + messagingTypeFile + ".properties";
         createResourceFile(messagingTemplatePath, messagingTargetPath);
 
+        if (applicationMetaData.isUseSharedMemoryForCommands()) {
+            createResourceFile("resources/sharedmemory.properties.txt", "container-automat-core/src/main/resources/sharedmemory.properties");
+        }
+
         var storageTypeFile = applicationMetaData.getStorageType().name().toLowerCase();
         var storageTemplatePath = "resources/" + storageTypeFile + ".properties.txt";
         var storageTargetPath = "container-automat-core/src/main/resources/" + storageTypeFile + ".properties";
@@ -328,9 +422,22 @@ class JavaAppBuilder {
         resource = dfaApplicationBuilder.resolveApplicationAndServicePlaceholders(resource);
         resource = resource.replace(STORAGE_TYPE_LOWERCASE_PLACEHOLDER, applicationMetaData.getStorageType().name().toLowerCase());
         resource = resource.replace(MESSAGING_TYPE_LOWERCASE_PLACEHOLDER, applicationMetaData.getMessagingType().name().toLowerCase());
+        resource = resource.replace(RABBITMQ_STATE_SETTINGS_PLACEHOLDER, getRabbitMqStateSettings());
         dfaApplicationBuilder.writeTargetFile(resource, targetPath.replace(CONTAINER_AUTOMAT_PROJECT_PREFIX, applicationMetaData.getAppName().toLowerCase() + "-"));
     }
 
+    private String getRabbitMqStateSettings() {
+
+        var stateSettingsBuilder = new StringBuilder();
+        for (AutomatonState state : new TreeSet<>(dfaApplicationBuilder.getDfaApplicationParameters().getDfa().getStates())) {
+            if (!stateSettingsBuilder.isEmpty()) {
+                stateSettingsBuilder.append("\n");
+            }
+            stateSettingsBuilder.append(RABBITMQ_STATE_SETTINGS_TEMPLATE.formatted(state.getName()));
+        }
+        return stateSettingsBuilder.toString();
+    }
+
     @SneakyThrows
     void createLocalRunFiles() {
 
@@ -378,6 +485,7 @@ class JavaAppBuilder {
         environmentCommands = environmentCommands.replace(ENVIRONMENT_COMMAND_PLACEHOLDER, environmentCommandsPlaceholder);
         environmentCommands = applicationMetaData.removeUnneededMessagingTypeSections(environmentCommands);
         environmentCommands = applicationMetaData.removeUnneededStorageTypeSections(environmentCommands);
+        environmentCommands = applicationMetaData.resolveMetricsServicePlaceholders(environmentCommands);
         return environmentCommands;
     }
 
@@ -27,10 +27,17 @@ import static de.containerautomat.factory.builders.ApplicationTemplatesConstants
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.ENVIRONMENT_PASSWORDS_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.ENVIRONMENT_VALUES_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.GENERATION_ID_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.GRAFANA_DASHBOARDS_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.GRAFANA_DASHBOARD_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.GRAFANA_DATASOURCE_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.KAFKA_ENVIRONMENT_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.KAFKA_KUBERNETES_LOG_DIRS;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.KAFKA_LOG_DIRS_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.MESSAGING_ENVIRONMENT_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STATE_MAX_REPLICAS_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STATE_MIN_REPLICAS_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STATE_TARGET_BACKLOG_PLACEHOLDER;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STATE_TARGET_CPU_UTILIZATION_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.STORAGE_ENVIRONMENT_PLACEHOLDER;
 
 /**
@@ -43,7 +50,9 @@ import static de.containerautomat.factory.builders.ApplicationTemplatesConstants
  *         Kubernetes yaml files for the services that comprise the generated
  *         application, i.e. the Java programs that represent the states of the
  *         DFA, the message broker, the database, and possibly other optional
- *         services.
+ *         services. Optionally, the manifests of the states include KEDA
+ *         ScaledObjects for scaling the states on the command backlog and CPU.
+ *         Also optionally, Prometheus and Grafana with a dashboard of the states.
  *     </li>
  *     <li>
  *         Shell scripts to execute 'kubectl kustomize', 'kubectl apply', and
@@ -120,6 +129,21 @@ class KubernetesAppBuilder {
 
             createLogstashConfigManifest();
         }
+
+        if (applicationMetaData.isIncludeMetricsServices()) {
+
+            final String[] metricsServiceManifestTemplates = {
+                    "kubernetes/prometheus.yaml.txt",
+                    "kubernetes/grafana.yaml.txt"
+            };
+            final String[] metricsServiceManifestTargets = {
+                    "kubernetes/prometheus.yaml",
+                    "kubernetes/grafana.yaml"
+            };
+            dfaApplicationBuilder.createTargetFiles(metricsServiceManifestTemplates, metricsServiceManifestTargets);
+
+            createGrafanaConfigManifest();
+        }
     }
 
     @SneakyThrows
@@ -184,10 +208,24 @@ class KubernetesAppBuilder {
         int managementPort = 9995;
         for (AutomatonState state : new TreeSet<>(dfaApplicationBuilder.getDfaApplicationParameters().getDfa().getStates())) {
             var stateManifest = dfaApplicationBuilder.resolveStateSpecificPlaceholders(kubernetesStateTemplate, state.getName(), stateNumber, managementPort--);
+            stateManifest = resolveStateAutoscalingPlaceholders(stateManifest, state.getName());
             dfaApplicationBuilder.writeTargetFile(stateManifest, "kubernetes/state-" + (stateNumber++) + FILE_EXTENSION_YAML);
         }
     }
 
+    String resolveStateAutoscalingPlaceholders(String sourceText, String stateName) {
+
+        if (!applicationMetaData.isUseAutoscalingForStates()) {
+            return sourceText;
+        }
+        var stateAutoscaling = applicationMetaData.getEffectiveStateAutoscaling(stateName);
+        var result = sourceText.replace(STATE_MIN_REPLICAS_PLACEHOLDER, Integer.toString(stateAutoscaling.getMinReplicas()));
+        result = result.replace(STATE_MAX_REPLICAS_PLACEHOLDER, Integer.toString(stateAutoscaling.getMaxReplicas()));
+        result = result.replace(STATE_TARGET_CPU_UTILIZATION_PLACEHOLDER, Integer.toString(stateAutoscaling.getTargetCpuUtilization()));
+        result = result.replace(STATE_TARGET_BACKLOG_PLACEHOLDER, Integer.toString(stateAutoscaling.getTargetBacklog()));
+        return result;
+    }
+
     @SneakyThrows
     void createLogstashConfigManifest() {
 
@@ -198,4 +236,15 @@ class KubernetesAppBuilder {
         dfaApplicationBuilder.writeTargetFile(logstashConfigManifest, "kubernetes/logstash-config.yaml");
     }
 
+    @SneakyThrows
+    void createGrafanaConfigManifest() {
+
+        var grafanaConfigManifest = dfaApplicationBuilder.readTemplateResource("kubernetes/grafana-config.yaml.txt");
+        grafanaConfigManifest = grafanaConfigManifest.replace(GRAFANA_DATASOURCE_PLACEHOLDER, dfaApplicationBuilder.getIndentedTemplateResource("metrics/grafana-datasource.yml.txt", 4));
+        grafanaConfigManifest = grafanaConfigManifest.replace(GRAFANA_DASHBOARDS_PLACEHOLDER, dfaApplicationBuilder.getIndentedTemplateResource("metrics/grafana-dashboards.yml.txt", 4));
+        grafanaConfigManifest = grafanaConfigManifest.replace(GRAFANA_DASHBOARD_PLACEHOLDER, dfaApplicationBuilder.getIndentedTemplateResource("metrics/container-automat-dashboard.json.txt", 4));
+        grafanaConfigManifest = dfaApplicationBuilder.resolveApplicationAndServicePlaceholders(grafanaConfigManifest);
+        dfaApplicationBuilder.writeTargetFile(grafanaConfigManifest, "kubernetes/grafana-config.yaml");
+    }
+
 }
@@ -732,6 +732,11 @@ function createContainerAutomatApp() {
     const messagingType = document.getElementById('messagingType').value;
     const storageType = document.getElementById('storageType').value;
     const includeOptionalServices = document.getElementById('includeOptionalServices').checked;
+    const includeMetricsServices = document.getElementById('includeMetricsServices').checked;
+    const useSharedMemoryForCommands = document.getElementById('useSharedMemoryForCommands').checked;
+    const useVirtualThreadsForEntry = document.getElementById('useVirtualThreadsForEntry').checked;
+    const useReactiveEntry = document.getElementById('useReactiveEntry').checked;
+    const useAutoscalingForStates = document.getElementById('useAutoscalingForStates').checked;
     var dfa;
 
     if (!appName) {
@@ -794,6 +799,11 @@ function createContainerAutomatApp() {
     metaData['messagingType'] = messagingType;
     metaData['storageType'] = storageType;
     metaData['includeOptionalServices'] = includeOptionalServices;
+    metaData['includeMetricsServices'] = includeMetricsServices;
+    metaData['useSharedMemoryForCommands'] = useSharedMemoryForCommands;
+    metaData['useVirtualThreadsForEntry'] = useVirtualThreadsForEntry;
+    metaData['useReactiveEntry'] = useReactiveEntry;
+    metaData['useAutoscalingForStates'] = useAutoscalingForStates;
 
     const generationParameters = new Object();
     generationParameters['dfa'] = dfa;
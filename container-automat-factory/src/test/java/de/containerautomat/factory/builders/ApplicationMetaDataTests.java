@@ -38,6 +38,7 @@ import static de.containerautomat.factory.builders.ApplicationTemplatesConstants
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.PLACEHOLDER_DELIMITER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.START_SUFFIX;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * A test suite for testing methods defined in the {@link ApplicationMetaData}
@@ -430,6 +431,297 @@ class ApplicationMetaDataTests {
         assertEquals(expectedText, resultText);
     }
 
+    @Test
+    void resolve_metrics_service_placeholders_including_metrics_services() {
+
+        var testText = """
+                Top section
+                §METRICS_SERVICE_START§
+                Metrics service section
+                §METRICS_SERVICE_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Metrics service section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setIncludeMetricsServices(true);
+        var resultText = applicationMetaData.resolveMetricsServicePlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_metrics_service_placeholders_excluding_metrics_services() {
+
+        var testText = """
+                Top section
+                §METRICS_SERVICE_START§
+                Metrics service section
+                §METRICS_SERVICE_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(true);
+        var resultText = applicationMetaData.resolveMetricsServicePlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_shared_memory_placeholders_using_shared_memory() {
+
+        var testText = """
+                Top section
+                §SHARED_MEMORY_START§
+                Shared memory section
+                §SHARED_MEMORY_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Shared memory section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseSharedMemoryForCommands(true);
+        var resultText = applicationMetaData.resolveSharedMemoryPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_shared_memory_placeholders_not_using_shared_memory() {
+
+        var testText = """
+                Top section
+                §SHARED_MEMORY_START§
+                Shared memory section
+                §SHARED_MEMORY_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseSharedMemoryForCommands(false);
+        var resultText = applicationMetaData.resolveSharedMemoryPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_virtual_threads_placeholders_using_virtual_threads() {
+
+        var testText = """
+                Top section
+                §VIRTUAL_THREADS_START§
+                Virtual threads section
+                §VIRTUAL_THREADS_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Virtual threads section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseVirtualThreadsForEntry(true);
+        var resultText = applicationMetaData.resolveVirtualThreadsPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_virtual_threads_placeholders_not_using_virtual_threads() {
+
+        var testText = """
+                Top section
+                §VIRTUAL_THREADS_START§
+                Virtual threads section
+                §VIRTUAL_THREADS_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseVirtualThreadsForEntry(false);
+        var resultText = applicationMetaData.resolveVirtualThreadsPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_reactive_entry_placeholders_using_reactive_entry() {
+
+        var testText = """
+                Top section
+                §REACTIVE_ENTRY_START§
+                Reactive entry section
+                §REACTIVE_ENTRY_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Reactive entry section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setStorageType(ApplicationMetaData.StorageType.MONGODB);
+        applicationMetaData.setMessagingType(ApplicationMetaData.MessagingType.KAFKA);
+        applicationMetaData.setUseSharedMemoryForCommands(false);
+        applicationMetaData.setUseReactiveEntry(true);
+        var resultText = applicationMetaData.resolveReactiveEntryPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_reactive_entry_placeholders_not_using_reactive_entry() {
+
+        var testText = """
+                Top section
+                §REACTIVE_ENTRY_START§
+                Reactive entry section
+                §REACTIVE_ENTRY_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseReactiveEntry(false);
+        var resultText = applicationMetaData.resolveReactiveEntryPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ApplicationMetaData.StorageType.class, names = {"REDIS", "POSTGRESQL"})
+    void resolve_reactive_entry_placeholders_with_unsupported_storage_fails(ApplicationMetaData.StorageType storageType) {
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setStorageType(storageType);
+        applicationMetaData.setMessagingType(ApplicationMetaData.MessagingType.KAFKA);
+        applicationMetaData.setUseReactiveEntry(true);
+
+        assertThrows(IllegalArgumentException.class, () -> applicationMetaData.resolveReactiveEntryPlaceholders(""));
+    }
+
+    @Test
+    void resolve_reactive_entry_placeholders_with_shared_memory_fails() {
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setStorageType(ApplicationMetaData.StorageType.MONGODB);
+        applicationMetaData.setMessagingType(ApplicationMetaData.MessagingType.KAFKA);
+        applicationMetaData.setUseSharedMemoryForCommands(true);
+        applicationMetaData.setUseReactiveEntry(true);
+
+        assertThrows(IllegalArgumentException.class, () -> applicationMetaData.resolveReactiveEntryPlaceholders(""));
+    }
+
+    @Test
+    void resolve_state_autoscaling_placeholders_using_autoscaling() {
+
+        var testText = """
+                Top section
+                §STATE_FIXED_REPLICAS_START§
+                Fixed replicas section
+                §STATE_FIXED_REPLICAS_END§
+                §STATE_AUTOSCALING_START§
+                Autoscaling section
+                §STATE_AUTOSCALING_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Autoscaling section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseAutoscalingForStates(true);
+        var resultText = applicationMetaData.resolveStateAutoscalingPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void resolve_state_autoscaling_placeholders_not_using_autoscaling() {
+
+        var testText = """
+                Top section
+                §STATE_FIXED_REPLICAS_START§
+                Fixed replicas section
+                §STATE_FIXED_REPLICAS_END§
+                §STATE_AUTOSCALING_START§
+                Autoscaling section
+                §STATE_AUTOSCALING_END§
+                Bottom section
+                """;
+
+        var expectedText = """
+                Top section
+                Fixed replicas section
+                Bottom section
+                """;
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setUseAutoscalingForStates(false);
+        var resultText = applicationMetaData.resolveStateAutoscalingPlaceholders(testText);
+
+        assertEquals(expectedText, resultText);
+    }
+
+    @Test
+    void get_effective_state_autoscaling_from_overrides_settings_and_defaults() {
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setStateAutoscaling(ApplicationMetaData.StateAutoscaling.builder().maxReplicas(8).targetBacklog(50).build());
+        applicationMetaData.setStateAutoscalingOverrides(Map.of("S1", ApplicationMetaData.StateAutoscaling.builder().minReplicas(2).targetBacklog(20).build()));
+
+        var stateS1Autoscaling = applicationMetaData.getEffectiveStateAutoscaling("S1");
+        var stateS2Autoscaling = applicationMetaData.getEffectiveStateAutoscaling("S2");
+
+        assertEquals(new ApplicationMetaData.StateAutoscaling(2, 8, ApplicationMetaData.StateAutoscaling.DEFAULT_TARGET_CPU_UTILIZATION, 20), stateS1Autoscaling);
+        assertEquals(new ApplicationMetaData.StateAutoscaling(ApplicationMetaData.StateAutoscaling.DEFAULT_MIN_REPLICAS, 8, ApplicationMetaData.StateAutoscaling.DEFAULT_TARGET_CPU_UTILIZATION, 50), stateS2Autoscaling);
+    }
+
+    @Test
+    void get_effective_state_autoscaling_with_min_above_max_replicas_fails() {
+
+        var applicationMetaData = FactoryTestDataProvider.createTestApplicationMetaData(false);
+        applicationMetaData.setStateAutoscalingOverrides(Map.of("S1", ApplicationMetaData.StateAutoscaling.builder().minReplicas(10).build()));
+
+        assertThrows(IllegalArgumentException.class, () -> applicationMetaData.getEffectiveStateAutoscaling("S1"));
+    }
+
     @ParameterizedTest
     @EnumSource(ApplicationMetaData.MessagingType.class)
     void get_local_host_connection_property_for_messaging_type(ApplicationMetaData.MessagingType messagingType) {
@@ -33,6 +33,7 @@ import static de.containerautomat.factory.builders.ApplicationTemplatesConstants
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_CAMELCASE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_KEBABCASE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_LOWERCASE;
+import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_PACKAGE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_AUTOMAT_UPPERCASE;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.CONTAINER_REGISTRY_PLACEHOLDER;
 import static de.containerautomat.factory.builders.ApplicationTemplatesConstants.LOGSTASH_CONF_SOURCE_PATH_TEMPLATE;
@@ -140,7 +141,8 @@ class DfaApplicationBuilderTests {
                 Kebab case app name also becomes lower case app name: %s
                 Upper case app name: %s
                 Container registry: %s
-                """.formatted(CONTAINER_AUTOMAT, CONTAINER_AUTOMAT_LOWERCASE, CONTAINER_AUTOMAT_CAMELCASE, CONTAINER_AUTOMAT_KEBABCASE, CONTAINER_AUTOMAT_UPPERCASE, CONTAINER_REGISTRY_PLACEHOLDER);
+                Package: %s.processing
+                """.formatted(CONTAINER_AUTOMAT, CONTAINER_AUTOMAT_LOWERCASE, CONTAINER_AUTOMAT_CAMELCASE, CONTAINER_AUTOMAT_KEBABCASE, CONTAINER_AUTOMAT_UPPERCASE, CONTAINER_REGISTRY_PLACEHOLDER, CONTAINER_AUTOMAT_PACKAGE);
 
         var testDfa = createTestDfa();
         var testApplicationMetaDataSpy = Mockito.spy(createTestApplicationMetaData(true));
@@ -150,6 +152,7 @@ class DfaApplicationBuilderTests {
         var testAppNameLowerCase = testAppName.toLowerCase();
         var testAppNameUpperCase = testAppName.toUpperCase();
         var testContainerRegistry = testApplicationMetaDataSpy.getContainerRegistry();
+        var testAppPackage = testApplicationMetaDataSpy.getAppPackage();
         var extedtedText = """
                 App name: %1$s
                 Lower case app name: %2$s
@@ -157,7 +160,8 @@ class DfaApplicationBuilderTests {
                 Kebab case app name also becomes lower case app name: %2$s
                 Upper case app name: %3$s
                 Container registry: %4$s
-                """.formatted(testAppName, testAppNameLowerCase, testAppNameUpperCase, testContainerRegistry);
+                Package: %5$s.processing
+                """.formatted(testAppName, testAppNameLowerCase, testAppNameUpperCase, testContainerRegistry, testAppPackage);
 
         var dfaApplicationBuilder = new DfaApplicationBuilder(testDfaApplicationParameters, new ZiparchiveOutlet());
         var resultText = dfaApplicationBuilder.resolveApplicationAndServicePlaceholders(testText);